@@ -0,0 +1,84 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.io.File;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.vaadin.flow.server.Version;
+
+/**
+ * Runs the benchmarks, writing the results as JSON so that the results of
+ * different releases can be compared.
+ * <p>
+ * Accepts the same command line options as the JMH runner. Unless a result
+ * format or file is given, the results are written as JSON to
+ * {@code flow-benchmarks-<version>.json} in the current directory.
+ *
+ * @since
+ */
+public class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+        // Only the main method is used
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args
+     *            the JMH command line options
+     * @throws CommandLineOptionException
+     *             if the options are invalid
+     * @throws RunnerException
+     *             if running the benchmarks fails
+     */
+    public static void main(String[] args)
+            throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp() || commandLineOptions.shouldList()
+                || commandLineOptions.shouldListWithParams()
+                || commandLineOptions.shouldListProfilers()
+                || commandLineOptions.shouldListResultFormats()) {
+            // Not running benchmarks, let JMH handle the options
+            try {
+                org.openjdk.jmh.Main.main(args);
+            } catch (Exception e) {
+                throw new RunnerException(e);
+            }
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLineOptions);
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLineOptions.getResult().hasValue()) {
+            options.result(new File(
+                    "flow-benchmarks-" + Version.getFullVersion() + ".json")
+                            .getAbsolutePath());
+        }
+        new Runner(options.build()).run();
+    }
+}
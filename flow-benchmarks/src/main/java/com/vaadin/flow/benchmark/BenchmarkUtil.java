@@ -0,0 +1,121 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.DefaultDeploymentConfiguration;
+import com.vaadin.flow.server.DependencyFilter;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinServlet;
+import com.vaadin.flow.server.VaadinServletService;
+import com.vaadin.flow.server.VaadinSession;
+
+/**
+ * Helpers for setting up the UI and session used by benchmarks without a
+ * servlet container.
+ *
+ * @since
+ */
+final class BenchmarkUtil {
+
+    /**
+     * A service which is not initialized, since initialization would require
+     * a servlet context.
+     */
+    private static class BenchmarkService extends VaadinServletService {
+        private BenchmarkService() {
+            super(new VaadinServlet(), new DefaultDeploymentConfiguration(
+                    BenchmarkUtil.class, new Properties()));
+        }
+
+        @Override
+        public Iterable<DependencyFilter> getDependencyFilters() {
+            return Collections.emptyList();
+        }
+    }
+
+    private static class BenchmarkSession extends VaadinSession {
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private BenchmarkSession(VaadinServletService service) {
+            super(service);
+        }
+
+        @Override
+        public Lock getLockInstance() {
+            return lock;
+        }
+    }
+
+    private BenchmarkUtil() {
+        // Static helpers only
+    }
+
+    /**
+     * Creates a new UI with a session which is locked by the current thread.
+     * The session uses a service with the default deployment configuration
+     * and the session and UI are set as current instances.
+     *
+     * @return a new UI
+     */
+    static UI createUI() {
+        VaadinSession session = new BenchmarkSession(new BenchmarkService());
+        session.lock();
+        VaadinSession.setCurrent(session);
+
+        UI ui = new UI();
+        ui.getInternals().setSession(session);
+        UI.setCurrent(ui);
+        return ui;
+    }
+
+    /**
+     * Creates a request for the service of the given UI. All other request
+     * methods return <code>null</code> or the default value of the return
+     * type.
+     *
+     * @param ui
+     *            the UI to create a request for
+     * @return a new request
+     */
+    static VaadinRequest createRequest(UI ui) {
+        VaadinServletService service = (VaadinServletService) ui.getSession()
+                .getService();
+        return (VaadinRequest) Proxy.newProxyInstance(
+                BenchmarkUtil.class.getClassLoader(),
+                new Class<?>[] { VaadinRequest.class },
+                (proxy, method, args) -> {
+                    if ("getService".equals(method.getName())) {
+                        return service;
+                    }
+                    Class<?> returnType = method.getReturnType();
+                    if (returnType == boolean.class) {
+                        return false;
+                    } else if (returnType == int.class) {
+                        return 0;
+                    } else if (returnType == long.class) {
+                        return 0L;
+                    }
+                    return null;
+                });
+    }
+}
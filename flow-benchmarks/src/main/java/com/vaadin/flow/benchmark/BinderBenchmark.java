@@ -0,0 +1,325 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.vaadin.flow.component.AbstractField;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.data.binder.BeanPropertySet;
+import com.vaadin.flow.data.binder.Binder;
+import com.vaadin.flow.data.binder.PropertyDefinition;
+import com.vaadin.flow.data.binder.PropertySet;
+import com.vaadin.flow.data.binder.Setter;
+import com.vaadin.flow.data.binder.ValidationException;
+import com.vaadin.flow.function.ValueProvider;
+
+/**
+ * Benchmarks writing field values to a bean through {@link Binder} and
+ * accessing bean properties through {@link BeanPropertySet}.
+ *
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinderBenchmark {
+
+    private static final String[] PROPERTIES = { "firstName", "lastName",
+            "email", "phone", "city" };
+
+    /**
+     * The bean type of the benchmark.
+     */
+    public static class Person {
+        private String firstName;
+        private String lastName;
+        private String email;
+        private String phone;
+        private String city;
+
+        /**
+         * Gets the first name.
+         *
+         * @return the first name
+         */
+        public String getFirstName() {
+            return firstName;
+        }
+
+        /**
+         * Sets the first name.
+         *
+         * @param firstName
+         *            the first name
+         */
+        public void setFirstName(String firstName) {
+            this.firstName = firstName;
+        }
+
+        /**
+         * Gets the last name.
+         *
+         * @return the last name
+         */
+        public String getLastName() {
+            return lastName;
+        }
+
+        /**
+         * Sets the last name.
+         *
+         * @param lastName
+         *            the last name
+         */
+        public void setLastName(String lastName) {
+            this.lastName = lastName;
+        }
+
+        /**
+         * Gets the email.
+         *
+         * @return the email
+         */
+        public String getEmail() {
+            return email;
+        }
+
+        /**
+         * Sets the email.
+         *
+         * @param email
+         *            the email
+         */
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        /**
+         * Gets the phone number.
+         *
+         * @return the phone number
+         */
+        public String getPhone() {
+            return phone;
+        }
+
+        /**
+         * Sets the phone number.
+         *
+         * @param phone
+         *            the phone number
+         */
+        public void setPhone(String phone) {
+            this.phone = phone;
+        }
+
+        /**
+         * Gets the city.
+         *
+         * @return the city
+         */
+        public String getCity() {
+            return city;
+        }
+
+        /**
+         * Sets the city.
+         *
+         * @param city
+         *            the city
+         */
+        public void setCity(String city) {
+            this.city = city;
+        }
+    }
+
+    /**
+     * A minimal text field.
+     */
+    @Tag("input")
+    public static class TextField extends AbstractField<TextField, String> {
+
+        /**
+         * Creates a new field with an empty value.
+         */
+        public TextField() {
+            super("");
+        }
+
+        @Override
+        protected void setPresentationValue(String newPresentationValue) {
+            // Nothing to update
+        }
+    }
+
+    private Binder<Person> binder;
+
+    private Person person;
+
+    private TextField[] fields;
+
+    private int counter;
+
+    private ValueProvider<Person, String>[] getters;
+
+    private Setter<Person, String>[] setters;
+
+    private Method[] readMethods;
+
+    private Method[] writeMethods;
+
+    /**
+     * Binds a field to each property of the bean.
+     *
+     * @throws IntrospectionException
+     *             if the bean properties cannot be introspected
+     */
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws IntrospectionException {
+        BenchmarkUtil.createUI();
+        binder = new Binder<>(Person.class);
+        fields = new TextField[PROPERTIES.length];
+        for (int i = 0; i < PROPERTIES.length; i++) {
+            fields[i] = new TextField();
+            binder.forField(fields[i])
+                    .withValidator(value -> value.length() < 100,
+                            "Value is too long")
+                    .bind(PROPERTIES[i]);
+        }
+        person = new Person();
+
+        PropertySet<Person> propertySet = BeanPropertySet.get(Person.class);
+        getters = new ValueProvider[PROPERTIES.length];
+        setters = new Setter[PROPERTIES.length];
+        readMethods = new Method[PROPERTIES.length];
+        writeMethods = new Method[PROPERTIES.length];
+        for (int i = 0; i < PROPERTIES.length; i++) {
+            PropertyDefinition<Person, String> definition = (PropertyDefinition<Person, String>) propertySet
+                    .getProperty(PROPERTIES[i]).get();
+            getters[i] = definition.getGetter();
+            setters[i] = definition.getSetter().get();
+
+            PropertyDescriptor descriptor = new PropertyDescriptor(
+                    PROPERTIES[i], Person.class);
+            readMethods[i] = descriptor.getReadMethod();
+            writeMethods[i] = descriptor.getWriteMethod();
+        }
+    }
+
+    /**
+     * Changes the field values and writes them to the bean.
+     *
+     * @return the bean
+     * @throws ValidationException
+     *             if validation fails
+     */
+    @Benchmark
+    public Person writeBean() throws ValidationException {
+        String value = String.valueOf(counter++);
+        for (TextField field : fields) {
+            field.setValue(value);
+        }
+        binder.writeBean(person);
+        return person;
+    }
+
+    /**
+     * Gets the property set of the bean type.
+     *
+     * @return the property set
+     */
+    @Benchmark
+    public PropertySet<Person> getPropertySet() {
+        return BeanPropertySet.get(Person.class);
+    }
+
+    /**
+     * Reads and writes all properties of the bean through the property
+     * definitions.
+     *
+     * @param blackhole
+     *            the blackhole to consume the values
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void accessProperties(Blackhole blackhole) {
+        PropertySet<Person> propertySet = BeanPropertySet.get(Person.class);
+        String value = String.valueOf(counter++);
+        for (String name : PROPERTIES) {
+            PropertyDefinition<Person, String> definition = (PropertyDefinition<Person, String>) propertySet
+                    .getProperty(name).get();
+            Setter<Person, String> setter = definition.getSetter().get();
+            setter.accept(person, value);
+            ValueProvider<Person, String> getter = definition.getGetter();
+            blackhole.consume(getter.apply(person));
+        }
+    }
+
+    /**
+     * Reads and writes all properties of the bean through the getters and
+     * setters of the property definitions, without looking them up.
+     *
+     * @param blackhole
+     *            the blackhole to consume the values
+     */
+    @Benchmark
+    public void accessPropertiesWithAccessors(Blackhole blackhole) {
+        String value = String.valueOf(counter++);
+        for (int i = 0; i < PROPERTIES.length; i++) {
+            setters[i].accept(person, value);
+            blackhole.consume(getters[i].apply(person));
+        }
+    }
+
+    /**
+     * Reads and writes all properties of the bean through reflection, as a
+     * baseline for {@link #accessPropertiesWithAccessors(Blackhole)}.
+     *
+     * @param blackhole
+     *            the blackhole to consume the values
+     * @throws ReflectiveOperationException
+     *             if a property method cannot be invoked
+     */
+    @Benchmark
+    public void accessPropertiesReflectively(Blackhole blackhole)
+            throws ReflectiveOperationException {
+        String value = String.valueOf(counter++);
+        for (int i = 0; i < PROPERTIES.length; i++) {
+            writeMethods[i].invoke(person, value);
+            blackhole.consume(readMethods[i].invoke(person));
+        }
+    }
+}
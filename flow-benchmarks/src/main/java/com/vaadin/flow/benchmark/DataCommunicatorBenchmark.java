@@ -0,0 +1,199 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.data.provider.ArrayUpdater;
+import com.vaadin.flow.data.provider.CompositeDataGenerator;
+import com.vaadin.flow.data.provider.DataCommunicator;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.data.provider.ListDataProvider;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.JsonUtils;
+import com.vaadin.flow.internal.StateTree;
+
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+
+/**
+ * Benchmarks flushing data from a {@link DataCommunicator} backed by an in
+ * memory data provider, including generating the JSON for the items.
+ *
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataCommunicatorBenchmark {
+
+    private static final int VIEWPORT_SIZE = 100;
+
+    /**
+     * The item type of the benchmark.
+     */
+    public static class Item {
+        private final int id;
+        private final String name;
+
+        private Item(int id) {
+            this.id = id;
+            name = "Item " + id;
+        }
+
+        /**
+         * Gets the item id.
+         *
+         * @return the id
+         */
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * Gets the item name.
+         *
+         * @return the name
+         */
+        public String getName() {
+            return name;
+        }
+    }
+
+    @Param({ "1000", "100000" })
+    private int itemCount;
+
+    @Param({ "false", "true" })
+    private boolean columnarEncoding;
+
+    private StateTree stateTree;
+
+    private DataCommunicator<Item> dataCommunicator;
+
+    private ListDataProvider<Item> dataProvider;
+
+    private int counter;
+
+    /**
+     * Creates the data communicator with a data generator producing a name
+     * property for each item.
+     *
+     * @param blackhole
+     *            the blackhole to consume the sent items
+     */
+    @Setup
+    public void setup(Blackhole blackhole) {
+        UI ui = BenchmarkUtil.createUI();
+        stateTree = ui.getInternals().getStateTree();
+        Element element = new Element("div");
+        ui.getElement().appendChild(element);
+
+        ArrayUpdater.Update update = new ArrayUpdater.Update() {
+            @Override
+            public void clear(int start, int length) {
+                blackhole.consume(length);
+            }
+
+            @Override
+            public void set(int start, List<JsonValue> items) {
+                blackhole.consume(
+                        items.stream().collect(JsonUtils.asArray()).toJson());
+            }
+
+            @Override
+            public void setColumnar(int start, JsonObject items) {
+                blackhole.consume(items.toJson());
+            }
+
+            @Override
+            public void commit(int updateId) {
+                blackhole.consume(updateId);
+            }
+        };
+        ArrayUpdater arrayUpdater = new ArrayUpdater() {
+            @Override
+            public Update startUpdate(int sizeChange) {
+                return update;
+            }
+
+            @Override
+            public void initialize() {
+                // NOP
+            }
+        };
+
+        CompositeDataGenerator<Item> dataGenerator = new CompositeDataGenerator<>();
+        dataGenerator.addDataGenerator(
+                (item, json) -> json.put("name", item.getName()));
+
+        dataCommunicator = new DataCommunicator<>(dataGenerator, arrayUpdater,
+                blackhole::consume, element.getNode());
+        dataCommunicator.setColumnarEncoding(columnarEncoding);
+
+        List<Item> items = IntStream.range(0, itemCount).mapToObj(Item::new)
+                .collect(Collectors.toList());
+        dataProvider = DataProvider.ofCollection(items);
+        dataCommunicator.setDataProvider(dataProvider, null);
+        dataCommunicator.setRequestedRange(0, VIEWPORT_SIZE);
+        flush();
+    }
+
+    /**
+     * Scrolls to a new range of items and flushes the items in the range.
+     */
+    @Benchmark
+    public void flush_scroll() {
+        int start = (counter++ * VIEWPORT_SIZE) % (itemCount - VIEWPORT_SIZE);
+        dataCommunicator.setRequestedRange(start, VIEWPORT_SIZE);
+        flush();
+    }
+
+    /**
+     * Refreshes all items, which resets the communicator, and flushes the
+     * current range.
+     */
+    @Benchmark
+    public void flush_refreshAll() {
+        dataProvider.refreshAll();
+        flush();
+    }
+
+    private void flush() {
+        stateTree.runExecutionsBeforeClientResponse();
+        stateTree.collectChanges(change -> {
+        });
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.JsonCodec;
+import com.vaadin.flow.internal.JsonUtils;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
+/**
+ * Benchmarks encoding the kinds of values typically passed to JavaScript
+ * invocations with type information.
+ *
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    private Element element;
+
+    private JsonArray array;
+
+    private JsonObject object;
+
+    /**
+     * Creates the values to encode.
+     */
+    @Setup
+    public void setup() {
+        UI ui = new UI();
+        element = new Element("div");
+        ui.getElement().appendChild(element);
+
+        array = JsonUtils.createArray(Json.create(1), Json.create("two"),
+                Json.create(true));
+
+        object = Json.createObject();
+        object.put("name", "value");
+        object.put("count", 42);
+    }
+
+    /**
+     * Encodes primitive values.
+     *
+     * @param blackhole
+     *            the blackhole to consume the results
+     */
+    @Benchmark
+    public void encodePrimitives(Blackhole blackhole) {
+        blackhole.consume(JsonCodec.encodeWithTypeInfo("text"));
+        blackhole.consume(JsonCodec.encodeWithTypeInfo(Integer.valueOf(42)));
+        blackhole.consume(JsonCodec.encodeWithTypeInfo(Double.valueOf(4.2)));
+        blackhole.consume(JsonCodec.encodeWithTypeInfo(Boolean.TRUE));
+        blackhole.consume(JsonCodec.encodeWithTypeInfo(null));
+    }
+
+    /**
+     * Encodes an attached element, which is encoded as a reference to its
+     * state node.
+     *
+     * @return the encoded value
+     */
+    @Benchmark
+    public Object encodeElement() {
+        return JsonCodec.encodeWithTypeInfo(element);
+    }
+
+    /**
+     * Encodes JSON values, where arrays need to be wrapped.
+     *
+     * @param blackhole
+     *            the blackhole to consume the results
+     */
+    @Benchmark
+    public void encodeJson(Blackhole blackhole) {
+        blackhole.consume(JsonCodec.encodeWithTypeInfo(array));
+        blackhole.consume(JsonCodec.encodeWithTypeInfo(object));
+    }
+}
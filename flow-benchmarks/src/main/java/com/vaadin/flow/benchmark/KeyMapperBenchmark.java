@@ -0,0 +1,115 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.vaadin.flow.data.provider.DataKeyMapper;
+import com.vaadin.flow.data.provider.IntKeyMapper;
+import com.vaadin.flow.data.provider.KeyMapper;
+
+/**
+ * Compares {@link KeyMapper} and {@link IntKeyMapper} when scrolling through
+ * a large data set: the items of each new range are mapped, looked up by their
+ * keys like when handling client requests, and the items of the previous
+ * range are removed.
+ *
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeyMapperBenchmark {
+
+    private static final int ITEM_COUNT = 1000000;
+
+    private static final int RANGE_SIZE = 100;
+
+    @Param({ "KeyMapper", "IntKeyMapper" })
+    private String mapperType;
+
+    /**
+     * The number of ranges kept mapped behind the current range.
+     */
+    @Param({ "1", "10" })
+    private int retainedRanges;
+
+    private DataKeyMapper<Integer> mapper;
+
+    private Integer[] items;
+
+    private String[] keys;
+
+    private int range;
+
+    /**
+     * Creates the items and the mapper.
+     */
+    @Setup
+    public void setup() {
+        items = new Integer[ITEM_COUNT];
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            items[i] = i;
+        }
+        keys = new String[RANGE_SIZE];
+        mapper = "KeyMapper".equals(mapperType) ? new KeyMapper<>()
+                : new IntKeyMapper<>();
+    }
+
+    /**
+     * Maps the items of the next range and removes the items of the range
+     * that is no longer retained.
+     *
+     * @param blackhole
+     *            the blackhole to consume the looked up items
+     */
+    @Benchmark
+    public void scroll(Blackhole blackhole) {
+        int rangeCount = ITEM_COUNT / RANGE_SIZE;
+        int start = (range % rangeCount) * RANGE_SIZE;
+        for (int i = 0; i < RANGE_SIZE; i++) {
+            keys[i] = mapper.key(items[start + i]);
+        }
+        for (int i = 0; i < RANGE_SIZE; i++) {
+            blackhole.consume(mapper.get(keys[i]));
+        }
+
+        int removed = range - retainedRanges;
+        if (removed >= 0) {
+            int removedStart = (removed % rangeCount) * RANGE_SIZE;
+            for (int i = 0; i < RANGE_SIZE; i++) {
+                mapper.remove(items[removedStart + i]);
+            }
+        }
+        range++;
+    }
+}
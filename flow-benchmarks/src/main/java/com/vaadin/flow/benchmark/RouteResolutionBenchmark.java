@@ -0,0 +1,145 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.router.RouteParameterRegex;
+import com.vaadin.flow.router.internal.ConfigureRoutes;
+import com.vaadin.flow.router.internal.ConfiguredRoutes;
+import com.vaadin.flow.router.internal.NavigationRouteTarget;
+
+/**
+ * Benchmarks resolving navigation targets from a route configuration with a
+ * large number of routes, with and without route parameters.
+ *
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteResolutionBenchmark {
+
+    /**
+     * Navigation target for static routes.
+     */
+    @Tag("div")
+    public static class StaticView extends Component {
+    }
+
+    /**
+     * Navigation target for routes with an integer parameter.
+     */
+    @Tag("div")
+    public static class ItemView extends Component {
+    }
+
+    /**
+     * Navigation target for routes with an optional parameter.
+     */
+    @Tag("div")
+    public static class EditView extends Component {
+    }
+
+    @Param({ "100", "5000" })
+    private int sectionCount;
+
+    private ConfiguredRoutes routes;
+
+    private int counter;
+
+    /**
+     * Configures three routes for each section.
+     */
+    @Setup
+    public void setup() {
+        ConfigureRoutes configuration = new ConfigureRoutes();
+        for (int i = 0; i < sectionCount; i++) {
+            String section = "section" + i;
+            configuration.setRoute(section + "/view", StaticView.class);
+            configuration.setRoute(section + "/item/:itemId("
+                    + RouteParameterRegex.INTEGER + ")", ItemView.class);
+            configuration.setRoute(section + "/:name?/edit", EditView.class);
+        }
+        routes = new ConfiguredRoutes(configuration);
+    }
+
+    /**
+     * Resolves a route without parameters.
+     *
+     * @return the resolved target
+     */
+    @Benchmark
+    public NavigationRouteTarget resolveStaticRoute() {
+        return routes
+                .getNavigationRouteTarget("section" + nextSection() + "/view");
+    }
+
+    /**
+     * Resolves a route with a parameter validated by a regular expression.
+     *
+     * @return the resolved target
+     */
+    @Benchmark
+    public NavigationRouteTarget resolveParameterRoute() {
+        return routes.getNavigationRouteTarget(
+                "section" + nextSection() + "/item/" + counter);
+    }
+
+    /**
+     * Resolves a route with an omitted optional parameter.
+     *
+     * @return the resolved target
+     */
+    @Benchmark
+    public NavigationRouteTarget resolveOptionalParameterRoute() {
+        return routes
+                .getNavigationRouteTarget("section" + nextSection() + "/edit");
+    }
+
+    /**
+     * Resolves a path that doesn't match any route.
+     *
+     * @return the resolved target
+     */
+    @Benchmark
+    public NavigationRouteTarget resolveMissingRoute() {
+        return routes.getNavigationRouteTarget(
+                "section" + nextSection() + "/missing/path");
+    }
+
+    private int nextSection() {
+        counter++;
+        return counter % sectionCount;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.nodefeature.ElementPropertyMap;
+import com.vaadin.flow.internal.nodefeature.NodeFeatureRegistry;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.communication.ServerRpcHandler;
+import com.vaadin.flow.server.communication.ServerRpcHandler.InvalidUIDLSecurityKeyException;
+import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.JsonConstants;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
+/**
+ * Benchmarks handling client messages containing property synchronizations
+ * and DOM events for a number of elements.
+ *
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServerRpcHandlerBenchmark {
+
+    @Param({ "1", "100" })
+    private int invocationCount;
+
+    private UI ui;
+
+    private VaadinRequest request;
+
+    private ServerRpcHandler rpcHandler;
+
+    private String rpcInvocations;
+
+    private Blackhole blackhole;
+
+    /**
+     * Creates the elements targeted by the invocations and the invocations
+     * sent by the client.
+     *
+     * @param blackhole
+     *            the blackhole to consume the received events
+     */
+    @Setup
+    public void setup(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        ui = BenchmarkUtil.createUI();
+        request = BenchmarkUtil.createRequest(ui);
+        rpcHandler = new ServerRpcHandler();
+
+        JsonArray invocations = Json.createArray();
+        for (int i = 0; i < invocationCount; i++) {
+            Element element = new Element("input");
+            element.addPropertyChangeListener("value", "change",
+                    event -> this.blackhole.consume(event.getValue()));
+            element.addEventListener("click",
+                    event -> this.blackhole.consume(event));
+            ui.getElement().appendChild(element);
+            int nodeId = element.getNode().getId();
+
+            JsonObject sync = Json.createObject();
+            sync.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_MAP_SYNC);
+            sync.put(JsonConstants.RPC_NODE, nodeId);
+            sync.put(JsonConstants.RPC_FEATURE,
+                    NodeFeatureRegistry.getId(ElementPropertyMap.class));
+            sync.put(JsonConstants.RPC_PROPERTY, "value");
+            sync.put(JsonConstants.RPC_PROPERTY_VALUE, "Value " + i);
+            invocations.set(invocations.length(), sync);
+
+            JsonObject event = Json.createObject();
+            event.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_EVENT);
+            event.put(JsonConstants.RPC_NODE, nodeId);
+            event.put(JsonConstants.RPC_EVENT_TYPE, "click");
+            invocations.set(invocations.length(), event);
+        }
+        rpcInvocations = invocations.toJson();
+
+        // Send the initial changes
+        ui.getInternals().getStateTree().collectChanges(change -> {
+        });
+    }
+
+    /**
+     * Handles a message with {@link #invocationCount} property
+     * synchronizations and DOM events.
+     *
+     * @throws IOException
+     *             if reading the message fails
+     * @throws InvalidUIDLSecurityKeyException
+     *             if the message has an invalid CSRF token
+     */
+    @Benchmark
+    public void handleRpc()
+            throws IOException, InvalidUIDLSecurityKeyException {
+        int clientId = ui.getInternals().getLastProcessedClientToServerId()
+                + 1;
+        String message = "{\"" + ApplicationConstants.CSRF_TOKEN + "\":\""
+                + ui.getCsrfToken() + "\",\""
+                + ApplicationConstants.SERVER_SYNC_ID + "\":"
+                + ui.getInternals().getServerSyncId() + ",\""
+                + ApplicationConstants.CLIENT_TO_SERVER_ID + "\":" + clientId
+                + ",\"" + ApplicationConstants.RPC_INVOCATIONS + "\":"
+                + rpcInvocations + "}";
+
+        rpcHandler.handleRpc(ui, new StringReader(message), request);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+
+/**
+ * Measures the heap retained by a {@code div} element with a given number of
+ * attributes once it has been attached to a UI and its changes have been
+ * collected.
+ * <p>
+ * The result of interest is the {@code bytesPerDiv} secondary result. The
+ * time of each invocation is dominated by the garbage collections needed for
+ * measuring the heap usage and is not meaningful.
+ *
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StateNodeMemoryBenchmark {
+
+    private static final int DIV_COUNT = 20000;
+
+    @Param({ "0", "1", "4", "8", "16" })
+    private int attributeCount;
+
+    private String[] names;
+
+    private String[] values;
+
+    /**
+     * The heap footprint of each created div in bytes.
+     * <p>
+     * JMH reports the sum of event counters over the measurement iterations,
+     * so the value of each iteration is divided by the number of iterations
+     * to get the average.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        /**
+         * The retained bytes per div, measured by the latest invocation.
+         */
+        public double bytesPerDiv;
+
+        private int iterations;
+
+        /**
+         * Clears the result of the previous iteration.
+         *
+         * @param benchmarkParams
+         *            the parameters of the benchmark run
+         * @param iterationParams
+         *            the parameters of the starting iteration
+         */
+        @Setup(Level.Iteration)
+        public void reset(BenchmarkParams benchmarkParams,
+                IterationParams iterationParams) {
+            bytesPerDiv = 0;
+            iterations = iterationParams.getType() == IterationType.MEASUREMENT
+                    ? benchmarkParams.getMeasurement().getCount()
+                    : 1;
+        }
+
+        private void record(long bytes, int divs) {
+            bytesPerDiv = (double) bytes / divs / iterations;
+        }
+    }
+
+    /**
+     * Creates the attribute names and values shared by all divs, so that the
+     * strings themselves are not included in the footprint.
+     */
+    @Setup
+    public void setup() {
+        names = new String[attributeCount];
+        values = new String[attributeCount];
+        for (int i = 0; i < attributeCount; i++) {
+            names[i] = "attribute" + i;
+            values[i] = "value" + i;
+        }
+    }
+
+    /**
+     * Creates and attaches {@value #DIV_COUNT} divs and records the heap
+     * growth per div.
+     *
+     * @param footprint
+     *            the counters to record the footprint to
+     * @return the UI containing the divs, to keep it reachable
+     */
+    @Benchmark
+    public UI createDivs(Footprint footprint) {
+        UI ui = BenchmarkUtil.createUI();
+        Element parent = new Element("div");
+        ui.getElement().appendChild(parent);
+        ui.getInternals().getStateTree().collectChanges(change -> {
+        });
+
+        long before = usedMemory();
+        for (int i = 0; i < DIV_COUNT; i++) {
+            Element div = new Element("div");
+            for (int j = 0; j < attributeCount; j++) {
+                div.setAttribute(names[j], values[j]);
+            }
+            parent.appendChild(div);
+        }
+        ui.getInternals().getStateTree().collectChanges(change -> {
+        });
+        long after = usedMemory();
+
+        footprint.record(after - before, DIV_COUNT);
+        return ui;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
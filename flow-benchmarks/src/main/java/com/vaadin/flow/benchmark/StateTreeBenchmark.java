@@ -0,0 +1,141 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.StateTree;
+
+/**
+ * Benchmarks marking nodes as dirty and collecting the changes of a state tree
+ * with a large number of nodes.
+ *
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StateTreeBenchmark {
+
+    private static final int CHILDREN_PER_PARENT = 100;
+
+    private static final int FEW_DIRTY_NODES = 10;
+
+    @Param({ "10000", "100000" })
+    private int nodeCount;
+
+    private StateTree tree;
+
+    private List<Element> elements;
+
+    private int counter;
+
+    /**
+     * Creates a tree with {@link #nodeCount} elements, each parent element
+     * having at most {@value #CHILDREN_PER_PARENT} children.
+     */
+    @Setup
+    public void setup() {
+        UI ui = new UI();
+        tree = ui.getInternals().getStateTree();
+        elements = new ArrayList<>(nodeCount);
+
+        Element parent = null;
+        for (int i = 0; i < nodeCount; i++) {
+            Element element = new Element("div");
+            if (i % CHILDREN_PER_PARENT == 0) {
+                ui.getElement().appendChild(element);
+                parent = element;
+            } else {
+                parent.appendChild(element);
+            }
+            elements.add(element);
+        }
+
+        // Send the initial changes
+        tree.collectChanges(change -> {
+        });
+    }
+
+    /**
+     * Changes every node in the tree and collects the changes.
+     *
+     * @param blackhole
+     *            the blackhole to consume the changes
+     */
+    @Benchmark
+    public void collectChanges_allNodesDirty(Blackhole blackhole) {
+        String value = String.valueOf(counter++);
+        for (Element element : elements) {
+            element.setAttribute("title", value);
+        }
+        tree.collectChanges(blackhole::consume);
+    }
+
+    /**
+     * Changes a few nodes in the tree and collects the changes. The time should
+     * not depend on the total number of nodes.
+     *
+     * @param blackhole
+     *            the blackhole to consume the changes
+     */
+    @Benchmark
+    public void collectChanges_fewNodesDirty(Blackhole blackhole) {
+        String value = String.valueOf(counter++);
+        int start = counter % (nodeCount - FEW_DIRTY_NODES);
+        for (int i = start; i < start + FEW_DIRTY_NODES; i++) {
+            elements.get(i).setAttribute("title", value);
+        }
+        tree.collectChanges(blackhole::consume);
+    }
+
+    /**
+     * Marks every node in the tree as dirty multiple times without changing
+     * anything and collects the (empty) changes.
+     *
+     * @param blackhole
+     *            the blackhole to consume the changes
+     */
+    @Benchmark
+    public void markAsDirty_repeatedly(Blackhole blackhole) {
+        for (int round = 0; round < 3; round++) {
+            for (Element element : elements) {
+                element.getNode().markAsDirty();
+            }
+        }
+        tree.collectChanges(blackhole::consume);
+    }
+}
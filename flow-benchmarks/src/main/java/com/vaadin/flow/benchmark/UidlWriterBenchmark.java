@@ -0,0 +1,131 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.server.communication.UidlWriter;
+
+import elemental.json.JsonObject;
+
+/**
+ * Benchmarks creating UIDL responses for a UI where a number of elements
+ * have been changed.
+ *
+ * @since
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UidlWriterBenchmark {
+
+    @Param({ "100", "10000" })
+    private int elementCount;
+
+    private UI ui;
+
+    private UidlWriter uidlWriter;
+
+    private List<Element> elements;
+
+    private int counter;
+
+    /**
+     * Creates a UI with {@link #elementCount} elements and writes the initial
+     * response.
+     */
+    @Setup
+    public void setup() {
+        ui = BenchmarkUtil.createUI();
+        uidlWriter = new UidlWriter();
+        elements = new ArrayList<>(elementCount);
+        for (int i = 0; i < elementCount; i++) {
+            Element element = new Element("span");
+            element.setText("Item " + i);
+            ui.getElement().appendChild(element);
+            elements.add(element);
+        }
+        uidlWriter.createUidl(ui, false);
+    }
+
+    /**
+     * Changes an attribute and a property of every element and creates the
+     * response.
+     *
+     * @return the created response
+     */
+    @Benchmark
+    public JsonObject createUidl_allElementsChanged() {
+        String value = String.valueOf(counter++);
+        for (Element element : elements) {
+            element.setAttribute("title", value);
+            element.setProperty("value", value);
+        }
+        return uidlWriter.createUidl(ui, false);
+    }
+
+    /**
+     * Creates a response when nothing has changed.
+     *
+     * @return the created response
+     */
+    @Benchmark
+    public JsonObject createUidl_noChanges() {
+        return uidlWriter.createUidl(ui, false);
+    }
+
+    /**
+     * Adds and removes an element with attributes and children, causing the
+     * initial state of a new subtree to be written.
+     *
+     * @return the created response
+     */
+    @Benchmark
+    public JsonObject createUidl_attachSubtree() {
+        Element parent = new Element("div");
+        parent.setAttribute("class", "row");
+        for (int i = 0; i < 10; i++) {
+            Element child = new Element("span");
+            child.setAttribute("class", "cell");
+            child.setText("Cell " + i);
+            parent.appendChild(child);
+        }
+        ui.getElement().appendChild(parent);
+        JsonObject response = uidlWriter.createUidl(ui, false);
+        ui.getElement().removeChild(parent);
+        uidlWriter.createUidl(ui, false);
+        return response;
+    }
+}
@@ -37,6 +37,7 @@ public class ApplicationConfiguration {
 
     private boolean productionMode;
     private boolean requestTiming;
+    private boolean binaryUidl;
     private boolean webComponentMode;
     private boolean clientRouting;
 
@@ -340,6 +341,28 @@ public class ApplicationConfiguration {
         this.requestTiming = requestTiming;
     }
 
+    /**
+     * Checks if the server can send UIDL responses in the binary CBOR format.
+     *
+     * @return {@code true} if binary UIDL responses can be requested,
+     *         {@code false} otherwise
+     */
+    public boolean isBinaryUidl() {
+        return binaryUidl;
+    }
+
+    /**
+     * Sets whether the server can send UIDL responses in the binary CBOR
+     * format.
+     *
+     * @param binaryUidl
+     *            {@code true} if binary UIDL responses can be requested,
+     *            {@code false} otherwise
+     */
+    public void setBinaryUidl(boolean binaryUidl) {
+        this.binaryUidl = binaryUidl;
+    }
+
     /**
      * Sets the exported web components.
      *
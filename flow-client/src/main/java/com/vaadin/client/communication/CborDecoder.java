@@ -0,0 +1,164 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.client.communication;
+
+import com.google.gwt.typedarrays.shared.ArrayBuffer;
+import com.vaadin.client.Console;
+import com.vaadin.client.Profiler;
+import com.vaadin.client.ValueMap;
+
+/**
+ * Decodes binary UIDL messages encoded as CBOR by the server into the same
+ * JavaScript object structure that parsing the corresponding JSON message
+ * would produce.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public final class CborDecoder {
+
+    private CborDecoder() {
+        // Static-only class
+    }
+
+    /**
+     * Checks whether the browser supports the APIs needed for decoding binary
+     * messages.
+     *
+     * @return {@code true} if binary messages can be decoded, {@code false}
+     *         otherwise
+     */
+    public static native boolean isSupported()
+    /*-{
+        return !!($wnd.DataView && $wnd.Uint8Array && $wnd.TextDecoder);
+    }-*/;
+
+    /**
+     * Decodes a binary UIDL message.
+     *
+     * @param buffer
+     *            the message received from the server
+     * @return the decoded message or <code>null</code> if the message could
+     *         not be decoded
+     */
+    public static ValueMap decode(ArrayBuffer buffer) {
+        if (buffer == null) {
+            return null;
+        }
+        final double start = Profiler.getRelativeTimeMillis();
+        try {
+            ValueMap message = decodeCbor(buffer);
+            Console.log("CBOR decoding took "
+                    + Profiler.getRelativeTimeString(start) + "ms");
+            return message;
+        } catch (final Exception e) {
+            Console.error("Unable to decode CBOR message: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Decodes a response which was received as binary but contains UTF-8 text,
+     * e.g. a JSON message sent instead of a binary message.
+     *
+     * @param buffer
+     *            the response received from the server
+     * @return the response text
+     */
+    public static native String decodeText(ArrayBuffer buffer)
+    /*-{
+        return new $wnd.TextDecoder('utf-8').decode(new $wnd.Uint8Array(buffer));
+    }-*/;
+
+    private static native ValueMap decodeCbor(ArrayBuffer buffer)
+    /*-{
+        var bytes = new $wnd.Uint8Array(buffer);
+        var view = new $wnd.DataView(buffer);
+        var textDecoder = new $wnd.TextDecoder('utf-8');
+        var offset = 0;
+
+        var readLength = function(info) {
+            var value;
+            if (info < 24) {
+                return info;
+            } else if (info == 24) {
+                value = view.getUint8(offset);
+                offset += 1;
+            } else if (info == 25) {
+                value = view.getUint16(offset);
+                offset += 2;
+            } else if (info == 26) {
+                value = view.getUint32(offset);
+                offset += 4;
+            } else if (info == 27) {
+                value = view.getUint32(offset) * 4294967296
+                    + view.getUint32(offset + 4);
+                offset += 8;
+            } else {
+                throw new Error('Unsupported CBOR length: ' + info);
+            }
+            return value;
+        };
+
+        var read = function() {
+            var initial = bytes[offset++];
+            var major = initial >> 5;
+            var info = initial & 31;
+            var length, result, i, value;
+            switch (major) {
+            case 0:
+                return readLength(info);
+            case 1:
+                return -1 - readLength(info);
+            case 3:
+                length = readLength(info);
+                result = textDecoder.decode(bytes.subarray(offset, offset + length));
+                offset += length;
+                return result;
+            case 4:
+                length = readLength(info);
+                result = new Array(length);
+                for (i = 0; i < length; i++) {
+                    result[i] = read();
+                }
+                return result;
+            case 5:
+                length = readLength(info);
+                result = {};
+                for (i = 0; i < length; i++) {
+                    var key = read();
+                    result[key] = read();
+                }
+                return result;
+            case 7:
+                if (info == 20) {
+                    return false;
+                } else if (info == 21) {
+                    return true;
+                } else if (info == 22) {
+                    return null;
+                } else if (info == 27) {
+                    value = view.getFloat64(offset);
+                    offset += 8;
+                    return value;
+                }
+            }
+            throw new Error('Unsupported CBOR type: ' + initial);
+        };
+
+        return read();
+    }-*/;
+}
@@ -397,7 +397,7 @@ public class DefaultConnectionStateHandler implements ConnectionStateHandler {
         debug("xhrInvalidContent");
         endRequest();
 
-        String responseText = xhrConnectionError.getXhr().getResponseText();
+        String responseText = xhrConnectionError.getResponseText();
         /*
          * A servlet filter or equivalent may have intercepted the request and
          * served non-UIDL content (for instance, a login page if the session
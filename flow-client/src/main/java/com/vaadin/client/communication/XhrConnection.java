@@ -117,10 +117,17 @@ public class XhrConnection {
             Console.log("Server visit took "
                     + Profiler.getRelativeTimeString(requestStartTime) + "ms");
 
-            // for(;;);["+ realJson +"]"
-            String responseText = xhr.getResponseText();
+            ValueMap json;
+            String responseText;
+            if (isBinaryResponse(xhr)) {
+                json = CborDecoder.decode(xhr.getResponseArrayBuffer());
+                responseText = "<binary>";
+            } else {
+                // for(;;);["+ realJson +"]"
+                responseText = XhrConnectionError.getResponseText(xhr);
+                json = MessageHandler.parseWrappedJson(responseText);
+            }
 
-            ValueMap json = MessageHandler.parseWrappedJson(responseText);
             if (json == null) {
                 // Invalid string (not wrapped as expected or can't parse)
                 registry.getConnectionStateHandler().xhrInvalidContent(
@@ -133,6 +140,12 @@ public class XhrConnection {
             registry.getMessageHandler().handleMessage(json);
         }
 
+        private boolean isBinaryResponse(XMLHttpRequest xhr) {
+            String contentType = xhr.getResponseHeader("Content-Type");
+            return contentType != null && contentType
+                    .startsWith(ApplicationConstants.UIDL_BINARY_CONTENT_TYPE);
+        }
+
         /**
          * Sets the relative time (see {@link Profiler#getRelativeTimeMillis()})
          * when the request was sent.
@@ -158,8 +171,17 @@ public class XhrConnection {
         responseHandler.setRequestStartTime(Profiler.getRelativeTimeMillis());
 
         String payloadJson = WidgetUtil.stringify(payload);
-        XMLHttpRequest xhr = Xhr.post(getUri(), payloadJson,
-                JsonConstants.JSON_CONTENT_TYPE, responseHandler);
+        XMLHttpRequest xhr;
+        if (isBinaryUidl()) {
+            xhr = Xhr.postForArrayBuffer(getUri(), payloadJson,
+                    JsonConstants.JSON_CONTENT_TYPE,
+                    ApplicationConstants.UIDL_BINARY_CONTENT_TYPE + ", "
+                            + JsonConstants.JSON_CONTENT_TYPE,
+                    responseHandler);
+        } else {
+            xhr = Xhr.post(getUri(), payloadJson,
+                    JsonConstants.JSON_CONTENT_TYPE, responseHandler);
+        }
 
         Console.log("Sending xhr message to server: " + payloadJson);
 
@@ -178,6 +200,17 @@ public class XhrConnection {
         }
     }
 
+    /**
+     * Checks whether UIDL responses should be requested in the binary format.
+     *
+     * @return {@code true} to request binary responses, {@code false} to
+     *         request JSON responses
+     */
+    protected boolean isBinaryUidl() {
+        return registry.getApplicationConfiguration().isBinaryUidl()
+                && CborDecoder.isSupported();
+    }
+
     /**
      * Retrieves the URI to use when sending RPCs to the server
      *
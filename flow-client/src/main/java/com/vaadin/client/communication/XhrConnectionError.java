@@ -78,4 +78,25 @@ public class XhrConnectionError {
     public JsonObject getPayload() {
         return payload;
     }
+
+    /**
+     * Returns the body of the response as text. Unlike
+     * {@link XMLHttpRequest#getResponseText()}, this also works when the
+     * response was requested as an array buffer for binary UIDL.
+     *
+     * @return the response text
+     * @since
+     */
+    public String getResponseText() {
+        return getResponseText(xhr);
+    }
+
+    static String getResponseText(XMLHttpRequest xhr) {
+        if ("arraybuffer".equals(xhr.getResponseType())) {
+            // Binary was requested but the server sent e.g. an error message
+            // as JSON, or a login page
+            return CborDecoder.decodeText(xhr.getResponseArrayBuffer());
+        }
+        return xhr.getResponseText();
+    }
 }
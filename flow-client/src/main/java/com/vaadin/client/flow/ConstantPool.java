@@ -80,4 +80,21 @@ public class ConstantPool {
         return (T) constants.get(key);
     }
 
+    /**
+     * Gets a string from the string table of this pool. The server sends
+     * string table entries as regular constants, using the string table index
+     * as the key, and refers to them by index from changes such as property
+     * values and list splices.
+     *
+     * @param reference
+     *            the string table index of the string
+     * @return the string, not <code>null</code>
+     */
+    public String getString(int reference) {
+        String key = String.valueOf(reference);
+        assert constants.has(key) : "No string found with reference "
+                + reference;
+        return constants.get(key).asString();
+    }
+
 }
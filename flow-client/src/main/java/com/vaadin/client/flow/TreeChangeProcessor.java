@@ -25,8 +25,10 @@ import com.vaadin.client.flow.nodefeature.NodeMap;
 import com.vaadin.client.flow.util.ClientJsonCodec;
 import com.vaadin.flow.shared.JsonConstants;
 
+import elemental.json.Json;
 import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonType;
 import elemental.json.JsonValue;
 
 /**
@@ -63,7 +65,9 @@ public class TreeChangeProcessor {
             int length = changes.length();
             for (int i = 0; i < length; i++) {
                 JsonObject change = changes.getObject(i);
-                if (!isAttach(change)) {
+                if (isTemplate(change)) {
+                    processTemplateChange(tree, change, nodes);
+                } else if (!isAttach(change)) {
                     nodes.add(processChange(tree, change));
                 }
             }
@@ -82,21 +86,104 @@ public class TreeChangeProcessor {
             if (isAttach(change)) {
                 int nodeId = (int) change.getNumber(JsonConstants.CHANGE_NODE);
 
-                if (nodeId != tree.getRootNode().getId()) {
-                    StateNode node = new StateNode(nodeId, tree);
-                    tree.registerNode(node);
-                    nodes.add(node);
+                attachNode(tree, nodeId, nodes);
+            } else if (isTemplate(change)) {
+                JsonArray nodeIds = change
+                        .getArray(JsonConstants.CHANGE_TEMPLATE_NODES);
+                int nodeCount = nodeIds.length();
+                for (int j = 0; j < nodeCount; j++) {
+                    attachNode(tree, (int) nodeIds.getNumber(j), nodes);
                 }
             }
         }
         return nodes;
     }
 
+    private static void attachNode(StateTree tree, int nodeId,
+            JsSet<StateNode> nodes) {
+        if (nodeId != tree.getRootNode().getId()) {
+            StateNode node = new StateNode(nodeId, tree);
+            tree.registerNode(node);
+            nodes.add(node);
+        }
+    }
+
     private static boolean isAttach(JsonObject change) {
         return JsonConstants.CHANGE_TYPE_ATTACH
                 .equals(change.getString(JsonConstants.CHANGE_TYPE));
     }
 
+    private static boolean isTemplate(JsonObject change) {
+        return JsonConstants.CHANGE_TYPE_TEMPLATE
+                .equals(change.getString(JsonConstants.CHANGE_TYPE));
+    }
+
+    /**
+     * Processes the changes of a subtree template for the nodes of a template
+     * instance. The template changes refer to nodes and values using indices
+     * to the node id and value arrays of the instance.
+     */
+    private static void processTemplateChange(StateTree tree,
+            JsonObject change, JsSet<StateNode> nodes) {
+        String templateId = change
+                .getString(JsonConstants.CHANGE_TEMPLATE_CHANGES);
+        JsonArray templateChanges = tree.getRegistry().getConstantPool()
+                .get(templateId);
+        assert templateChanges != null : "No template found with id "
+                + templateId;
+
+        JsonArray nodeIds = change
+                .getArray(JsonConstants.CHANGE_TEMPLATE_NODES);
+        JsonArray values = change
+                .getArray(JsonConstants.CHANGE_TEMPLATE_VALUES);
+        int length = templateChanges.length();
+        for (int i = 0; i < length; i++) {
+            JsonObject instanceChange = instantiateTemplateChange(
+                    templateChanges.getObject(i), nodeIds, values);
+            nodes.add(processChange(tree, instanceChange));
+        }
+    }
+
+    private static JsonObject instantiateTemplateChange(
+            JsonObject templateChange, JsonArray nodeIds, JsonArray values) {
+        JsonObject change = Json.createObject();
+        for (String key : templateChange.keys()) {
+            JsonValue value = templateChange.get(key);
+            change.put(key, value);
+        }
+
+        change.put(JsonConstants.CHANGE_NODE, nodeIds.getNumber(
+                (int) templateChange.getNumber(JsonConstants.CHANGE_NODE)));
+        if (templateChange.hasKey(JsonConstants.CHANGE_PUT_NODE_VALUE)) {
+            change.put(JsonConstants.CHANGE_PUT_NODE_VALUE,
+                    nodeIds.getNumber((int) templateChange
+                            .getNumber(JsonConstants.CHANGE_PUT_NODE_VALUE)));
+        }
+        if (templateChange.hasKey(JsonConstants.CHANGE_SPLICE_ADD_NODES)) {
+            JsonArray indices = templateChange
+                    .getArray(JsonConstants.CHANGE_SPLICE_ADD_NODES);
+            JsonArray addNodes = Json.createArray();
+            int length = indices.length();
+            for (int i = 0; i < length; i++) {
+                addNodes.set(i, nodeIds.getNumber((int) indices.getNumber(i)));
+            }
+            change.put(JsonConstants.CHANGE_SPLICE_ADD_NODES, addNodes);
+        }
+        replaceValueReference(change, JsonConstants.CHANGE_PUT_VALUE, values);
+        replaceValueReference(change, JsonConstants.CHANGE_SPLICE_ADD, values);
+        replaceValueReference(change, JsonConstants.CHANGE_SPLICE_ADD_STRINGS,
+                values);
+        return change;
+    }
+
+    private static void replaceValueReference(JsonObject change, String key,
+            JsonArray values) {
+        if (change.hasKey(key)) {
+            JsonValue value = values.get((int) change.getNumber(key));
+            change.put(key, value);
+        }
+    }
+
     /**
      * Update a state tree based on a JSON change. This method is public for
      * testing purposes.
@@ -163,6 +250,10 @@ public class TreeChangeProcessor {
             JsonValue jsonValue = change.get(JsonConstants.CHANGE_PUT_VALUE);
             Object value = ClientJsonCodec.decodeWithoutTypeInfo(jsonValue);
             property.setValue(value);
+        } else if (change.hasKey(JsonConstants.CHANGE_PUT_VALUE_REFERENCE)) {
+            int reference = (int) change
+                    .getNumber(JsonConstants.CHANGE_PUT_VALUE_REFERENCE);
+            property.setValue(getConstantPool(node).getString(reference));
         } else if (change.hasKey(JsonConstants.CHANGE_PUT_NODE_VALUE)) {
             int childId = (int) change
                     .getNumber(JsonConstants.CHANGE_PUT_NODE_VALUE);
@@ -186,7 +277,8 @@ public class TreeChangeProcessor {
     private static MapProperty findProperty(JsonObject change, StateNode node) {
         int nsId = (int) change.getNumber(JsonConstants.CHANGE_FEATURE);
         NodeMap map = node.getMap(nsId);
-        String key = change.getString(JsonConstants.CHANGE_MAP_KEY);
+        String key = resolveString(change.get(JsonConstants.CHANGE_MAP_KEY),
+                node);
 
         return map.getProperty(key);
     }
@@ -210,6 +302,18 @@ public class TreeChangeProcessor {
 
             JsArray<Object> add = ClientJsonCodec.jsonArrayAsJsArray(addJson);
 
+            list.splice(index, remove, add);
+        } else if (change.hasKey(JsonConstants.CHANGE_SPLICE_ADD_STRINGS)) {
+            JsonArray addStrings = change
+                    .getArray(JsonConstants.CHANGE_SPLICE_ADD_STRINGS);
+            int length = addStrings.length();
+
+            JsArray<Object> add = JsCollections.array();
+
+            for (int i = 0; i < length; i++) {
+                add.set(i, resolveString(addStrings.get(i), node));
+            }
+
             list.splice(index, remove, add);
         } else if (change.hasKey(JsonConstants.CHANGE_SPLICE_ADD_NODES)) {
             JsonArray addNodes = change
@@ -234,6 +338,21 @@ public class TreeChangeProcessor {
         }
     }
 
+    private static ConstantPool getConstantPool(StateNode node) {
+        return node.getTree().getRegistry().getConstantPool();
+    }
+
+    /**
+     * Resolves a string sent either as such or as a reference to the string
+     * table of the constant pool.
+     */
+    private static String resolveString(JsonValue value, StateNode node) {
+        if (value.getType() == JsonType.NUMBER) {
+            return getConstantPool(node).getString((int) value.asNumber());
+        }
+        return value.asString();
+    }
+
     private static void processClearChange(JsonObject change, StateNode node) {
         int nsId = (int) change.getNumber(JsonConstants.CHANGE_FEATURE);
         NodeList list = node.getList(nsId);
@@ -18,6 +18,7 @@ package com.vaadin.client.gwt.elemental.js.util;
 import com.google.gwt.core.client.JavaScriptException;
 import com.google.gwt.xhr.client.ReadyStateChangeHandler;
 import com.google.gwt.xhr.client.XMLHttpRequest;
+import com.google.gwt.xhr.client.XMLHttpRequest.ResponseType;
 import com.vaadin.client.Console;
 
 import elemental.client.Browser;
@@ -183,6 +184,44 @@ public class Xhr {
                 callback);
     }
 
+    /**
+     * Send a POST request to the <code>url</code> asking for a binary response
+     * of the given type, and dispatch updates to the <code>callback</code>.
+     * The response is available as an array buffer.
+     *
+     * @param url
+     *            the URL
+     * @param requestData
+     *            the data to be passed to XMLHttpRequest.send
+     * @param contentType
+     *            a value for the Content-Type HTTP header
+     * @param accept
+     *            a value for the Accept HTTP header
+     * @param callback
+     *            the callback to notify
+     * @return a reference to the sent XmlHttpRequest
+     */
+    public static XMLHttpRequest postForArrayBuffer(String url,
+            String requestData, String contentType, String accept,
+            Callback callback) {
+        XMLHttpRequest xhr = create();
+        try {
+            xhr.setOnReadyStateChange(new Handler(callback));
+            xhr.open("POST", url);
+            xhr.setResponseType(ResponseType.ArrayBuffer);
+            xhr.setRequestHeader("Content-type", contentType);
+            xhr.setRequestHeader("Accept", accept);
+            xhr.setWithCredentials(true);
+            xhr.send(requestData);
+        } catch (JavaScriptException e) {
+            // Just fail.
+            Console.error(e);
+            callback.onFail(xhr, e);
+            xhr.clearOnReadyStateChange();
+        }
+        return xhr;
+    }
+
     private static XMLHttpRequest create() {
         return create(Browser.getWindow());
     }
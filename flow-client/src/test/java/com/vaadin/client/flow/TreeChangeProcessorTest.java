@@ -41,6 +41,7 @@ public class TreeChangeProcessorTest {
             set(StateTree.class, new StateTree(this));
             set(InitialPropertiesHandler.class,
                     new InitialPropertiesHandler(this));
+            set(ConstantPool.class, new ConstantPool());
         }
     };
     private StateTree tree = registry.getStateTree();
@@ -187,6 +188,88 @@ public class TreeChangeProcessorTest {
         Assert.assertTrue(updatedNodes.has(tree.getNode(nodeId)));
     }
 
+    @Test
+    public void testTemplateChange_changesAppliedToInstanceNodes() {
+        // Node and value references in template changes are indices to the
+        // node ids and values of the instance
+        JsonArray templateChanges = toArray(
+                nodeSpliceChange(0, ns, 0, 0, 1),
+                putChange(1, ns, myKey, Json.create(0)),
+                putNodeChange(0, ns + 1, myKey, 1));
+        JsonObject constants = Json.createObject();
+        constants.put("templateId", templateChanges);
+        registry.getConstantPool().importFromJson(constants);
+
+        JsonObject change = baseChange(5,
+                JsonConstants.CHANGE_TYPE_TEMPLATE);
+        change.put(JsonConstants.CHANGE_TEMPLATE_CHANGES, "templateId");
+        change.put(JsonConstants.CHANGE_TEMPLATE_NODES, toArray(
+                Json.create(5), Json.create(7)));
+        change.put(JsonConstants.CHANGE_TEMPLATE_VALUES,
+                toArray(Json.create(myValue)));
+
+        JsSet<StateNode> updatedNodes = TreeChangeProcessor.processChanges(tree,
+                toArray(change));
+
+        StateNode root = tree.getNode(5);
+        StateNode child = tree.getNode(7);
+        Assert.assertNotNull(root);
+        Assert.assertNotNull(child);
+        Assert.assertEquals(2, updatedNodes.size());
+
+        NodeList list = root.getList(ns);
+        Assert.assertEquals(1, list.length());
+        Assert.assertSame(child, list.get(0));
+        Assert.assertSame(root, child.getParent());
+        Assert.assertEquals(myValue,
+                child.getMap(ns).getProperty(myKey).getValue());
+        Assert.assertSame(child,
+                root.getMap(ns + 1).getProperty(myKey).getValue());
+
+        // The template itself is not modified
+        Assert.assertEquals(1, templateChanges.getObject(1)
+                .getNumber(JsonConstants.CHANGE_NODE), 0);
+        Assert.assertEquals(0, templateChanges.getObject(1)
+                .getNumber(JsonConstants.CHANGE_PUT_VALUE), 0);
+    }
+
+    @Test
+    public void testStringReferences_resolvedFromConstantPool() {
+        JsonObject constants = Json.createObject();
+        constants.put("0", myKey);
+        constants.put("1", myValue);
+        constants.put("2", "bar");
+        registry.getConstantPool().importFromJson(constants);
+
+        JsonObject put = baseChange(rootId, JsonConstants.CHANGE_TYPE_PUT);
+        put.put(JsonConstants.CHANGE_FEATURE, ns);
+        put.put(JsonConstants.CHANGE_MAP_KEY, 0);
+        put.put(JsonConstants.CHANGE_PUT_VALUE_REFERENCE, 1);
+        TreeChangeProcessor.processChange(tree, put);
+
+        Assert.assertEquals(myValue,
+                tree.getRootNode().getMap(ns).getProperty(myKey).getValue());
+
+        JsonObject splice = spliceBaseChange(rootId, ns + 1, 0, 0);
+        splice.put(JsonConstants.CHANGE_SPLICE_ADD_STRINGS,
+                toArray(Json.create("foo"), Json.create(2)));
+        TreeChangeProcessor.processChange(tree, splice);
+
+        NodeList list = tree.getRootNode().getList(ns + 1);
+        Assert.assertEquals(2, list.length());
+        Assert.assertEquals("foo", list.get(0));
+        Assert.assertEquals("bar", list.get(1));
+
+        JsonObject remove = baseChange(rootId,
+                JsonConstants.CHANGE_TYPE_REMOVE);
+        remove.put(JsonConstants.CHANGE_FEATURE, ns);
+        remove.put(JsonConstants.CHANGE_MAP_KEY, 0);
+        TreeChangeProcessor.processChange(tree, remove);
+
+        Assert.assertFalse(
+                tree.getRootNode().getMap(ns).getProperty(myKey).hasValue());
+    }
+
     @Test
     public void testDetachRemovesNode() {
         AtomicInteger unregisterCount = new AtomicInteger(0);
@@ -19,8 +19,13 @@ import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Serializable;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,15 +33,24 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.vaadin.flow.function.ValueProvider;
 import com.vaadin.flow.internal.BeanUtil;
 
 /**
  * A {@link PropertySet} that uses reflection to find bean properties.
+ * <p>
+ * The properties are read and written through accessors generated with
+ * {@link LambdaMetafactory} when the bean class and its property methods are
+ * public and visible to the class loader of this class, and through
+ * reflection otherwise.
  *
  * @author Vaadin Ltd
  * @since 1.0
@@ -113,12 +127,17 @@ public class BeanPropertySet<T> implements PropertySet<T> {
             super(propertySet, propertyHolderType, descriptor);
         }
 
+        private transient ValueProvider<Object, Object> reader;
+
+        private transient Setter<Object, Object> writer;
+
         @Override
         public ValueProvider<T, V> getGetter() {
             return bean -> {
-                Method readMethod = getDescriptor().getReadMethod();
-                Object value = invokeWrapExceptions(readMethod, bean);
-                return getType().cast(value);
+                if (reader == null) {
+                    reader = getReader(getDescriptor().getReadMethod());
+                }
+                return getType().cast(reader.apply(bean));
             };
         }
 
@@ -133,8 +152,10 @@ public class BeanPropertySet<T> implements PropertySet<T> {
                 // if its done outside the code block, that will produce
                 // NotSerializableException because of some lambda compilation
                 // magic
-                Method innerSetter = getDescriptor().getWriteMethod();
-                invokeWrapExceptions(innerSetter, bean, value);
+                if (writer == null) {
+                    writer = getWriter(getDescriptor().getWriteMethod());
+                }
+                writer.accept(bean, value);
             };
             return Optional.of(setter);
         }
@@ -176,6 +197,10 @@ public class BeanPropertySet<T> implements PropertySet<T> {
 
         private final PropertyDefinition<T, ?> parent;
 
+        private transient ValueProvider<Object, Object> reader;
+
+        private transient Setter<Object, Object> writer;
+
         /**
          * Creates a new instance of a nested property definition.
          *
@@ -196,10 +221,11 @@ public class BeanPropertySet<T> implements PropertySet<T> {
         @Override
         public ValueProvider<T, V> getGetter() {
             return bean -> {
-                Method readMethod = getDescriptor().getReadMethod();
-                Object value = invokeWrapExceptions(readMethod,
-                        parent.getGetter().apply(bean));
-                return getType().cast(value);
+                if (reader == null) {
+                    reader = getReader(getDescriptor().getReadMethod());
+                }
+                return getType()
+                        .cast(reader.apply(parent.getGetter().apply(bean)));
             };
         }
 
@@ -214,9 +240,10 @@ public class BeanPropertySet<T> implements PropertySet<T> {
                 // if its done outside the code block, that will produce
                 // NotSerializableException because of some lambda compilation
                 // magic
-                Method innerSetter = getDescriptor().getWriteMethod();
-                invokeWrapExceptions(innerSetter,
-                        parent.getGetter().apply(bean), value);
+                if (writer == null) {
+                    writer = getWriter(getDescriptor().getWriteMethod());
+                }
+                writer.accept(parent.getGetter().apply(bean), value);
             };
             return Optional.of(setter);
         }
@@ -308,8 +335,32 @@ public class BeanPropertySet<T> implements PropertySet<T> {
 
     }
 
+    private static class AccessorCache<A>
+            extends ClassValue<ConcurrentMap<Method, A>>
+            implements Serializable {
+        @Override
+        protected ConcurrentMap<Method, A> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+
+        private A get(Method method, Function<Method, A> factory) {
+            return get(method.getDeclaringClass()).computeIfAbsent(method,
+                    factory);
+        }
+    }
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
     private static final ConcurrentMap<InstanceKey<?>, BeanPropertySet<?>> INSTANCES = new ConcurrentHashMap<>();
 
+    /*
+     * Accessors for read and write methods, either generated with
+     * LambdaMetafactory or using reflection. They are associated with the
+     * declaring class of the method so that they don't prevent unloading it.
+     */
+    private static final AccessorCache<ValueProvider<Object, Object>> READERS = new AccessorCache<>();
+    private static final AccessorCache<Setter<Object, Object>> WRITERS = new AccessorCache<>();
+
     private final InstanceKey<T> instanceKey;
 
     private final Map<String, PropertyDefinition<T, ?>> definitions;
@@ -510,6 +561,128 @@ public class BeanPropertySet<T> implements PropertySet<T> {
                 && readMethod.getDeclaringClass() != Object.class;
     }
 
+    private static ValueProvider<Object, Object> getReader(Method readMethod) {
+        return READERS.get(readMethod, BeanPropertySet::createReader);
+    }
+
+    private static Setter<Object, Object> getWriter(Method writeMethod) {
+        return WRITERS.get(writeMethod, BeanPropertySet::createWriter);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ValueProvider<Object, Object> createReader(
+            Method readMethod) {
+        if (canGenerateAccessor(readMethod)) {
+            try {
+                MethodHandle handle = LOOKUP.unreflect(readMethod);
+                Function<Object, Object> reader = (Function<Object, Object>) LambdaMetafactory
+                        .metafactory(LOOKUP, "apply",
+                                MethodType.methodType(Function.class),
+                                MethodType.methodType(Object.class,
+                                        Object.class),
+                                handle, handle.type().wrap())
+                        .getTarget().invokeExact();
+                Class<?> beanType = readMethod.getDeclaringClass();
+                return bean -> {
+                    if (!beanType.isInstance(bean)) {
+                        // Same exception as when invoked through reflection
+                        return invokeWrapExceptions(readMethod, bean);
+                    }
+                    try {
+                        return reader.apply(bean);
+                    } catch (Throwable e) {
+                        throw new RuntimeException(
+                                new InvocationTargetException(e));
+                    }
+                };
+            } catch (Throwable e) {
+                getLogger().debug("Cannot generate an accessor for {}",
+                        readMethod, e);
+            }
+        }
+        return bean -> invokeWrapExceptions(readMethod, bean);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Setter<Object, Object> createWriter(Method writeMethod) {
+        if (canGenerateAccessor(writeMethod)) {
+            try {
+                MethodHandle handle = LOOKUP.unreflect(writeMethod);
+                BiConsumer<Object, Object> writer = (BiConsumer<Object, Object>) LambdaMetafactory
+                        .metafactory(LOOKUP, "accept",
+                                MethodType.methodType(BiConsumer.class),
+                                MethodType.methodType(void.class, Object.class,
+                                        Object.class),
+                                handle,
+                                handle.type().wrap()
+                                        .changeReturnType(void.class))
+                        .getTarget().invokeExact();
+                Class<?> beanType = writeMethod.getDeclaringClass();
+                Class<?> valueType = handle.type().wrap().parameterType(1);
+                boolean primitive = writeMethod.getParameterTypes()[0]
+                        .isPrimitive();
+                return (bean, value) -> {
+                    if (!beanType.isInstance(bean)
+                            || (value == null ? primitive
+                                    : !valueType.isInstance(value))) {
+                        // Same exception or primitive widening as when
+                        // invoked through reflection
+                        invokeWrapExceptions(writeMethod, bean, value);
+                        return;
+                    }
+                    try {
+                        writer.accept(bean, value);
+                    } catch (Throwable e) {
+                        throw new RuntimeException(
+                                new InvocationTargetException(e));
+                    }
+                };
+            } catch (Throwable e) {
+                getLogger().debug("Cannot generate an accessor for {}",
+                        writeMethod, e);
+            }
+        }
+        return (bean, value) -> invokeWrapExceptions(writeMethod, bean, value);
+    }
+
+    /**
+     * Checks whether the generated accessor can call the method directly. It
+     * must be public and all the types in its signature must be loaded by the
+     * class loader of this class, which defines the generated classes.
+     */
+    private static boolean canGenerateAccessor(Method method) {
+        for (Class<?> type = method.getDeclaringClass(); type != null; type = type
+                .getEnclosingClass()) {
+            if (!Modifier.isPublic(type.getModifiers())) {
+                return false;
+            }
+        }
+        return Modifier.isPublic(method.getModifiers())
+                && isVisible(method.getDeclaringClass())
+                && isVisible(method.getReturnType())
+                && Stream.of(method.getParameterTypes())
+                        .allMatch(BeanPropertySet::isVisible);
+    }
+
+    private static boolean isVisible(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        try {
+            return Class.forName(type.getName(), false,
+                    BeanPropertySet.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(BeanPropertySet.class);
+    }
+
     private static Object invokeWrapExceptions(Method method, Object target,
             Object... parameters) {
         try {
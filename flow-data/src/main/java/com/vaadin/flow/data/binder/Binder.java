@@ -250,6 +250,20 @@ public class Binder<BEAN> implements Serializable {
          * @return A boolean value.
          */
         public boolean isValidatorsDisabled();
+
+        /**
+         * Declares that the validation of this binding depends on the value
+         * of the given binding, for instance when a validator of this binding
+         * compares the values of both fields. This binding is then validated
+         * again whenever the value of the given binding changes, without
+         * validating the other bindings of the binder.
+         *
+         * @param binding
+         *            the binding of the same binder whose value this binding
+         *            depends on, not {@code null}
+         * @since
+         */
+        public void addValidationDependency(Binding<BEAN, ?> binding);
     }
 
     /**
@@ -1055,6 +1069,10 @@ public class Binder<BEAN> implements Serializable {
 
         private boolean validatorsDisabled = false;
 
+        // Bindings to validate when the value of this binding changes
+        private Set<Binding<BEAN, ?>> dependentBindings = Collections
+                .emptySet();
+
         public BindingImpl(BindingBuilderImpl<BEAN, FIELDVALUE, TARGET> builder,
                 ValueProvider<BEAN, TARGET> getter,
                 Setter<BEAN, TARGET> setter) {
@@ -1345,6 +1363,22 @@ public class Binder<BEAN> implements Serializable {
         public boolean isValidatorsDisabled() {
             return validatorsDisabled;
         }
+
+        @Override
+        public void addValidationDependency(Binding<BEAN, ?> binding) {
+            Objects.requireNonNull(binding, "binding cannot be null");
+            if (getBinder() == null || !(binding instanceof BindingImpl)
+                    || ((BindingImpl<BEAN, ?, ?>) binding)
+                            .getBinder() != getBinder()) {
+                throw new IllegalArgumentException(
+                        "The binding must be bound to the same binder");
+            }
+            BindingImpl<BEAN, ?, ?> impl = (BindingImpl<BEAN, ?, ?>) binding;
+            if (impl.dependentBindings.isEmpty()) {
+                impl.dependentBindings = new LinkedHashSet<>();
+            }
+            impl.dependentBindings.add(this);
+        }
     }
 
     /**
@@ -1453,6 +1487,10 @@ public class Binder<BEAN> implements Serializable {
 
     private boolean validatorsDisabled = false;
 
+    private boolean batchedValidation;
+
+    private boolean batchedWritePending;
+
     /**
      * Creates a binder using a custom {@link PropertySet} implementation for
      * finding and resolving property names for
@@ -1557,10 +1595,37 @@ public class Binder<BEAN> implements Serializable {
     protected void handleFieldValueChange(Binding<BEAN, ?> binding) {
         changedBindings.add(binding);
         if (getBean() != null) {
-            doWriteIfValid(getBean(), changedBindings);
+            if (batchedValidation) {
+                scheduleBatchedWrite();
+            } else {
+                doWriteIfValid(getBean(), changedBindings);
+            }
         } else {
             binding.validate();
         }
+        if (binding instanceof BindingImpl) {
+            ((BindingImpl<BEAN, ?, ?>) binding).dependentBindings.stream()
+                    .filter(dependent -> dependent != binding)
+                    .forEach(Binding::validate);
+        }
+    }
+
+    private void scheduleBatchedWrite() {
+        if (batchedWritePending) {
+            return;
+        }
+        UI ui = UI.getCurrent();
+        if (ui == null) {
+            doWriteIfValid(getBean(), changedBindings);
+            return;
+        }
+        batchedWritePending = true;
+        ui.beforeClientResponse(ui, context -> {
+            batchedWritePending = false;
+            if (getBean() != null && !changedBindings.isEmpty()) {
+                doWriteIfValid(getBean(), changedBindings);
+            }
+        });
     }
 
     /**
@@ -3050,6 +3115,9 @@ public class Binder<BEAN> implements Serializable {
             boundProperties.entrySet()
                     .removeIf(entry -> entry.getValue().equals(binding));
             changedBindings.remove(binding);
+            bindings.stream().filter(BindingImpl.class::isInstance)
+                    .forEach(other -> ((BindingImpl<BEAN, ?, ?>) other).dependentBindings
+                            .remove(binding));
         }
     }
 
@@ -3084,4 +3152,38 @@ public class Binder<BEAN> implements Serializable {
     public boolean isValidatorsDisabled() {
         return validatorsDisabled;
     }
+
+    /**
+     * Sets whether the field value changes of a bean set with
+     * {@link #setBean(Object)} are validated and written to the bean once per
+     * round trip, just before the response is sent to the client, instead of
+     * on each value change. The bean level validators are then run once even
+     * if the values of several fields changed in the same round trip. Until
+     * then, the changed values are not written to the bean.
+     * <p>
+     * The value changes are handled immediately when there is no current UI.
+     * Batched validation is disabled by default.
+     *
+     * @param batchedValidation
+     *            {@code true} to validate and write the changes once per round
+     *            trip, {@code false} to handle each value change immediately
+     * @since
+     */
+    public void setBatchedValidation(boolean batchedValidation) {
+        this.batchedValidation = batchedValidation;
+    }
+
+    /**
+     * Returns whether the field value changes are validated and written to the
+     * bean once per round trip.
+     *
+     * @see #setBatchedValidation(boolean)
+     *
+     * @return {@code true} if the changes are validated once per round trip,
+     *         {@code false} otherwise
+     * @since
+     */
+    public boolean isBatchedValidation() {
+        return batchedValidation;
+    }
 }
@@ -16,11 +16,13 @@
 package com.vaadin.flow.data.provider;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.EventObject;
 import java.util.HashMap;
 import java.util.List;
 import java.util.function.Consumer;
 
+import com.vaadin.flow.data.provider.DataChangeEvent.DataDeltaEvent;
 import com.vaadin.flow.data.provider.DataChangeEvent.DataRefreshEvent;
 import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.shared.Registration;
@@ -72,6 +74,13 @@ public abstract class AbstractDataProvider<T, F> implements DataProvider<T, F> {
         fireEvent(new DataRefreshEvent<>(this, item));
     }
 
+    @Override
+    public void applyDelta(Collection<T> addedItems,
+            Collection<T> removedItems, Collection<T> updatedItems) {
+        fireEvent(new DataDeltaEvent<>(this, addedItems, removedItems,
+                updatedItems));
+    }
+
     /**
      * Registers a new listener with the specified activation method to listen
      * events generated by this component. If the activation method does not
@@ -15,7 +15,12 @@
  */
 package com.vaadin.flow.data.provider;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.vaadin.flow.component.Component;
@@ -131,6 +136,28 @@ public abstract class AbstractDataView<T> implements DataView<T> {
         //@formatter:on
     }
 
+    @Override
+    public void refreshItems(Collection<T> items) {
+        Objects.requireNonNull(items, "Items collection cannot be null");
+        if (items.isEmpty()) {
+            return;
+        }
+        IdentifierProvider<T> identifierProvider = getIdentifierProvider();
+        Map<Object, T> itemsById = new HashMap<>();
+        items.forEach(item -> itemsById.put(getId(identifierProvider,
+                Objects.requireNonNull(item, NULL_ITEM_ERROR_MESSAGE)), item));
+        // Look up all the items with a single pass over the data
+        //@formatter:off
+        List<T> availableItems = getItems()
+                .map(i -> itemsById.remove(getId(identifierProvider, i)))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        //@formatter:on
+        if (!availableItems.isEmpty()) {
+            dataProviderSupplier.get().refreshItems(availableItems);
+        }
+    }
+
     @Override
     public void setIdentifierProvider(
             IdentifierProvider<T> identifierProvider) {
@@ -157,6 +184,12 @@ public abstract class AbstractDataView<T> implements DataView<T> {
         }
     }
 
+    private static <T> Object getId(IdentifierProvider<T> identifierProvider,
+            T item) {
+        return Objects.requireNonNull(identifierProvider.apply(item),
+                NULL_IDENTIFIER_ERROR_MESSAGE);
+    }
+
     protected boolean equals(T item, T compareTo) {
         return Objects.equals(
                 Objects.requireNonNull(getIdentifierProvider().apply(item),
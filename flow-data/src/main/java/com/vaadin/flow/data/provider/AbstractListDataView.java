@@ -16,11 +16,13 @@
 package com.vaadin.flow.data.provider;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.vaadin.flow.component.Component;
@@ -73,7 +75,7 @@ public abstract class AbstractListDataView<T> extends AbstractDataView<T>
     @Override
     public T getItem(int index) {
         validateItemIndex(index);
-        return getItems().skip(index).findFirst().orElse(null);
+        return getItemAt(index).orElse(null);
     }
 
     @Override
@@ -82,7 +84,7 @@ public abstract class AbstractListDataView<T> extends AbstractDataView<T>
         if (index < 0) {
             return Optional.empty();
         }
-        return getItems().skip(index + 1).findFirst();
+        return getItemAt(index + 1);
     }
 
     @Override
@@ -91,7 +93,7 @@ public abstract class AbstractListDataView<T> extends AbstractDataView<T>
         if (index <= 0) {
             return Optional.empty();
         }
-        return getItems().skip(index - 1).findFirst();
+        return getItemAt(index - 1);
     }
 
     @Override
@@ -166,7 +168,8 @@ public abstract class AbstractListDataView<T> extends AbstractDataView<T>
         final ListDataProvider<T> dataProvider = getDataProvider();
         if (!contains(item)) {
             dataProvider.getItems().add(item);
-            dataProvider.refreshAll();
+            dataProvider.applyDelta(Collections.singletonList(item),
+                    Collections.emptyList(), Collections.emptyList());
         }
         return this;
     }
@@ -178,13 +181,14 @@ public abstract class AbstractListDataView<T> extends AbstractDataView<T>
             final ListDataProvider<T> dataProvider = getDataProvider();
             Collection<T> backendItems = dataProvider.getItems();
             //@formatter:off
-            items.stream()
+            List<T> movedItems = items.stream()
                     .filter(this::contains)
-                    .forEach(item ->
-                            removeItemIfPresent(item, dataProvider));
+                    .collect(Collectors.toList());
             //@formatter:on
+            movedItems.forEach(item -> removeItemIfPresent(item, dataProvider));
             backendItems.addAll(items);
-            dataProvider.refreshAll();
+            dataProvider.applyDelta(items, movedItems,
+                    Collections.emptyList());
         }
         return this;
     }
@@ -226,7 +230,8 @@ public abstract class AbstractListDataView<T> extends AbstractDataView<T>
     public AbstractListDataView<T> removeItem(T item) {
         final ListDataProvider<T> dataProvider = getDataProvider();
         removeItemIfPresent(item, dataProvider);
-        dataProvider.refreshAll();
+        dataProvider.applyDelta(Collections.emptyList(),
+                Collections.singletonList(item), Collections.emptyList());
         return this;
     }
 
@@ -238,7 +243,8 @@ public abstract class AbstractListDataView<T> extends AbstractDataView<T>
         }
         final ListDataProvider<T> dataProvider = getDataProvider();
         items.forEach(item -> removeItemIfPresent(item, dataProvider));
-        dataProvider.refreshAll();
+        dataProvider.applyDelta(Collections.emptyList(), items,
+                Collections.emptyList());
         return this;
     }
 
@@ -281,6 +287,14 @@ public abstract class AbstractListDataView<T> extends AbstractDataView<T>
         return index.get();
     }
 
+    private Optional<T> getItemAt(int index) {
+        // The data provider caches the filtered and sorted items, so an
+        // offset query avoids iterating the items before the index
+        Query<T, SerializablePredicate<T>> query = new Query<>(index, 1,
+                Collections.emptyList(), null, null);
+        return getDataProvider().fetch(query).findFirst();
+    }
+
     private int getItemIndex(T item) {
         return getItemIndex(item, getItems());
     }
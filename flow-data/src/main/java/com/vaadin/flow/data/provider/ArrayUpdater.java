@@ -18,6 +18,7 @@ package com.vaadin.flow.data.provider;
 import java.io.Serializable;
 import java.util.List;
 
+import elemental.json.JsonObject;
 import elemental.json.JsonValue;
 
 /**
@@ -55,6 +56,29 @@ public interface ArrayUpdater extends Serializable {
          */
         void set(int start, List<JsonValue> items);
 
+        /**
+         * Sets the items at the {@code start} position, encoded in the
+         * columnar format of {@link ColumnarJsonBuilder}. This is used instead
+         * of {@link #set(int, List)} when columnar encoding has been enabled
+         * for a data communicator.
+         * <p>
+         * The default implementation decodes the items and delegates to
+         * {@link #set(int, List)}, so that enabling columnar encoding does not
+         * break updaters that do not support it, but the decoding makes it
+         * slower than not using columnar encoding. Implementations that send
+         * the items to a client which can decode the columnar format should
+         * send them as is.
+         *
+         * @param start
+         *            the start index
+         * @param items
+         *            the items to set, in the columnar format
+         * @since
+         */
+        default void setColumnar(int start, JsonObject items) {
+            set(start, ColumnarJsonBuilder.decode(items));
+        }
+
         /**
          * Commits changes for the given {@code updateId}.
          *
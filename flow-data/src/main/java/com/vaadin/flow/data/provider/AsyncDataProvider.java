@@ -0,0 +1,80 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
+
+/**
+ * A data provider that fetches items from a back end asynchronously.
+ * <p>
+ * {@link DataCommunicator} doesn't wait for the returned stages while holding
+ * the session lock. It sends the items to the client when both the items and
+ * the item count are available, using {@link com.vaadin.flow.component.UI#access
+ * UI.access}. The application should therefore have server push or polling
+ * enabled. Results that complete after the requested range, the filter or the
+ * sorting have changed are discarded.
+ * <p>
+ * The synchronous {@link #fetch(Query)} and {@link #size(Query)} methods wait
+ * for the stages to complete.
+ *
+ * @param <T>
+ *            data provider data type
+ * @param <F>
+ *            data provider filter type
+ * @author Vaadin Ltd
+ * @since
+ *
+ * @see AsyncCallbackDataProvider
+ */
+public interface AsyncDataProvider<T, F> extends DataProvider<T, F> {
+
+    /**
+     * Fetches data asynchronously using the given query. The query is only
+     * guaranteed to be unchanged until the returned stage completes.
+     *
+     * @param query
+     *            a given query
+     * @return a stage completing with the requested data
+     * @see #fetch(Query)
+     */
+    CompletionStage<Stream<T>> fetchAsync(Query<T, F> query);
+
+    /**
+     * Gets the amount of data asynchronously using the given query.
+     *
+     * @param query
+     *            a given query
+     * @return a stage completing with the size of the requested data
+     * @see #size(Query)
+     */
+    CompletionStage<Integer> sizeAsync(Query<T, F> query);
+
+    @Override
+    default Stream<T> fetch(Query<T, F> query) {
+        return fetchAsync(query).toCompletableFuture().join();
+    }
+
+    @Override
+    default int size(Query<T, F> query) {
+        return sizeAsync(query).toCompletableFuture().join();
+    }
+
+    @Override
+    default boolean isInMemory() {
+        return false;
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonType;
+import elemental.json.JsonValue;
+
+/**
+ * Builds the JSON of several items in a columnar format, where each property
+ * name is sent once instead of once per item.
+ * <p>
+ * The items are generated one at a time into the reusable object returned by
+ * {@link #startItem()}, for instance by passing it to
+ * {@link DataGenerator#generateData(Object, JsonObject)}. The built JSON has
+ * the form
+ *
+ * <pre>
+ * {"size": 3, "keys": ["key", "name"],
+ *  "values": [["1", "2", "3"], ["Foo", null, null]], "absent": [[], [2]]}
+ * </pre>
+ *
+ * where {@code values} contains an array of the values of each property. Items
+ * without the property have a {@code null} placeholder in the values, and
+ * their indices are listed in the array of the property in {@code absent},
+ * which is left out if all the items have all the properties. An explicit
+ * {@code null} value, like the name of the second item above, is kept when the
+ * items are decoded using {@link #decode(JsonObject)} or
+ * {@code decodeColumnarItems} in {@code flow-columnar-data.js} in the browser.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class ColumnarJsonBuilder implements Serializable {
+
+    static final String SIZE = "size";
+    static final String KEYS = "keys";
+    static final String VALUES = "values";
+    static final String ABSENT = "absent";
+
+    private final Map<String, Integer> columnIndices = new HashMap<>();
+
+    private final List<String> columnKeys = new ArrayList<>();
+
+    private final List<JsonValue[]> columns = new ArrayList<>();
+
+    private final Item item = new Item();
+
+    private int size;
+
+    /**
+     * The object used for generating one item. Properties are written
+     * directly to the columns of the builder.
+     */
+    private class Item implements JsonObject {
+
+        private int index;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends JsonValue> T get(String key) {
+            Integer column = columnIndices.get(key);
+            return column == null ? null : (T) columns.get(column)[index];
+        }
+
+        @Override
+        public JsonArray getArray(String key) {
+            return get(key);
+        }
+
+        @Override
+        public boolean getBoolean(String key) {
+            return ((JsonValue) get(key)).asBoolean();
+        }
+
+        @Override
+        public double getNumber(String key) {
+            return ((JsonValue) get(key)).asNumber();
+        }
+
+        @Override
+        public JsonObject getObject(String key) {
+            return get(key);
+        }
+
+        @Override
+        public String getString(String key) {
+            return ((JsonValue) get(key)).asString();
+        }
+
+        @Override
+        public String[] keys() {
+            List<String> keys = new ArrayList<>();
+            for (int column = 0; column < columns.size(); column++) {
+                if (columns.get(column)[index] != null) {
+                    keys.add(columnKeys.get(column));
+                }
+            }
+            return keys.toArray(new String[keys.size()]);
+        }
+
+        @Override
+        public void put(String key, JsonValue value) {
+            getColumn(key)[index] = value == null ? Json.createNull() : value;
+        }
+
+        @Override
+        public void put(String key, String value) {
+            put(key, Json.create(value));
+        }
+
+        @Override
+        public void put(String key, double value) {
+            put(key, Json.create(value));
+        }
+
+        @Override
+        public void put(String key, boolean value) {
+            put(key, Json.create(value));
+        }
+
+        @Override
+        public boolean hasKey(String key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public void remove(String key) {
+            Integer column = columnIndices.get(key);
+            if (column != null) {
+                columns.get(column)[index] = null;
+            }
+        }
+
+        @Override
+        public boolean asBoolean() {
+            return true;
+        }
+
+        @Override
+        public double asNumber() {
+            return Double.NaN;
+        }
+
+        @Override
+        public String asString() {
+            return "[object Object]";
+        }
+
+        @Override
+        public JsonType getType() {
+            return JsonType.OBJECT;
+        }
+
+        @Override
+        public String toJson() {
+            return toObject().toJson();
+        }
+
+        @Override
+        public boolean jsEquals(JsonValue value) {
+            return this == value;
+        }
+
+        @Override
+        public Object toNative() {
+            return toObject().toNative();
+        }
+
+        private JsonObject toObject() {
+            JsonObject object = Json.createObject();
+            for (String key : keys()) {
+                object.put(key, (JsonValue) get(key));
+            }
+            return object;
+        }
+    }
+
+    /**
+     * Starts generating the next item.
+     *
+     * @return the object to write the properties of the item to, only valid
+     *         until the next call of this method or {@link #build()}
+     */
+    public JsonObject startItem() {
+        item.index = size++;
+        for (int column = 0; column < columns.size(); column++) {
+            JsonValue[] values = columns.get(column);
+            if (values.length < size) {
+                columns.set(column, Arrays.copyOf(values,
+                        Math.max(size, values.length * 2)));
+            }
+        }
+        return item;
+    }
+
+    /**
+     * Builds the JSON of the items generated since the previous build, and
+     * resets the builder for generating new items.
+     *
+     * @return the items in the columnar format
+     */
+    public JsonObject build() {
+        JsonArray keys = Json.createArray();
+        JsonArray values = Json.createArray();
+        JsonArray absent = Json.createArray();
+        boolean anyAbsent = false;
+        for (int column = 0; column < columns.size(); column++) {
+            JsonValue[] columnValues = columns.get(column);
+            JsonArray array = Json.createArray();
+            JsonArray absentIndices = Json.createArray();
+            for (int index = 0; index < size; index++) {
+                if (columnValues[index] == null) {
+                    array.set(index, Json.createNull());
+                    absentIndices.set(absentIndices.length(), index);
+                } else {
+                    array.set(index, columnValues[index]);
+                    columnValues[index] = null;
+                }
+            }
+            // Leave out properties that none of the items have
+            if (absentIndices.length() < size) {
+                keys.set(keys.length(), columnKeys.get(column));
+                values.set(values.length(), array);
+                absent.set(absent.length(), absentIndices);
+                anyAbsent |= absentIndices.length() > 0;
+            }
+        }
+
+        JsonObject json = Json.createObject();
+        json.put(SIZE, size);
+        json.put(KEYS, keys);
+        json.put(VALUES, values);
+        if (anyAbsent) {
+            json.put(ABSENT, absent);
+        }
+        size = 0;
+        return json;
+    }
+
+    /**
+     * Decodes the items of a JSON object built by a columnar builder. Items
+     * that did not have a property do not have it in the decoded object,
+     * whereas explicit {@code null} values are kept.
+     *
+     * @param json
+     *            the items in the columnar format, not {@code null}
+     * @return a list of item objects
+     */
+    public static List<JsonValue> decode(JsonObject json) {
+        int size = (int) json.getNumber(SIZE);
+        JsonArray keys = json.getArray(KEYS);
+        JsonArray values = json.getArray(VALUES);
+        JsonArray absent = json.hasKey(ABSENT) ? json.getArray(ABSENT) : null;
+
+        List<JsonValue> items = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            items.add(Json.createObject());
+        }
+        for (int column = 0; column < keys.length(); column++) {
+            String key = keys.getString(column);
+            JsonArray columnValues = values.getArray(column);
+            JsonArray absentIndices = absent == null ? null
+                    : absent.getArray(column);
+            int nextAbsent = 0;
+            for (int index = 0; index < size; index++) {
+                if (absentIndices != null
+                        && nextAbsent < absentIndices.length()
+                        && (int) absentIndices.getNumber(nextAbsent) == index) {
+                    nextAbsent++;
+                } else {
+                    ((JsonObject) items.get(index)).put(key,
+                            columnValues.<JsonValue> get(index));
+                }
+            }
+        }
+        return items;
+    }
+
+    private JsonValue[] getColumn(String key) {
+        Integer column = columnIndices.get(key);
+        if (column == null) {
+            column = columns.size();
+            columnIndices.put(key, column);
+            columnKeys.add(key);
+            columns.add(new JsonValue[Math.max(size, 16)]);
+        }
+        return columns.get(column);
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.vaadin.flow.data.provider;
 
+import java.util.Collection;
 import java.util.EventObject;
 import java.util.Objects;
 
@@ -93,6 +94,75 @@ public class DataChangeEvent<T> extends EventObject {
         }
     }
 
+    /**
+     * An event fired when items have been added to, removed from or updated in
+     * a {@code DataProvider}. Listeners that don't handle this event in
+     * particular can handle it like any other {@link DataChangeEvent}, by
+     * refreshing all the data.
+     *
+     * @param <T>
+     *            the data type
+     * @since
+     */
+    public static class DataDeltaEvent<T> extends DataChangeEvent<T> {
+
+        private final Collection<T> addedItems;
+        private final Collection<T> removedItems;
+        private final Collection<T> updatedItems;
+
+        /**
+         * Creates a new data delta event originating from the given data
+         * provider.
+         *
+         * @param source
+         *            the data provider, not null
+         * @param addedItems
+         *            the added items, not null
+         * @param removedItems
+         *            the removed items, not null
+         * @param updatedItems
+         *            the updated items, not null
+         */
+        public DataDeltaEvent(DataProvider<T, ?> source,
+                Collection<T> addedItems, Collection<T> removedItems,
+                Collection<T> updatedItems) {
+            super(source);
+            this.addedItems = Objects.requireNonNull(addedItems,
+                    "Added items can't be null");
+            this.removedItems = Objects.requireNonNull(removedItems,
+                    "Removed items can't be null");
+            this.updatedItems = Objects.requireNonNull(updatedItems,
+                    "Updated items can't be null");
+        }
+
+        /**
+         * Gets the added items.
+         *
+         * @return the added items
+         */
+        public Collection<T> getAddedItems() {
+            return addedItems;
+        }
+
+        /**
+         * Gets the removed items.
+         *
+         * @return the removed items
+         */
+        public Collection<T> getRemovedItems() {
+            return removedItems;
+        }
+
+        /**
+         * Gets the updated items.
+         *
+         * @return the updated items
+         */
+        public Collection<T> getUpdatedItems() {
+            return updatedItems;
+        }
+    }
+
     /**
      * Creates a new {@code DataChangeEvent} event originating from the given
      * data provider.
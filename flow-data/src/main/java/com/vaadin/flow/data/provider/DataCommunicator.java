@@ -17,14 +17,19 @@ package com.vaadin.flow.data.provider;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -33,7 +38,10 @@ import java.util.stream.Stream;
 
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.data.provider.ArrayUpdater.Update;
+import com.vaadin.flow.data.provider.DataChangeEvent.DataDeltaEvent;
 import com.vaadin.flow.data.provider.DataChangeEvent.DataRefreshEvent;
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.function.SerializableComparator;
@@ -43,6 +51,7 @@ import com.vaadin.flow.internal.ExecutionContext;
 import com.vaadin.flow.internal.JsonUtils;
 import com.vaadin.flow.internal.Range;
 import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.shared.Registration;
 import org.slf4j.LoggerFactory;
 
@@ -95,6 +104,7 @@ public class DataCommunicator<T> implements Serializable {
     private int lastSent = -1;
 
     private boolean resendEntireRange = true;
+    private boolean resyncActiveRange;
     private boolean assumeEmptyClient = true;
 
     private int nextUpdateId = 0;
@@ -123,6 +133,16 @@ public class DataCommunicator<T> implements Serializable {
 
     private boolean fetchEnabled;
 
+    private boolean columnarEncoding;
+    private transient ColumnarJsonBuilder columnarBuilder;
+
+    private int readAheadPages;
+    private transient Executor prefetchExecutor;
+    private final PrefetchCache<T> prefetchCache = new PrefetchCache<>();
+
+    private AsyncLoad<T> asyncLoad;
+    private Range asyncLoadMissing;
+
     /**
      * In-memory data provider with no items.
      * <p>
@@ -254,6 +274,143 @@ public class DataCommunicator<T> implements Serializable {
 
     }
 
+    /**
+     * Items fetched ahead of the requested range, keyed by their index. The
+     * cached items are only valid for the filter and sorting they were
+     * fetched with. The cache is accessed both from the request thread and
+     * from the prefetch executor, so all access is synchronized.
+     */
+    private static class PrefetchCache<T> implements Serializable {
+
+        private final HashMap<Integer, T> items = new HashMap<>();
+
+        private List<Object> key;
+
+        // Index after the last item, if a partial page has been fetched
+        private int end = Integer.MAX_VALUE;
+
+        private int generation;
+
+        private synchronized int prepare(List<Object> key) {
+            if (!Objects.equals(this.key, key)) {
+                invalidate();
+                this.key = key;
+            }
+            return generation;
+        }
+
+        private synchronized void invalidate() {
+            items.clear();
+            key = null;
+            end = Integer.MAX_VALUE;
+            generation++;
+        }
+
+        private synchronized List<T> get(List<Object> key, int offset,
+                int limit) {
+            if (!Objects.equals(this.key, key)) {
+                return null;
+            }
+            int last = (int) Math.min((long) offset + limit, end);
+            List<T> result = new ArrayList<>(Math.max(last - offset, 0));
+            for (int i = offset; i < last; i++) {
+                T item = items.get(i);
+                if (item == null) {
+                    return null;
+                }
+                result.add(item);
+            }
+            return result;
+        }
+
+        private synchronized void put(int generation, int offset, int limit,
+                List<T> fetched) {
+            if (generation != this.generation) {
+                // Fetched with a filter or sorting that is no longer used
+                return;
+            }
+            for (int i = 0; i < fetched.size(); i++) {
+                items.put(offset + i, fetched.get(i));
+            }
+            if (fetched.size() < limit) {
+                end = Math.min(end, offset + fetched.size());
+            }
+        }
+
+        private synchronized void retain(int start, int end) {
+            Iterator<Integer> iterator = items.keySet().iterator();
+            while (iterator.hasNext()) {
+                int index = iterator.next();
+                if (index < start || index >= end) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        private synchronized boolean isCached(int generation, int offset,
+                int limit) {
+            if (generation != this.generation) {
+                // Nothing to fetch for a stale prefetch
+                return true;
+            }
+            int last = (int) Math.min((long) offset + limit, end);
+            for (int i = offset; i < last; i++) {
+                if (!items.containsKey(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The items and the item count loaded from an {@link AsyncDataProvider}
+     * for a range and a combination of filter and sorting. Only the latest
+     * load is kept, so a response to an older load is recognized as stale.
+     */
+    private static class AsyncLoad<T> implements Serializable {
+
+        private final List<Object> key;
+
+        private final Range range;
+
+        private final boolean withSize;
+
+        private boolean completed;
+
+        private Integer size;
+
+        private List<T> items;
+
+        private AsyncLoad(List<Object> key, Range range, boolean withSize) {
+            this.key = key;
+            this.range = range;
+            this.withSize = withSize;
+        }
+
+        private boolean covers(List<Object> key, Range range,
+                boolean sizeNeeded) {
+            return this.key.equals(key) && range.isSubsetOf(this.range)
+                    && (withSize || !sizeNeeded);
+        }
+
+        private List<T> getItems(List<Object> key, int offset, int limit) {
+            if (!completed || !this.key.equals(key)
+                    || offset < range.getStart()) {
+                return null;
+            }
+            // A partially loaded page is only returned if the data ends
+            // before the end of the loaded range
+            boolean dataEnded = items.size() < range.length();
+            if ((long) offset + limit > range.getEnd() && !dataEnded) {
+                return null;
+            }
+            int from = Math.min(offset - range.getStart(), items.size());
+            int to = (int) Math.min((long) from + limit, items.size());
+            return items.subList(from, to);
+        }
+    }
+
     /**
      * Creates a new instance.
      *
@@ -333,6 +490,8 @@ public class DataCommunicator<T> implements Serializable {
         skipCountIncreaseUntilReset = false;
         sizeReset = true;
         resendEntireRange = true;
+        prefetchCache.invalidate();
+        asyncLoad = null;
         dataGenerator.destroyAllData();
         updatedData.clear();
         requestFlush();
@@ -763,12 +922,20 @@ public class DataCommunicator<T> implements Serializable {
      * Sets the {@link DataKeyMapper} used in this {@link DataCommunicator}. Key
      * mapper can be used to map keys sent to the client-side back to their
      * respective data objects.
+     * <p>
+     * The data generated for objects evicted from a bounded
+     * {@link IntKeyMapper} is destroyed, since the keys of those objects are
+     * no longer known when the client-side stops using them.
      *
      * @param keyMapper
      *            the keyMapper
      */
     protected void setKeyMapper(DataKeyMapper<T> keyMapper) {
         this.keyMapper = keyMapper;
+        if (keyMapper instanceof IntKeyMapper) {
+            ((IntKeyMapper<T>) keyMapper)
+                    .setEvictionListener(dataGenerator::destroyData);
+        }
     }
 
     /**
@@ -871,6 +1038,121 @@ public class DataCommunicator<T> implements Serializable {
         this.fetchEnabled = fetchEnabled;
     }
 
+    /**
+     * Sets whether the items are sent to the client in a columnar format,
+     * where each property name is sent once per update instead of once per
+     * item. The items are then passed to
+     * {@link ArrayUpdater.Update#setColumnar(int, JsonObject)} instead of
+     * {@link ArrayUpdater.Update#set(int, List)}, and the data generator
+     * writes the properties of all items to a reusable builder.
+     * <p>
+     * Columnar encoding is disabled by default and should only be enabled if
+     * the array updater overrides
+     * {@link ArrayUpdater.Update#setColumnar(int, JsonObject)} and its client
+     * side counterpart decodes the items, e.g. using
+     * {@code decodeColumnarItems} from {@code flow-columnar-data.js}. None of
+     * the array updaters in Flow itself do that: the default implementation
+     * only decodes the items back to the regular format on the server, which
+     * costs more than not using columnar encoding at all. Columnar encoding is
+     * not supported for hierarchical data.
+     *
+     * @param columnarEncoding
+     *            {@code true} to send the items in the columnar format,
+     *            {@code false} to send a JSON object per item
+     * @see ColumnarJsonBuilder
+     * @since
+     */
+    public void setColumnarEncoding(boolean columnarEncoding) {
+        this.columnarEncoding = columnarEncoding;
+    }
+
+    /**
+     * Returns whether the items are sent to the client in a columnar format.
+     *
+     * @return {@code true} if the items are sent in the columnar format,
+     *         {@code false} otherwise
+     * @see #setColumnarEncoding(boolean)
+     * @since
+     */
+    public boolean isColumnarEncoding() {
+        return columnarEncoding;
+    }
+
+    /**
+     * Sets the number of pages to fetch ahead of and behind the requested
+     * range. The pages are cached and used for the following requested ranges
+     * instead of querying the data provider, as long as the filter and the
+     * sorting stay the same. The cache is cleared whenever the data provider
+     * fires a {@link DataChangeEvent} or the data is reset.
+     * <p>
+     * The pages are fetched after the requested range has been sent, using
+     * the executor set with {@link #setPrefetchExecutor(Executor)}, or in the
+     * same round trip if no executor is set.
+     * <p>
+     * Read-ahead is disabled by default. It is not used with disposable
+     * filters or with an {@link AsyncDataProvider}.
+     *
+     * @param readAheadPages
+     *            the number of pages to fetch in each direction, or {@code 0}
+     *            to disable read-ahead
+     * @since
+     */
+    public void setReadAheadPages(int readAheadPages) {
+        if (readAheadPages < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Read-ahead page count cannot be negative, got %d",
+                    readAheadPages));
+        }
+        this.readAheadPages = readAheadPages;
+        if (readAheadPages == 0) {
+            prefetchCache.invalidate();
+        }
+    }
+
+    /**
+     * Returns the number of pages fetched ahead of and behind the requested
+     * range.
+     *
+     * @return the number of read-ahead pages, {@code 0} if read-ahead is
+     *         disabled
+     * @see #setReadAheadPages(int)
+     * @since
+     */
+    public int getReadAheadPages() {
+        return readAheadPages;
+    }
+
+    /**
+     * Sets the executor used for fetching the read-ahead pages off the
+     * request thread. The data provider is then queried without holding the
+     * session lock and without any current {@code VaadinSession} or
+     * {@code UI}, so it must be safe to use from several threads.
+     * <p>
+     * The executor is not serialized with the data communicator. The
+     * read-ahead pages are fetched in the request thread if there is no
+     * executor.
+     *
+     * @param prefetchExecutor
+     *            the executor to use, or {@code null} to fetch the read-ahead
+     *            pages in the request thread
+     * @see #setReadAheadPages(int)
+     * @since
+     */
+    public void setPrefetchExecutor(Executor prefetchExecutor) {
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    /**
+     * Returns the executor used for fetching the read-ahead pages.
+     *
+     * @return the executor, or {@code null} if the read-ahead pages are
+     *         fetched in the request thread
+     * @since
+     */
+    public Executor getPrefetchExecutor() {
+        return prefetchExecutor;
+    }
+
     /**
      * Getter method for determining the item count of the data.
      * <p>
@@ -887,6 +1169,14 @@ public class DataCommunicator<T> implements Serializable {
         assert definedSize : "This method should never be called when using undefined size";
         if (countCallback != null) {
             return countCallback.count(new Query(getFilter()));
+        } else if (asyncLoad != null && asyncLoad.completed
+                && asyncLoad.size != null
+                && asyncLoad.key.equals(getPrefetchKey())) {
+            return asyncLoad.size;
+        } else if (getDataProvider() instanceof AsyncDataProvider) {
+            // Never wait for the data provider while holding the session
+            // lock, the item count is loaded when the data is flushed
+            return assumedSize;
         } else {
             return getDataProvider().size(new Query(getFilter()));
         }
@@ -962,18 +1252,18 @@ public class DataCommunicator<T> implements Serializable {
                 int page = 0;
                 do {
                     final int newOffset = offset + page * pageSize;
-                    doFetchFromDataProvider(newOffset, pageSize)
+                    fetchPage(newOffset, pageSize)
                             .forEach(addItemAndCheckConsumer);
                     page++;
                 } while (page < pages && fetchedPerPage.getAndSet(0) == pageSize);
 
                 stream = streamBuilder.build();
             } else {
-                stream = doFetchFromDataProvider(offset, pageSize);
+                stream = fetchPage(offset, pageSize);
             }
             limit = pages * pageSize;
         } else {
-            stream = doFetchFromDataProvider(offset, limit);
+            stream = fetchPage(offset, limit);
         }
 
         if (stream.isParallel()) {
@@ -989,6 +1279,240 @@ public class DataCommunicator<T> implements Serializable {
         return stream.peek(verifier);
     }
 
+    private Stream<T> fetchPage(int offset, int limit) {
+        if (asyncLoad != null) {
+            List<T> loaded = asyncLoad.getItems(getPrefetchKey(), offset,
+                    limit);
+            if (loaded != null) {
+                return loaded.stream();
+            }
+        }
+        if (getDataProvider() instanceof AsyncDataProvider) {
+            // Never wait for the data provider while holding the session
+            // lock, the flush is cancelled and the missing items are loaded
+            asyncLoadMissing = asyncLoadMissing == null
+                    ? Range.withLength(offset, limit)
+                    : Range.between(
+                            Math.min(asyncLoadMissing.getStart(), offset),
+                            Math.max(asyncLoadMissing.getEnd(),
+                                    offset + limit));
+            return Stream.empty();
+        }
+        if (readAheadPages == 0) {
+            return doFetchFromDataProvider(offset, limit);
+        }
+        List<Object> key = getPrefetchKey();
+        List<T> cached = prefetchCache.get(key, offset, limit);
+        if (cached != null) {
+            return cached.stream();
+        }
+        int generation = prefetchCache.prepare(key);
+        List<T> items = doFetchFromDataProvider(offset, limit)
+                .collect(Collectors.toList());
+        prefetchCache.put(generation, offset, limit, items);
+        return items.stream();
+    }
+
+    private List<Object> getPrefetchKey() {
+        return Arrays.asList(getFilter(), new ArrayList<>(backEndSorting),
+                inMemorySorting);
+    }
+
+    /**
+     * Fetches the read-ahead pages around the given range, either right away
+     * or using the prefetch executor.
+     */
+    private void prefetch(Range range) {
+        if (readAheadPages == 0 || range.isEmpty()
+                || (filter != null && !filter.isPermanent())
+                || getDataProvider() instanceof AsyncDataProvider) {
+            return;
+        }
+        int window = (int) Math.min((long) readAheadPages * pageSize,
+                Integer.MAX_VALUE);
+        int start = Math.max(0, range.getStart() - window);
+        int end = (int) Math.min((long) range.getEnd() + window,
+                Integer.MAX_VALUE);
+        if (definedSize) {
+            end = Math.min(end, assumedSize);
+        }
+        prefetchCache.retain(start, end);
+
+        int generation = prefetchCache.prepare(getPrefetchKey());
+        List<Range> missing = new ArrayList<>();
+        collectMissing(generation, Range.between(start, range.getStart()),
+                missing);
+        collectMissing(generation, Range.between(range.getEnd(), end),
+                missing);
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        DataProvider<T, ?> provider = getDataProvider();
+        List<QuerySortOrder> sorting = new ArrayList<>(backEndSorting);
+        SerializableComparator<T> comparator = inMemorySorting;
+        Object filterObject = getFilter();
+        Runnable task = () -> missing.forEach(page -> fetchAhead(provider,
+                generation, page, sorting, comparator, filterObject));
+        if (prefetchExecutor == null) {
+            task.run();
+        } else {
+            prefetchExecutor.execute(task);
+        }
+    }
+
+    private void collectMissing(int generation, Range range,
+            List<Range> missing) {
+        int chunk = pagingEnabled ? pageSize : range.length();
+        for (int offset = range.getStart(); offset < range
+                .getEnd(); offset += chunk) {
+            int limit = pagingEnabled ? pageSize
+                    : Math.min(chunk, range.getEnd() - offset);
+            if (!prefetchCache.isCached(generation, offset, limit)) {
+                missing.add(Range.withLength(offset, limit));
+            }
+        }
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private void fetchAhead(DataProvider provider, int generation, Range page,
+            List<QuerySortOrder> sorting, SerializableComparator<T> comparator,
+            Object filterObject) {
+        try {
+            QueryTrace query = new QueryTrace(page.getStart(), page.length(),
+                    sorting, comparator, filterObject);
+            List<T> items = ((Stream<T>) provider.fetch(query))
+                    .collect(Collectors.toList());
+            verifyQueryContract(query);
+            prefetchCache.put(generation, page.getStart(), page.length(),
+                    items);
+        } catch (RuntimeException e) {
+            // The page is fetched again when it is actually requested
+            LoggerFactory.getLogger(DataCommunicator.class)
+                    .debug("Fetching items ahead of the requested range "
+                            + "failed", e);
+        }
+    }
+
+    /**
+     * Starts loading the requested range and the item count from an
+     * asynchronous data provider, unless they are already loaded. The flush is
+     * requested again when a pending load completes.
+     *
+     * @return {@code true} if the flush has to wait for the data provider,
+     *         {@code false} if the data is loaded or the data provider is
+     *         synchronous
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private boolean loadAsync() {
+        if (!(getDataProvider() instanceof AsyncDataProvider)) {
+            return false;
+        }
+        List<Object> key = getPrefetchKey();
+        Range range = getAsyncLoadRange();
+        if (asyncLoadMissing != null) {
+            range = Range.between(
+                    Math.min(range.getStart(), asyncLoadMissing.getStart()),
+                    Math.max(range.getEnd(), asyncLoadMissing.getEnd()));
+            asyncLoadMissing = null;
+        }
+        boolean sizeNeeded = definedSize && countCallback == null;
+        if (asyncLoad != null && asyncLoad.covers(key, range, sizeNeeded)) {
+            return !asyncLoad.completed;
+        }
+
+        AsyncDataProvider provider = (AsyncDataProvider) getDataProvider();
+        // The size is only loaded again when the data is reset
+        Integer knownSize = asyncLoad != null && asyncLoad.completed
+                && asyncLoad.key.equals(key) ? asyncLoad.size : null;
+        CompletableFuture<Integer> size;
+        if (knownSize != null || !sizeNeeded) {
+            size = CompletableFuture.completedFuture(knownSize);
+        } else {
+            size = provider.sizeAsync(new Query(getFilter()))
+                    .toCompletableFuture();
+        }
+        QueryTrace query = range.isEmpty() ? null
+                : new QueryTrace(range.getStart(), range.length(),
+                        backEndSorting, inMemorySorting, getFilter());
+        CompletableFuture<List<T>> items;
+        if (query == null) {
+            items = CompletableFuture.completedFuture(Collections.emptyList());
+        } else {
+            items = provider.fetchAsync(query).toCompletableFuture()
+                    .thenApply(stream -> ((Stream<T>) stream)
+                            .collect(Collectors.toList()));
+        }
+
+        AsyncLoad<T> load = new AsyncLoad<>(key, range,
+                knownSize != null || sizeNeeded);
+        asyncLoad = load;
+        CompletableFuture<Void> loaded = CompletableFuture.allOf(size, items);
+        if (loaded.isDone()) {
+            completeAsyncLoad(load, size, items, query);
+            return false;
+        }
+
+        UI ui = ((StateTree) stateNode.getOwner()).getUI();
+        loaded.whenComplete((ignore, error) -> {
+            try {
+                ui.access(() -> {
+                    if (completeAsyncLoad(load, size, items, query)) {
+                        requestFlush();
+                    }
+                });
+            } catch (UIDetachedException e) {
+                // Nothing to update
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Gets the range of items that the flush may fetch for the requested
+     * range. With paging, the part of the requested range after the currently
+     * active range is fetched in whole pages starting from its own start.
+     */
+    private Range getAsyncLoadRange() {
+        Range range = getPagedRange(requestedRange);
+        Range after = requestedRange.partitionWith(
+                Range.withLength(activeStart, activeKeyOrder.size()))[2];
+        if (!after.isEmpty()) {
+            range = Range.between(range.getStart(),
+                    Math.max(range.getEnd(), getPagedRange(after).getEnd()));
+        }
+        return range;
+    }
+
+    private Range getPagedRange(Range range) {
+        if (!pagingEnabled || range.isEmpty()) {
+            return range;
+        }
+        int pages = (range.length() - 1) / pageSize + 1;
+        return Range.withLength(range.getStart(), pages * pageSize);
+    }
+
+    private boolean completeAsyncLoad(AsyncLoad<T> load,
+            CompletableFuture<Integer> size, CompletableFuture<List<T>> items,
+            QueryTrace query) {
+        if (asyncLoad != load) {
+            // The range, the filter or the sorting has changed meanwhile
+            return false;
+        }
+        try {
+            load.size = size.join();
+            load.items = items.join();
+        } catch (CompletionException e) {
+            asyncLoad = null;
+            throw e;
+        }
+        if (query != null) {
+            verifyQueryContract(query);
+        }
+        load.completed = true;
+        return true;
+    }
+
     @SuppressWarnings({ "rawtypes", "unchecked" })
     private Stream<T> doFetchFromDataProvider(int offset, int limitedTo) {
         QueryTrace query = new QueryTrace(offset, limitedTo, backEndSorting,
@@ -1024,8 +1548,11 @@ public class DataCommunicator<T> implements Serializable {
     private void handleAttach() {
         dataProviderUpdateRegistration = getDataProvider()
                 .addDataProviderListener(event -> {
+                    prefetchCache.invalidate();
                     if (event instanceof DataRefreshEvent) {
                         handleDataRefreshEvent((DataRefreshEvent<T>) event);
+                    } else if (event instanceof DataDeltaEvent) {
+                        handleDataDeltaEvent((DataDeltaEvent<T>) event);
                     } else {
                         reset();
                     }
@@ -1039,6 +1566,36 @@ public class DataCommunicator<T> implements Serializable {
         refresh(event.getItem());
     }
 
+    /**
+     * Handles items added to, removed from or updated in the data provider.
+     * Instead of resetting, the active range is fetched again and only the
+     * rows whose item has changed are sent to the client. The items that are
+     * still active keep their keys.
+     *
+     * @param event
+     *            the data delta event
+     * @since
+     */
+    protected void handleDataDeltaEvent(DataDeltaEvent<T> event) {
+        // Items that are not known to the client don't need to be sent
+        event.getUpdatedItems().stream().filter(keyMapper::has)
+                .forEach(this::refresh);
+        if (event.getAddedItems().isEmpty()
+                && event.getRemovedItems().isEmpty()) {
+            return;
+        }
+        if (!definedSize) {
+            // The size estimate is reset anyway
+            reset();
+            return;
+        }
+        updatedData.removeAll(event.getRemovedItems());
+        asyncLoad = null;
+        sizeReset = true;
+        resyncActiveRange = true;
+        requestFlush();
+    }
+
     private void handleDetach() {
         dataGenerator.destroyAllData();
         if (dataProviderUpdateRegistration != null) {
@@ -1078,7 +1635,12 @@ public class DataCommunicator<T> implements Serializable {
     }
 
     private void flush() {
+        if (loadAsync()) {
+            return;
+        }
+
         Set<String> oldActive = new HashSet<>(activeKeyOrder);
+        final List<String> previousKeyOrder = activeKeyOrder;
 
         Range effectiveRequested;
         final Range previousActive = Range.withLength(activeStart,
@@ -1102,6 +1664,11 @@ public class DataCommunicator<T> implements Serializable {
 
         Activation activation = collectKeysToFlush(previousActive,
                 effectiveRequested);
+        if (asyncLoadMissing != null) {
+            // Flush again when the missing items have been loaded
+            requestFlush(true);
+            return;
+        }
 
         // In case received less items than what was expected, adjust size
         if (activation.isSizeRecheckNeeded()) {
@@ -1136,9 +1703,10 @@ public class DataCommunicator<T> implements Serializable {
         // Phase 2: Collect changes to send
         Update update = arrayUpdater.startUpdate(assumedSize);
         boolean updated = collectChangesToSend(previousActive,
-                effectiveRequested, update);
+                effectiveRequested, previousKeyOrder, update);
 
         resendEntireRange = false;
+        resyncActiveRange = false;
         assumeEmptyClient = false;
         sizeReset = false;
 
@@ -1150,6 +1718,8 @@ public class DataCommunicator<T> implements Serializable {
 
         fireItemCountEvent(assumedSize);
 
+        prefetch(effectiveRequested);
+
         clearFilterIfDisposable();
     }
 
@@ -1234,7 +1804,8 @@ public class DataCommunicator<T> implements Serializable {
     }
 
     private boolean collectChangesToSend(final Range previousActive,
-            final Range effectiveRequested, Update update) {
+            final Range effectiveRequested, List<String> previousKeyOrder,
+            Update update) {
         boolean updated = false;
         if (assumeEmptyClient || resendEntireRange) {
             if (!assumeEmptyClient) {
@@ -1250,7 +1821,15 @@ public class DataCommunicator<T> implements Serializable {
                         previousActive.length());
             }
 
-            update.set(activeStart, getJsonItems(effectiveRequested));
+            setItems(update, effectiveRequested);
+            updated = true;
+        } else if (resyncActiveRange) {
+            withMissing(previousActive, effectiveRequested,
+                    range -> update.clear(range.getStart(), range.length()));
+            setChangedItems(update, previousActive, previousKeyOrder,
+                    effectiveRequested);
+            // Committed even if no row has changed, since the size may have
+            // changed
             updated = true;
         } else if (!previousActive.equals(effectiveRequested)) {
             /*
@@ -1265,7 +1844,7 @@ public class DataCommunicator<T> implements Serializable {
 
             // Set requested items missing from previously active
             withMissing(effectiveRequested, previousActive,
-                    range -> update.set(range.getStart(), getJsonItems(range)));
+                    range -> setItems(update, range));
             updated = true;
         }
         return updated;
@@ -1278,7 +1857,7 @@ public class DataCommunicator<T> implements Serializable {
          * actually be useful can be optimized away once we have some actual
          * test coverage for the logic here.
          */
-        if (resendEntireRange) {
+        if (resendEntireRange || resyncActiveRange) {
             return activate(effectiveRequested);
         } else {
             List<String> newActiveKeyOrder = new ArrayList<>();
@@ -1303,6 +1882,50 @@ public class DataCommunicator<T> implements Serializable {
         }
     }
 
+    private void setItems(Update update, Range range) {
+        if (!columnarEncoding) {
+            update.set(range.getStart(), getJsonItems(range));
+            return;
+        }
+        if (columnarBuilder == null) {
+            columnarBuilder = new ColumnarJsonBuilder();
+        }
+        for (int index = range.getStart(); index < range.getEnd(); index++) {
+            String key = activeKeyOrder.get(index - activeStart);
+            JsonObject json = columnarBuilder.startItem();
+            json.put("key", key);
+            dataGenerator.generateData(keyMapper.get(key), json);
+        }
+        update.setColumnar(range.getStart(), columnarBuilder.build());
+    }
+
+    /**
+     * Sets the items of the consecutive rows whose key differs from the key
+     * previously sent for the same index.
+     */
+    private void setChangedItems(Update update, Range previousActive,
+            List<String> previousKeyOrder, Range range) {
+        int changedStart = -1;
+        for (int index = range.getStart(); index <= range.getEnd(); index++) {
+            boolean changed = false;
+            if (index < range.getEnd()) {
+                int previousIndex = index - previousActive.getStart();
+                String previousKey = previousActive.contains(index)
+                        && previousIndex < previousKeyOrder.size()
+                                ? previousKeyOrder.get(previousIndex)
+                                : null;
+                changed = !activeKeyOrder.get(index - activeStart)
+                        .equals(previousKey);
+            }
+            if (changed && changedStart < 0) {
+                changedStart = index;
+            } else if (!changed && changedStart >= 0) {
+                setItems(update, Range.between(changedStart, index));
+                changedStart = -1;
+            }
+        }
+    }
+
     private List<JsonValue> getJsonItems(Range range) {
         return range.stream()
                 .mapToObj(index -> activeKeyOrder.get(index - activeStart))
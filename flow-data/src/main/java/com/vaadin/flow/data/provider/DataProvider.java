@@ -19,6 +19,7 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -132,6 +133,48 @@ public interface DataProvider<T, F> extends Serializable {
      */
     void refreshAll();
 
+    /**
+     * Refreshes the given items. This is the same as calling
+     * {@link #refreshItem(Object)} for each item, but listeners are notified
+     * only once.
+     *
+     * @see #applyDelta(Collection, Collection, Collection)
+     *
+     * @param items
+     *            the items to refresh, not {@code null}
+     * @since
+     */
+    default void refreshItems(Collection<T> items) {
+        applyDelta(Collections.emptyList(), Collections.emptyList(), items);
+    }
+
+    /**
+     * Informs all {@link DataProviderListener DataProviderListeners} that
+     * items have been added to, removed from or updated in the underlying
+     * data. Compared to {@link #refreshAll()}, components can then keep the
+     * items that didn't change and only update the affected rows.
+     * <p>
+     * The default implementation calls {@link #refreshAll()} if items have
+     * been added or removed, and {@link #refreshItem(Object)} for each updated
+     * item otherwise.
+     *
+     * @param addedItems
+     *            the added items, not {@code null}
+     * @param removedItems
+     *            the removed items, not {@code null}
+     * @param updatedItems
+     *            the updated items, not {@code null}
+     * @since
+     */
+    default void applyDelta(Collection<T> addedItems,
+            Collection<T> removedItems, Collection<T> updatedItems) {
+        if (!addedItems.isEmpty() || !removedItems.isEmpty()) {
+            refreshAll();
+        } else {
+            updatedItems.forEach(this::refreshItem);
+        }
+    }
+
     /**
      * Gets an identifier for the given item. This identifier is used by the
      * framework to determine equality between two items.
@@ -15,6 +15,7 @@
  */
 package com.vaadin.flow.data.provider;
 
+import java.util.Collection;
 import java.util.Objects;
 import java.util.stream.Stream;
 
@@ -69,6 +70,12 @@ public abstract class DataProviderWrapper<T, F, M>
         dataProvider.refreshItem(item);
     }
 
+    @Override
+    public void applyDelta(Collection<T> addedItems,
+            Collection<T> removedItems, Collection<T> updatedItems) {
+        dataProvider.applyDelta(addedItems, removedItems, updatedItems);
+    }
+
     @Override
     public Object getId(T item) {
         return dataProvider.getId(item);
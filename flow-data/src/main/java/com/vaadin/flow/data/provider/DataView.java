@@ -17,6 +17,7 @@
 package com.vaadin.flow.data.provider;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.stream.Stream;
 
 import com.vaadin.flow.component.ComponentEventListener;
@@ -73,6 +74,24 @@ public interface DataView<T> extends Serializable {
      */
     void refreshItem(T item);
 
+    /**
+     * Notifies the component that the items have been updated and thus should
+     * be refreshed. Items that are not available in the data are ignored.
+     * <p>
+     * The default implementation calls {@link #refreshItem(Object)} for each
+     * item.
+     *
+     * @param items
+     *            items containing updated state, not {@code null}
+     *
+     * @see #refreshItem(Object)
+     * @see DataProvider#refreshItems(Collection)
+     * @since
+     */
+    default void refreshItems(Collection<T> items) {
+        items.forEach(this::refreshItem);
+    }
+
     /**
      * Add an item count change listener that is fired when the item count
      * changes. This can happen for instance when filtering the items.
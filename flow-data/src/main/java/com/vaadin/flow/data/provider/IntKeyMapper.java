@@ -0,0 +1,485 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.function.ValueProvider;
+
+/**
+ * A {@link DataKeyMapper} for large data sets, which uses sequential
+ * {@code int} keys and stores the mappings in open addressing hash tables
+ * instead of hash maps. Keys are encoded on the wire in base 36, and no
+ * objects are allocated for a mapping apart from the key string returned by
+ * {@link #key(Object)}.
+ * <p>
+ * The mapper can optionally be bounded to a maximum number of mappings, in
+ * which case the least recently used mappings are removed when the maximum is
+ * exceeded. The maximum should be large enough to hold all items that the
+ * client may still refer to, for instance several times the number of items in
+ * the active range of a data communicator. Objects whose mappings are removed
+ * this way can be passed to an eviction listener, e.g. for destroying the data
+ * generated for them.
+ * <p>
+ * Keys are positive {@code int} values. After the largest value has been
+ * used, keys start again from the smallest value, skipping keys that are still
+ * mapped.
+ *
+ * @param <V>
+ *            the type of mapped objects
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class IntKeyMapper<V> implements DataKeyMapper<V> {
+
+    private static final int NO_ENTRY = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final char[] KEY_DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz"
+            .toCharArray();
+
+    private static final int KEY_RADIX = KEY_DIGITS.length;
+
+    private static final byte[] KEY_DIGIT_VALUES = new byte[128];
+
+    private static final int REMOVED = -1;
+
+    static {
+        Arrays.fill(KEY_DIGIT_VALUES, (byte) -1);
+        for (int i = 0; i < KEY_DIGITS.length; i++) {
+            KEY_DIGIT_VALUES[KEY_DIGITS[i]] = (byte) i;
+        }
+    }
+
+    private final int maxSize;
+
+    private ValueProvider<V, Object> identifierGetter;
+
+    private SerializableConsumer<V> evictionListener;
+
+    // Package-private for testing key overflow
+    int lastKey = 0;
+
+    /*
+     * The mappings are stored in parallel arrays indexed by an entry index.
+     * Free entries are chained through the next array.
+     */
+    private Object[] ids;
+    private int[] idHashes;
+    private Object[] items;
+    private int[] keys;
+    private int[] previous;
+    private int[] next;
+
+    private int freeEntry;
+    private int usedEntries;
+    private int size;
+    private int removedSlots;
+
+    // Least and most recently used entries, only maintained when bounded
+    private int eldest;
+    private int youngest;
+
+    /*
+     * Linear probing tables containing entry index + 1, with 0 for an empty
+     * slot and -1 for a removed entry. The tables are twice the size of the
+     * entry arrays.
+     */
+    private int[] idTable;
+    private int[] keyTable;
+
+    /**
+     * Constructs a new mapper with trivial {@code identifierGetter} and no
+     * maximum size.
+     */
+    public IntKeyMapper() {
+        this(v -> v);
+    }
+
+    /**
+     * Constructs a new mapper with no maximum size.
+     *
+     * @param identifierGetter
+     *            has to return a unique key for every bean, and the returned
+     *            key has to follow general {@code hashCode()} and
+     *            {@code equals()} contract, see {@link Object#hashCode()} for
+     *            details.
+     */
+    public IntKeyMapper(ValueProvider<V, Object> identifierGetter) {
+        this(identifierGetter, 0);
+    }
+
+    /**
+     * Constructs a new mapper which removes the least recently used mappings
+     * when the given maximum number of mappings is exceeded. Mapping a new
+     * object and getting an object by its key count as uses.
+     *
+     * @param identifierGetter
+     *            has to return a unique key for every bean, and the returned
+     *            key has to follow general {@code hashCode()} and
+     *            {@code equals()} contract, see {@link Object#hashCode()} for
+     *            details.
+     * @param maxSize
+     *            the maximum number of mappings, or {@code 0} for no maximum
+     */
+    public IntKeyMapper(ValueProvider<V, Object> identifierGetter,
+            int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Maximum size cannot be negative, got %d", maxSize));
+        }
+        this.identifierGetter = identifierGetter;
+        this.maxSize = maxSize;
+        clear();
+    }
+
+    @Override
+    public String key(V o) {
+        if (o == null) {
+            return "null";
+        }
+
+        // If the object is already mapped, use existing key
+        Object id = identifierGetter.apply(o);
+        int entry = findById(id);
+        if (entry == NO_ENTRY) {
+            entry = add(id, o, nextKey());
+            if (maxSize > 0 && size > maxSize) {
+                evict(eldest);
+            }
+        } else {
+            markUsed(entry);
+        }
+        return encodeKey(keys[entry]);
+    }
+
+    /**
+     * Sets a listener which is notified of each object whose mapping is
+     * removed because the maximum number of mappings has been exceeded.
+     * Objects removed using {@link #remove(Object)} or {@link #removeAll()}
+     * are not passed to the listener.
+     *
+     * @param evictionListener
+     *            the listener to notify, or <code>null</code> to not notify
+     *            anyone
+     */
+    public void setEvictionListener(SerializableConsumer<V> evictionListener) {
+        this.evictionListener = evictionListener;
+    }
+
+    @Override
+    public boolean has(V o) {
+        return findById(identifierGetter.apply(o)) != NO_ENTRY;
+    }
+
+    /**
+     * Retrieves object with the key.
+     *
+     * @param key
+     *            the name with the desired value.
+     * @return the object with the key.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(String key) {
+        int entry = findByKey(key);
+        if (entry == NO_ENTRY) {
+            return null;
+        }
+        markUsed(entry);
+        return (V) items[entry];
+    }
+
+    /**
+     * Checks if the given key is mapped to an object.
+     *
+     * @param key
+     *            the key to check
+     * @return <code>true</code> if the key is currently mapped,
+     *         <code>false</code> otherwise
+     */
+    public boolean containsKey(String key) {
+        return findByKey(key) != NO_ENTRY;
+    }
+
+    @Override
+    public void remove(V removeobj) {
+        int entry = findById(identifierGetter.apply(removeobj));
+        if (entry != NO_ENTRY) {
+            removeEntry(entry);
+        }
+    }
+
+    @Override
+    public void removeAll() {
+        clear();
+    }
+
+    @Override
+    public void refresh(V dataObject) {
+        int entry = findById(identifierGetter.apply(dataObject));
+        if (entry != NO_ENTRY) {
+            items[entry] = dataObject;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setIdentifierGetter(ValueProvider<V, Object> identifierGetter) {
+        if (this.identifierGetter != identifierGetter) {
+            this.identifierGetter = identifierGetter;
+            for (int entry = 0; entry < usedEntries; entry++) {
+                if (items[entry] != null) {
+                    ids[entry] = identifierGetter.apply((V) items[entry]);
+                    idHashes[entry] = hash(Objects.hashCode(ids[entry]));
+                }
+            }
+            rehash();
+        }
+    }
+
+    private void clear() {
+        ids = new Object[INITIAL_CAPACITY];
+        idHashes = new int[INITIAL_CAPACITY];
+        items = new Object[INITIAL_CAPACITY];
+        keys = new int[INITIAL_CAPACITY];
+        previous = new int[INITIAL_CAPACITY];
+        next = new int[INITIAL_CAPACITY];
+        idTable = new int[INITIAL_CAPACITY * 2];
+        keyTable = new int[INITIAL_CAPACITY * 2];
+        freeEntry = NO_ENTRY;
+        usedEntries = 0;
+        size = 0;
+        removedSlots = 0;
+        eldest = NO_ENTRY;
+        youngest = NO_ENTRY;
+    }
+
+    private int add(Object id, Object item, int key) {
+        // Keep the tables at most half full, counting removed slots
+        if (size + removedSlots >= ids.length) {
+            if (size >= ids.length / 2) {
+                grow();
+            } else {
+                rehash();
+            }
+        }
+        int entry = freeEntry;
+        if (entry != NO_ENTRY) {
+            freeEntry = next[entry];
+        } else {
+            entry = usedEntries++;
+        }
+        ids[entry] = id;
+        idHashes[entry] = hash(Objects.hashCode(id));
+        items[entry] = item;
+        keys[entry] = key;
+        size++;
+
+        insert(idTable, idHashes[entry], entry);
+        insert(keyTable, hash(key), entry);
+        if (maxSize > 0) {
+            link(entry);
+        }
+        return entry;
+    }
+
+    private void removeEntry(int entry) {
+        idTable[findSlot(idTable, idHashes[entry], entry)] = REMOVED;
+        keyTable[findSlot(keyTable, hash(keys[entry]), entry)] = REMOVED;
+        removedSlots++;
+        if (maxSize > 0) {
+            unlink(entry);
+        }
+        ids[entry] = null;
+        items[entry] = null;
+        next[entry] = freeEntry;
+        freeEntry = entry;
+        size--;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void evict(int entry) {
+        V item = (V) items[entry];
+        removeEntry(entry);
+        if (evictionListener != null) {
+            evictionListener.accept(item);
+        }
+    }
+
+    private int nextKey() {
+        do {
+            lastKey = lastKey == Integer.MAX_VALUE ? 1 : lastKey + 1;
+        } while (findByKey(lastKey) != NO_ENTRY);
+        return lastKey;
+    }
+
+    private int findById(Object id) {
+        int hash = hash(Objects.hashCode(id));
+        int mask = idTable.length - 1;
+        for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+            int value = idTable[slot];
+            if (value == 0) {
+                return NO_ENTRY;
+            }
+            // Compare the hashes first to avoid loading other identifiers
+            int entry = value - 1;
+            if (value != REMOVED && idHashes[entry] == hash
+                    && Objects.equals(id, ids[entry])) {
+                return entry;
+            }
+        }
+    }
+
+    private int findByKey(String key) {
+        int intKey = decodeKey(key);
+        if (intKey <= 0 || "null".equals(key)) {
+            return NO_ENTRY;
+        }
+        return findByKey(intKey);
+    }
+
+    private int findByKey(int intKey) {
+        int mask = keyTable.length - 1;
+        for (int slot = hash(intKey) & mask;; slot = (slot + 1) & mask) {
+            int value = keyTable[slot];
+            if (value == 0) {
+                return NO_ENTRY;
+            }
+            if (value != REMOVED && keys[value - 1] == intKey) {
+                return value - 1;
+            }
+        }
+    }
+
+    private static int findSlot(int[] table, int hash, int entry) {
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != entry + 1) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static void insert(int[] table, int hash, int entry) {
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] > 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = entry + 1;
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        idHashes = Arrays.copyOf(idHashes, capacity);
+        items = Arrays.copyOf(items, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        previous = Arrays.copyOf(previous, capacity);
+        next = Arrays.copyOf(next, capacity);
+        rehash();
+    }
+
+    private void rehash() {
+        if (idTable.length == ids.length * 2) {
+            Arrays.fill(idTable, 0);
+            Arrays.fill(keyTable, 0);
+        } else {
+            idTable = new int[ids.length * 2];
+            keyTable = new int[ids.length * 2];
+        }
+        removedSlots = 0;
+        for (int entry = 0; entry < usedEntries; entry++) {
+            if (items[entry] != null) {
+                insert(idTable, idHashes[entry], entry);
+                insert(keyTable, hash(keys[entry]), entry);
+            }
+        }
+    }
+
+    private void markUsed(int entry) {
+        if (maxSize > 0 && entry != youngest) {
+            unlink(entry);
+            link(entry);
+        }
+    }
+
+    private void link(int entry) {
+        previous[entry] = youngest;
+        next[entry] = NO_ENTRY;
+        if (youngest == NO_ENTRY) {
+            eldest = entry;
+        } else {
+            next[youngest] = entry;
+        }
+        youngest = entry;
+    }
+
+    private void unlink(int entry) {
+        if (previous[entry] == NO_ENTRY) {
+            eldest = next[entry];
+        } else {
+            next[previous[entry]] = next[entry];
+        }
+        if (next[entry] == NO_ENTRY) {
+            youngest = previous[entry];
+        } else {
+            previous[next[entry]] = previous[entry];
+        }
+    }
+
+    private static String encodeKey(int key) {
+        char[] buffer = new char[6];
+        int position = buffer.length;
+        do {
+            buffer[--position] = KEY_DIGITS[key % KEY_RADIX];
+            key /= KEY_RADIX;
+        } while (key > 0);
+        return new String(buffer, position, buffer.length - position);
+    }
+
+    /**
+     * Decodes a key, returning {@code 0} if the string is not a valid key.
+     */
+    private static int decodeKey(String key) {
+        int length = key.length();
+        // All positive int values fit in six digits, and six digits that do
+        // not fit overflow to a negative value
+        if (length == 0 || length > 6 || key.charAt(0) == '0') {
+            return 0;
+        }
+        int value = 0;
+        for (int i = 0; i < length; i++) {
+            char c = key.charAt(i);
+            int digit = c < KEY_DIGIT_VALUES.length ? KEY_DIGIT_VALUES[c] : -1;
+            if (digit < 0) {
+                return 0;
+            }
+            value = value * KEY_RADIX + digit;
+        }
+        return value;
+    }
+
+    private static int hash(int value) {
+        int hash = value * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
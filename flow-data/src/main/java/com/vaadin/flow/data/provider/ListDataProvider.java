@@ -15,10 +15,18 @@
  */
 package com.vaadin.flow.data.provider;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.vaadin.flow.function.SerializableComparator;
@@ -26,6 +34,13 @@ import com.vaadin.flow.function.SerializablePredicate;
 
 /**
  * {@link DataProvider} wrapper for {@link Collection}s.
+ * <p>
+ * The filtered and sorted order of the items is cached for the most recently
+ * used filter and sorting combinations, so that fetching consecutive pages and
+ * querying the size do not filter and sort the whole collection again. The
+ * cache is cleared by {@link #refreshAll()}, {@link #refreshItem(Object)} and
+ * {@link #applyDelta(Collection, Collection, Collection)}, which should be
+ * called after changing the backing collection or the items in it.
  *
  * @param <T>
  *            data type
@@ -41,6 +56,50 @@ public class ListDataProvider<T>
 
     private final Collection<T> backend;
 
+    private final ViewCache<T> viewCache = new ViewCache<>();
+
+    private int parallelThreshold = Integer.MAX_VALUE;
+
+    /**
+     * The filtered and sorted items for the most recently used combinations
+     * of query filter and sorting. The cached lists are never modified, so
+     * they can be streamed after the cache has been cleared. The lists are not
+     * serialized.
+     */
+    private static class ViewCache<T> implements Serializable {
+
+        private static final int MAX_VIEWS = 4;
+
+        private transient Map<List<Object>, List<T>> views;
+
+        private transient int sourceSize;
+
+        private synchronized List<T> get(List<Object> key, int size) {
+            if (views == null || size != sourceSize) {
+                // The backing collection has been modified without a refresh
+                clear();
+                sourceSize = size;
+                return null;
+            }
+            return views.get(key);
+        }
+
+        private synchronized void put(List<Object> key, List<T> items) {
+            views.put(key, items);
+        }
+
+        private synchronized void clear() {
+            views = new LinkedHashMap<List<Object>, List<T>>(MAX_VIEWS + 1,
+                    0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(
+                        Map.Entry<List<Object>, List<T>> eldest) {
+                    return size() > MAX_VIEWS;
+                }
+            };
+        }
+    }
+
     /**
      * Constructs a new ListDataProvider.
      * <p>
@@ -68,28 +127,106 @@ public class ListDataProvider<T>
 
     @Override
     public Stream<T> fetch(Query<T, SerializablePredicate<T>> query) {
-        Stream<T> stream = getFilteredStream(query);
+        List<T> items = getSortedItems(query.getFilter().orElse(null),
+                query.getInMemorySorting());
 
-        Optional<Comparator<T>> comparing = Stream
-                .of(query.getInMemorySorting(), sortOrder)
-                .filter(Objects::nonNull)
-                .reduce((c1, c2) -> c1.thenComparing(c2));
+        int from = Math.min(query.getOffset(), items.size());
+        int to = (int) Math.min((long) from + query.getLimit(), items.size());
+        return items.subList(from, to).stream();
+    }
 
-        if (comparing.isPresent()) {
-            stream = stream.sorted(comparing.get());
-        }
+    @Override
+    public int size(Query<T, SerializablePredicate<T>> query) {
+        return getFilteredItems(query.getFilter().orElse(null)).size();
+    }
 
-        return stream.skip(query.getOffset()).limit(query.getLimit());
+    @Override
+    public void refreshAll() {
+        viewCache.clear();
+        super.refreshAll();
     }
 
     @Override
-    public int size(Query<T, SerializablePredicate<T>> query) {
-        return (int) getFilteredStream(query).count();
+    public void refreshItem(T item) {
+        viewCache.clear();
+        super.refreshItem(item);
     }
 
-    private Stream<T> getFilteredStream(
-            Query<T, SerializablePredicate<T>> query) {
-        Stream<T> stream = backend.stream();
+    @Override
+    public void refreshItem(T item, boolean refreshChildren) {
+        viewCache.clear();
+        super.refreshItem(item, refreshChildren);
+    }
+
+    @Override
+    public void applyDelta(Collection<T> addedItems,
+            Collection<T> removedItems, Collection<T> updatedItems) {
+        viewCache.clear();
+        super.applyDelta(addedItems, removedItems, updatedItems);
+    }
+
+    /**
+     * Sets the number of items from which filtering and sorting is done in
+     * parallel using the common {@link java.util.concurrent.ForkJoinPool}. The
+     * filters and comparators must then be safe to use from several threads.
+     * <p>
+     * Parallel processing is disabled by default.
+     *
+     * @param parallelThreshold
+     *            the minimum number of items to filter or sort in parallel, or
+     *            {@link Integer#MAX_VALUE} to never use parallel processing
+     * @since
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Parallel threshold cannot be negative, got %d",
+                    parallelThreshold));
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Gets the number of items from which filtering and sorting is done in
+     * parallel.
+     *
+     * @return the minimum number of items to filter or sort in parallel
+     * @see #setParallelThreshold(int)
+     * @since
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    private List<T> getSortedItems(SerializablePredicate<T> queryFilter,
+            Comparator<T> inMemorySorting) {
+        if (inMemorySorting == null && sortOrder == null) {
+            return getFilteredItems(queryFilter);
+        }
+        List<Object> key = Arrays.asList(queryFilter, inMemorySorting,
+                sortOrder);
+        List<T> items = viewCache.get(key, backend.size());
+        if (items == null) {
+            Comparator<T> comparator = Stream.of(inMemorySorting, sortOrder)
+                    .filter(Objects::nonNull)
+                    .reduce((c1, c2) -> c1.thenComparing(c2)).get();
+            items = Collections.unmodifiableList(
+                    sort(getFilteredItems(queryFilter), comparator));
+            viewCache.put(key, items);
+        }
+        return items;
+    }
+
+    private List<T> getFilteredItems(SerializablePredicate<T> queryFilter) {
+        List<Object> key = Collections.singletonList(queryFilter);
+        List<T> items = viewCache.get(key, backend.size());
+        if (items != null) {
+            return items;
+        }
+
+        Stream<T> stream = backend.size() >= parallelThreshold
+                ? backend.parallelStream()
+                : backend.stream();
 
         // Apply our own filters first so that query filters never see the items
         // that would already have been filtered out
@@ -97,9 +234,26 @@ public class ListDataProvider<T>
             stream = stream.filter(filter);
         }
 
-        stream = query.getFilter().map(stream::filter).orElse(stream);
+        stream = Optional.ofNullable(queryFilter).map(stream::filter)
+                .orElse(stream);
 
-        return stream;
+        items = Collections
+                .unmodifiableList(stream.collect(Collectors.toList()));
+        viewCache.put(key, items);
+        return items;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T> sort(List<T> items, Comparator<T> comparator) {
+        if (items.size() >= parallelThreshold) {
+            // Like List.sort, parallel sort of objects is stable
+            T[] array = (T[]) items.toArray();
+            Arrays.parallelSort(array, comparator);
+            return Arrays.asList(array);
+        }
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(comparator);
+        return sorted;
     }
 
     @Override
@@ -59,6 +59,12 @@ public class HierarchicalCommunicationController<T> implements Serializable {
     // Last total size value sent to the client
     private int assumedSize;
 
+    // The estimated number of children, 0 when the exact count is used
+    private int itemCountEstimate;
+
+    // Whether fewer children than estimated have been fetched
+    private boolean endReached;
+
     // The range of items that the client wants to have
     private Range requestedRange = Range.between(0, 0);
 
@@ -113,11 +119,15 @@ public class HierarchicalCommunicationController<T> implements Serializable {
     public void flush() {
         Set<String> oldActive = new HashSet<>(activeKeyOrder);
 
-        assumedSize = mapper.countChildItems(keyMapper.get(parentKey));
+        if (itemCountEstimate > 0) {
+            updateEstimatedSize();
+        } else {
+            assumedSize = mapper.countChildItems(keyMapper.get(parentKey));
+        }
 
         final Range previousActive = Range.withLength(activeStart,
                 activeKeyOrder.size());
-        final Range effectiveRequested = requestedRange
+        Range effectiveRequested = requestedRange
                 .restrictTo(Range.withLength(0, assumedSize));
 
         resendEntireRange |= !(previousActive.intersects(effectiveRequested)
@@ -127,6 +137,16 @@ public class HierarchicalCommunicationController<T> implements Serializable {
         List<String> newActiveKeyOrder = collectKeysToFlush(previousActive,
                 effectiveRequested);
 
+        if (itemCountEstimate > 0
+                && newActiveKeyOrder.size() < effectiveRequested.length()) {
+            // The end of the children has been reached
+            assumedSize = effectiveRequested.getStart()
+                    + newActiveKeyOrder.size();
+            endReached = true;
+            effectiveRequested = Range.withLength(
+                    effectiveRequested.getStart(), newActiveKeyOrder.size());
+        }
+
         activeKeyOrder = newActiveKeyOrder;
         activeStart = effectiveRequested.getStart();
 
@@ -157,6 +177,34 @@ public class HierarchicalCommunicationController<T> implements Serializable {
         resendEntireRange = resend;
     }
 
+    /**
+     * Sets the estimated number of children to send to the client instead of
+     * fetching the exact count from the data provider. The estimate is
+     * increased by the same amount whenever the client requests children
+     * close to its end, until fewer children than requested are fetched.
+     *
+     * @param itemCountEstimate
+     *            the estimated number of children, or {@code 0} to use the
+     *            exact count
+     * @since
+     */
+    public void setItemCountEstimate(int itemCountEstimate) {
+        this.itemCountEstimate = itemCountEstimate;
+        resendEntireRange = true;
+    }
+
+    private void updateEstimatedSize() {
+        if (resendEntireRange) {
+            // Start over from the estimate
+            assumedSize = itemCountEstimate;
+            endReached = false;
+        }
+        while (!endReached && requestedRange.getEnd()
+                + requestedRange.length() > assumedSize) {
+            assumedSize += itemCountEstimate;
+        }
+    }
+
     private boolean collectChangesToSend(final Range previousActive,
             final Range effectiveRequested, HierarchicalUpdate update) {
         boolean updated = false;
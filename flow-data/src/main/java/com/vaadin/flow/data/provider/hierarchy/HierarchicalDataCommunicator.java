@@ -65,6 +65,8 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
 
     private final Map<String, HierarchicalCommunicationController<T>> dataControllers = new HashMap<>();
 
+    private int childItemCountEstimate;
+
     private KeyMapper<T> uniqueKeyMapper = new KeyMapper<T>() {
 
         private T object;
@@ -155,8 +157,10 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
         }
 
         if (getHierarchyMapper() != null) {
+            getHierarchyMapper().resetHierarchy();
+
             HierarchicalUpdate update = arrayUpdater
-                    .startUpdate(getHierarchyMapper().getRootSize());
+                    .startUpdate(getRootLevelSize());
             update.enqueue("$connector.ensureHierarchy");
 
             Collection<T> expandedItems = getHierarchyMapper().getExpandedItems();
@@ -177,13 +181,15 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
 
     @Override
     protected void handleDataRefreshEvent(DataChangeEvent.DataRefreshEvent<T> event) {
+        mapper.refresh(event.getItem(), event.isRefreshChildren());
         if (event.isRefreshChildren()) {
             T item = event.getItem();
             if (isExpanded(item)) {
                 String parentKey = uniqueKeyProviderSupplier.get().apply(item);
 
                 if (!dataControllers.containsKey(parentKey)) {
-                    setParentRequestedRange(0, mapper.countChildItems(item), item);
+                    // The client requests more children when it needs them
+                    setParentRequestedRange(0, getPageSize(), item);
                 }
                 HierarchicalCommunicationController<T> dataController = dataControllers.get(parentKey);
                 if (dataController != null) {
@@ -195,6 +201,21 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
         super.handleDataRefreshEvent(event);
     }
 
+    @Override
+    protected void handleDataDeltaEvent(
+            DataChangeEvent.DataDeltaEvent<T> event) {
+        if (event.getAddedItems().isEmpty()
+                && event.getRemovedItems().isEmpty()) {
+            event.getUpdatedItems()
+                    .forEach(item -> handleDataRefreshEvent(
+                            new DataChangeEvent.DataRefreshEvent<>(
+                                    event.getSource(), item)));
+        } else {
+            // The hierarchy is built again when items are added or removed
+            reset();
+        }
+    }
+
     @Override
     public Stream<T> fetchFromProvider(int offset, int limit) {
         // Instead of adding logic to this class, delegate request to the
@@ -206,19 +227,59 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
         String parentKey = uniqueKeyProviderSupplier.get().apply(parentItem);
 
         HierarchicalCommunicationController<T> controller = dataControllers
-                .computeIfAbsent(parentKey,
-                        key -> new HierarchicalCommunicationController<>(
-                                parentKey, getKeyMapper(), mapper,
-                                dataGenerator,
-                                size -> arrayUpdater
-                                        .startUpdate(getDataProviderSize()),
-                                (pkey, range) -> mapper.fetchChildItems(
-                                        getKeyMapper().get(pkey), range)));
+                .computeIfAbsent(parentKey, this::createDataController);
 
         controller.setRequestRange(start, length);
         requestFlush(controller);
     }
 
+    private HierarchicalCommunicationController<T> createDataController(
+            String parentKey) {
+        HierarchicalCommunicationController<T> controller = new HierarchicalCommunicationController<>(
+                parentKey, getKeyMapper(), mapper, dataGenerator,
+                size -> arrayUpdater.startUpdate(getRootLevelSize()),
+                (pkey, range) -> mapper
+                        .fetchChildItems(getKeyMapper().get(pkey), range));
+        controller.setItemCountEstimate(childItemCountEstimate);
+        return controller;
+    }
+
+    /**
+     * Sets the estimated number of children of each expanded item, to use
+     * instead of fetching the exact child counts from the data provider. Only
+     * the children that the client requests are fetched, and the estimate of
+     * an item is increased whenever the client requests children close to its
+     * end, until fewer children than requested are fetched. Use
+     * {@link #setItemCountEstimate(int)} for the root items.
+     *
+     * @param childItemCountEstimate
+     *            the estimated number of children, or {@code 0} to use the
+     *            exact child counts
+     * @since
+     */
+    public void setChildItemCountEstimate(int childItemCountEstimate) {
+        if (childItemCountEstimate < 0) {
+            throw new IllegalArgumentException(
+                    "Given child item count estimate cannot be negative.");
+        }
+        this.childItemCountEstimate = childItemCountEstimate;
+        dataControllers.values().forEach(controller -> {
+            controller.setItemCountEstimate(childItemCountEstimate);
+            requestFlush(controller);
+        });
+    }
+
+    /**
+     * Gets the estimated number of children of each expanded item.
+     *
+     * @return the estimated number of children, or {@code 0} if the exact
+     *         child counts are used
+     * @since
+     */
+    public int getChildItemCountEstimate() {
+        return childItemCountEstimate;
+    }
+
     @Override
     public HierarchicalDataProvider<T, ?> getDataProvider() {
         return (HierarchicalDataProvider<T, ?>) super.getDataProvider();
@@ -300,6 +361,40 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
                         + " and subtypes supported.");
     }
 
+    /**
+     * Read-ahead is not supported for hierarchical data.
+     *
+     * @param readAheadPages
+     *            not used
+     * @throws UnsupportedOperationException
+     *             if the read-ahead page count is not {@code 0}
+     */
+    @Override
+    public void setReadAheadPages(int readAheadPages) {
+        if (readAheadPages != 0) {
+            throw new UnsupportedOperationException(
+                    "Read-ahead is not supported for hierarchical data");
+        }
+    }
+
+    /**
+     * Columnar encoding is not supported for hierarchical data, since the
+     * items of expanded child levels are sent separately using
+     * {@link HierarchicalArrayUpdater}.
+     *
+     * @param columnarEncoding
+     *            not used
+     * @throws UnsupportedOperationException
+     *             if columnar encoding is enabled
+     */
+    @Override
+    public void setColumnarEncoding(boolean columnarEncoding) {
+        if (columnarEncoding) {
+            throw new UnsupportedOperationException(
+                    "Columnar encoding is not supported for hierarchical data");
+        }
+    }
+
     public void confirmUpdate(int id, String parentKey) {
         Optional.ofNullable(dataControllers.get(parentKey))
                 .ifPresent(controller -> {
@@ -369,7 +464,7 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
         });
         if (syncClient && !collapsedItems.isEmpty()) {
             HierarchicalUpdate update = arrayUpdater
-                    .startUpdate(getHierarchyMapper().getRootSize());
+                    .startUpdate(getRootLevelSize());
             update.enqueue("$connector.collapseItems",
                     collapsedItems.stream()
                             .map(this::generateJsonForExpandedOrCollapsedItem)
@@ -430,7 +525,7 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
         });
         if (syncClient && !expandedItems.isEmpty()) {
             HierarchicalUpdate update = arrayUpdater
-                    .startUpdate(getHierarchyMapper().getRootSize());
+                    .startUpdate(getRootLevelSize());
             update.enqueue("$connector.expandItems",
                     expandedItems.stream()
                             .map(this::generateJsonForExpandedOrCollapsedItem)
@@ -512,6 +607,16 @@ public class HierarchicalDataCommunicator<T> extends DataCommunicator<T> {
         return mapper.getRootSize();
     }
 
+    private int getRootLevelSize() {
+        if (isDefinedSize()) {
+            return getDataProviderSize();
+        }
+        // The root items are not counted when their count is estimated. The
+        // estimated count is zero until it has been applied after a reset.
+        int itemCount = getItemCount();
+        return itemCount > 0 ? itemCount : getItemCountEstimate();
+    }
+
     @Override
     public void setBackEndSorting(List<QuerySortOrder> sortOrder) {
         if (mapper != null) {
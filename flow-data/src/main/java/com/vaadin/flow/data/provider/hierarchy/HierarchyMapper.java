@@ -16,15 +16,14 @@
 package com.vaadin.flow.data.provider.hierarchy;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -40,6 +39,13 @@ import com.vaadin.flow.internal.Range;
  * Keeps track of the expanded nodes, and size of of the subtrees for each
  * expanded node.
  * <p>
+ * The flattened hierarchy of expanded nodes is fetched from the data provider
+ * once and kept in an indexed structure, so that the size of the hierarchy,
+ * the index of an item and the items in a range of rows can be found without
+ * traversing the whole hierarchy. The structure is updated incrementally when
+ * items are expanded or collapsed, and discarded when the filter or sorting
+ * changes or {@link #resetHierarchy()} is called.
+ * <p>
  * This class is framework internal implementation details, and can be changed /
  * moved at any point. This means that you should not directly use this for
  * anything.
@@ -55,10 +61,20 @@ import com.vaadin.flow.internal.Range;
 public class HierarchyMapper<T, F> implements Serializable {
 
     // childMap is only used for finding parents of items and clean up on
-    // removing children of expanded nodes.
-    private Map<T, Set<T>> childMap = new HashMap<>();
+    // removing children of expanded nodes. Keyed by the id of the parent.
+    private Map<Object, Set<T>> childMap = new HashMap<>();
     private Map<Object, T> parentIdMap = new HashMap<>();
 
+    // The indexed flattened hierarchy, built lazily. Contains a node for
+    // each visible item, keyed by the item id.
+    private HierarchyNode<T> hierarchyRoot;
+    private Map<Object, HierarchyNode<T>> hierarchyNodes = new HashMap<>();
+
+    // The child counts fetched from the data provider, keyed by the id of the
+    // parent, null for the root level. Discarded together with the indexed
+    // hierarchy.
+    private Map<Object, Integer> childCounts = new HashMap<>();
+
     private final HierarchicalDataProvider<T, F> provider;
     private F filter;
     private List<QuerySortOrder> backEndSorting;
@@ -82,7 +98,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the amount of available data
      */
     public int getTreeSize() {
-        return (int) getHierarchy(null).count();
+        return getHierarchyRoot().size;
     }
 
     /**
@@ -91,8 +107,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the amount of available root data
      */
     public int getRootSize() {
-        return getDataProvider()
-                .getChildCount(new HierarchicalQuery<>(filter, null));
+        return countChildItems(null);
     }
 
     /**
@@ -104,8 +119,9 @@ public class HierarchyMapper<T, F> implements Serializable {
      *
      */
     public Integer getParentIndex(T item) {
-        List<T> flatHierarchy = getHierarchy(null).collect(Collectors.toList());
-        return flatHierarchy.indexOf(getParentOfItem(item));
+        getHierarchyRoot();
+        T parent = getParentOfItem(item);
+        return parent == null ? -1 : getIndex(parent);
     }
 
     /**
@@ -117,8 +133,10 @@ public class HierarchyMapper<T, F> implements Serializable {
      *
      */
     public Integer getIndex(T item) {
-        List<T> flatHierarchy = getHierarchy(null).collect(Collectors.toList());
-        return flatHierarchy.indexOf(item);
+        getHierarchyRoot();
+        HierarchyNode<T> node = item == null ? null
+                : hierarchyNodes.get(getDataProvider().getId(item));
+        return node == null ? -1 : getRowIndex(node);
     }
 
     /**
@@ -159,8 +177,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public Range expand(T item, Integer position) {
         if (doExpand(item) && position != null) {
-            return Range.withLength(position + 1,
-                    (int) getHierarchy(item, false).count());
+            return Range.withLength(position + 1, getDescendantCount(item));
         }
 
         return Range.withLength(0, 0);
@@ -178,8 +195,16 @@ public class HierarchyMapper<T, F> implements Serializable {
     private boolean doExpand(T item) {
         boolean expanded = false;
         if (!isExpanded(item) && hasChildren(item)) {
-            expandedItems.put(getDataProvider().getId(item), item);
+            Object id = getDataProvider().getId(item);
+            expandedItems.put(id, item);
             expanded = true;
+
+            HierarchyNode<T> node = hierarchyNodes.get(id);
+            if (node != null) {
+                int oldSize = node.size;
+                loadChildren(node);
+                updateAncestorSizes(node, node.size - oldSize);
+            }
         }
         return expanded;
     }
@@ -197,7 +222,7 @@ public class HierarchyMapper<T, F> implements Serializable {
             return false;
         }
         if (isExpanded(item)) {
-            expandedItems.remove(getDataProvider().getId(item));
+            doCollapse(getDataProvider().getId(item));
             return true;
         }
         return false;
@@ -218,13 +243,24 @@ public class HierarchyMapper<T, F> implements Serializable {
         if (isExpanded(item)) {
             if (position != null) {
                 removedRows = Range.withLength(position + 1,
-                        (int) getHierarchy(item, false).count());
+                        getDescendantCount(item));
             }
-            expandedItems.remove(getDataProvider().getId(item));
+            doCollapse(getDataProvider().getId(item));
         }
         return removedRows;
     }
 
+    private void doCollapse(Object id) {
+        expandedItems.remove(id);
+        childCounts.remove(id);
+        HierarchyNode<T> node = hierarchyNodes.get(id);
+        if (node != null && !node.children.isEmpty()) {
+            int oldSize = node.size;
+            unloadChildren(node);
+            updateAncestorSizes(node, node.size - oldSize);
+        }
+    }
+
 
     /**
      * Gets the current in-memory sorting.
@@ -244,6 +280,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setInMemorySorting(Comparator<T> inMemorySorting) {
         this.inMemorySorting = inMemorySorting;
+        resetHierarchy();
     }
 
     /**
@@ -264,6 +301,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setBackEndSorting(List<QuerySortOrder> backEndSorting) {
         this.backEndSorting = backEndSorting;
+        resetHierarchy();
     }
 
     /**
@@ -284,6 +322,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setFilter(Object filter) {
         this.filter = (F) filter;
+        resetHierarchy();
     }
 
     /**
@@ -318,7 +357,9 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the stream of items
      */
     public Stream<T> fetchHierarchyItems(Range range) {
-        return getHierarchy(null).skip(range.getStart()).limit(range.length());
+        HierarchyNode<T> root = getHierarchyRoot();
+        return getRows(range.getStart(),
+                Math.min(range.length(), root.size - range.getStart()));
     }
 
     /**
@@ -332,8 +373,18 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the stream of items
      */
     public Stream<T> fetchHierarchyItems(T parent, Range range) {
-        return getHierarchy(parent, false).skip(range.getStart())
-                .limit(range.length());
+        HierarchyNode<T> root = getHierarchyRoot();
+        HierarchyNode<T> node = parent == null ? root
+                : hierarchyNodes.get(getDataProvider().getId(parent));
+        if (node == null) {
+            // Not visible, so not indexed
+            return getHierarchy(parent, false).skip(range.getStart())
+                    .limit(range.length());
+        }
+        int start = node == root ? 0 : getRowIndex(node) + 1;
+        int descendants = node == root ? node.size : node.size - 1;
+        return getRows(start + range.getStart(),
+                Math.min(range.length(), descendants - range.getStart()));
     }
 
     /**
@@ -348,13 +399,38 @@ public class HierarchyMapper<T, F> implements Serializable {
         return getDirectChildren(null, range);
     }
 
+    /**
+     * Gets a stream of the direct children of the given item in the given
+     * range from the back-end. Only the requested range is fetched.
+     *
+     * @param parent
+     *            the parent item, or {@code null} for the root items
+     * @param range
+     *            the requested range of children
+     * @return the stream of children, empty if the parent is not expanded
+     */
     public Stream<T> fetchChildItems(T parent, Range range) {
         return getChildrenStream(parent, range, false);
     }
 
+    /**
+     * Gets the number of direct children of the given item. The count is
+     * fetched from the back-end once and kept until the item is collapsed or
+     * refreshed with its children, or the hierarchy is reset.
+     *
+     * @param parent
+     *            the parent item, or {@code null} for the root items
+     * @return the number of children
+     */
     public int countChildItems(T parent) {
-        return getDataProvider()
-                .getChildCount(new HierarchicalQuery<>(filter, parent));
+        Object id = parent == null ? null : getDataProvider().getId(parent);
+        Integer count = childCounts.get(id);
+        if (count == null) {
+            count = getDataProvider()
+                    .getChildCount(new HierarchicalQuery<>(filter, parent));
+            childCounts.put(id, count);
+        }
+        return count;
     }
 
     /* Methods for providing information on the hierarchy. */
@@ -432,17 +508,15 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     protected void removeChildren(Object id) {
         // Clean up removed nodes from child map
-        Iterator<Entry<T, Set<T>>> iterator = childMap.entrySet().iterator();
-        Set<T> invalidatedChildren = new HashSet<>();
-        while (iterator.hasNext()) {
-            Entry<T, Set<T>> entry = iterator.next();
-            T key = entry.getKey();
-            if (key != null && getDataProvider().getId(key).equals(id)) {
-                invalidatedChildren.addAll(entry.getValue());
-                iterator.remove();
-            }
+        Set<T> invalidatedChildren = id == null ? null : childMap.remove(id);
+        if (invalidatedChildren == null) {
+            invalidatedChildren = Collections.emptySet();
+        }
+        if (id != null) {
+            doCollapse(id);
+        } else {
+            expandedItems.remove(id);
         }
-        expandedItems.remove(id);
         invalidatedChildren.stream().map(getDataProvider()::getId)
                 .forEach(x -> {
                     removeChildren(x);
@@ -463,12 +537,130 @@ public class HierarchyMapper<T, F> implements Serializable {
             return Optional.empty();
         }
 
-        final List<Object> collect = getHierarchy(null).map(provider::getId)
-                .collect(Collectors.toList());
-        int index = collect.indexOf(getDataProvider().getId(target));
+        int index = getIndex(target);
         return Optional.ofNullable(index < 0 ? null : index);
     }
 
+    /**
+     * Gets the root of the indexed flattened hierarchy, fetching the hierarchy
+     * from the data provider if needed.
+     */
+    private HierarchyNode<T> getHierarchyRoot() {
+        if (hierarchyRoot == null) {
+            HierarchyNode<T> root = new HierarchyNode<>(null, null, -1);
+            loadChildren(root);
+            hierarchyRoot = root;
+        }
+        return hierarchyRoot;
+    }
+
+    /**
+     * Fetches the children of an expanded node and all their expanded
+     * descendants, and indexes them.
+     */
+    private void loadChildren(HierarchyNode<T> node) {
+        List<T> childItems = Collections.emptyList();
+        if (isExpanded(node.item)) {
+            childItems = doFetchDirectChildren(node.item)
+                    .collect(Collectors.toList());
+            if (childItems.isEmpty()) {
+                removeChildren(node.item == null ? null
+                        : getDataProvider().getId(node.item));
+            } else {
+                registerChildren(node.item, childItems);
+                childCounts.put(node.item == null ? null
+                        : getDataProvider().getId(node.item),
+                        childItems.size());
+            }
+        }
+        List<HierarchyNode<T>> children = new ArrayList<>(childItems.size());
+        for (T childItem : childItems) {
+            HierarchyNode<T> child = new HierarchyNode<>(childItem, node,
+                    children.size());
+            hierarchyNodes.put(getDataProvider().getId(childItem), child);
+            loadChildren(child);
+            children.add(child);
+        }
+        node.setChildren(children);
+    }
+
+    private void unloadChildren(HierarchyNode<T> node) {
+        for (HierarchyNode<T> child : node.children) {
+            hierarchyNodes.remove(getDataProvider().getId(child.item));
+            unloadChildren(child);
+        }
+        node.setChildren(Collections.emptyList());
+    }
+
+    private static <T> void updateAncestorSizes(HierarchyNode<T> node,
+            int delta) {
+        if (delta == 0) {
+            return;
+        }
+        for (HierarchyNode<T> child = node; child.parent != null;
+                child = child.parent) {
+            child.parent.addToChildSize(child.indexInParent, delta);
+        }
+    }
+
+    /**
+     * Gets the index of the row of the given node in the flattened hierarchy.
+     */
+    private static <T> int getRowIndex(HierarchyNode<T> node) {
+        int index = 0;
+        for (HierarchyNode<T> child = node; child.parent != null;
+                child = child.parent) {
+            index += child.parent.getChildrenSize(child.indexInParent);
+            if (child.parent.item != null) {
+                // The row of the parent itself
+                index++;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Gets the items of the given number of rows in the flattened hierarchy,
+     * starting from the given row.
+     */
+    private Stream<T> getRows(int start, int count) {
+        if (start < 0 || count <= 0) {
+            return Stream.empty();
+        }
+        HierarchyNode<T> node = hierarchyRoot;
+        int row = start;
+        while (true) {
+            int childIndex = node.findChild(row);
+            row -= node.getChildrenSize(childIndex);
+            node = node.children.get(childIndex);
+            if (row == 0) {
+                break;
+            }
+            // Skip the row of the child itself
+            row--;
+        }
+
+        List<T> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(node.item);
+            node = node.next();
+        }
+        return items.stream();
+    }
+
+    /**
+     * Gets the number of rows below the given expanded item.
+     */
+    private int getDescendantCount(T item) {
+        getHierarchyRoot();
+        HierarchyNode<T> node = hierarchyNodes
+                .get(getDataProvider().getId(item));
+        if (node != null) {
+            return node.size - 1;
+        }
+        return (int) getHierarchy(item, false).count();
+    }
+
     /**
      * Gets the full hierarchy tree starting from given node.
      *
@@ -589,7 +781,8 @@ public class HierarchyMapper<T, F> implements Serializable {
      *            list of parents children to be registered.
      */
     protected void registerChildren(T parent, List<T> childList) {
-        childMap.put(parent, new HashSet<>(childList));
+        childMap.put(parent == null ? null : getDataProvider().getId(parent),
+                new HashSet<>(childList));
         childList.forEach(
                 x -> parentIdMap.put(getDataProvider().getId(x), parent));
     }
@@ -620,6 +813,51 @@ public class HierarchyMapper<T, F> implements Serializable {
         childMap.clear();
         parentIdMap.clear();
         expandedItems.clear();
+        resetHierarchy();
+    }
+
+    /**
+     * Discards the indexed flattened hierarchy and the child counts, so that
+     * they are fetched again from the data provider when they are needed the
+     * next time. Should be called when the data of the data provider has
+     * changed.
+     */
+    public void resetHierarchy() {
+        hierarchyRoot = null;
+        hierarchyNodes.clear();
+        childCounts.clear();
+    }
+
+    /**
+     * Updates the given item in the indexed flattened hierarchy, optionally
+     * fetching its children again from the data provider.
+     *
+     * @param item
+     *            the refreshed item, not {@code null}
+     * @param refreshChildren
+     *            {@code true} to fetch the children of the item again,
+     *            {@code false} to only replace the item instance
+     */
+    public void refresh(T item, boolean refreshChildren) {
+        Objects.requireNonNull(item, "Can not refresh null");
+        Object id = getDataProvider().getId(item);
+        if (expandedItems.containsKey(id)) {
+            expandedItems.put(id, item);
+        }
+        if (refreshChildren) {
+            childCounts.remove(id);
+        }
+        HierarchyNode<T> node = hierarchyNodes.get(id);
+        if (node == null) {
+            return;
+        }
+        node.item = item;
+        if (refreshChildren) {
+            int oldSize = node.size;
+            unloadChildren(node);
+            loadChildren(node);
+            updateAncestorSizes(node, node.size - oldSize);
+        }
     }
 
     /**
@@ -640,4 +878,111 @@ public class HierarchyMapper<T, F> implements Serializable {
     public Collection<T> getExpandedItems() {
         return Collections.unmodifiableCollection(expandedItems.values());
     }
+
+    /**
+     * A node of the indexed flattened hierarchy. The sizes of the subtrees of
+     * the children are kept in a Fenwick tree, so that the row offset of a
+     * child and the child containing a given row can be found in logarithmic
+     * time with respect to the number of children.
+     */
+    private static class HierarchyNode<T> implements Serializable {
+        private T item;
+        private final HierarchyNode<T> parent;
+        private final int indexInParent;
+
+        private List<HierarchyNode<T>> children = Collections.emptyList();
+        // Fenwick tree of the child subtree sizes, one-based
+        private int[] childSizes;
+        // The number of rows of the subtree, including the node itself
+        private int size;
+
+        private HierarchyNode(T item, HierarchyNode<T> parent,
+                int indexInParent) {
+            this.item = item;
+            this.parent = parent;
+            this.indexInParent = indexInParent;
+            size = getOwnSize();
+        }
+
+        private int getOwnSize() {
+            // The root node has no row of its own
+            return parent == null ? 0 : 1;
+        }
+
+        private void setChildren(List<HierarchyNode<T>> children) {
+            this.children = children;
+            size = getOwnSize();
+            if (children.isEmpty()) {
+                childSizes = null;
+                return;
+            }
+            int count = children.size();
+            childSizes = new int[count + 1];
+            for (int i = 1; i <= count; i++) {
+                int childSize = children.get(i - 1).size;
+                size += childSize;
+                childSizes[i] += childSize;
+                int next = i + (i & -i);
+                if (next <= count) {
+                    childSizes[next] += childSizes[i];
+                }
+            }
+        }
+
+        /**
+         * Adds the given delta to the size of the child with the given index
+         * and to the size of this node.
+         */
+        private void addToChildSize(int childIndex, int delta) {
+            for (int i = childIndex + 1; i < childSizes.length; i += i & -i) {
+                childSizes[i] += delta;
+            }
+            size += delta;
+        }
+
+        /**
+         * Gets the total number of rows of the first {@code count} children.
+         */
+        private int getChildrenSize(int count) {
+            int result = 0;
+            for (int i = count; i > 0; i -= i & -i) {
+                result += childSizes[i];
+            }
+            return result;
+        }
+
+        /**
+         * Finds the index of the child whose subtree contains the given row,
+         * relative to the first row of the children.
+         */
+        private int findChild(int row) {
+            int index = 0;
+            int remaining = row;
+            for (int bit = Integer.highestOneBit(
+                    children.size()); bit > 0; bit >>= 1) {
+                int next = index + bit;
+                if (next < childSizes.length && childSizes[next] <= remaining) {
+                    index = next;
+                    remaining -= childSizes[next];
+                }
+            }
+            return index;
+        }
+
+        /**
+         * Gets the node of the next row in the flattened hierarchy.
+         */
+        private HierarchyNode<T> next() {
+            if (!children.isEmpty()) {
+                return children.get(0);
+            }
+            for (HierarchyNode<T> node = this; node.parent != null;
+                    node = node.parent) {
+                if (node.indexInParent + 1 < node.parent.children.size()) {
+                    return node.parent.children.get(node.indexInParent + 1);
+                }
+            }
+            return null;
+        }
+    }
 }
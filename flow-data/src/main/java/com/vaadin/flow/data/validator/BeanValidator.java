@@ -16,17 +16,21 @@
 
 package com.vaadin.flow.data.validator;
 
+import java.beans.IntrospectionException;
 import java.io.Serializable;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.MessageInterpolator.Context;
 import javax.validation.Validation;
 import javax.validation.ValidatorFactory;
 import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
 
 import com.vaadin.flow.data.binder.ValidationResult;
 import com.vaadin.flow.data.binder.Validator;
@@ -76,6 +80,22 @@ public class BeanValidator implements Validator<Object> {
 
     }
 
+    private static class ConstrainedProperties
+            extends ClassValue<ConcurrentMap<String, Boolean>>
+            implements Serializable {
+        @Override
+        protected ConcurrentMap<String, Boolean> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    }
+
+    /*
+     * Whether the properties may have constraints, by bean type and property
+     * name. Validating a property without constraints is skipped. Associated
+     * with the bean type so that it doesn't prevent unloading the type.
+     */
+    private static final ConstrainedProperties CONSTRAINED_PROPERTIES = new ConstrainedProperties();
+
     private String propertyName;
     private Class<?> beanType;
 
@@ -122,6 +142,9 @@ public class BeanValidator implements Validator<Object> {
      */
     @Override
     public ValidationResult apply(final Object value, ValueContext context) {
+        if (!isConstrained()) {
+            return ValidationResult.ok();
+        }
         Set<? extends ConstraintViolation<?>> violations = getJavaxBeanValidator()
                 .validateValue(beanType, propertyName, value);
 
@@ -134,6 +157,33 @@ public class BeanValidator implements Validator<Object> {
         return result.orElse(ValidationResult.ok());
     }
 
+    private boolean isConstrained() {
+        if (getJavaxBeanValidator() != LazyFactoryInitializer.VALIDATOR) {
+            // The constraints of a custom validator are not known
+            return true;
+        }
+        return CONSTRAINED_PROPERTIES.get(beanType)
+                .computeIfAbsent(propertyName, name -> {
+                    PropertyDescriptor descriptor = getJavaxBeanValidator()
+                            .getConstraintsForClass(beanType)
+                            .getConstraintsForProperty(name);
+                    if (descriptor != null) {
+                        return descriptor.hasConstraints();
+                    }
+                    // Nested properties and names that are not bean
+                    // properties are left to the validation
+                    return name.contains(".") || !isBeanProperty(name);
+                });
+    }
+
+    private boolean isBeanProperty(String name) {
+        try {
+            return BeanUtil.getPropertyDescriptor(beanType, name) != null;
+        } catch (IntrospectionException e) {
+            return false;
+        }
+    }
+
     @Override
     public String toString() {
         return String.format("%s[%s.%s]", getClass().getSimpleName(),
@@ -156,7 +206,7 @@ public class BeanValidator implements Validator<Object> {
      * @return the validator to use
      */
     public javax.validation.Validator getJavaxBeanValidator() {
-        return getJavaxBeanValidatorFactory().getValidator();
+        return LazyFactoryInitializer.VALIDATOR;
     }
 
     /**
@@ -190,6 +240,8 @@ public class BeanValidator implements Validator<Object> {
 
     private static class LazyFactoryInitializer implements Serializable {
         private static final ValidatorFactory FACTORY = getFactory();
+        private static final javax.validation.Validator VALIDATOR = FACTORY
+                .getValidator();
 
         private LazyFactoryInitializer() {
         }
@@ -0,0 +1,37 @@
+/**
+ * Decodes items sent in the columnar format of the server side
+ * ColumnarJsonBuilder, i.e. {size: n, keys: [...], values: [[...], ...],
+ * absent: [[...], ...]} where values contains the values of each key for all
+ * items and the optional absent contains the indices of the items without each
+ * key, into an array of item objects. Explicit null values are kept.
+ *
+ * @param {{size: number, keys: string[], values: Array<Array<*>>,
+ *   absent: (Array<number[]>|undefined)}} columnar the items in the columnar
+ *   format
+ * @return {Object[]} the decoded items
+ */
+export function decodeColumnarItems(columnar) {
+  const size = columnar.size;
+  const keys = columnar.keys;
+  const values = columnar.values;
+  const absent = columnar.absent;
+
+  const items = new Array(size);
+  for (let index = 0; index < size; index++) {
+    items[index] = {};
+  }
+  for (let column = 0; column < keys.length; column++) {
+    const key = keys[column];
+    const columnValues = values[column];
+    const absentIndices = absent ? absent[column] : [];
+    let nextAbsent = 0;
+    for (let index = 0; index < size; index++) {
+      if (absentIndices[nextAbsent] === index) {
+        nextAbsent++;
+      } else {
+        items[index][key] = columnValues[index];
+      }
+    }
+  }
+  return items;
+}
@@ -21,6 +21,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -283,4 +284,90 @@ public class BeanPropertySetTest {
                 "father.son", propertySet.getProperty("father.son.father").get()
                         .getParent().getName());
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void primitiveProperty_readAndWritten() {
+        PropertyDefinition<com.vaadin.flow.tests.data.bean.Person, Integer> age = (PropertyDefinition<com.vaadin.flow.tests.data.bean.Person, Integer>) BeanPropertySet
+                .get(com.vaadin.flow.tests.data.bean.Person.class)
+                .getProperty("age").get();
+        com.vaadin.flow.tests.data.bean.Person person = new com.vaadin.flow.tests.data.bean.Person();
+
+        age.getSetter().get().accept(person, 42);
+
+        Assert.assertEquals(42, person.getAge());
+        Assert.assertEquals(Integer.valueOf(42), age.getGetter().apply(person));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @SuppressWarnings("unchecked")
+    public void primitiveProperty_setNull_throws() {
+        PropertyDefinition<com.vaadin.flow.tests.data.bean.Person, Integer> age = (PropertyDefinition<com.vaadin.flow.tests.data.bean.Person, Integer>) BeanPropertySet
+                .get(com.vaadin.flow.tests.data.bean.Person.class)
+                .getProperty("age").get();
+
+        age.getSetter().get().accept(new com.vaadin.flow.tests.data.bean.Person(),
+                null);
+    }
+
+    @Test
+    public void getterThrows_exceptionWrapped() {
+        PropertyDefinition<ThrowingBean, ?> definition = BeanPropertySet
+                .get(ThrowingBean.class).getProperty("value").get();
+        try {
+            definition.getGetter().apply(new ThrowingBean());
+            Assert.fail("The exception of the getter should be rethrown");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(
+                    e.getCause() instanceof InvocationTargetException);
+            Assert.assertTrue(e.getCause()
+                    .getCause() instanceof UnsupportedOperationException);
+        }
+    }
+
+    @Test
+    public void getterThrowsClassCastException_exceptionWrapped() {
+        PropertyDefinition<ThrowingBean, ?> definition = BeanPropertySet
+                .get(ThrowingBean.class).getProperty("number").get();
+        try {
+            definition.getGetter().apply(new ThrowingBean());
+            Assert.fail("The exception of the getter should be rethrown");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(
+                    e.getCause() instanceof InvocationTargetException);
+            Assert.assertTrue(e.getCause()
+                    .getCause() instanceof ClassCastException);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void getterWithWrongBeanType_throws() {
+        PropertyDefinition definition = BeanPropertySet
+                .get(ThrowingBean.class).getProperty("value").get();
+
+        definition.getGetter().apply(new Object());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void setterWithWrongValueType_throws() {
+        PropertyDefinition definition = BeanPropertySet
+                .get(com.vaadin.flow.tests.data.bean.Person.class)
+                .getProperty("age").get();
+
+        ((Setter) definition.getSetter().get()).accept(
+                new com.vaadin.flow.tests.data.bean.Person(), "42");
+    }
+
+    public static class ThrowingBean {
+        public String getValue() {
+            throw new UnsupportedOperationException();
+        }
+
+        public Integer getNumber() {
+            Object value = "42";
+            return (Integer) value;
+        }
+    }
 }
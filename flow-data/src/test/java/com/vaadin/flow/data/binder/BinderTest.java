@@ -1584,6 +1584,85 @@ public class BinderTest extends BinderTestBase<Binder<Person>, Person> {
                 innerListenerInvoked.get());
     }
 
+    @Test
+    public void addValidationDependency_dependentValidatedWhenValueChanges() {
+        Binding<Person, String> firstName = binder.forField(nameField)
+                .bind(Person::getFirstName, Person::setFirstName);
+        Binding<Person, String> lastName = binder.forField(ageField)
+                .withValidator(
+                        value -> !value.equals(nameField.getValue()),
+                        "Must differ from first name")
+                .bind(Person::getLastName, Person::setLastName);
+        lastName.addValidationDependency(firstName);
+        binder.setBean(item);
+
+        ageField.setValue("Smith");
+        nameField.setValue("Smith");
+        assertEquals("Must differ from first name",
+                componentErrors.get(ageField));
+
+        nameField.setValue("John");
+        assertNull(componentErrors.get(ageField));
+        assertEquals("Smith", item.getLastName());
+    }
+
+    @Test
+    public void addValidationDependency_dependentUnbound_notValidated() {
+        Binding<Person, String> firstName = binder.forField(nameField)
+                .bind(Person::getFirstName, Person::setFirstName);
+        Binding<Person, String> lastName = binder.forField(ageField)
+                .withValidator(value -> false, "Always invalid")
+                .bind(Person::getLastName, Person::setLastName);
+        lastName.addValidationDependency(firstName);
+        binder.setBean(item);
+
+        lastName.unbind();
+        nameField.setValue("John");
+
+        assertNull(componentErrors.get(ageField));
+        assertEquals("John", item.getFirstName());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addValidationDependency_otherBinder_throws() {
+        Binding<Person, String> firstName = new Binder<Person>()
+                .forField(nameField)
+                .bind(Person::getFirstName, Person::setFirstName);
+        Binding<Person, String> lastName = binder.forField(ageField)
+                .bind(Person::getLastName, Person::setLastName);
+
+        lastName.addValidationDependency(firstName);
+    }
+
+    @Test
+    public void setBatchedValidation_beanValidatedOncePerRoundTrip() {
+        UI ui = new UI();
+        UI.setCurrent(ui);
+        AtomicInteger beanValidations = new AtomicInteger();
+        binder.forField(nameField).bind(Person::getFirstName,
+                Person::setFirstName);
+        binder.forField(ageField)
+                .withConverter(new StringToIntegerConverter(""))
+                .bind(Person::getAge, Person::setAge);
+        binder.withValidator(bean -> beanValidations.incrementAndGet() > 0,
+                "");
+        binder.setBatchedValidation(true);
+        binder.setBean(item);
+
+        nameField.setValue("John");
+        ageField.setValue("42");
+
+        assertEquals(0, beanValidations.get());
+        assertEquals("Johannes", item.getFirstName());
+
+        ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+
+        assertEquals(1, beanValidations.get());
+        assertEquals("John", item.getFirstName());
+        assertEquals(42, item.getAge());
+        assertFalse(binder.hasChanges());
+    }
+
     private TestTextField createNullRejectingFieldWithEmptyValue(
             String emptyValue) {
         return new TestTextField() {
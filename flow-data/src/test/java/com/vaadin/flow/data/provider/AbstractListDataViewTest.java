@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -847,6 +848,41 @@ public class AbstractListDataViewTest {
         Mockito.verify(dataProvider, Mockito.times(0)).refreshItem(updatedItem);
     }
 
+    @Test
+    public void refreshItems_onlyItemsPresentInDataSetRefreshed() {
+        Collection<Item> items = getTestItems();
+
+        ListDataProvider<Item> dataProvider = Mockito
+                .spy(DataProvider.ofCollection(items));
+
+        ItemListDataView dataView = new ItemListDataView(() -> dataProvider,
+                component);
+        dataView.setIdentifierProvider(Item::getId);
+
+        Item updatedItem = new Item(2L, "updated", "descr2");
+        Item missingItem = new Item(42L, "updated", "descr1");
+        dataView.refreshItems(Arrays.asList(missingItem, updatedItem));
+
+        Mockito.verify(dataProvider)
+                .refreshItems(Collections.singletonList(updatedItem));
+    }
+
+    @Test
+    public void removeItem_dataDeltaEventFired() {
+        List<DataChangeEvent<String>> events = new ArrayList<>();
+        dataProvider.addDataProviderListener(events::add);
+
+        dataView.removeItem("middle");
+
+        Assert.assertEquals(1, events.size());
+        DataChangeEvent.DataDeltaEvent<String> event = (DataChangeEvent.DataDeltaEvent<String>) events
+                .get(0);
+        Assert.assertEquals(Collections.singletonList("middle"),
+                event.getRemovedItems());
+        Assert.assertTrue(event.getAddedItems().isEmpty());
+        Assert.assertEquals(Arrays.asList("first", "last"), items);
+    }
+
     @Test
     public void getItem_correctIndex_itemFound() {
         Assert.assertEquals("Wrong item returned for index", "first",
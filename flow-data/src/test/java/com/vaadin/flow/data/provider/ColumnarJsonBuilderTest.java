@@ -0,0 +1,126 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+
+public class ColumnarJsonBuilderTest {
+
+    private final ColumnarJsonBuilder builder = new ColumnarJsonBuilder();
+
+    @Test
+    public void build_eachKeySentOnce() {
+        for (int i = 0; i < 3; i++) {
+            JsonObject item = builder.startItem();
+            item.put("key", String.valueOf(i));
+            item.put("name", "Item " + i);
+        }
+
+        JsonObject json = builder.build();
+
+        Assert.assertEquals(
+                "{\"size\":3,\"keys\":[\"key\",\"name\"],\"values\":"
+                        + "[[\"0\",\"1\",\"2\"],"
+                        + "[\"Item 0\",\"Item 1\",\"Item 2\"]]}",
+                json.toJson());
+    }
+
+    @Test
+    public void decode_missingProperties_omitted() {
+        JsonObject first = builder.startItem();
+        first.put("key", "1");
+        first.put("selected", true);
+        JsonObject second = builder.startItem();
+        second.put("key", "2");
+        second.put("count", 42);
+
+        List<JsonValue> items = ColumnarJsonBuilder.decode(builder.build());
+
+        Assert.assertEquals(2, items.size());
+        Assert.assertEquals("{\"key\":\"1\",\"selected\":true}",
+                items.get(0).toJson());
+        Assert.assertEquals("{\"key\":\"2\",\"count\":42}",
+                items.get(1).toJson());
+    }
+
+    @Test
+    public void decode_explicitNull_keptAndAbsentPropertyOmitted() {
+        JsonObject first = builder.startItem();
+        first.put("key", "1");
+        first.put("name", Json.createNull());
+        JsonObject second = builder.startItem();
+        second.put("key", "2");
+
+        JsonObject json = builder.build();
+        Assert.assertEquals(
+                "{\"size\":2,\"keys\":[\"key\",\"name\"],"
+                        + "\"values\":[[\"1\",\"2\"],[null,null]],"
+                        + "\"absent\":[[],[1]]}",
+                json.toJson());
+
+        // Decode the parsed JSON like the client would receive it
+        List<JsonValue> items = ColumnarJsonBuilder
+                .decode(Json.parse(json.toJson()));
+
+        Assert.assertEquals("{\"key\":\"1\",\"name\":null}",
+                items.get(0).toJson());
+        Assert.assertEquals("{\"key\":\"2\"}", items.get(1).toJson());
+    }
+
+    @Test
+    public void startItem_itemReadable() {
+        JsonObject item = builder.startItem();
+        item.put("key", "1");
+        item.put("name", Json.create("foo"));
+
+        Assert.assertTrue(item.hasKey("name"));
+        Assert.assertEquals("foo", item.getString("name"));
+        Assert.assertArrayEquals(new String[] { "key", "name" }, item.keys());
+        Assert.assertEquals("{\"key\":\"1\",\"name\":\"foo\"}", item.toJson());
+
+        item.remove("name");
+        Assert.assertFalse(item.hasKey("name"));
+    }
+
+    @Test
+    public void build_builderReused_previousItemsNotIncluded() {
+        JsonObject item = builder.startItem();
+        item.put("key", "1");
+        item.put("name", "foo");
+        builder.build();
+
+        item = builder.startItem();
+        item.put("key", "2");
+
+        Assert.assertEquals(
+                "{\"size\":1,\"keys\":[\"key\"],\"values\":[[\"2\"]]}",
+                builder.build().toJson());
+    }
+
+    @Test
+    public void build_noItems_emptyColumns() {
+        List<JsonValue> items = ColumnarJsonBuilder.decode(builder.build());
+
+        Assert.assertTrue(items.isEmpty());
+    }
+}
@@ -16,7 +16,11 @@
 package com.vaadin.flow.data.provider;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
@@ -35,6 +39,7 @@ import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.function.SerializablePredicate;
 import com.vaadin.flow.internal.Range;
 import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.server.Command;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
@@ -49,6 +54,7 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
+import elemental.json.JsonObject;
 import elemental.json.JsonValue;
 
 public class DataCommunicatorTest {
@@ -1280,6 +1286,352 @@ public class DataCommunicatorTest {
                 .fetch(Mockito.any(Query.class));
     }
 
+    @Test
+    public void readAheadPages_nextRangeServedFromCache() {
+        AbstractDataProvider<Item, Object> dataProvider = Mockito
+                .spy(createDataProvider(300));
+        dataCommunicator.setReadAheadPages(1);
+        dataCommunicator.setDataProvider(dataProvider, null);
+
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+
+        // The requested page and the next page
+        Assert.assertEquals(Arrays.asList(0, 50),
+                getFetchOffsets(dataProvider));
+
+        Mockito.reset(dataProvider);
+        dataCommunicator.setRequestedRange(50, 50);
+        fakeClientCommunication();
+
+        Assert.assertEquals(Range.withLength(50, 50), lastSet);
+        // Only the page after the new range is fetched ahead
+        Assert.assertEquals(Collections.singletonList(100),
+                getFetchOffsets(dataProvider));
+    }
+
+    @Test
+    public void readAheadPages_prefetchExecutor_pagesFetchedByExecutor() {
+        AbstractDataProvider<Item, Object> dataProvider = Mockito
+                .spy(createDataProvider(300));
+        List<Runnable> tasks = new ArrayList<>();
+        dataCommunicator.setReadAheadPages(1);
+        dataCommunicator.setPrefetchExecutor(tasks::add);
+        dataCommunicator.setDataProvider(dataProvider, null);
+
+        dataCommunicator.setRequestedRange(50, 50);
+        fakeClientCommunication();
+
+        Assert.assertEquals(Collections.singletonList(50),
+                getFetchOffsets(dataProvider));
+        Assert.assertEquals(1, tasks.size());
+
+        Mockito.reset(dataProvider);
+        tasks.remove(0).run();
+        Assert.assertEquals(Arrays.asList(0, 100),
+                getFetchOffsets(dataProvider));
+
+        Mockito.reset(dataProvider);
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+
+        Assert.assertEquals(Range.withLength(0, 50), lastSet);
+        Assert.assertEquals(Collections.emptyList(),
+                getFetchOffsets(dataProvider));
+    }
+
+    @Test
+    public void readAheadPages_refreshAll_cacheInvalidated() {
+        AbstractDataProvider<Item, Object> dataProvider = Mockito
+                .spy(createDataProvider(300));
+        dataCommunicator.setReadAheadPages(1);
+        dataCommunicator.setDataProvider(dataProvider, null);
+
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+
+        dataProvider.refreshAll();
+        Mockito.reset(dataProvider);
+        dataCommunicator.setRequestedRange(50, 50);
+        fakeClientCommunication();
+
+        Assert.assertEquals(Arrays.asList(50, 0, 100),
+                getFetchOffsets(dataProvider));
+    }
+
+    @Test
+    public void readAheadPages_changedWhilePrefetching_staleItemsNotUsed() {
+        AbstractDataProvider<Item, Object> dataProvider = Mockito
+                .spy(createDataProvider(300));
+        List<Runnable> tasks = new ArrayList<>();
+        dataCommunicator.setReadAheadPages(1);
+        dataCommunicator.setPrefetchExecutor(tasks::add);
+        dataCommunicator.setDataProvider(dataProvider, null);
+
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+
+        dataCommunicator.setBackEndSorting(Collections
+                .singletonList(new QuerySortOrder("id", SortDirection.ASCENDING)));
+        tasks.remove(0).run();
+
+        Mockito.reset(dataProvider);
+        dataCommunicator.setRequestedRange(50, 50);
+        fakeClientCommunication();
+
+        Assert.assertEquals(Collections.singletonList(50),
+                getFetchOffsets(dataProvider));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setReadAheadPages_negative_throws() {
+        dataCommunicator.setReadAheadPages(-1);
+    }
+
+    @Test
+    public void columnarEncoding_disabledByDefault() {
+        Assert.assertFalse(dataCommunicator.isColumnarEncoding());
+    }
+
+    @Test
+    public void columnarEncoding_itemsSetInColumnarFormat() {
+        AtomicReference<JsonObject> columnarItems = new AtomicReference<>();
+        ArrayUpdater.Update columnarUpdate = Mockito
+                .mock(ArrayUpdater.Update.class);
+        Mockito.doAnswer(invocation -> {
+            columnarItems.set((JsonObject) invocation.getArguments()[1]);
+            return null;
+        }).when(columnarUpdate).setColumnar(Mockito.anyInt(),
+                Mockito.any(JsonObject.class));
+        Mockito.when(arrayUpdater.startUpdate(Mockito.anyInt()))
+                .thenReturn(columnarUpdate);
+        Mockito.doAnswer(invocation -> {
+            Item item = (Item) invocation.getArguments()[0];
+            ((JsonObject) invocation.getArguments()[1]).put("value",
+                    item.value);
+            return null;
+        }).when(dataGenerator).generateData(Mockito.any(Item.class),
+                Mockito.any(JsonObject.class));
+
+        dataCommunicator.setColumnarEncoding(true);
+        dataCommunicator.setDataProvider(createDataProvider(), null);
+        dataCommunicator.setRequestedRange(0, 10);
+        fakeClientCommunication();
+
+        Mockito.verify(columnarUpdate, Mockito.never())
+                .set(Mockito.anyInt(), Mockito.anyList());
+        JsonObject json = columnarItems.get();
+        Assert.assertEquals(10, (int) json.getNumber("size"));
+        Assert.assertEquals("[\"key\",\"value\"]",
+                json.getArray("keys").toJson());
+
+        List<JsonValue> items = ColumnarJsonBuilder.decode(json);
+        Assert.assertEquals("Item 3",
+                ((JsonObject) items.get(3)).getString("value"));
+        Assert.assertEquals(new Item(3), dataCommunicator.getKeyMapper()
+                .get(((JsonObject) items.get(3)).getString("key")));
+    }
+
+    @Test
+    public void applyDelta_itemRemoved_onlyShiftedRowsSentAndKeysKept() {
+        List<Item> items = IntStream.range(0, 100).mapToObj(Item::new)
+                .collect(Collectors.toList());
+        ListDataProvider<Item> dataProvider = DataProvider
+                .ofCollection(items);
+        dataCommunicator.setDataProvider(dataProvider, null);
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+        String firstKey = dataCommunicator.getKeyMapper().key(items.get(0));
+        String lastKey = dataCommunicator.getKeyMapper().key(items.get(49));
+        lastSet = null;
+        lastClear = null;
+
+        Item removed = items.remove(10);
+        dataProvider.applyDelta(Collections.emptyList(),
+                Collections.singletonList(removed), Collections.emptyList());
+        fakeClientCommunication();
+
+        Assert.assertEquals(Range.between(10, 50), lastSet);
+        Assert.assertNull(lastClear);
+        Mockito.verify(arrayUpdater).startUpdate(99);
+        Assert.assertEquals(firstKey,
+                dataCommunicator.getKeyMapper().key(items.get(0)));
+        Assert.assertEquals(lastKey,
+                dataCommunicator.getKeyMapper().key(new Item(49)));
+
+        dataCommunicator.confirmUpdate(lastUpdateId);
+        Assert.assertFalse(dataCommunicator.isItemActive(removed));
+    }
+
+    @Test
+    public void applyDelta_itemAddedAfterActiveRange_noRowsSent() {
+        List<Item> items = IntStream.range(0, 100).mapToObj(Item::new)
+                .collect(Collectors.toList());
+        ListDataProvider<Item> dataProvider = DataProvider
+                .ofCollection(items);
+        dataCommunicator.setDataProvider(dataProvider, null);
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+        int updateId = lastUpdateId;
+        lastSet = null;
+
+        Item added = new Item(100);
+        items.add(added);
+        dataProvider.applyDelta(Collections.singletonList(added),
+                Collections.emptyList(), Collections.emptyList());
+        fakeClientCommunication();
+
+        Assert.assertNull(lastSet);
+        Mockito.verify(arrayUpdater).startUpdate(101);
+        Assert.assertEquals("The new size should be committed", updateId + 1,
+                lastUpdateId);
+        Assert.assertEquals(101, dataCommunicator.getItemCount());
+    }
+
+    @Test
+    public void refreshItems_itemsNotActive_notRegistered() {
+        List<Item> items = IntStream.range(0, 100).mapToObj(Item::new)
+                .collect(Collectors.toList());
+        ListDataProvider<Item> dataProvider = DataProvider
+                .ofCollection(items);
+        dataCommunicator.setDataProvider(dataProvider, null);
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+
+        dataProvider.refreshItems(Arrays.asList(items.get(0), items.get(90)));
+        fakeClientCommunication();
+
+        Mockito.verify(dataGenerator).refreshData(items.get(0));
+        Mockito.verify(dataGenerator, Mockito.never())
+                .refreshData(items.get(90));
+        Assert.assertFalse(dataCommunicator.getKeyMapper().has(items.get(90)));
+    }
+
+    @Test
+    public void asyncDataProvider_itemsSentWhenLoaded() {
+        List<CompletableFuture<Stream<Item>>> fetches = new ArrayList<>();
+        List<CompletableFuture<Integer>> counts = new ArrayList<>();
+        dataCommunicator.setDataProvider(
+                createAsyncDataProvider(fetches, counts), null);
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+
+        Assert.assertEquals(1, fetches.size());
+        Assert.assertEquals(1, counts.size());
+        Assert.assertNull("Items should not be sent before they are loaded",
+                lastSet);
+
+        fetches.get(0).complete(IntStream.range(0, 50).mapToObj(Item::new));
+        fakeClientCommunication();
+        Assert.assertNull("Items should not be sent without the item count",
+                lastSet);
+
+        counts.get(0).complete(100);
+        fakeClientCommunication();
+        Assert.assertEquals(Range.withLength(0, 50), lastSet);
+        Assert.assertEquals(100, dataCommunicator.getItemCount());
+        Assert.assertEquals(1, fetches.size());
+        Assert.assertEquals(1, counts.size());
+    }
+
+    @Test
+    public void asyncDataProvider_rangeChangedWhileLoading_staleResponseDropped() {
+        List<CompletableFuture<Stream<Item>>> fetches = new ArrayList<>();
+        List<CompletableFuture<Integer>> counts = new ArrayList<>();
+        dataCommunicator.setDataProvider(
+                createAsyncDataProvider(fetches, counts), null);
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+        dataCommunicator.setRequestedRange(50, 50);
+        fakeClientCommunication();
+        Assert.assertEquals(2, fetches.size());
+
+        counts.forEach(count -> count.complete(100));
+        fetches.get(0).complete(IntStream.range(0, 50).mapToObj(Item::new));
+        fakeClientCommunication();
+        Assert.assertNull("Stale items should not be sent", lastSet);
+
+        fetches.get(1).complete(IntStream.range(50, 100).mapToObj(Item::new));
+        fakeClientCommunication();
+        Assert.assertEquals(Range.withLength(50, 50), lastSet);
+        Assert.assertEquals(new Item(50), dataCommunicator.getItem(50));
+    }
+
+    @Test
+    public void asyncDataProvider_completedStages_itemsSentRightAway() {
+        dataCommunicator.setDataProvider(new AsyncCallbackDataProvider<>(
+                query -> CompletableFuture.completedFuture(IntStream
+                        .range(query.getOffset(),
+                                Math.min(100,
+                                        query.getOffset() + query.getLimit()))
+                        .mapToObj(Item::new)),
+                query -> CompletableFuture.completedFuture(100)), null);
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+
+        Assert.assertEquals(Range.withLength(0, 50), lastSet);
+        Assert.assertEquals(100, dataCommunicator.getItemCount());
+    }
+
+    @Test
+    public void asyncDataProvider_undefinedSize_scrolledDown_wholePagesLoaded() {
+        List<Query<Item, Object>> queries = new ArrayList<>();
+        List<CompletableFuture<Stream<Item>>> fetches = new ArrayList<>();
+        dataCommunicator.setDataProvider(
+                createAsyncDataProvider(queries, fetches, new ArrayList<>()),
+                null);
+        dataCommunicator.setDefinedSize(false);
+        dataCommunicator.setRequestedRange(0, pageSize);
+        fakeClientCommunication();
+        fetches.get(0).complete(
+                IntStream.range(0, pageSize).mapToObj(Item::new));
+        fakeClientCommunication();
+        Assert.assertEquals(Range.withLength(0, pageSize), lastSet);
+        int itemCount = dataCommunicator.getItemCount();
+
+        dataCommunicator.setRequestedRange(10, pageSize);
+        fakeClientCommunication();
+        Assert.assertEquals(2, queries.size());
+        Assert.assertEquals(10, queries.get(1).getOffset());
+        Assert.assertEquals("The page after the active range should be "
+                + "loaded in whole", 2 * pageSize - 10,
+                queries.get(1).getLimit());
+
+        fetches.get(1).complete(
+                IntStream.range(10, 2 * pageSize).mapToObj(Item::new));
+        fakeClientCommunication();
+        Assert.assertEquals(new Item(pageSize + 9),
+                dataCommunicator.getItem(pageSize + 9));
+        Assert.assertEquals("The end of the data should not be assumed",
+                itemCount, dataCommunicator.getItemCount());
+        Assert.assertEquals(2, fetches.size());
+    }
+
+    @Test
+    public void asyncDataProvider_undefinedSize_dataEnds_itemCountAdjusted() {
+        List<CompletableFuture<Stream<Item>>> fetches = new ArrayList<>();
+        dataCommunicator.setDataProvider(
+                createAsyncDataProvider(fetches, new ArrayList<>()), null);
+        dataCommunicator.setDefinedSize(false);
+        dataCommunicator.setRequestedRange(0, pageSize);
+        fakeClientCommunication();
+
+        fetches.get(0).complete(IntStream.range(0, 30).mapToObj(Item::new));
+        fakeClientCommunication();
+        Assert.assertEquals(Range.withLength(0, 30), lastSet);
+        Assert.assertEquals(30, dataCommunicator.getItemCount());
+    }
+
+    @Test
+    public void asyncDataProvider_itemCountNotLoaded_doesNotBlock() {
+        List<CompletableFuture<Integer>> counts = new ArrayList<>();
+        dataCommunicator.setDataProvider(
+                createAsyncDataProvider(new ArrayList<>(), counts), null);
+
+        Assert.assertEquals(0, dataCommunicator.getItemCount());
+        Assert.assertTrue(counts.isEmpty());
+    }
+
     @Test
     public void fetchEnabled_getItemCount_stillReturnsItemsCount() {
         dataCommunicator.setFetchEnabled(false);
@@ -1475,12 +1827,58 @@ public class DataCommunicatorTest {
         return dataCommunicator.getPageSize() * 4;
     }
 
+    private static List<Integer> getFetchOffsets(
+            DataProvider<Item, ?> dataProvider) {
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor
+                .forClass(Query.class);
+        Mockito.verify(dataProvider, Mockito.atLeast(0))
+                .fetch(queryCaptor.capture());
+        return queryCaptor.getAllValues().stream().map(Query::getOffset)
+                .collect(Collectors.toList());
+    }
+
     private void fakeClientCommunication() {
         ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
         ui.getInternals().getStateTree().collectChanges(ignore -> {
         });
     }
 
+    private AsyncDataProvider<Item, Object> createAsyncDataProvider(
+            List<CompletableFuture<Stream<Item>>> fetches,
+            List<CompletableFuture<Integer>> counts) {
+        return createAsyncDataProvider(new ArrayList<>(), fetches, counts);
+    }
+
+    private AsyncDataProvider<Item, Object> createAsyncDataProvider(
+            List<Query<Item, Object>> queries,
+            List<CompletableFuture<Stream<Item>>> fetches,
+            List<CompletableFuture<Integer>> counts) {
+        return new AsyncCallbackDataProvider<Item, Object>(query -> {
+            query.getOffset();
+            query.getLimit();
+            queries.add(query);
+            CompletableFuture<Stream<Item>> fetch = new CompletableFuture<>();
+            fetches.add(fetch);
+            return fetch;
+        }, query -> {
+            CompletableFuture<Integer> count = new CompletableFuture<>();
+            counts.add(count);
+            return count;
+        }) {
+            @Override
+            public Stream<Item> fetch(Query<Item, Object> query) {
+                throw new AssertionError(
+                        "Items should not be fetched synchronously");
+            }
+
+            @Override
+            public int size(Query<Item, Object> query) {
+                throw new AssertionError(
+                        "Item count should not be fetched synchronously");
+            }
+        };
+    }
+
     private AbstractDataProvider<Item, Object> createDataProviderThatChangesSize(
             final int size, final int delta) {
         return new AbstractDataProvider<Item, Object>() {
@@ -1571,6 +1969,13 @@ public class DataCommunicatorTest {
             // Do nothing
         }
 
+        @Override
+        public Future<Void> access(Command command) {
+            // The session of the tests is always locked
+            command.execute();
+            return CompletableFuture.completedFuture(null);
+        }
+
         private static VaadinSession findOrcreateSession() {
             VaadinSession session = VaadinSession.getCurrent();
             if (session == null) {
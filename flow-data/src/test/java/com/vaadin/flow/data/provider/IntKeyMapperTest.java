@@ -0,0 +1,229 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IntKeyMapperTest {
+
+    private static class Item {
+        private final int id;
+
+        private Item(int id) {
+            this.id = id;
+        }
+    }
+
+    private final IntKeyMapper<String> mapper = new IntKeyMapper<>();
+
+    @Test
+    public void key_sameObject_sameKey() {
+        String key = mapper.key("foo");
+
+        Assert.assertEquals(key, mapper.key("foo"));
+        Assert.assertNotEquals(key, mapper.key("bar"));
+        Assert.assertEquals("foo", mapper.get(key));
+        Assert.assertTrue(mapper.has("foo"));
+        Assert.assertTrue(mapper.containsKey(key));
+    }
+
+    @Test
+    public void key_keysEncodedCompactly() {
+        for (int i = 1; i < 36; i++) {
+            mapper.key("item" + i);
+        }
+        Assert.assertEquals("z", mapper.key("item35"));
+        Assert.assertEquals("10", mapper.key("item36"));
+    }
+
+    @Test
+    public void key_null_notMapped() {
+        Assert.assertEquals("null", mapper.key(null));
+        Assert.assertNull(mapper.get("null"));
+        Assert.assertNull(mapper.get("invalid key"));
+        Assert.assertNull(mapper.get("-1"));
+    }
+
+    @Test
+    public void has_null_false() {
+        Assert.assertFalse(mapper.has(null));
+
+        mapper.key("foo");
+        Assert.assertFalse(mapper.has(null));
+    }
+
+    @Test
+    public void key_nullIdentifier_mapped() {
+        IntKeyMapper<Item> itemMapper = new IntKeyMapper<>(
+                item -> item.id == 0 ? null : item.id);
+        Item item = new Item(0);
+
+        String key = itemMapper.key(item);
+
+        Assert.assertTrue(itemMapper.has(item));
+        Assert.assertSame(item, itemMapper.get(key));
+        Assert.assertEquals(key, itemMapper.key(new Item(0)));
+        Assert.assertFalse(itemMapper.has(new Item(1)));
+
+        itemMapper.remove(item);
+        Assert.assertFalse(itemMapper.has(item));
+    }
+
+    @Test
+    public void key_largestKeyUsed_keysStartOverSkippingMappedKeys() {
+        String firstKey = mapper.key("first");
+        mapper.lastKey = Integer.MAX_VALUE - 1;
+
+        String largestKey = mapper.key("largest");
+        String wrappedKey = mapper.key("wrapped");
+
+        Assert.assertEquals(Integer.toString(Integer.MAX_VALUE, 36),
+                largestKey);
+        Assert.assertEquals("1", firstKey);
+        Assert.assertEquals("2", wrappedKey);
+        Assert.assertEquals("first", mapper.get(firstKey));
+        Assert.assertEquals("largest", mapper.get(largestKey));
+        Assert.assertEquals("wrapped", mapper.get(wrappedKey));
+    }
+
+    @Test
+    public void remove_objectAndKeyUnmapped() {
+        String key = mapper.key("foo");
+        mapper.key("bar");
+
+        mapper.remove("foo");
+
+        Assert.assertFalse(mapper.has("foo"));
+        Assert.assertNull(mapper.get(key));
+        Assert.assertTrue(mapper.has("bar"));
+        Assert.assertNotEquals(key, mapper.key("foo"));
+    }
+
+    @Test
+    public void removeAll_nothingMapped() {
+        String key = mapper.key("foo");
+
+        mapper.removeAll();
+
+        Assert.assertFalse(mapper.has("foo"));
+        Assert.assertNull(mapper.get(key));
+    }
+
+    @Test
+    public void refresh_newInstanceReturned() {
+        IntKeyMapper<Item> itemMapper = new IntKeyMapper<>(item -> item.id);
+        Item item = new Item(1);
+        String key = itemMapper.key(item);
+
+        Item updated = new Item(1);
+        itemMapper.refresh(updated);
+
+        Assert.assertSame(updated, itemMapper.get(key));
+        Assert.assertEquals(key, itemMapper.key(new Item(1)));
+    }
+
+    @Test
+    public void setIdentifierGetter_existingKeysKept() {
+        IntKeyMapper<Item> itemMapper = new IntKeyMapper<>();
+        Item item = new Item(1);
+        String key = itemMapper.key(item);
+
+        itemMapper.setIdentifierGetter(i -> i.id);
+
+        Assert.assertTrue(itemMapper.has(new Item(1)));
+        Assert.assertEquals(key, itemMapper.key(new Item(1)));
+    }
+
+    @Test
+    public void maxSize_leastRecentlyUsedRemoved() {
+        IntKeyMapper<String> bounded = new IntKeyMapper<>(v -> v, 2);
+        String fooKey = bounded.key("foo");
+        bounded.key("bar");
+
+        // Using foo makes bar the least recently used mapping
+        Assert.assertEquals("foo", bounded.get(fooKey));
+        bounded.key("baz");
+
+        Assert.assertTrue(bounded.has("foo"));
+        Assert.assertFalse(bounded.has("bar"));
+        Assert.assertTrue(bounded.has("baz"));
+    }
+
+    @Test
+    public void maxSize_evictionListenerNotified() {
+        IntKeyMapper<String> bounded = new IntKeyMapper<>(v -> v, 2);
+        List<String> evicted = new ArrayList<>();
+        bounded.setEvictionListener(evicted::add);
+        bounded.key("foo");
+        bounded.key("bar");
+
+        bounded.remove("bar");
+        bounded.key("baz");
+        Assert.assertTrue("Removed objects are not evicted",
+                evicted.isEmpty());
+
+        bounded.key("qux");
+        Assert.assertEquals(Collections.singletonList("foo"), evicted);
+    }
+
+    @Test
+    public void randomOperations_sameAsHashMap() {
+        IntKeyMapper<Integer> intMapper = new IntKeyMapper<>();
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100000; i++) {
+            Integer value = random.nextInt(5000);
+            if (random.nextInt(3) == 0) {
+                intMapper.remove(value);
+                expected.remove(value);
+            } else {
+                String key = intMapper.key(value);
+                String expectedKey = expected.putIfAbsent(value, key);
+                if (expectedKey != null) {
+                    Assert.assertEquals(expectedKey, key);
+                }
+            }
+        }
+
+        for (int value = 0; value < 5000; value++) {
+            String key = expected.get(value);
+            Assert.assertEquals(key != null, intMapper.has(value));
+            if (key != null) {
+                Assert.assertEquals(Integer.valueOf(value),
+                        intMapper.get(key));
+            }
+        }
+    }
+
+    @Test
+    public void serializable() {
+        String key = mapper.key("foo");
+
+        IntKeyMapper<String> copy = SerializationUtils.clone(mapper);
+
+        Assert.assertEquals("foo", copy.get(key));
+    }
+}
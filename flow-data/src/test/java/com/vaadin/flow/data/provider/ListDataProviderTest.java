@@ -15,9 +15,11 @@
  */
 package com.vaadin.flow.data.provider;
 
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.SerializationUtils;
@@ -25,6 +27,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import com.vaadin.flow.function.SerializableComparator;
+import com.vaadin.flow.function.SerializablePredicate;
 
 public class ListDataProviderTest
         extends DataProviderTestBase<ListDataProvider<StrBean>> {
@@ -232,6 +235,75 @@ public class ListDataProviderTest
         assertSizeWithFilter(0, filteringBy, "oo");
     }
 
+    @Test
+    public void fetch_sameSortingTwice_itemsSortedOnce() {
+        ListDataProvider<StrBean> dataProvider = getDataProvider();
+        AtomicInteger comparisons = new AtomicInteger();
+        SerializableComparator<StrBean> comparator = (bean1, bean2) -> {
+            comparisons.incrementAndGet();
+            return Integer.compare(bean1.getId(), bean2.getId());
+        };
+        Query<StrBean, SerializablePredicate<StrBean>> query = new Query<>(0,
+                10, Collections.emptyList(), comparator, null);
+
+        List<StrBean> firstPage = dataProvider.fetch(query)
+                .collect(Collectors.toList());
+        int sortComparisons = comparisons.get();
+        Assert.assertTrue(sortComparisons > 0);
+
+        List<StrBean> secondPage = dataProvider
+                .fetch(new Query<>(10, 10, Collections.emptyList(), comparator,
+                        null))
+                .collect(Collectors.toList());
+
+        Assert.assertEquals(sortComparisons, comparisons.get());
+        Assert.assertEquals(0, firstPage.get(0).getId());
+        Assert.assertEquals(10, secondPage.get(0).getId());
+    }
+
+    @Test
+    public void refreshItem_changedItemFilteredAgain() {
+        ListDataProvider<StrBean> dataProvider = getDataProvider();
+        SerializablePredicate<StrBean> fooFilter = bean -> bean.getValue()
+                .equals("Foo");
+        int fooCount = dataProvider.size(new Query<>(fooFilter));
+
+        StrBean bean = data.stream()
+                .filter(item -> !item.getValue().equals("Foo")).findFirst()
+                .get();
+        bean.setValue("Foo");
+        dataProvider.refreshItem(bean);
+
+        Assert.assertEquals(fooCount + 1,
+                dataProvider.size(new Query<>(fooFilter)));
+    }
+
+    @Test
+    public void backendItemAdded_itemIncludedWithoutRefresh() {
+        ListDataProvider<StrBean> dataProvider = getDataProvider();
+        Assert.assertEquals(100, dataProvider.size(new Query<>()));
+
+        data.add(new StrBean("Foo", 100, 0));
+
+        Assert.assertEquals(101, dataProvider.size(new Query<>()));
+    }
+
+    @Test
+    public void parallelThreshold_sameItemsAsSequential() {
+        ListDataProvider<StrBean> dataProvider = getDataProvider();
+        dataProvider.setFilter(bean -> bean.getId() % 3 != 0);
+        dataProvider.setSortOrder(StrBean::getValue, SortDirection.ASCENDING);
+        List<StrBean> sequential = dataProvider.fetch(new Query<>())
+                .collect(Collectors.toList());
+
+        dataProvider.setParallelThreshold(0);
+        dataProvider.refreshAll();
+        List<StrBean> parallel = dataProvider.fetch(new Query<>())
+                .collect(Collectors.toList());
+
+        Assert.assertEquals(sequential, parallel);
+    }
+
     @Override
     protected void setSortOrder(List<QuerySortOrder> sortOrder,
             Comparator<StrBean> comp) {
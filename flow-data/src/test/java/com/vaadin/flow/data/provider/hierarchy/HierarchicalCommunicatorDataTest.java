@@ -20,6 +20,7 @@ import com.vaadin.flow.data.provider.CompositeDataGenerator;
 import com.vaadin.flow.data.provider.DataCommunicatorTest;
 import com.vaadin.flow.data.provider.hierarchy.HierarchicalArrayUpdater.HierarchicalUpdate;
 import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.function.SerializablePredicate;
 import com.vaadin.flow.function.ValueProvider;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinService;
@@ -33,7 +34,9 @@ import org.mockito.MockitoAnnotations;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class HierarchicalCommunicatorDataTest {
     /**
@@ -72,12 +75,50 @@ public class HierarchicalCommunicatorDataTest {
     private static final Item ROOT = new Item(0, "ROOT");
     private static final Item FOLDER = new Item(1, "FOLDER");
     private static final Item LEAF = new Item(2, "LEAF");
-    private TreeDataProvider<Item> dataProvider;
+    private CountingTreeDataProvider dataProvider;
     private HierarchicalDataCommunicator<Item> communicator;
     private TreeData<Item> treeData;
     private MockUI ui;
 
-    private static class UpdateQueue implements HierarchicalUpdate {
+    private final List<Integer> levelSizes = new ArrayList<>();
+
+    private static class CountingTreeDataProvider
+            extends TreeDataProvider<Item> {
+        private final List<HierarchicalQuery<Item, SerializablePredicate<Item>>> countQueries = new ArrayList<>();
+        private final List<HierarchicalQuery<Item, SerializablePredicate<Item>>> fetchQueries = new ArrayList<>();
+
+        public CountingTreeDataProvider(TreeData<Item> treeData) {
+            super(treeData);
+        }
+
+        @Override
+        public int getChildCount(
+                HierarchicalQuery<Item, SerializablePredicate<Item>> query) {
+            countQueries.add(query);
+            return super.getChildCount(query);
+        }
+
+        @Override
+        public Stream<Item> fetchChildren(
+                HierarchicalQuery<Item, SerializablePredicate<Item>> query) {
+            fetchQueries.add(query);
+            return super.fetchChildren(query);
+        }
+
+        private long countQueries(Item parent) {
+            return countQueries.stream()
+                    .filter(query -> parent.equals(query.getParent()))
+                    .count();
+        }
+
+        private int maxFetchLimit(Item parent) {
+            return fetchQueries.stream()
+                    .filter(query -> parent.equals(query.getParent()))
+                    .mapToInt(HierarchicalQuery::getLimit).max().orElse(0);
+        }
+    }
+
+    private class UpdateQueue implements HierarchicalUpdate {
         @Override
         public void clear(int start, int length) {
         }
@@ -104,6 +145,7 @@ public class HierarchicalCommunicatorDataTest {
 
         @Override
         public void commit(int updateId, String parentKey, int levelSize) {
+            levelSizes.add(levelSize);
         }
 
         @Override
@@ -133,7 +175,7 @@ public class HierarchicalCommunicatorDataTest {
         treeData.addItems(null, ROOT);
         treeData.addItems(ROOT, FOLDER);
         treeData.addItems(FOLDER, LEAF);
-        dataProvider = new TreeDataProvider<>(treeData);
+        dataProvider = new CountingTreeDataProvider(treeData);
         communicator = new HierarchicalDataCommunicator<>(
                 Mockito.mock(CompositeDataGenerator.class), arrayUpdater,
                 json -> {
@@ -168,6 +210,71 @@ public class HierarchicalCommunicatorDataTest {
         Assert.assertSame(updatedLeaf, communicator.getKeyMapper().get(key));
     }
 
+    @Test(expected = UnsupportedOperationException.class)
+    public void setColumnarEncoding_throws() {
+        communicator.setColumnarEncoding(true);
+    }
+
+    @Test
+    public void setParentRequestedRange_childCountFetchedOnce() {
+        communicator.expand(ROOT);
+        communicator.setParentRequestedRange(0, 50, ROOT);
+        fakeClientCommunication();
+        communicator.setParentRequestedRange(0, 40, ROOT);
+        fakeClientCommunication();
+
+        Assert.assertEquals(1, dataProvider.countQueries(ROOT));
+        Assert.assertEquals(Arrays.asList(1, 1), levelSizes);
+
+        dataProvider.refreshItem(ROOT, true);
+        fakeClientCommunication();
+
+        Assert.assertEquals(2, dataProvider.countQueries(ROOT));
+    }
+
+    @Test
+    public void childItemCountEstimate_childrenNotCounted_estimateIncreasedUntilEnd() {
+        addChildren(ROOT, 120);
+        communicator.setChildItemCountEstimate(50);
+        communicator.expand(ROOT);
+
+        communicator.setParentRequestedRange(0, 50, ROOT);
+        fakeClientCommunication();
+        Assert.assertEquals(100, levelSizes.get(levelSizes.size() - 1)
+                .intValue());
+
+        communicator.setParentRequestedRange(50, 50, ROOT);
+        fakeClientCommunication();
+        Assert.assertEquals(150, levelSizes.get(levelSizes.size() - 1)
+                .intValue());
+
+        communicator.setParentRequestedRange(100, 50, ROOT);
+        fakeClientCommunication();
+        Assert.assertEquals(121, levelSizes.get(levelSizes.size() - 1)
+                .intValue());
+
+        Assert.assertEquals(0, dataProvider.countQueries(ROOT));
+        Assert.assertEquals(50, dataProvider.maxFetchLimit(ROOT));
+    }
+
+    @Test
+    public void refreshItemWithChildren_notRequested_onlyFirstPageFetched() {
+        addChildren(ROOT, 1000);
+        communicator.expand(ROOT);
+
+        dataProvider.refreshItem(ROOT, true);
+        fakeClientCommunication();
+
+        Assert.assertEquals(communicator.getPageSize(),
+                dataProvider.maxFetchLimit(ROOT));
+    }
+
+    private void addChildren(Item parent, int count) {
+        for (int i = 0; i < count; i++) {
+            treeData.addItem(parent, new Item(100 + i, "Child " + i));
+        }
+    }
+
     private void fakeClientCommunication() {
         ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
         ui.getInternals().getStateTree().collectChanges(ignore -> {
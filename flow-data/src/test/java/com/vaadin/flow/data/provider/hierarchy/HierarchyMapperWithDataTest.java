@@ -18,6 +18,7 @@ package com.vaadin.flow.data.provider.hierarchy;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
@@ -293,6 +294,100 @@ public class HierarchyMapperWithDataTest {
         expandedItems.add(new TreeNode("third-1"));
     }
 
+    @Test
+    public void expandAndCollapseNodes_indicesMatchFlattenedHierarchy() {
+        expand(roots.get(1));
+        expand(testData.get(1));
+        expand(roots.get(3));
+        expand(testData.get(testData.indexOf(roots.get(1)) + 1
+                + LEAF_COUNT + 1));
+        collapse(roots.get(3));
+        expand(roots.get(4));
+        verifyIndices();
+
+        collapse(roots.get(1));
+        expand(roots.get(0));
+        verifyIndices();
+    }
+
+    @Test
+    public void fetchHierarchyItemsOfParent_onlyDescendantsReturned() {
+        Node root = roots.get(2);
+        Node parent = testData.get(testData.indexOf(root) + 1);
+        expand(root);
+        expand(parent);
+
+        List<Node> descendants = mapper
+                .fetchHierarchyItems(root, Range.between(0, 100))
+                .collect(Collectors.toList());
+
+        assertEquals(PARENT_COUNT + LEAF_COUNT, descendants.size());
+        assertEquals(parent, descendants.get(0));
+        assertTrue(descendants.stream()
+                .allMatch(node -> node.getParent() == root
+                        || node.getParent() == parent));
+        assertEquals(descendants.subList(1, 1 + LEAF_COUNT),
+                mapper.fetchHierarchyItems(parent, Range.between(0, 100))
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void dataChanged_resetHierarchy_changesIncluded() {
+        expand(roots.get(0));
+        int size = mapper.getTreeSize();
+
+        Node added = new Node(1000, roots.get(0));
+        data.addItem(roots.get(0), added);
+        assertEquals("Hierarchy should be kept until reset", size,
+                mapper.getTreeSize());
+
+        mapper.resetHierarchy();
+        assertEquals(size + 1, mapper.getTreeSize());
+        assertEquals(Integer.valueOf(PARENT_COUNT + 1),
+                mapper.getIndex(added));
+    }
+
+    @Test
+    public void childrenChanged_refreshChildren_changesIncluded() {
+        expand(roots.get(0));
+        expand(roots.get(1));
+        int size = mapper.getTreeSize();
+
+        data.addItem(roots.get(0), new Node(1000, roots.get(0)));
+        mapper.refresh(roots.get(0), true);
+
+        assertEquals(size + 1, mapper.getTreeSize());
+        assertEquals(Integer.valueOf(PARENT_COUNT + 2),
+                mapper.getIndex(roots.get(1)));
+        verifyIndices();
+    }
+
+    private void verifyIndices() {
+        List<Node> expected = new ArrayList<>();
+        roots.forEach(root -> addVisible(root, expected));
+
+        assertEquals(expected.size(), mapper.getTreeSize());
+        assertEquals(expected, mapper
+                .fetchHierarchyItems(Range.between(0, expected.size()))
+                .collect(Collectors.toList()));
+        for (int i = 0; i < expected.size(); i++) {
+            Node node = expected.get(i);
+            assertEquals(Integer.valueOf(i), mapper.getIndex(node));
+            assertEquals(Integer.valueOf(expected.indexOf(node.getParent())),
+                    mapper.getParentIndex(node));
+            assertEquals(Collections.singletonList(node),
+                    mapper.fetchHierarchyItems(Range.withLength(i, 1))
+                            .collect(Collectors.toList()));
+        }
+    }
+
+    private void addVisible(Node node, List<Node> visible) {
+        visible.add(node);
+        if (mapper.isExpanded(node)) {
+            data.getChildren(node).forEach(child -> addVisible(child, visible));
+        }
+    }
+
     private void expand(Node node) {
         insertRows(mapper.expand(node, mapper.getIndexOf(node).orElse(null)));
     }
@@ -77,6 +77,19 @@ public class HierarchyMapperWithNumerousDataTest {
         checkMapSize();
     }
 
+    /**
+     * Finding the index of each row of a large hierarchy should not require
+     * traversing the hierarchy for each row.
+     */
+    @Test(timeout = 2000)
+    public void getIndexOfAllItems() {
+        expand(testData.get(0));
+        for (int i = 0; i < testData.size(); i++) {
+            assertEquals(Integer.valueOf(i),
+                    mapper.getIndexOf(testData.get(i)).get());
+        }
+    }
+
     private void expand(Node node) {
         insertRows(mapper.expand(node, mapper.getIndexOf(node).orElse(null)));
     }
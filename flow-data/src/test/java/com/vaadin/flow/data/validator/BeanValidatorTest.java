@@ -9,6 +9,7 @@ import org.junit.After;
 import org.junit.Test;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.data.binder.ValueContext;
 import com.vaadin.flow.tests.data.bean.Address;
 import com.vaadin.flow.tests.data.bean.BeanToValidate;
 
@@ -78,6 +79,16 @@ public class BeanValidatorTest extends ValidatorTestBase {
         assertPasses(null, validator("nickname"));
     }
 
+    @Test
+    public void testPropertyWithoutConstraintsPasses() {
+        assertPasses("anything", validator("readOnlyProperty"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownPropertyFails() {
+        validator("unknown").apply("value", new ValueContext());
+    }
+
     @After
     public void tearDown() {
         UI.setCurrent(null);
@@ -39,6 +39,7 @@ import com.vaadin.flow.i18n.LocaleChangeEvent;
 import com.vaadin.flow.i18n.LocaleChangeObserver;
 import com.vaadin.flow.internal.ReflectionCache;
 import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.nodefeature.ComponentMapping;
 import com.vaadin.flow.internal.nodefeature.VirtualChildrenList;
 import com.vaadin.flow.server.Attributes;
 import com.vaadin.flow.server.VaadinService;
@@ -586,4 +587,55 @@ public class ComponentUtil {
                 (attributes, ignore) -> attributes.getAttribute(type), type);
     }
 
+    /**
+     * Marks the element subtree of the given component as a cacheable
+     * template, identified by the given key.
+     * <p>
+     * The structure of the changes describing the initial state of the subtree
+     * is recorded the first time a component with the key is attached. When
+     * another component with the same key is attached for the first time, the
+     * recorded structure is sent to the client again together with the node
+     * ids and the values of the new component, instead of the changes of each
+     * node. Only the structure is shared between the sessions of a service;
+     * values are always taken from the attached component.
+     * <p>
+     * The key should only be used for components which have the same element
+     * subtree structure, e.g. the same tags, attribute and property names and
+     * child elements, when they are attached for the first time. A subtree
+     * with a different structure is sent without using the template and a
+     * warning is logged. The number of distinct keys should be kept small
+     * since the recorded templates are kept as long as the service exists.
+     *
+     * @see #getSubtreeTemplateKey(Component)
+     *
+     * @param component
+     *            the component to mark, not <code>null</code>
+     * @param key
+     *            the key identifying the template, or <code>null</code> to
+     *            not use a template for the component
+     * @since
+     */
+    public static void setSubtreeTemplateKey(Component component,
+            String key) {
+        component.getElement().getNode().getFeature(ComponentMapping.class)
+                .setSubtreeTemplateKey(key);
+    }
+
+    /**
+     * Gets the key of the cacheable template set for the element subtree of
+     * the given component.
+     *
+     * @see #setSubtreeTemplateKey(Component, String)
+     *
+     * @param component
+     *            the component to check, not <code>null</code>
+     * @return the template key, or an empty optional if the component is not
+     *         marked as a template
+     * @since
+     */
+    public static Optional<String> getSubtreeTemplateKey(Component component) {
+        return Optional.ofNullable(component.getElement().getNode()
+                .getFeature(ComponentMapping.class).getSubtreeTemplateKey());
+    }
+
 }
@@ -60,9 +60,11 @@ import com.vaadin.flow.router.QueryParameters;
 import com.vaadin.flow.router.RouteConfiguration;
 import com.vaadin.flow.router.Router;
 import com.vaadin.flow.router.RouterLayout;
+import com.vaadin.flow.server.AccessBatcher;
 import com.vaadin.flow.server.Command;
 import com.vaadin.flow.server.ErrorEvent;
 import com.vaadin.flow.server.ErrorHandlingCommand;
+import com.vaadin.flow.server.FutureAccess;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinServlet;
@@ -386,6 +388,9 @@ public class UI extends Component
      * to be available whereas {@link #access(Command)} defers the task to a
      * later point in time.</li>
      * </ul>
+     * <p>
+     * If {@link VaadinSession#isPerUILocking() per UI locking} is enabled, only
+     * this UI is locked instead of the whole session.
      *
      *
      * @param command
@@ -432,7 +437,12 @@ public class UI extends Component
 
         VaadinService.verifyNoOtherSessionLocked(session);
 
-        session.lock();
+        boolean perUILocking = session.isPerUILocking();
+        if (perUILocking) {
+            getInternals().lock();
+        } else {
+            session.lock();
+        }
         try {
             if (getSession() == null) {
                 // UI was detached after fetching the session but before we
@@ -443,7 +453,11 @@ public class UI extends Component
             old = CurrentInstance.setCurrent(this);
             command.execute();
         } finally {
-            session.unlock();
+            if (perUILocking) {
+                getInternals().unlock();
+            } else {
+                session.unlock();
+            }
             if (old != null) {
                 CurrentInstance.restoreInstances(old);
             }
@@ -466,6 +480,12 @@ public class UI extends Component
      * handling.
      * </p>
      * <p>
+     * If {@link VaadinSession#isPerUILocking() per UI locking} is enabled, the
+     * command is run while holding the lock of this UI instead of the session
+     * lock, so that tasks for different UIs in the same session can run
+     * concurrently.
+     * </p>
+     * <p>
      * Please note that the command might be invoked on a different thread or
      * later on the current thread, which means that custom thread locals might
      * not have the expected values when the command is executed.
@@ -513,7 +533,7 @@ public class UI extends Component
             return null;
         }
 
-        return session.access(new ErrorHandlingCommand() {
+        ErrorHandlingCommand accessCommand = new ErrorHandlingCommand() {
             @Override
             public void execute() {
                 accessSynchronously(command, detachHandler);
@@ -533,7 +553,26 @@ public class UI extends Component
                     getLogger().error(e.getMessage(), e);
                 }
             }
-        });
+        };
+
+        if (session.isPerUILocking()) {
+            FutureAccess future = new FutureAccess(session, accessCommand);
+            UIInternals internals = getInternals();
+            internals.getPendingAccessQueue().add(future);
+
+            Optional<AccessBatcher> batcher = session.getService()
+                    .getAccessBatcher();
+            if (batcher.isPresent()) {
+                batcher.get().taskAdded(internals,
+                        internals.getLockInstance(),
+                        internals::ensureAccessQueuePurged);
+            } else {
+                internals.ensureAccessQueuePurged();
+            }
+
+            return future;
+        }
+        return session.access(accessCommand);
     }
 
     /**
@@ -660,7 +699,7 @@ public class UI extends Component
         if (session == null) {
             throw new UIDetachedException("Cannot push a detached UI");
         }
-        session.checkHasLock();
+        getInternals().checkHasLock();
 
         if (!getPushConfiguration().getPushMode().isEnabled()) {
             throw new IllegalStateException("Push not enabled");
@@ -674,7 +713,11 @@ public class UI extends Component
          * when the push would otherwise be ignored because there are no changes
          * to push.
          */
-        session.getService().runPendingAccessTasks(session);
+        if (getInternals().getLockInstance().isHeldByCurrentThread()) {
+            getInternals().runPendingAccessTasks();
+        } else {
+            session.getService().runPendingAccessTasks(session);
+        }
 
         if (!getInternals().isDirty()) {
             // Do not push if there is nothing to push
@@ -24,7 +24,8 @@ import com.vaadin.flow.server.VaadinSession;
 
 /**
  * A completable future that will throw from blocking operations if the current
- * thread holds the session lock.
+ * thread holds the session lock, or the lock of a UI in the session when per UI
+ * locking is enabled.
  * <p>
  * This is used for pending JS results because a response providing the value
  * cannot be processed while the session is locked.
@@ -85,5 +86,11 @@ public class DeadlockDetectingCompletableFuture<T>
                     "Cannot block on the value from the thread that has locked the session. "
                             + "This is because the request that delivers the value cannot be processed while this thread holds the session lock.");
         }
+        if (session != null && session.isPerUILocking()
+                && UILock.isAnyHeldByCurrentThread(session)) {
+            throw new IllegalStateException(
+                    "Cannot block on the value from the thread that has locked the UI. "
+                            + "This is because the request that delivers the value cannot be processed while this thread holds the UI lock.");
+        }
     }
 }
@@ -15,6 +15,8 @@
  */
 package com.vaadin.flow.component.internal;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -23,7 +25,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -48,6 +53,7 @@ import com.vaadin.flow.dom.impl.BasicElementStateProvider;
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.AnnotationReader;
 import com.vaadin.flow.internal.ConstantPool;
+import com.vaadin.flow.internal.CurrentInstance;
 import com.vaadin.flow.internal.JsonCodec;
 import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.internal.UrlUtil;
@@ -67,6 +73,8 @@ import com.vaadin.flow.router.RouterLayout;
 import com.vaadin.flow.router.internal.AfterNavigationHandler;
 import com.vaadin.flow.router.internal.BeforeEnterHandler;
 import com.vaadin.flow.router.internal.BeforeLeaveHandler;
+import com.vaadin.flow.server.Command;
+import com.vaadin.flow.server.FutureAccess;
 import com.vaadin.flow.server.VaadinContext;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
@@ -85,6 +93,8 @@ import com.vaadin.flow.shared.communication.PushMode;
  */
 public class UIInternals implements Serializable {
 
+    private static final String UI_NOT_LOCKED_MESSAGE = "Cannot access state in UI without locking the UI.";
+
     /**
      * A {@link Page#executeJs(String, Serializable...)} invocation that has not
      * yet been sent to the client.
@@ -185,6 +195,15 @@ public class UIInternals implements Serializable {
      */
     private volatile VaadinSession session;
 
+    private final UILock lock = new UILock(this);
+
+    /*
+     * Pending tasks can't be serialized and the queue should be empty when the
+     * UI is serialized as long as it doesn't happen while some other thread
+     * has the lock.
+     */
+    private transient ConcurrentLinkedQueue<FutureAccess> pendingAccessQueue = new ConcurrentLinkedQueue<>();
+
     private final DependencyList dependencyList = new DependencyList();
 
     private final ConstantPool constantPool = new ConstantPool();
@@ -496,7 +515,7 @@ public class UIInternals implements Serializable {
     }
 
     private <E> Registration addListener(Class<E> handler, E listener) {
-        session.checkHasLock();
+        checkHasLock();
         List<E> list = (List<E>) listeners.computeIfAbsent(handler,
                 key -> new ArrayList<>());
         list.add(listener);
@@ -549,7 +568,7 @@ public class UIInternals implements Serializable {
      */
     public void addJavaScriptInvocation(
             PendingJavaScriptInvocation invocation) {
-        session.checkHasLock();
+        checkHasLock();
         pendingJsInvocations.add(invocation);
     }
 
@@ -788,10 +807,207 @@ public class UIInternals implements Serializable {
         return session;
     }
 
+    /**
+     * Checks whether the related UI is protected by its own lock instead of the
+     * session lock.
+     *
+     * @return <code>true</code> if the UI is attached to a session that uses
+     *         per UI locking, <code>false</code> otherwise
+     * @see VaadinSession#isPerUILocking()
+     * @since
+     */
+    public boolean isPerUILocking() {
+        VaadinSession uiSession = session;
+        return uiSession != null && uiSession.isPerUILocking();
+    }
+
+    /**
+     * Gets the lock protecting the related UI when per UI locking is enabled.
+     *
+     * @return the UI lock, not <code>null</code>
+     * @since
+     */
+    public UILock getLockInstance() {
+        return lock;
+    }
+
+    /**
+     * Locks the related UI when per UI locking is enabled. Unlike the session
+     * lock, the UI lock only protects the state of the related UI. The session
+     * must not be locked by the current thread when acquiring the lock, but
+     * the session lock may be acquired while holding the UI lock.
+     *
+     * @throws IllegalStateException
+     *             if a deadlock is detected while waiting for the lock
+     * @see #unlock()
+     * @since
+     */
+    public void lock() {
+        lock.lockDetectingDeadlocks(session);
+    }
+
+    /**
+     * Unlocks the related UI. Pending access tasks of the UI are run and, if
+     * the push mode of the UI is {@link PushMode#AUTOMATIC automatic}, pending
+     * changes are pushed to the client before the lock is released.
+     *
+     * @see #lock()
+     * @since
+     */
+    public void unlock() {
+        boolean ultimateRelease = false;
+        try {
+            if (lock.getHoldCount() == 1) {
+                ultimateRelease = true;
+                runPendingAccessTasks();
+
+                if (session != null && ui.getPushConfiguration()
+                        .getPushMode() == PushMode.AUTOMATIC) {
+                    Map<Class<?>, CurrentInstance> oldCurrent = CurrentInstance
+                            .setCurrent(ui);
+                    try {
+                        ui.push();
+                    } finally {
+                        CurrentInstance.restoreInstances(oldCurrent);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        /*
+         * A task might have been enqueued after the queue was purged but before
+         * the lock was actually released, see VaadinSession.unlock()
+         */
+        if (ultimateRelease && !pendingAccessQueue.isEmpty()) {
+            ensureAccessQueuePurged();
+        }
+    }
+
+    /**
+     * Checks whether the current thread is allowed to access the state of the
+     * related UI. With {@link #isPerUILocking() per UI locking}, the current
+     * thread must hold the UI lock, holding only the session lock is not
+     * enough. Otherwise the current thread must hold the session lock.
+     *
+     * @return <code>true</code> if the UI can be accessed,
+     *         <code>false</code> otherwise
+     * @since
+     */
+    public boolean hasLock() {
+        VaadinSession uiSession = session;
+        if (uiSession != null && !uiSession.isPerUILocking()) {
+            return uiSession.hasLock();
+        }
+        return lock.isHeldByCurrentThread();
+    }
+
+    /**
+     * Potentially checks whether the current thread is allowed to access the
+     * state of the related UI, see {@link #hasLock()}. Like
+     * {@link VaadinSession#checkHasLock()}, the check is only done if
+     * assertions are enabled when production mode is enabled.
+     *
+     * @since
+     */
+    public void checkHasLock() {
+        VaadinSession uiSession = session;
+        if (uiSession == null) {
+            return;
+        }
+        if (!uiSession.isPerUILocking()) {
+            uiSession.checkHasLock();
+        } else if (isProductionMode(uiSession)) {
+            assert lock.isHeldByCurrentThread() : UI_NOT_LOCKED_MESSAGE;
+        } else if (!lock.isHeldByCurrentThread()) {
+            throw new IllegalStateException(UI_NOT_LOCKED_MESSAGE);
+        }
+    }
+
+    private static boolean isProductionMode(VaadinSession session) {
+        VaadinService service = session.getService();
+        return service == null
+                || service.getDeploymentConfiguration().isProductionMode();
+    }
+
+    /**
+     * Gets the queue of tasks submitted using {@link UI#access(Command)} when
+     * per UI locking is enabled. It is safe to call this method and access
+     * the returned queue without holding the UI lock.
+     *
+     * @return the queue of pending access tasks
+     * @since
+     */
+    public Queue<FutureAccess> getPendingAccessQueue() {
+        return pendingAccessQueue;
+    }
+
+    /**
+     * Makes sure the pending access queue of the UI is purged. If the UI is
+     * currently locked, the queue will be purged when the UI is unlocked.
+     * Otherwise the lock is acquired and released right away to purge the
+     * queue.
+     *
+     * @since
+     */
+    public void ensureAccessQueuePurged() {
+        try {
+            // tryLock() would be shorter, but it does not guarantee fairness
+            if (lock.tryLock(0, TimeUnit.SECONDS)) {
+                // unlock triggers runPendingAccessTasks
+                unlock();
+            }
+        } catch (InterruptedException e) {
+            // Just ignore
+        }
+    }
+
+    /**
+     * Purges the queue of pending access tasks of the UI. The UI must be
+     * locked when calling this method.
+     *
+     * @since
+     */
+    public void runPendingAccessTasks() {
+        if (pendingAccessQueue.isEmpty()) {
+            return;
+        }
+
+        FutureAccess pendingAccess;
+
+        // Dump all current instances, not only the ones dumped by setCurrent
+        Map<Class<?>, CurrentInstance> oldInstances = CurrentInstance
+                .getInstances();
+        CurrentInstance.setCurrent(ui);
+        try {
+            while ((pendingAccess = pendingAccessQueue.poll()) != null) {
+                if (!pendingAccess.isCancelled()) {
+                    pendingAccess.run();
+
+                    try {
+                        pendingAccess.get();
+                    } catch (Exception exception) {
+                        pendingAccess.handleError(exception);
+                    }
+                }
+            }
+        } finally {
+            CurrentInstance.clearAll();
+            CurrentInstance.restoreInstances(oldInstances);
+        }
+    }
+
     private static Logger getLogger() {
         return LoggerFactory.getLogger(UIInternals.class.getName());
     }
 
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        pendingAccessQueue = new ConcurrentLinkedQueue<>();
+    }
+
     /**
      * Returns the helper which handles loading of dependencies (css, js).
      *
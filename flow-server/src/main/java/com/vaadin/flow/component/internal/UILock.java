@@ -0,0 +1,202 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.component.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.vaadin.flow.server.VaadinSession;
+
+/**
+ * The lock protecting the state of a single UI when per UI locking is enabled.
+ * <p>
+ * Acquiring the lock fails with an exception instead of blocking forever if the
+ * thread holding the lock is itself waiting for a UI lock or the session lock
+ * held by the current thread. Locks must always be acquired in the order UI
+ * lock before session lock: code running with only the session locked (e.g.
+ * {@code VaadinSession.access} tasks) must use {@code UI.access} instead of
+ * locking a UI directly.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class UILock extends ReentrantLock {
+
+    private static final long DEADLOCK_CHECK_INTERVAL_MS = 100;
+
+    /*
+     * The UI locks held by each thread, used for checking whether a thread
+     * waiting for a lock held by the current thread is itself blocking the
+     * current thread.
+     */
+    private static final ThreadLocal<List<UILock>> HELD_LOCKS = new ThreadLocal<>();
+
+    private final UIInternals internals;
+
+    /**
+     * Creates a new lock for the given UI internals.
+     *
+     * @param internals
+     *            the internals of the UI protected by the lock, not
+     *            <code>null</code>
+     */
+    public UILock(UIInternals internals) {
+        this.internals = internals;
+    }
+
+    /**
+     * Acquires the lock, throwing an exception if waiting for the lock would
+     * cause a deadlock.
+     *
+     * @param session
+     *            the session of the UI, or <code>null</code> if the UI is not
+     *            attached to a session
+     * @throws IllegalStateException
+     *             if the thread holding this lock is waiting for the session
+     *             lock or a UI lock held by the current thread
+     */
+    public void lockDetectingDeadlocks(VaadinSession session) {
+        boolean interrupted = false;
+        try {
+            while (!tryLock()) {
+                try {
+                    if (tryLock(DEADLOCK_CHECK_INTERVAL_MS,
+                            TimeUnit.MILLISECONDS)) {
+                        break;
+                    }
+                } catch (InterruptedException e) {
+                    // Behave like lock() and restore the status when done
+                    interrupted = true;
+                }
+                throwIfDeadlock(session);
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void lock() {
+        super.lock();
+        addHeldLock();
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        super.lockInterruptibly();
+        addHeldLock();
+    }
+
+    @Override
+    public boolean tryLock() {
+        boolean locked = super.tryLock();
+        if (locked) {
+            addHeldLock();
+        }
+        return locked;
+    }
+
+    @Override
+    public boolean tryLock(long timeout, TimeUnit unit)
+            throws InterruptedException {
+        boolean locked = super.tryLock(timeout, unit);
+        if (locked) {
+            addHeldLock();
+        }
+        return locked;
+    }
+
+    /*
+     * Registers the lock as held by the current thread when it was acquired
+     * for the first time, whichever method was used for acquiring it.
+     */
+    private void addHeldLock() {
+        if (getHoldCount() == 1) {
+            List<UILock> heldLocks = HELD_LOCKS.get();
+            if (heldLocks == null) {
+                heldLocks = new ArrayList<>(1);
+                HELD_LOCKS.set(heldLocks);
+            }
+            heldLocks.add(this);
+        }
+    }
+
+    private void throwIfDeadlock(VaadinSession session) {
+        Thread owner = getOwner();
+        if (owner == null) {
+            return;
+        }
+        Lock sessionLock = session == null ? null : session.getLockInstance();
+        if (sessionLock instanceof ReentrantLock
+                && ((ReentrantLock) sessionLock).isHeldByCurrentThread()
+                && ((ReentrantLock) sessionLock).hasQueuedThread(owner)) {
+            throw new IllegalStateException(
+                    "Cannot lock the UI while holding the session lock since the thread that has locked the UI is waiting for the session lock. "
+                            + "Use UI.access() instead of UI.accessSynchronously() from code that runs with the session locked.");
+        }
+        for (UILock held : getHeldLocks()) {
+            if (held.hasQueuedThread(owner)) {
+                throw new IllegalStateException(
+                        "Cannot lock the UI while holding the lock of another UI since the thread that has locked the UI is waiting for the lock of the other UI. "
+                                + "Use UI.access() instead of UI.accessSynchronously() when accessing one UI from another.");
+            }
+        }
+    }
+
+    @Override
+    public void unlock() {
+        boolean ultimateRelease = getHoldCount() == 1;
+        super.unlock();
+        List<UILock> heldLocks = HELD_LOCKS.get();
+        if (ultimateRelease && heldLocks != null) {
+            heldLocks.remove(this);
+            if (heldLocks.isEmpty()) {
+                HELD_LOCKS.remove();
+            }
+        }
+    }
+
+    /**
+     * Checks whether the current thread holds the lock of any UI in the given
+     * session.
+     *
+     * @param session
+     *            the session to check, not <code>null</code>
+     * @return <code>true</code> if the current thread has locked a UI of the
+     *         session, <code>false</code> otherwise
+     */
+    public static boolean isAnyHeldByCurrentThread(VaadinSession session) {
+        for (UILock held : getHeldLocks()) {
+            if (held.internals.getSession() == session) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<UILock> getHeldLocks() {
+        List<UILock> heldLocks = HELD_LOCKS.get();
+        return heldLocks == null ? Collections.emptyList() : heldLocks;
+    }
+}
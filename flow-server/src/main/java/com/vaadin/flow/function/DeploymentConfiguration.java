@@ -64,6 +64,84 @@ public interface DeploymentConfiguration extends Serializable {
      */
     boolean isRequestTiming();
 
+    /**
+     * Returns whether UIDL responses may be sent in the binary CBOR encoding to
+     * clients supporting it. Disabled by default.
+     *
+     * @return true if binary UIDL responses are enabled, false otherwise
+     */
+    default boolean isBinaryUidl() {
+        return getBooleanProperty(InitParameters.SERVLET_PARAMETER_BINARY_UIDL,
+                false);
+    }
+
+    /**
+     * Returns whether UI level operations, such as handling UIDL requests,
+     * running {@code UI.access} tasks and handling push messages, lock only
+     * the affected UI instead of the whole session. Disabled by default.
+     *
+     * @return true if per UI locking is enabled, false otherwise
+     */
+    default boolean isPerUILocking() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_PER_UI_LOCKING, false);
+    }
+
+    /**
+     * Returns the maximum time in milliseconds that access tasks enqueued from
+     * background threads are held back so that the tasks, and the pushes
+     * caused by them, are coalesced into a single batch. Disabled (0) by
+     * default.
+     *
+     * @return the maximum batching latency in milliseconds, or a non-positive
+     *         value if access tasks are not batched
+     */
+    default int getAccessBatchMaxLatency() {
+        return getApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_ACCESS_BATCH_MAX_LATENCY, 0,
+                Integer::parseInt);
+    }
+
+    /**
+     * Returns the number of batched access tasks after which the batch is run
+     * right away instead of waiting for
+     * {@link #getAccessBatchMaxLatency()} to pass. The default is 100.
+     *
+     * @return the maximum number of access tasks in a batch
+     */
+    default int getAccessBatchMaxSize() {
+        return getApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_ACCESS_BATCH_MAX_SIZE, 100,
+                Integer::parseInt);
+    }
+
+    /**
+     * Returns the number of threads used for flushing batched access tasks
+     * once {@link #getAccessBatchMaxLatency()} has passed. The threads are
+     * shared by all sessions of the service and also push the changes of the
+     * flushed tasks, so the default is the number of available processors.
+     *
+     * @return the number of access batching threads
+     */
+    default int getAccessBatchThreads() {
+        return getApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_ACCESS_BATCH_THREADS,
+                Runtime.getRuntime().availableProcessors(), Integer::parseInt);
+    }
+
+    /**
+     * Returns the maximum size in megabytes of the in-memory cache of static
+     * resources served in production mode. The default is 32.
+     *
+     * @return the maximum size of the static resource cache in megabytes, or
+     *         a non-positive value if static resources are not cached
+     */
+    default int getStaticResourceCacheSize() {
+        return getApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_STATIC_RESOURCE_CACHE_SIZE, 32,
+                Integer::parseInt);
+    }
+
     /**
      * Returns whether cross-site request forgery protection is enabled.
      *
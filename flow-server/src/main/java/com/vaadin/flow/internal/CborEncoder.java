@@ -0,0 +1,203 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+
+/**
+ * Encodes JSON values using the Concise Binary Object Representation (CBOR,
+ * RFC 7049).
+ * <p>
+ * The encoding preserves the structure of the JSON value, so that the result
+ * can be decoded into the same object structure on the client side. Integral
+ * numbers, such as node ids and feature ids, are encoded as CBOR integers which
+ * take a single byte for values below 24. Other numbers are encoded as double
+ * precision floats, except NaN and infinity which are encoded as null like in
+ * JSON.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public final class CborEncoder {
+
+    private static final int MAJOR_UNSIGNED = 0;
+    private static final int MAJOR_NEGATIVE = 1;
+    private static final int MAJOR_TEXT = 3;
+    private static final int MAJOR_ARRAY = 4;
+    private static final int MAJOR_MAP = 5;
+
+    private static final int FALSE = 0xf4;
+    private static final int TRUE = 0xf5;
+    private static final int NULL = 0xf6;
+    private static final int DOUBLE = 0xfb;
+
+    // Largest integer that a JavaScript number can represent exactly
+    private static final double MAX_SAFE_INTEGER = 9007199254740991d;
+
+    private CborEncoder() {
+        // Static-only class
+    }
+
+    /**
+     * Writes the CBOR encoding of the given JSON value to an output stream.
+     * <p>
+     * The stream is written to byte by byte, so a buffered stream should be
+     * used.
+     *
+     * @param value
+     *            the value to encode, not {@code null}
+     * @param out
+     *            the stream to write to, not {@code null}
+     * @throws IOException
+     *             if writing to the stream fails
+     */
+    public static void encode(JsonValue value, OutputStream out)
+            throws IOException {
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(out);
+
+        write(value, out);
+    }
+
+    private static void write(JsonValue value, OutputStream out)
+            throws IOException {
+        if (value == null) {
+            out.write(NULL);
+            return;
+        }
+        switch (value.getType()) {
+        case NULL:
+            out.write(NULL);
+            break;
+        case BOOLEAN:
+            out.write(value.asBoolean() ? TRUE : FALSE);
+            break;
+        case NUMBER:
+            writeNumber(value.asNumber(), out);
+            break;
+        case STRING:
+            writeString(value.asString(), out);
+            break;
+        case ARRAY:
+            JsonArray array = (JsonArray) value;
+            writeHeader(MAJOR_ARRAY, array.length(), out);
+            for (int i = 0; i < array.length(); i++) {
+                write(array.get(i), out);
+            }
+            break;
+        case OBJECT:
+            JsonObject object = (JsonObject) value;
+            String[] keys = object.keys();
+            writeHeader(MAJOR_MAP, keys.length, out);
+            for (String key : keys) {
+                writeString(key, out);
+                write(object.get(key), out);
+            }
+            break;
+        default:
+            throw new IllegalArgumentException(
+                    "Unsupported JsonType: " + value.getType());
+        }
+    }
+
+    private static void writeNumber(double number, OutputStream out)
+            throws IOException {
+        if (Double.isNaN(number) || Double.isInfinite(number)) {
+            // Same as in JSON, which has no representation for these
+            out.write(NULL);
+        } else if (number == Math.rint(number)
+                && Math.abs(number) <= MAX_SAFE_INTEGER
+                && !isNegativeZero(number)) {
+            long integer = (long) number;
+            if (integer >= 0) {
+                writeHeader(MAJOR_UNSIGNED, integer, out);
+            } else {
+                writeHeader(MAJOR_NEGATIVE, -1 - integer, out);
+            }
+        } else {
+            out.write(DOUBLE);
+            writeLong(Double.doubleToLongBits(number), out);
+        }
+    }
+
+    private static boolean isNegativeZero(double number) {
+        return number == 0 && Double.doubleToRawLongBits(number) != 0;
+    }
+
+    private static void writeString(String value, OutputStream out)
+            throws IOException {
+        if (isAscii(value)) {
+            int length = value.length();
+            writeHeader(MAJOR_TEXT, length, out);
+            for (int i = 0; i < length; i++) {
+                out.write(value.charAt(i));
+            }
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeHeader(MAJOR_TEXT, bytes.length, out);
+            out.write(bytes);
+        }
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeHeader(int majorType, long length,
+            OutputStream out) throws IOException {
+        int major = majorType << 5;
+        if (length < 24) {
+            out.write(major | (int) length);
+        } else if (length < 0x100) {
+            out.write(major | 24);
+            out.write((int) length);
+        } else if (length < 0x10000) {
+            out.write(major | 25);
+            out.write((int) (length >> 8));
+            out.write((int) length);
+        } else if (length < 0x100000000L) {
+            out.write(major | 26);
+            out.write((int) (length >> 24));
+            out.write((int) (length >> 16));
+            out.write((int) (length >> 8));
+            out.write((int) length);
+        } else {
+            out.write(major | 27);
+            writeLong(length, out);
+        }
+    }
+
+    private static void writeLong(long value, OutputStream out)
+            throws IOException {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >> shift));
+        }
+    }
+}
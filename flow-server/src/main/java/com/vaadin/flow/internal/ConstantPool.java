@@ -16,7 +16,10 @@
 package com.vaadin.flow.internal;
 
 import java.io.Serializable;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import elemental.json.Json;
@@ -25,6 +28,13 @@ import elemental.json.JsonObject;
 /**
  * Keeps track of {@link ConstantPoolKey} values that have already been sent to
  * the client.
+ * <p>
+ * The constant pool also maintains a string table for strings that are
+ * repeatedly used in node changes, e.g. attribute names, class names and style
+ * values. A string is added to the table when it is encountered for the second
+ * time. Table entries are sent to the client together with the other new
+ * constants, using the decimal string representation of the table index as
+ * the constant id.
  *
  * @author Vaadin Ltd
  * @since 1.0
@@ -35,6 +45,24 @@ public class ConstantPool implements Serializable {
 
     private Set<ConstantPoolKey> newKeys = new HashSet<>();
 
+    /**
+     * Strings shorter than this are always sent as such since a reference
+     * wouldn't make the message any smaller.
+     */
+    static final int MIN_STRING_LENGTH = 6;
+
+    /**
+     * The maximum number of strings in the string table, to avoid unbounded
+     * growth for UIs which keep producing new values.
+     */
+    static final int MAX_STRING_COUNT = 4096;
+
+    private Map<String, Integer> stringIds = new HashMap<>();
+
+    private Map<String, Integer> newStrings = new LinkedHashMap<>();
+
+    private Set<String> seenStrings = new HashSet<>();
+
     /**
      * Gets the id of a given constant, registering the constant with this
      * constant pool if it hasn't already been encountered.
@@ -57,6 +85,59 @@ public class ConstantPool implements Serializable {
         return id;
     }
 
+    /**
+     * Gets the string table reference of a given string. The string is added
+     * to the string table if it has been encountered before and the string
+     * table isn't full.
+     *
+     * @see #dumpConstants()
+     *
+     * @param value
+     *            the string to get a reference for, not <code>null</code>
+     * @return the string table index of the string, or <code>-1</code> if the
+     *         string should be sent as such
+     */
+    public int getStringReference(String value) {
+        assert value != null;
+
+        Integer id = stringIds.get(value);
+        if (id != null) {
+            return id.intValue();
+        }
+        if (value.length() < MIN_STRING_LENGTH
+                || stringIds.size() >= MAX_STRING_COUNT) {
+            return -1;
+        }
+        if (seenStrings.add(value)) {
+            if (seenStrings.size() > MAX_STRING_COUNT) {
+                // Forget strings that were only seen once so far
+                seenStrings.clear();
+                seenStrings.add(value);
+            }
+            return -1;
+        }
+
+        seenStrings.remove(value);
+        int newId = stringIds.size();
+        stringIds.put(value, Integer.valueOf(newId));
+        newStrings.put(value, Integer.valueOf(newId));
+        return newId;
+    }
+
+    /**
+     * Forgets all constants and strings sent to the client, including the
+     * string table, so that they are sent again the next time they are used.
+     * This is needed when the client is resynchronized since messages with
+     * new constants may have been lost.
+     */
+    public void reset() {
+        knownValues.clear();
+        newKeys.clear();
+        stringIds.clear();
+        newStrings.clear();
+        seenStrings.clear();
+    }
+
     /**
      * Checks if any new constants have been added to this constant pool since
      * the last time {@link #dumpConstants()} was called.
@@ -65,7 +146,7 @@ public class ConstantPool implements Serializable {
      *         otherwise
      */
     public boolean hasNewConstants() {
-        return !newKeys.isEmpty();
+        return !newKeys.isEmpty() || !newStrings.isEmpty();
     }
 
     /**
@@ -80,6 +161,9 @@ public class ConstantPool implements Serializable {
         newKeys.forEach(key -> key.export(json));
         newKeys.clear();
 
+        newStrings.forEach((value, id) -> json.put(id.toString(), value));
+        newStrings.clear();
+
         return json;
     }
 
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Utilities for copying data between files and streams.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @since
+ */
+public final class IOUtil {
+
+    private IOUtil() {
+        // Static utils only
+    }
+
+    /**
+     * Writes a range of a file to the given stream. The JDK uses the most
+     * efficient way of copying, without an intermediate heap buffer if the
+     * target supports it.
+     *
+     * @param file
+     *            the file to write, not <code>null</code>
+     * @param start
+     *            the position of the first byte to write
+     * @param count
+     *            the maximum number of bytes to write, the range ends at the
+     *            end of the file if it is shorter
+     * @param stream
+     *            the stream to write to, not <code>null</code>
+     * @return the number of bytes written
+     * @throws IOException
+     *             if reading the file or writing to the stream fails
+     */
+    public static long transferFile(File file, long start, long count,
+            OutputStream stream) throws IOException {
+        return transferFile(file, start, count, Channels.newChannel(stream));
+    }
+
+    /**
+     * Writes a range of a file to the given channel. The transfer is repeated
+     * until the whole range is written, since a single transfer may write
+     * fewer bytes than requested.
+     *
+     * @param file
+     *            the file to write, not <code>null</code>
+     * @param start
+     *            the position of the first byte to write
+     * @param count
+     *            the maximum number of bytes to write, the range ends at the
+     *            end of the file if it is shorter
+     * @param target
+     *            the channel to write to, not <code>null</code>
+     * @return the number of bytes written
+     * @throws IOException
+     *             if reading the file or writing to the channel fails
+     */
+    public static long transferFile(File file, long start, long count,
+            WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.READ)) {
+            long position = start;
+            long end = Math.min(channel.size(), start + count);
+            if (end < start) {
+                // start + count overflowed
+                end = channel.size();
+            }
+            while (position < end) {
+                long transferred = channel.transferTo(position,
+                        end - position, target);
+                if (transferred <= 0) {
+                    // The file was truncated while sending it
+                    break;
+                }
+                position += transferred;
+            }
+            return Math.max(0, position - start);
+        }
+    }
+}
@@ -16,9 +16,14 @@
 
 package com.vaadin.flow.internal;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -53,6 +58,12 @@ public final class JsonUtils {
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
+    private static final String NULL = "null";
+
+    private static final Set<String> SKIPPED_KEYS = Collections
+            .unmodifiableSet(new HashSet<>(
+                    Arrays.asList("$H", "__gwt_ObjectId")));
+
     /**
      * Collects a stream of JSON values to a JSON array.
      *
@@ -264,6 +275,191 @@ public final class JsonUtils {
         return Stream.of(values).collect(asArray());
     }
 
+    /**
+     * Writes the JSON representation of the given value to a writer.
+     * <p>
+     * The written output is the same as the result of
+     * {@link JsonValue#toJson()}, but no intermediate string is created for
+     * the whole value, which makes it possible to stream large JSON structures
+     * directly to e.g. a response.
+     *
+     * @param value
+     *            the JSON value to write, not {@code null}
+     * @param writer
+     *            the writer to write to, not {@code null}
+     * @throws IOException
+     *             if writing fails
+     */
+    public static void writeJson(JsonValue value, Writer writer)
+            throws IOException {
+        Objects.requireNonNull(value, CANNOT_CONVERT_NULL_TO_A_JSON_OBJECT);
+        Objects.requireNonNull(writer);
+
+        doWriteJson(value, writer);
+    }
+
+    private static void doWriteJson(JsonValue value, Writer writer)
+            throws IOException {
+        if (value == null) {
+            writer.write(NULL);
+            return;
+        }
+        switch (value.getType()) {
+        case NULL:
+            writer.write(NULL);
+            break;
+        case BOOLEAN:
+            writer.write(Boolean.toString(value.asBoolean()));
+            break;
+        case NUMBER:
+            writeNumber(value.asNumber(), writer);
+            break;
+        case STRING:
+            writeString(value.asString(), writer);
+            break;
+        case ARRAY:
+            JsonArray array = (JsonArray) value;
+            writer.write('[');
+            for (int i = 0; i < array.length(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                doWriteJson(array.get(i), writer);
+            }
+            writer.write(']');
+            break;
+        case OBJECT:
+            JsonObject object = (JsonObject) value;
+            writer.write('{');
+            boolean first = true;
+            for (String key : getStringifyOrder(object.keys())) {
+                if (SKIPPED_KEYS.contains(key)) {
+                    continue;
+                }
+                if (!first) {
+                    writer.write(',');
+                }
+                first = false;
+                writeString(key, writer);
+                writer.write(':');
+                doWriteJson(object.get(key), writer);
+            }
+            writer.write('}');
+            break;
+        default:
+            throw new IllegalArgumentException(
+                    "Unsupported JsonType: " + value.getType());
+        }
+    }
+
+    /*
+     * Numeric keys are written first in lexicographic order, to produce the
+     * same output as JsonValue.toJson().
+     */
+    private static String[] getStringifyOrder(String[] keys) {
+        List<String> numeric = null;
+        for (String key : keys) {
+            if (isNumericKey(key)) {
+                if (numeric == null) {
+                    numeric = new ArrayList<>();
+                }
+                numeric.add(key);
+            }
+        }
+        if (numeric == null) {
+            return keys;
+        }
+        Collections.sort(numeric);
+        for (String key : keys) {
+            if (!isNumericKey(key)) {
+                numeric.add(key);
+            }
+        }
+        return numeric.toArray(new String[numeric.size()]);
+    }
+
+    private static boolean isNumericKey(String key) {
+        if (key.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeNumber(double number, Writer writer)
+            throws IOException {
+        if (Double.isInfinite(number) || Double.isNaN(number)) {
+            writer.write(NULL);
+            return;
+        }
+        String formatted = String.valueOf(number);
+        if (formatted.endsWith(".0")) {
+            writer.write(formatted, 0, formatted.length() - 2);
+        } else {
+            writer.write(formatted);
+        }
+    }
+
+    private static void writeString(String value, Writer writer)
+            throws IOException {
+        writer.write('"');
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            String escaped = getEscapeSequence(c);
+            if (escaped != null) {
+                writer.write(value, start, i - start);
+                writer.write(escaped);
+                start = i + 1;
+            }
+        }
+        writer.write(value, start, length - start);
+        writer.write('"');
+    }
+
+    private static String getEscapeSequence(char c) {
+        switch (c) {
+        case '\b':
+            return "\\b";
+        case '\t':
+            return "\\t";
+        case '\n':
+            return "\\n";
+        case '\f':
+            return "\\f";
+        case '\r':
+            return "\\r";
+        case '"':
+            return "\\\"";
+        case '\\':
+            return "\\\\";
+        default:
+            if (isControlChar(c)) {
+                String hexValue = Integer.toString(c, 16);
+                return "\\u" + "0000".substring(hexValue.length()) + hexValue;
+            }
+            return null;
+        }
+    }
+
+    /*
+     * Same set of characters as escaped by elemental.json.impl.JsonUtil.
+     */
+    private static boolean isControlChar(char c) {
+        return c <= 0x1f || (c >= 0x7f && c <= 0x9f) || c == '\u00ad'
+                || c == '\u070f' || c == '\u17b4' || c == '\u17b5'
+                || c == '\ufeff' || (c >= '\u0600' && c <= '\u0604')
+                || (c >= '\u200c' && c <= '\u200f')
+                || (c >= '\u2028' && c <= '\u202f')
+                || (c >= '\u2060' && c <= '\u206f') || c >= '\ufff0';
+    }
+
     /**
      * Converts the given map into a JSON object by converting each map value to
      * a JSON value.
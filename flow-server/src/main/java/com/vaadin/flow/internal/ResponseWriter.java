@@ -23,10 +23,12 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.net.MalformedURLException;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.util.ArrayList;
@@ -146,12 +148,22 @@ public class ResponseWriter implements Serializable {
                 dataStream = null;
                 writeRangeContents(range, response, url);
             } else {
-                final long contentLength = connection.getContentLengthLong();
-                if (0 <= contentLength) {
-                    setContentLength(response, contentLength);
+                File file = toFile(url);
+                if (file != null) {
+                    closeStream(dataStream);
+                    dataStream = null;
+                    setContentLength(response, file.length());
+                    IOUtil.transferFile(file, 0, file.length(),
+                            response.getOutputStream());
+                } else {
+                    final long contentLength = connection
+                            .getContentLengthLong();
+                    if (0 <= contentLength) {
+                        setContentLength(response, contentLength);
+                    }
+                    writeStream(response.getOutputStream(), dataStream,
+                            Long.MAX_VALUE);
                 }
-                writeStream(response.getOutputStream(), dataStream,
-                        Long.MAX_VALUE);
             }
         } catch (IOException e) {
             getLogger().debug("Error writing static file to user", e);
@@ -162,6 +174,78 @@ public class ResponseWriter implements Serializable {
         }
     }
 
+    /**
+     * Writes the contents and content type (if available) of the given cached
+     * resource to the response, using the best compressed variant accepted by
+     * the browser. If the browser already has the variant, as told by the
+     * "If-None-Match" header, only the status code 304 is written.
+     *
+     * @param filenameWithPath
+     *            the name of the file being sent
+     * @param entry
+     *            the cached resource
+     * @param request
+     *            the request object to read from
+     * @param response
+     *            the response object to write to
+     * @throws IOException
+     *             if an exception occurred while writing to the response
+     * @since
+     */
+    public void writeResponseContents(String filenameWithPath,
+            StaticResourceCache.Entry entry, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        byte[] content = entry.getContent();
+        String contentEncoding = null;
+        if (brotliEnabled && entry.getBrotliContent() != null
+                && acceptsBrotliResource(request)) {
+            content = entry.getBrotliContent();
+            contentEncoding = "br";
+        } else if (acceptsGzippedResource(request)
+                && entry.getGzipContent() != null) {
+            content = entry.getGzipContent();
+            contentEncoding = "gzip";
+        }
+        if (entry.mayBeCompressed()) {
+            response.setHeader("Vary", "Accept-Encoding");
+        }
+
+        String eTag = entry.getETag(contentEncoding);
+        response.setHeader("ETag", eTag);
+        if (matchesETag(request.getHeader("If-None-Match"), eTag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        writeContentType(filenameWithPath, request, response);
+        if (contentEncoding != null) {
+            response.setHeader("Content-Encoding", contentEncoding);
+        }
+        setContentLength(response, content.length);
+        try {
+            response.getOutputStream().write(content);
+        } catch (IOException e) {
+            getLogger().debug("Error writing static file to user", e);
+        }
+    }
+
+    private static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            // If-None-Match uses the weak comparison
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void closeStream(Closeable stream) {
         try {
             stream.close();
@@ -225,6 +309,12 @@ public class ResponseWriter implements Serializable {
             response.setHeader("Content-Range",
                     createContentRangeHeader(start, end, resourceLength));
 
+            File file = toFile(resourceURL);
+            if (file != null) {
+                IOUtil.transferFile(file, start, end - start + 1,
+                        outputStream);
+                return;
+            }
             final InputStream dataStream = connection.getInputStream();
             try {
                 long skipped = dataStream.skip(start);
@@ -354,6 +444,25 @@ public class ResponseWriter implements Serializable {
         }
     }
 
+    /**
+     * Gets the local file of a resource URL, which can be sent without copying
+     * it through a heap buffer.
+     *
+     * @return the file, or {@code null} if the URL does not refer to a
+     *         regular file
+     */
+    private static File toFile(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            File file = new File(url.toURI());
+            return file.isFile() ? file : null;
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     /**
      * Returns whether it is ok to serve a gzipped version of the given
      * resource.
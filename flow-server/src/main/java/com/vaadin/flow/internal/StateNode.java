@@ -132,6 +132,17 @@ public class StateNode implements Serializable {
 
     private static final ReplacedViaPreserveOnRefresh REPLACED_MARKER = new ReplacedViaPreserveOnRefresh();
 
+    /*
+     * Bits of the flags field. The boolean state is packed into a single byte
+     * to keep the footprint small since a UI can contain a lot of nodes.
+     */
+    private static final int WAS_ATTACHED = 1;
+    private static final int HAS_BEEN_ATTACHED = 1 << 1;
+    private static final int HAS_BEEN_DETACHED = 1 << 2;
+    private static final int INACTIVE_SELF = 1 << 3;
+    private static final int INITIAL_CHANGES = 1 << 4;
+    private static final int ENABLED = 1 << 5;
+
     /**
      * Cache of immutable node feature type set instances.
      */
@@ -144,7 +155,30 @@ public class StateNode implements Serializable {
      */
     private Serializable features;
 
-    private Map<Class<? extends NodeFeature>, Serializable> changes;
+    /**
+     * Change trackers for features with changes, indexed in the same way as
+     * the features, or <code>null</code> if there are no changes.
+     */
+    private Serializable[] changes;
+
+    /**
+     * The number of non-null items in {@link #changes}.
+     */
+    private int changeTrackerCount;
+
+    /**
+     * Change trackers for feature instances whose type is not one of the
+     * features of this node, e.g. subclasses of a feature type. The node never
+     * collects the changes of such features, so the trackers are discarded
+     * whenever the changes of the node are collected.
+     */
+    private Map<Class<? extends NodeFeature>, Serializable> unmappedChanges;
+
+    /**
+     * The marker of the dirty nodes list in the owning state tree that this
+     * node has most recently been added to.
+     */
+    private Serializable dirtyMarker;
 
     private List<Command> attachListeners;
 
@@ -157,17 +191,10 @@ public class StateNode implements Serializable {
     private int id = -1;
 
     // Only the root node is attached at this point
-    private boolean wasAttached = isAttached();
-
-    private boolean hasBeenAttached;
-    private boolean hasBeenDetached;
-
-    private boolean isInactiveSelf;
-
-    private boolean isInitialChanges = true;
+    private byte flags = (byte) (INITIAL_CHANGES | ENABLED
+            | (isAttached() ? WAS_ATTACHED : 0));
 
     private ArrayList<StateTree.BeforeClientResponseEntry> beforeClientResponseEntries;
-    private boolean enabled = true;
 
     /**
      * Creates a state node with the given feature types.
@@ -319,8 +346,9 @@ public class StateNode implements Serializable {
         for (Pair<StateNode, Boolean> pair : attachedNodes) {
             final boolean isInitial = pair.getSecond();
             final StateNode node = pair.getFirst();
-            if (node.isRegistered() && (isInitial || node.hasBeenDetached)) {
-                node.hasBeenAttached = true;
+            if (node.isRegistered()
+                    && (isInitial || node.hasFlag(HAS_BEEN_DETACHED))) {
+                node.setFlag(HAS_BEEN_ATTACHED, true);
                 node.fireAttachListeners(isInitial);
             }
         }
@@ -334,8 +362,8 @@ public class StateNode implements Serializable {
         visitNodeTreeBottomUp(nodes::add);
         nodes.forEach(StateNode::handleOnDetach);
         for (StateNode node : nodes) {
-            if (node.hasBeenAttached) {
-                node.hasBeenDetached = true;
+            if (node.hasFlag(HAS_BEEN_ATTACHED)) {
+                node.setFlag(HAS_BEEN_DETACHED, true);
                 node.fireDetachListeners();
             }
         }
@@ -390,9 +418,7 @@ public class StateNode implements Serializable {
     private void reset() {
         owner = NullOwner.get();
         id = -1;
-        wasAttached = false;
-        hasBeenAttached = false;
-        hasBeenDetached = false;
+        setFlag(WAS_ATTACHED | HAS_BEEN_ATTACHED | HAS_BEEN_DETACHED, false);
     }
 
     /**
@@ -404,10 +430,10 @@ public class StateNode implements Serializable {
         visitNodeTreeBottomUp(StateNode::fireDetachListeners);
         visitNodeTree(stateNode -> {
             getOwner().markAsDirty(stateNode);
-            stateNode.wasAttached = false;
-            stateNode.isInitialChanges = true;
-            stateNode.hasBeenAttached = false;
-            stateNode.hasBeenDetached = false;
+            stateNode.setFlag(
+                    WAS_ATTACHED | HAS_BEEN_ATTACHED | HAS_BEEN_DETACHED,
+                    false);
+            stateNode.setFlag(INITIAL_CHANGES, true);
         });
         visitNodeTreeBottomUp(sn -> sn.fireAttachListeners(true));
     }
@@ -578,7 +604,27 @@ public class StateNode implements Serializable {
      *         <code>false</code> if the client side is not initialized yet
      */
     boolean isClientSideInitialized() {
-        return wasAttached;
+        return hasFlag(WAS_ATTACHED);
+    }
+
+    /**
+     * Checks whether this node itself has been made inactive, without
+     * considering its ancestors.
+     *
+     * @return <code>true</code> if the node itself is inactive
+     */
+    boolean isInactiveSelf() {
+        return hasFlag(INACTIVE_SELF);
+    }
+
+    /**
+     * Gets an object identifying the feature types of this node. The same
+     * instance is shared by all nodes with the same feature types.
+     *
+     * @return the feature set of this node
+     */
+    Object getFeatureSetIdentity() {
+        return featureSet;
     }
 
     /**
@@ -597,8 +643,10 @@ public class StateNode implements Serializable {
      *            a consumer accepting node changes
      */
     public void collectChanges(Consumer<NodeChange> collector) {
+        unmappedChanges = null;
+
         boolean isAttached = isAttached();
-        if (isAttached != wasAttached) {
+        if (isAttached != hasFlag(WAS_ATTACHED)) {
             if (isAttached) {
                 collector.accept(new NodeAttachChange(this));
 
@@ -608,14 +656,14 @@ public class StateNode implements Serializable {
             } else {
                 collector.accept(new NodeDetachChange(this));
             }
-            wasAttached = isAttached;
+            setFlag(WAS_ATTACHED, isAttached);
         }
 
         if (!isAttached()) {
             return;
         }
         if (isInactive()) {
-            if (isInitialChanges) {
+            if (hasFlag(INITIAL_CHANGES)) {
                 // send only required (reported) features updates
                 Stream<NodeFeature> initialFeatures = Stream
                         .concat(featureSet.mappings.keySet().stream()
@@ -632,18 +680,20 @@ public class StateNode implements Serializable {
 
     private void doCollectChanges(Consumer<NodeChange> collector,
             Stream<NodeFeature> features) {
-        features.filter(this::hasChangeTracker).forEach(feature -> {
-            feature.collectChanges(collector);
-            changes.remove(feature.getClass());
-        });
-        isInitialChanges = false;
-        if (changes != null && changes.isEmpty()) {
-            changes = null;
+        if (changes != null) {
+            features.forEach(feature -> {
+                int featureIndex = getFeatureIndex(feature.getClass());
+                if (changes[featureIndex] != null) {
+                    feature.collectChanges(collector);
+                    changes[featureIndex] = null;
+                    changeTrackerCount--;
+                }
+            });
+            if (changeTrackerCount == 0) {
+                changes = null;
+            }
         }
-    }
-
-    private boolean hasChangeTracker(NodeFeature nodeFeature) {
-        return changes != null && changes.containsKey(nodeFeature.getClass());
+        setFlag(INITIAL_CHANGES, false);
     }
 
     /**
@@ -652,6 +702,39 @@ public class StateNode implements Serializable {
      */
     public void clearChanges() {
         changes = null;
+        changeTrackerCount = 0;
+        unmappedChanges = null;
+    }
+
+    /**
+     * Sets the marker of the dirty nodes list that this node is added to.
+     * <p>
+     * The marker is used by {@link StateTree} to avoid adding the same node
+     * multiple times to its dirty nodes list without having to look up the
+     * node from a set.
+     *
+     * @param marker
+     *            the marker of the current dirty nodes list, not
+     *            <code>null</code>
+     */
+    void setDirtyMarker(Serializable marker) {
+        assert marker != null;
+
+        dirtyMarker = marker;
+    }
+
+    /**
+     * Checks whether this node has been marked with the given dirty nodes list
+     * marker.
+     *
+     * @param marker
+     *            the marker of the current dirty nodes list, not
+     *            <code>null</code>
+     * @return <code>true</code> if the node is already in the list identified
+     *         by the marker, <code>false</code> otherwise
+     */
+    boolean hasDirtyMarker(Serializable marker) {
+        return dirtyMarker == marker;
     }
 
     /**
@@ -850,12 +933,27 @@ public class StateNode implements Serializable {
     @SuppressWarnings("unchecked")
     public <T extends Serializable> T getChangeTracker(NodeFeature feature,
             Supplier<T> factory) {
+        Integer mappedIndex = featureSet.mappings.get(feature.getClass());
+        if (mappedIndex == null) {
+            if (unmappedChanges == null) {
+                unmappedChanges = new HashMap<>();
+            }
+            return (T) unmappedChanges.computeIfAbsent(feature.getClass(),
+                    k -> factory.get());
+        }
+
+        int featureIndex = mappedIndex.intValue();
         if (changes == null) {
-            changes = new HashMap<>();
+            changes = new Serializable[featureSet.mappings.size()];
         }
 
-        return (T) changes.computeIfAbsent(feature.getClass(),
-                k -> factory.get());
+        Serializable tracker = changes[featureIndex];
+        if (tracker == null) {
+            tracker = factory.get();
+            changes[featureIndex] = tracker;
+            changeTrackerCount++;
+        }
+        return (T) tracker;
     }
 
     /**
@@ -928,8 +1026,8 @@ public class StateNode implements Serializable {
      * @return {@code true} if the node is inactive
      */
     public boolean isInactive() {
-        if (isInactiveSelf || getParent() == null) {
-            return isInactiveSelf;
+        if (hasFlag(INACTIVE_SELF) || getParent() == null) {
+            return hasFlag(INACTIVE_SELF);
         }
         return getParent().isInactive();
     }
@@ -940,11 +1038,11 @@ public class StateNode implements Serializable {
     }
 
     private void setInactive(boolean inactive) {
-        if (isInactiveSelf != inactive) {
-            isInactiveSelf = inactive;
+        if (hasFlag(INACTIVE_SELF) != inactive) {
+            setFlag(INACTIVE_SELF, inactive);
 
             visitNodeTree(child -> {
-                if (!equals(child) && !child.isInactiveSelf) {
+                if (!equals(child) && !child.hasFlag(INACTIVE_SELF)) {
                     /*
                      * We are here if: the child node itself is not inactive but
                      * it has some ascendant which is inactive.
@@ -1057,7 +1155,7 @@ public class StateNode implements Serializable {
      *            a new enabled state
      */
     public void setEnabled(boolean enabled) {
-        this.enabled = enabled;
+        setFlag(ENABLED, enabled);
     }
 
     /**
@@ -1095,7 +1193,7 @@ public class StateNode implements Serializable {
      * @return the node enabled own state
      */
     public boolean isEnabledSelf() {
-        return enabled;
+        return hasFlag(ENABLED);
     }
 
     /**
@@ -1113,4 +1211,29 @@ public class StateNode implements Serializable {
         return isAttached() && getOwner().hasNode(this);
     }
 
+    /**
+     * Checks whether any of the given bits is set in the flags of this node.
+     *
+     * @param flag
+     *            the flag bits to check
+     * @return <code>true</code> if any of the bits is set, <code>false</code>
+     *         otherwise
+     */
+    private boolean hasFlag(int flag) {
+        return (flags & flag) != 0;
+    }
+
+    /**
+     * Sets or clears the given bits in the flags of this node.
+     *
+     * @param flags
+     *            the flag bits to update
+     * @param value
+     *            <code>true</code> to set the bits, <code>false</code> to clear
+     *            them
+     */
+    private void setFlag(int flags, boolean value) {
+        this.flags = (byte) (value ? this.flags | flags : this.flags & ~flags);
+    }
+
 }
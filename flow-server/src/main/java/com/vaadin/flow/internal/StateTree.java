@@ -17,6 +17,7 @@
 package com.vaadin.flow.internal;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -131,7 +132,17 @@ public class StateTree implements NodeOwner {
         void remove();
     }
 
-    private Set<StateNode> dirtyNodes = new LinkedHashSet<>();
+    /**
+     * Marker instance identifying the nodes which have been added to the
+     * current {@link #dirtyNodes} list. A new marker is created whenever the
+     * list is reset, which implicitly unmarks all previously collected nodes.
+     */
+    private static class DirtyMarker implements Serializable {
+    }
+
+    private List<StateNode> dirtyNodes = new ArrayList<>();
+
+    private DirtyMarker dirtyMarker = new DirtyMarker();
 
     private final Map<Integer, StateNode> idToNode = new HashMap<>();
 
@@ -257,19 +268,21 @@ public class StateTree implements NodeOwner {
      *            a consumer accepting node changes
      */
     public void collectChanges(Consumer<NodeChange> collector) {
-        Set<StateNode> allDirtyNodes = new LinkedHashSet<>();
-        boolean evaluateNewDirtyNodes = true;
-
-        // The updateActiveState method can create new dirty nodes, so they need
-        // to be collected as well
-        while (evaluateNewDirtyNodes) {
-            Set<StateNode> dirtyNodesSet = doCollectDirtyNodes(true);
-            dirtyNodesSet.forEach(StateNode::updateActiveState);
-            evaluateNewDirtyNodes = allDirtyNodes.addAll(dirtyNodesSet);
+        // The updateActiveState method can create new dirty nodes, which are
+        // appended to the list and thus also evaluated by this loop
+        for (int i = 0; i < dirtyNodes.size(); i++) {
+            dirtyNodes.get(i).updateActiveState();
         }
 
+        List<StateNode> allDirtyNodes = resetDirtyNodes();
+
         // TODO fire preCollect events
 
+        // Subtrees sent as templates have no changes left after this
+        VaadinSession session = uiInternals.getSession();
+        SubtreeTemplate.collectChanges(allDirtyNodes, collector,
+                session == null ? null : session.getService());
+
         allDirtyNodes.forEach(node -> node.collectChanges(collector));
     }
 
@@ -278,7 +291,10 @@ public class StateTree implements NodeOwner {
         assert node.getOwner() == this;
         checkHasLock();
 
-        dirtyNodes.add(node);
+        if (!node.hasDirtyMarker(dirtyMarker)) {
+            node.setDirtyMarker(dirtyMarker);
+            dirtyNodes.add(node);
+        }
     }
 
     /**
@@ -287,7 +303,7 @@ public class StateTree implements NodeOwner {
      * @return a set of dirty nodes, in the order they were marked dirty
      */
     public Set<StateNode> collectDirtyNodes() {
-        return doCollectDirtyNodes(false);
+        return Collections.unmodifiableSet(new LinkedHashSet<>(dirtyNodes));
     }
 
     /**
@@ -403,28 +419,20 @@ public class StateTree implements NodeOwner {
     }
 
     private void checkHasLock() {
-        VaadinSession session = uiInternals.getSession();
-        if (session != null) {
-            session.checkHasLock();
-        }
+        uiInternals.checkHasLock();
     }
 
     /**
-     * Gets all the nodes that have been marked as dirty.
-     * <p>
-     * If {@code reset} is {@code true} then dirty nodes collection is reset.
+     * Gets all the nodes that have been marked as dirty and resets the dirty
+     * nodes collection.
      *
-     * @return a set of dirty nodes, in the order they were marked dirty
+     * @return a list of dirty nodes, in the order they were marked dirty
      */
-    private Set<StateNode> doCollectDirtyNodes(boolean reset) {
-        if (reset) {
-            Set<StateNode> collectedNodes = dirtyNodes;
-            dirtyNodes = new LinkedHashSet<>();
-            return collectedNodes;
-        } else {
-            return Collections.unmodifiableSet(dirtyNodes);
-        }
-
+    private List<StateNode> resetDirtyNodes() {
+        List<StateNode> collectedNodes = dirtyNodes;
+        dirtyNodes = new ArrayList<>();
+        dirtyMarker = new DirtyMarker();
+        return collectedNodes;
     }
 
     /**
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A bounded in-memory cache of static resources, keyed by the requested path.
+ * When the total size of the cached resources exceeds the maximum size, the
+ * least recently used resources are evicted.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class StaticResourceCache implements Serializable {
+
+    /**
+     * Resources smaller than this are not worth compressing on the fly.
+     */
+    private static final int MIN_COMPRESSED_SIZE = 1024;
+
+    private final long maxSize;
+
+    // Access ordered for evicting the least recently used entries, which
+    // means that also get modifies the map
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f,
+            true);
+
+    private long size;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * A cached static resource.
+     */
+    public static final class Entry implements Serializable {
+        private final byte[] content;
+        private final byte[] brotliContent;
+        private final long lastModified;
+        private final String eTag;
+        private final long weight;
+
+        private volatile byte[] gzipContent;
+        private volatile boolean gzipResolved;
+
+        /**
+         * Creates a new cache entry.
+         *
+         * @param content
+         *            the content of the resource, not {@code null}
+         * @param gzipContent
+         *            the prebuilt gzipped content of the resource, or
+         *            {@code null} to compress the content when it is first
+         *            needed
+         * @param brotliContent
+         *            the prebuilt Brotli compressed content of the resource,
+         *            or {@code null} if there is none
+         * @param lastModified
+         *            the last modification timestamp of the resource, or -1
+         *            if it is not known
+         */
+        public Entry(byte[] content, byte[] gzipContent, byte[] brotliContent,
+                long lastModified) {
+            this.content = content;
+            this.gzipContent = gzipContent;
+            this.gzipResolved = gzipContent != null;
+            this.brotliContent = brotliContent;
+            this.lastModified = lastModified;
+            eTag = '"' + Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(MessageDigestUtil.sha256(content)) + '"';
+            weight = computeWeight();
+        }
+
+        /**
+         * Gets the content of the resource.
+         *
+         * @return the uncompressed content
+         */
+        public byte[] getContent() {
+            return content;
+        }
+
+        /**
+         * Gets the gzipped content of the resource. Unless the gzipped content
+         * was prebuilt, it is compressed the first time it is needed, and
+         * only kept if it is smaller than the content.
+         *
+         * @return the gzipped content, or {@code null} if the resource is not
+         *         worth compressing
+         */
+        public byte[] getGzipContent() {
+            if (!gzipResolved) {
+                // Concurrent compressions produce the same result
+                gzipContent = mayBeCompressed() ? gzip(content) : null;
+                gzipResolved = true;
+            }
+            return gzipContent;
+        }
+
+        /**
+         * Gets the prebuilt Brotli compressed content of the resource.
+         *
+         * @return the Brotli compressed content, or {@code null} if there is
+         *         none
+         */
+        public byte[] getBrotliContent() {
+            return brotliContent;
+        }
+
+        /**
+         * Checks whether a compressed variant of the resource may be
+         * available.
+         *
+         * @return {@code true} if the content may be sent compressed,
+         *         {@code false} otherwise
+         */
+        public boolean mayBeCompressed() {
+            return gzipContent != null || brotliContent != null
+                    || content.length >= MIN_COMPRESSED_SIZE;
+        }
+
+        /**
+         * Gets the last modification timestamp of the resource.
+         *
+         * @return the last modification timestamp, or -1 if it is not known
+         */
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Gets the strong entity tag of the resource sent with the given
+         * content encoding.
+         *
+         * @param contentEncoding
+         *            the content encoding, or {@code null} for the
+         *            uncompressed content
+         * @return the quoted entity tag
+         */
+        public String getETag(String contentEncoding) {
+            if (contentEncoding == null) {
+                return eTag;
+            }
+            return eTag.substring(0, eTag.length() - 1) + '-'
+                    + contentEncoding + '"';
+        }
+
+        /**
+         * Computes the number of bytes reserved for the entry in the cache,
+         * which includes room for content that is compressed later.
+         */
+        private long computeWeight() {
+            long weight = content.length;
+            if (brotliContent != null) {
+                weight += brotliContent.length;
+            }
+            if (gzipContent != null) {
+                weight += gzipContent.length;
+            } else if (mayBeCompressed()) {
+                // Compressed content is only kept if it is smaller
+                weight += content.length;
+            }
+            return weight;
+        }
+
+        private static byte[] gzip(byte[] content) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(
+                    content.length / 2);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(content);
+            } catch (IOException e) {
+                // Not thrown by a ByteArrayOutputStream
+                throw new UncheckedIOException(e);
+            }
+            return out.size() < content.length ? out.toByteArray() : null;
+        }
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize
+     *            the maximum total size of the cached resources in bytes
+     */
+    public StaticResourceCache(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the cached resource for the given path and updates the hit and
+     * miss counts.
+     *
+     * @param path
+     *            the requested path
+     * @return the cached resource, or {@code null} if it is not cached
+     */
+    public synchronized Entry get(String path) {
+        Entry entry = entries.get(path);
+        if (entry == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * Checks whether a resource is cached for the given path, without updating
+     * the hit and miss counts.
+     *
+     * @param path
+     *            the requested path
+     * @return {@code true} if the resource is cached, {@code false} otherwise
+     */
+    public synchronized boolean contains(String path) {
+        return entries.containsKey(path);
+    }
+
+    /**
+     * Caches a resource, evicting the least recently used resources if the
+     * cache becomes too large. Resources larger than
+     * {@link #getMaxEntrySize()} are not cached.
+     *
+     * @param path
+     *            the requested path
+     * @param entry
+     *            the resource to cache
+     * @return {@code true} if the resource was cached, {@code false} if it is
+     *         too large
+     */
+    public synchronized boolean put(String path, Entry entry) {
+        long weight = entry.weight;
+        if (weight > getMaxEntrySize()) {
+            return false;
+        }
+        Entry previous = entries.put(path, entry);
+        if (previous != null) {
+            size -= previous.weight;
+        }
+        size += weight;
+
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().weight;
+            iterator.remove();
+        }
+        return true;
+    }
+
+    /**
+     * Removes all cached resources.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    /**
+     * Gets the maximum number of bytes a single resource may take in the
+     * cache, a quarter of the maximum size of the cache.
+     *
+     * @return the maximum size of a cached resource in bytes
+     */
+    public long getMaxEntrySize() {
+        return maxSize / 4;
+    }
+
+    /**
+     * Gets the number of bytes currently reserved by the cached resources.
+     *
+     * @return the size of the cache in bytes
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of requests for a resource that was cached.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of requests for a resource that was not cached.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+}
@@ -0,0 +1,371 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.internal.change.NodeAttachChange;
+import com.vaadin.flow.internal.change.NodeChange;
+import com.vaadin.flow.internal.change.SubtreeTemplateChange;
+import com.vaadin.flow.internal.nodefeature.ComponentMapping;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.shared.JsonConstants;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+
+/**
+ * The recorded structure of the initial changes of an element subtree marked
+ * as a cacheable template using
+ * {@link ComponentUtil#setSubtreeTemplateKey(com.vaadin.flow.component.Component, String)}.
+ * <p>
+ * Node references in the recorded changes are replaced by the index of the
+ * node in the subtree, and values are replaced by the index of the value in
+ * the values of an instance. The same changes can thus be sent for any
+ * instance of the template together with the ids of its nodes and its own
+ * values. The changes are sent to each client once as a constant pool value.
+ * Templates are recorded once per {@link VaadinService} and stored in
+ * {@link VaadinService#getSubtreeTemplates()}.
+ * <p>
+ * The changes of each later instance are compared with the template while
+ * they are encoded, so an instance matching the template is encoded only once
+ * and no separate structure is built for it.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class SubtreeTemplate implements Serializable {
+
+    private final JsonArray structure;
+
+    private final ConstantPoolKey changes;
+
+    private final Object[] featureSets;
+
+    private volatile boolean mismatchLogged;
+
+    /**
+     * Constant pool which only records the used constants, since the
+     * constants are registered with the constant pool of a UI when an instance
+     * of the template is sent. Strings are never replaced by string table
+     * references.
+     */
+    private static class RecordingConstantPool extends ConstantPool {
+        private final Set<ConstantPoolKey> constants = new LinkedHashSet<>();
+
+        @Override
+        public String getConstantId(ConstantPoolKey constant) {
+            constants.add(constant);
+            return constant.getId();
+        }
+
+        @Override
+        public int getStringReference(String value) {
+            // The string table is specific to each UI
+            return -1;
+        }
+    }
+
+    private SubtreeTemplate(JsonArray changes, Object[] featureSets) {
+        structure = changes;
+        this.changes = new ConstantPoolKey(changes);
+        this.featureSets = featureSets;
+    }
+
+    /**
+     * Gets the constant pool value containing the changes of the template.
+     *
+     * @return the template changes as a constant pool value
+     */
+    public ConstantPoolKey getChanges() {
+        return changes;
+    }
+
+    /**
+     * Checks whether the given subtree nodes have the same feature types as
+     * the nodes that this template has been recorded from.
+     */
+    private boolean hasSameFeatureSets(Object[] featureSets) {
+        if (featureSets.length != this.featureSets.length) {
+            return false;
+        }
+        for (int i = 0; i < featureSets.length; i++) {
+            if (featureSets[i] != this.featureSets[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the given subtree nodes and their recorded changes have
+     * the same structure as the nodes that this template has been recorded
+     * from.
+     */
+    private boolean hasSameStructure(Object[] featureSets, JsonArray changes) {
+        return hasSameFeatureSets(featureSets)
+                && (changes == structure
+                        || JsonUtils.jsonEquals(structure, changes));
+    }
+
+    /**
+     * Collects the changes of the subtrees in the given dirty nodes that are
+     * marked as cacheable templates and are attached for the first time. The
+     * changes of each such subtree are reported as a single
+     * {@link SubtreeTemplateChange}. Other nodes are left untouched.
+     *
+     * @param dirtyNodes
+     *            the dirty nodes of a state tree
+     * @param collector
+     *            a consumer accepting node changes
+     * @param service
+     *            the service for which the templates are recorded, or
+     *            <code>null</code> to not use templates
+     */
+    static void collectChanges(List<StateNode> dirtyNodes,
+            Consumer<NodeChange> collector, VaadinService service) {
+        if (service == null) {
+            return;
+        }
+        Map<StateNode, String> roots = null;
+        for (StateNode node : dirtyNodes) {
+            if (node.isAttached() && !node.isClientSideInitialized()) {
+                String key = getTemplateKey(node);
+                if (key != null) {
+                    if (roots == null) {
+                        roots = new LinkedHashMap<>();
+                    }
+                    roots.put(node, key);
+                }
+            }
+        }
+        if (roots == null) {
+            return;
+        }
+
+        Map<String, SubtreeTemplate> serviceTemplates = service
+                .getSubtreeTemplates();
+        for (Map.Entry<StateNode, String> entry : roots.entrySet()) {
+            StateNode root = entry.getKey();
+            if (!hasAncestor(root, roots.keySet())) {
+                // An outermost template includes the templates inside it
+                collectChanges(root, entry.getValue(), collector,
+                        serviceTemplates);
+            }
+        }
+    }
+
+    private static String getTemplateKey(StateNode node) {
+        if (!node.hasFeature(ComponentMapping.class)) {
+            return null;
+        }
+        return node.getFeatureIfInitialized(ComponentMapping.class)
+                .map(ComponentMapping::getSubtreeTemplateKey).orElse(null);
+    }
+
+    private static boolean hasAncestor(StateNode node,
+            Set<StateNode> ancestors) {
+        for (StateNode parent = node.getParent(); parent != null; parent = parent
+                .getParent()) {
+            if (ancestors.contains(parent)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void collectChanges(StateNode root, String key,
+            Consumer<NodeChange> collector,
+            Map<String, SubtreeTemplate> serviceTemplates) {
+        if (root.isInactive()) {
+            return;
+        }
+        List<StateNode> nodes = new ArrayList<>();
+        root.visitNodeTree(nodes::add);
+        for (StateNode node : nodes) {
+            if (node.isClientSideInitialized() || node.isInactiveSelf()) {
+                // Parts of the subtree are already known by the client
+                return;
+            }
+        }
+
+        List<NodeChange> changes = new ArrayList<>();
+        nodes.forEach(node -> node.collectChanges(changes::add));
+
+        Object[] featureSets = new Object[nodes.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            featureSets[i] = nodes.get(i).getFeatureSetIdentity();
+        }
+
+        SubtreeTemplate template = serviceTemplates.get(key);
+        JsonArray expected = null;
+        if (template != null && template.hasSameFeatureSets(featureSets)) {
+            expected = template.structure;
+        }
+
+        RecordingConstantPool constantPool = new RecordingConstantPool();
+        JsonArray values = Json.createArray();
+        JsonArray structure = record(nodes, changes, constantPool, values,
+                expected);
+        if (structure == null) {
+            getLogger().debug(
+                    "The subtree with the template key '{}' references nodes outside the subtree and cannot be used as a template",
+                    key);
+            changes.forEach(collector);
+            return;
+        }
+
+        if (template == null) {
+            SubtreeTemplate recorded = new SubtreeTemplate(structure,
+                    featureSets);
+            template = serviceTemplates.putIfAbsent(key, recorded);
+            if (template == null) {
+                template = recorded;
+            }
+        }
+        if (!template.hasSameStructure(featureSets, structure)) {
+            if (!template.mismatchLogged) {
+                template.mismatchLogged = true;
+                getLogger().warn(
+                        "The subtree of a component with the template key '{}' has a different structure than the subtree the template was recorded from. "
+                                + "The subtree is sent without using the template. "
+                                + "Use the same key only for components which have the same elements, attributes and properties when they are attached for the first time.",
+                        key);
+            }
+            changes.forEach(collector);
+            return;
+        }
+
+        collector.accept(new SubtreeTemplateChange(root, template, nodes,
+                values, constantPool.constants));
+    }
+
+    /**
+     * Encodes the given changes with node references replaced by subtree
+     * indices and values moved to the given values array, replaced by their
+     * index in the array. Returns <code>null</code> if the changes reference
+     * nodes outside the subtree.
+     * <p>
+     * If expected changes are given, each encoded change is compared with the
+     * expected change instead of being added to a new array, and the expected
+     * array itself is returned if all changes are equal.
+     */
+    private static JsonArray record(List<StateNode> nodes,
+            List<NodeChange> changes, ConstantPool constantPool,
+            JsonArray values, JsonArray expected) {
+        Map<Integer, Integer> nodeIndices = new HashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            nodeIndices.put(nodes.get(i).getId(), i);
+        }
+
+        JsonArray json = expected == null ? Json.createArray() : expected;
+        int count = 0;
+        for (NodeChange change : changes) {
+            if (change instanceof NodeAttachChange) {
+                // The nodes of the instance are attached by the client
+                continue;
+            }
+            JsonObject changeJson = change.toJson(constantPool);
+            if (!replaceNodeReference(changeJson, JsonConstants.CHANGE_NODE,
+                    nodeIndices)) {
+                return null;
+            }
+            if (changeJson.hasKey(JsonConstants.CHANGE_PUT_NODE_VALUE)
+                    && !replaceNodeReference(changeJson,
+                            JsonConstants.CHANGE_PUT_NODE_VALUE,
+                            nodeIndices)) {
+                return null;
+            }
+            if (changeJson.hasKey(JsonConstants.CHANGE_SPLICE_ADD_NODES)) {
+                JsonArray addNodes = changeJson
+                        .getArray(JsonConstants.CHANGE_SPLICE_ADD_NODES);
+                for (int i = 0; i < addNodes.length(); i++) {
+                    Integer index = nodeIndices
+                            .get((int) addNodes.getNumber(i));
+                    if (index == null) {
+                        return null;
+                    }
+                    addNodes.set(i, index.intValue());
+                }
+            }
+            moveValue(changeJson, JsonConstants.CHANGE_PUT_VALUE, values);
+            moveValue(changeJson, JsonConstants.CHANGE_SPLICE_ADD, values);
+            moveValue(changeJson, JsonConstants.CHANGE_SPLICE_ADD_STRINGS,
+                    values);
+            if (json == expected) {
+                if (count < expected.length() && JsonUtils
+                        .jsonEquals(expected.get(count), changeJson)) {
+                    count++;
+                    continue;
+                }
+                json = copyOf(expected, count);
+            }
+            json.set(count++, changeJson);
+        }
+        if (json == expected && count != expected.length()) {
+            json = copyOf(expected, count);
+        }
+        return json;
+    }
+
+    private static JsonArray copyOf(JsonArray array, int length) {
+        JsonArray copy = Json.createArray();
+        for (int i = 0; i < length; i++) {
+            copy.set(i, array.<JsonValue> get(i));
+        }
+        return copy;
+    }
+
+    private static boolean replaceNodeReference(JsonObject json, String key,
+            Map<Integer, Integer> nodeIndices) {
+        Integer index = nodeIndices.get((int) json.getNumber(key));
+        if (index == null) {
+            return false;
+        }
+        json.put(key, index.intValue());
+        return true;
+    }
+
+    private static void moveValue(JsonObject json, String key,
+            JsonArray values) {
+        if (json.hasKey(key)) {
+            int index = values.length();
+            JsonValue value = json.get(key);
+            values.set(index, value);
+            json.put(key, index);
+        }
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(SubtreeTemplate.class.getName());
+    }
+}
@@ -116,6 +116,10 @@ public class ListAddChange<T extends Serializable>
         if (nodeValues) {
             addKey = JsonConstants.CHANGE_SPLICE_ADD_NODES;
             mapper = item -> Json.create(((StateNode) item).getId());
+        } else if (usesStringTable() && newItems.stream()
+                .allMatch(item -> item instanceof String)) {
+            addKey = JsonConstants.CHANGE_SPLICE_ADD_STRINGS;
+            mapper = item -> encodeString((String) item, constantPool);
         } else {
             addKey = JsonConstants.CHANGE_SPLICE_ADD;
             mapper = item -> JsonCodec.encodeWithConstantPool(item,
@@ -24,6 +24,8 @@ import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
 import elemental.json.JsonObject;
+import elemental.json.JsonType;
+import elemental.json.JsonValue;
 
 /**
  * Change describing a changed value in a map feature.
@@ -78,7 +80,8 @@ public class MapPutChange extends NodeFeatureChange {
         // Set the type and key before calling super to make the keys appear in
         // a more logical order
         json.put(JsonConstants.CHANGE_TYPE, JsonConstants.CHANGE_TYPE_PUT);
-        json.put(JsonConstants.CHANGE_MAP_KEY, key);
+        json.put(JsonConstants.CHANGE_MAP_KEY,
+                encodeString(key, constantPool));
 
         super.populateJson(json, constantPool);
 
@@ -86,6 +89,11 @@ public class MapPutChange extends NodeFeatureChange {
             StateNode node = (StateNode) value;
             json.put(JsonConstants.CHANGE_PUT_NODE_VALUE,
                     Json.create(node.getId()));
+        } else if (value instanceof String && usesStringTable()) {
+            JsonValue string = encodeString((String) value, constantPool);
+            json.put(string.getType() == JsonType.NUMBER
+                    ? JsonConstants.CHANGE_PUT_VALUE_REFERENCE
+                    : JsonConstants.CHANGE_PUT_VALUE, string);
         } else {
             json.put(JsonConstants.CHANGE_PUT_VALUE,
                     JsonCodec.encodeWithConstantPool(value, constantPool));
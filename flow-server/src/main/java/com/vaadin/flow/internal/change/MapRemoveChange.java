@@ -63,6 +63,7 @@ public class MapRemoveChange extends NodeFeatureChange {
 
         super.populateJson(json, constantPool);
 
-        json.put(JsonConstants.CHANGE_MAP_KEY, key);
+        json.put(JsonConstants.CHANGE_MAP_KEY,
+                encodeString(key, constantPool));
     }
 }
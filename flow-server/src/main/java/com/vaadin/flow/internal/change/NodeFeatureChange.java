@@ -16,13 +16,23 @@
 
 package com.vaadin.flow.internal.change;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
 import com.vaadin.flow.internal.ConstantPool;
+import com.vaadin.flow.internal.nodefeature.ElementAttributeMap;
+import com.vaadin.flow.internal.nodefeature.ElementClassList;
+import com.vaadin.flow.internal.nodefeature.ElementData;
+import com.vaadin.flow.internal.nodefeature.ElementStylePropertyMap;
 import com.vaadin.flow.internal.nodefeature.NodeFeature;
 import com.vaadin.flow.internal.nodefeature.NodeFeatureRegistry;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
 import elemental.json.JsonObject;
+import elemental.json.JsonValue;
 
 /**
  * Base class for all node changes related to a feature.
@@ -32,6 +42,15 @@ import elemental.json.JsonObject;
  */
 public abstract class NodeFeatureChange extends NodeChange {
 
+    /**
+     * Features whose string keys and values are typically repeated over many
+     * nodes and are therefore sent using the constant pool string table.
+     */
+    private static final Set<Class<? extends NodeFeature>> STRING_TABLE_FEATURES = Collections
+            .unmodifiableSet(new HashSet<>(Arrays.asList(
+                    ElementAttributeMap.class, ElementStylePropertyMap.class,
+                    ElementClassList.class, ElementData.class)));
+
     private final Class<? extends NodeFeature> feature;
 
     /**
@@ -60,4 +79,35 @@ public abstract class NodeFeatureChange extends NodeChange {
         json.put(JsonConstants.CHANGE_FEATURE,
                 Json.create(NodeFeatureRegistry.getId(feature)));
     }
+
+    /**
+     * Checks whether strings of this change may be sent as references to the
+     * constant pool string table.
+     *
+     * @return <code>true</code> if the string table may be used,
+     *         <code>false</code> otherwise
+     */
+    protected boolean usesStringTable() {
+        return STRING_TABLE_FEATURES.contains(feature);
+    }
+
+    /**
+     * Encodes a string of this change either as such or as a reference to the
+     * constant pool string table.
+     *
+     * @param value
+     *            the string to encode, not <code>null</code>
+     * @param constantPool
+     *            the constant pool to use, not <code>null</code>
+     * @return a JSON string or a JSON number referring to the string table
+     */
+    protected JsonValue encodeString(String value, ConstantPool constantPool) {
+        if (usesStringTable()) {
+            int reference = constantPool.getStringReference(value);
+            if (reference >= 0) {
+                return Json.create(reference);
+            }
+        }
+        return Json.create(value);
+    }
 }
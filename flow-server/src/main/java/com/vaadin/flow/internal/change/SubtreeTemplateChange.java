@@ -0,0 +1,121 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal.change;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import com.vaadin.flow.internal.ConstantPool;
+import com.vaadin.flow.internal.ConstantPoolKey;
+import com.vaadin.flow.internal.JsonUtils;
+import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.SubtreeTemplate;
+import com.vaadin.flow.shared.JsonConstants;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
+/**
+ * Change describing a newly attached subtree as an instance of a recorded
+ * {@link SubtreeTemplate}. The change replaces the attach changes and the
+ * initial changes of all nodes in the subtree.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class SubtreeTemplateChange extends NodeChange {
+
+    private final SubtreeTemplate template;
+
+    private final List<StateNode> nodes;
+
+    private final JsonArray values;
+
+    private final List<ConstantPoolKey> constants;
+
+    /**
+     * Creates a new template change.
+     *
+     * @param root
+     *            the root node of the subtree
+     * @param template
+     *            the template describing the initial changes of the subtree
+     * @param nodes
+     *            the nodes of the subtree in the order used by the template,
+     *            starting with the root node
+     * @param values
+     *            the values of the subtree in the order used by the template
+     * @param constants
+     *            the constant pool values referenced by the values
+     */
+    public SubtreeTemplateChange(StateNode root, SubtreeTemplate template,
+            List<StateNode> nodes, JsonArray values,
+            Collection<ConstantPoolKey> constants) {
+        super(root);
+        assert !nodes.isEmpty() && nodes.get(0) == root;
+
+        this.template = template;
+        this.nodes = Collections.unmodifiableList(nodes);
+        this.values = values;
+        this.constants = new ArrayList<>(constants);
+    }
+
+    /**
+     * Gets the template describing the initial changes of the subtree.
+     *
+     * @return the template
+     */
+    public SubtreeTemplate getTemplate() {
+        return template;
+    }
+
+    /**
+     * Gets the nodes of the subtree, starting with the root node.
+     *
+     * @return an unmodifiable list of nodes
+     */
+    public List<StateNode> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the values of the subtree. Values in the template changes are
+     * indices to this array.
+     *
+     * @return the values of the subtree
+     */
+    public JsonArray getValues() {
+        return values;
+    }
+
+    @Override
+    protected void populateJson(JsonObject json, ConstantPool constantPool) {
+        json.put(JsonConstants.CHANGE_TYPE,
+                JsonConstants.CHANGE_TYPE_TEMPLATE);
+
+        constants.forEach(constantPool::getConstantId);
+        json.put(JsonConstants.CHANGE_TEMPLATE_CHANGES,
+                constantPool.getConstantId(template.getChanges()));
+
+        json.put(JsonConstants.CHANGE_TEMPLATE_NODES,
+                nodes.stream().map(node -> Json.create(node.getId()))
+                        .collect(JsonUtils.asArray()));
+        json.put(JsonConstants.CHANGE_TEMPLATE_VALUES, values);
+    }
+}
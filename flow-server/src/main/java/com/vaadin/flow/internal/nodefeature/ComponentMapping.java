@@ -33,6 +33,8 @@ public class ComponentMapping extends ServerSideFeature {
 
     private Component component = null;
 
+    private String subtreeTemplateKey;
+
     /**
      * Creates an instance of this node feature.
      *
@@ -107,4 +109,27 @@ public class ComponentMapping extends ServerSideFeature {
         getComponent().ifPresent(ComponentUtil::onComponentDetach);
     }
 
+    /**
+     * Sets the key of the cacheable template used for the subtree of this
+     * node.
+     *
+     * @param subtreeTemplateKey
+     *            the template key, or <code>null</code> to not use a template
+     * @see ComponentUtil#setSubtreeTemplateKey(Component, String)
+     * @since
+     */
+    public void setSubtreeTemplateKey(String subtreeTemplateKey) {
+        this.subtreeTemplateKey = subtreeTemplateKey;
+    }
+
+    /**
+     * Gets the key of the cacheable template used for the subtree of this
+     * node.
+     *
+     * @return the template key, or <code>null</code> if no template is used
+     * @since
+     */
+    public String getSubtreeTemplateKey() {
+        return subtreeTemplateKey;
+    }
 }
@@ -17,14 +17,18 @@
 package com.vaadin.flow.internal.nodefeature;
 
 import java.io.Serializable;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import com.vaadin.flow.internal.StateNode;
@@ -62,11 +66,14 @@ public abstract class NodeMap extends NodeFeature {
         // Named set instead of put to avoid incompatibility with HashMap where
         // put returns the previous value
         void set(String key, Serializable value);
+
+        Serializable remove(String key);
     }
 
     private static class SingleValue implements Values {
 
-        private final String key;
+        // null after the value has been removed
+        private String key;
 
         private Serializable value;
 
@@ -78,7 +85,7 @@ public abstract class NodeMap extends NodeFeature {
 
         @Override
         public int size() {
-            return 1;
+            return key == null ? 0 : 1;
         }
 
         @Override
@@ -92,24 +99,222 @@ public abstract class NodeMap extends NodeFeature {
 
         @Override
         public Set<String> keySet() {
+            if (key == null) {
+                return Collections.emptySet();
+            }
             return Collections.singleton(key);
         }
 
         @Override
         public boolean containsKey(String key) {
-            return this.key.equals(key);
+            return this.key != null && this.key.equals(key);
         }
 
         @Override
         public Stream<Serializable> streamValues() {
+            if (key == null) {
+                return Stream.empty();
+            }
             return Stream.of(value);
         }
 
         @Override
         public void set(String key, Serializable value) {
-            assert key.equals(this.key);
+            assert this.key == null || key.equals(this.key);
+            this.key = key;
             this.value = value;
         }
+
+        @Override
+        public Serializable remove(String key) {
+            if (!containsKey(key)) {
+                return null;
+            }
+            Serializable oldValue = value;
+            this.key = null;
+            value = null;
+            return oldValue;
+        }
+    }
+
+    /**
+     * Open addressing hash table with linear probing for maps with a handful
+     * of keys, which is the typical case for attributes and properties. Avoids
+     * the entry objects and the separate bucket table of a {@link HashMap}.
+     */
+    private static class SmallMapValues implements Values {
+
+        // The load factor is at most 0.75, so the table has at most 16 slots
+        private static final int MAX_SIZE = 12;
+
+        private String[] keys;
+
+        private Serializable[] values;
+
+        private int size;
+
+        public SmallMapValues(Values previousValues) {
+            int capacity = 4;
+            while (capacity * 3 / 4 <= previousValues.size()) {
+                capacity <<= 1;
+            }
+            keys = new String[capacity];
+            values = new Serializable[capacity];
+            previousValues.keySet()
+                    .forEach(key -> set(key, previousValues.get(key)));
+        }
+
+        private boolean isFull() {
+            return size >= MAX_SIZE;
+        }
+
+        private int slot(String key) {
+            int hash = key.hashCode();
+            return (hash ^ (hash >>> 16)) & (keys.length - 1);
+        }
+
+        private int indexOf(String key) {
+            int mask = keys.length - 1;
+            for (int i = slot(key); keys[i] != null; i = (i + 1) & mask) {
+                if (keys[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Serializable get(String key) {
+            int index = indexOf(key);
+            return index < 0 ? null : values[index];
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return new KeySet();
+        }
+
+        @Override
+        public boolean containsKey(String key) {
+            return indexOf(key) >= 0;
+        }
+
+        @Override
+        public Stream<Serializable> streamValues() {
+            return IntStream.range(0, keys.length)
+                    .filter(i -> keys[i] != null).mapToObj(i -> values[i]);
+        }
+
+        @Override
+        public void set(String key, Serializable value) {
+            int index = indexOf(key);
+            if (index >= 0) {
+                values[index] = value;
+                return;
+            }
+            if ((size + 1) > keys.length * 3 / 4) {
+                resize(keys.length << 1);
+            }
+            int mask = keys.length - 1;
+            int i = slot(key);
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+            size++;
+        }
+
+        private void resize(int capacity) {
+            String[] oldKeys = keys;
+            Serializable[] oldValues = values;
+            keys = new String[capacity];
+            values = new Serializable[capacity];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    set(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        @Override
+        public Serializable remove(String key) {
+            int index = indexOf(key);
+            if (index < 0) {
+                return null;
+            }
+            Serializable oldValue = values[index];
+
+            // Shift back the following keys of the probe sequence to close
+            // the gap, so that lookups can stop at the first empty slot
+            int mask = keys.length - 1;
+            int gap = index;
+            for (int i = (gap + 1) & mask; keys[i] != null; i = (i + 1)
+                    & mask) {
+                int home = slot(keys[i]);
+                boolean homeInRange = gap <= i ? gap < home && home <= i
+                        : gap < home || home <= i;
+                if (!homeInRange) {
+                    keys[gap] = keys[i];
+                    values[gap] = values[i];
+                    gap = i;
+                }
+            }
+            keys[gap] = null;
+            values[gap] = null;
+            size--;
+            return oldValue;
+        }
+
+        private class KeySet extends AbstractSet<String> {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object key) {
+                return key instanceof String && containsKey((String) key);
+            }
+
+            @Override
+            public Iterator<String> iterator() {
+                return new KeyIterator();
+            }
+        }
+
+        private class KeyIterator implements Iterator<String> {
+            private int next = advance(0);
+
+            private int advance(int from) {
+                int i = from;
+                while (i < keys.length && keys[i] == null) {
+                    i++;
+                }
+                return i;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < keys.length;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                String key = keys[next];
+                next = advance(next + 1);
+                return key;
+            }
+        }
     }
 
     private static class HashMapValues extends HashMap<String, Serializable>
@@ -142,6 +347,11 @@ public abstract class NodeMap extends NodeFeature {
         public Stream<Serializable> streamValues() {
             return super.values().stream();
         }
+
+        @Override
+        public Serializable remove(String key) {
+            return super.remove(key);
+        }
     }
 
     private Values values;
@@ -197,11 +407,15 @@ public abstract class NodeMap extends NodeFeature {
             setUnChanged(key);
         }
 
-        // Optimize memory use when there's only one key
+        // Optimize memory use when there's only one key or only a few keys
         if (values == null) {
             values = new SingleValue(key, value);
         } else {
             if (values instanceof SingleValue && !values.containsKey(key)) {
+                values = new SmallMapValues(values);
+            } else if (values instanceof SmallMapValues
+                    && ((SmallMapValues) values).isFull()
+                    && !values.containsKey(key)) {
                 values = new HashMapValues(values);
             }
             values.set(key, value);
@@ -343,17 +557,10 @@ public abstract class NodeMap extends NodeFeature {
 
         if (values == null) {
             return null;
-        } else if (values instanceof SingleValue) {
-            oldValue = values.get(key);
-            if (values.containsKey(key)) {
-                values = null;
-            }
         } else {
-            assert values instanceof HashMapValues;
-            HashMapValues hashMapValues = (HashMapValues) values;
-            oldValue = hashMapValues.remove(key);
+            oldValue = values.remove(key);
 
-            if (hashMapValues.isEmpty()) {
+            if (values.isEmpty()) {
                 values = null;
             }
         }
@@ -521,4 +728,9 @@ public abstract class NodeMap extends NodeFeature {
         return values instanceof SingleValue;
     }
 
+    // Exposed for testing purposes
+    boolean usesSmallMap() {
+        return values instanceof SmallMapValues;
+    }
+
 }
@@ -903,40 +903,49 @@ public abstract class AbstractNavigationStateRenderer
     }
 
     static boolean hasPreservedChain(VaadinSession session) {
-        final PreservedComponentCache cache = session
-                .getAttribute(PreservedComponentCache.class);
-        return cache != null && !cache.isEmpty();
+        return session.withSessionLock(() -> {
+            final PreservedComponentCache cache = session
+                    .getAttribute(PreservedComponentCache.class);
+            return cache != null && !cache.isEmpty();
+        });
     }
 
     static boolean hasPreservedChainOfLocation(VaadinSession session,
             Location location) {
-        final PreservedComponentCache cache = session
-                .getAttribute(PreservedComponentCache.class);
-        return cache != null && cache.values().stream()
-                .anyMatch(entry -> entry.getFirst().equals(location.getPath()));
+        return session.withSessionLock(() -> {
+            final PreservedComponentCache cache = session
+                    .getAttribute(PreservedComponentCache.class);
+            return cache != null && cache.values().stream().anyMatch(
+                    entry -> entry.getFirst().equals(location.getPath()));
+        });
     }
 
     static Optional<ArrayList<HasElement>> getPreservedChain(
             VaadinSession session, String windowName, Location location) {
-        final PreservedComponentCache cache = session
-                .getAttribute(PreservedComponentCache.class);
-        if (cache != null && cache.containsKey(windowName) && cache
-                .get(windowName).getFirst().equals(location.getPath())) {
-            return Optional.of(cache.get(windowName).getSecond());
-        } else {
-            return Optional.empty();
-        }
+        return session.withSessionLock(() -> {
+            final PreservedComponentCache cache = session
+                    .getAttribute(PreservedComponentCache.class);
+            if (cache != null && cache.containsKey(windowName) && cache
+                    .get(windowName).getFirst().equals(location.getPath())) {
+                return Optional.of(cache.get(windowName).getSecond());
+            } else {
+                return Optional.empty();
+            }
+        });
     }
 
     static void setPreservedChain(VaadinSession session, String windowName,
             Location location, ArrayList<HasElement> chain) {
-        PreservedComponentCache cache = session
-                .getAttribute(PreservedComponentCache.class);
-        if (cache == null) {
-            cache = new PreservedComponentCache();
-        }
-        cache.put(windowName, new Pair<>(location.getPath(), chain));
-        session.setAttribute(PreservedComponentCache.class, cache);
+        session.withSessionLock(() -> {
+            PreservedComponentCache cache = session
+                    .getAttribute(PreservedComponentCache.class);
+            if (cache == null) {
+                cache = new PreservedComponentCache();
+            }
+            cache.put(windowName, new Pair<>(location.getPath(), chain));
+            session.setAttribute(PreservedComponentCache.class, cache);
+            return null;
+        });
     }
 
     private static void clearAllPreservedChains(UI ui) {
@@ -947,11 +956,14 @@ public abstract class AbstractNavigationStateRenderer
             ui.getPage().retrieveExtendedClientDetails(details -> {
                 final String windowName = ui.getInternals()
                         .getExtendedClientDetails().getWindowName();
-                final PreservedComponentCache cache = session
-                        .getAttribute(PreservedComponentCache.class);
-                if (cache != null) {
-                    cache.remove(windowName);
-                }
+                session.withSessionLock(() -> {
+                    final PreservedComponentCache cache = session
+                            .getAttribute(PreservedComponentCache.class);
+                    if (cache != null) {
+                        cache.remove(windowName);
+                    }
+                    return null;
+                });
             });
         }
     }
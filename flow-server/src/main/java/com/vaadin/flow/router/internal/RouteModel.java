@@ -18,6 +18,7 @@ package com.vaadin.flow.router.internal;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -36,10 +37,38 @@ import com.vaadin.flow.server.InvalidRouteConfigurationException;
  */
 class RouteModel implements Serializable {
 
+    /**
+     * Maximum number of navigation urls for which the resolved route target is
+     * cached by an immutable model.
+     */
+    static final int NAVIGATION_CACHE_SIZE = 1024;
+
     private boolean mutable;
 
     private RouteSegment root;
 
+    // Lazily created for immutable models only, and never shared between
+    // models, so that a new configuration starts with an empty cache
+    private transient NavigationCache navigationCache;
+
+    /**
+     * Least recently used cache of navigation results. Urls come from the
+     * client so the number of entries must be bounded.
+     */
+    private static class NavigationCache
+            extends LinkedHashMap<String, NavigationRouteTarget> {
+
+        private NavigationCache() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(
+                Map.Entry<String, NavigationRouteTarget> eldest) {
+            return size() > NAVIGATION_CACHE_SIZE;
+        }
+    }
+
     private RouteModel(boolean mutable) {
         this(RouteSegment.createRoot(), mutable);
     }
@@ -134,6 +163,9 @@ class RouteModel implements Serializable {
     /**
      * Search for a route target using given navigation <code>url</code>
      * argument.
+     * <p>
+     * The result is cached when the model is immutable, since the routes can
+     * then not change anymore.
      *
      * @param url
      *            the navigation url used to search a route target.
@@ -142,7 +174,26 @@ class RouteModel implements Serializable {
      *         <code>url</code> argument according with the route configuration.
      */
     NavigationRouteTarget getNavigationRouteTarget(String url) {
-        return root.getNavigationRouteTarget(url);
+        if (mutable || url == null) {
+            return root.getNavigationRouteTarget(url);
+        }
+
+        NavigationRouteTarget result;
+        synchronized (this) {
+            if (navigationCache == null) {
+                navigationCache = new NavigationCache();
+            }
+            result = navigationCache.get(url);
+        }
+        if (result == null) {
+            // Resolve outside the lock, the tree of an immutable model is not
+            // modified and concurrent resolutions give equal results
+            result = root.getNavigationRouteTarget(url);
+            synchronized (this) {
+                navigationCache.put(url, result);
+            }
+        }
+        return result;
     }
 
     /**
@@ -27,7 +27,7 @@ import java.util.UUID;
  */
 public abstract class AbstractStreamResource implements Serializable {
 
-    private long cacheTime = 0L;
+    private volatile long cacheTime = 0L;
 
     private final String id = UUID.randomUUID().toString();
 
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.function.DeploymentConfiguration;
+
+/**
+ * Coalesces access tasks enqueued from background threads, so that tasks
+ * arriving in quick succession are run, and their changes pushed, in a single
+ * pass instead of one pass per task.
+ * <p>
+ * When a task is enqueued while nobody holds the lock of the queue owner, the
+ * queue is purged only after the configured maximum latency has passed or the
+ * configured maximum number of tasks have been enqueued, whichever comes first.
+ * If the lock is held, the tasks are run when the lock is released as usual.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @see DeploymentConfiguration#getAccessBatchMaxLatency()
+ * @see DeploymentConfiguration#getAccessBatchMaxSize()
+ * @see DeploymentConfiguration#getAccessBatchThreads()
+ * @since
+ */
+public class AccessBatcher {
+
+    private final VaadinService service;
+
+    private final long maxLatencyMillis;
+
+    private final int maxBatchSize;
+
+    private final ScheduledExecutorService executor;
+
+    private final Map<Object, Batch> batches = new ConcurrentHashMap<>();
+
+    private static class Batch {
+        private final long started = System.nanoTime();
+        private final AtomicInteger size = new AtomicInteger();
+        private final Runnable purge;
+        private volatile ScheduledFuture<?> scheduled;
+
+        private Batch(Runnable purge) {
+            this.purge = purge;
+        }
+    }
+
+    /**
+     * Creates a new batcher for the given service.
+     *
+     * @param service
+     *            the service whose access queues are batched, not
+     *            <code>null</code>
+     * @param maxLatencyMillis
+     *            the maximum time in milliseconds to hold back a batch, must
+     *            be positive
+     * @param maxBatchSize
+     *            the number of tasks after which a batch is flushed right away
+     * @param threads
+     *            the number of threads used for flushing batches after the
+     *            maximum latency has passed, must be positive
+     */
+    public AccessBatcher(VaadinService service, long maxLatencyMillis,
+            int maxBatchSize, int threads) {
+        if (maxLatencyMillis <= 0) {
+            throw new IllegalArgumentException(
+                    "The maximum latency must be positive");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException(
+                    "The number of threads must be positive");
+        }
+        this.service = service;
+        this.maxLatencyMillis = maxLatencyMillis;
+        this.maxBatchSize = maxBatchSize;
+        executor = Executors.newScheduledThreadPool(threads,
+                new BatcherThreadFactory());
+    }
+
+    /**
+     * Makes sure the given access queue is purged after a task has been added
+     * to it. The queue is purged right away using the given callback if the
+     * lock is currently held, since the lock holder purges the queue when
+     * releasing the lock. Otherwise, purging is delayed so that further tasks
+     * can be added to the same batch.
+     *
+     * @param owner
+     *            the session or UI owning the queue, used for identifying the
+     *            batch
+     * @param lock
+     *            the lock protecting the owner
+     * @param purge
+     *            the callback which purges the queue if the lock is available
+     */
+    public void taskAdded(Object owner, Lock lock, Runnable purge) {
+        if (lock instanceof ReentrantLock
+                && ((ReentrantLock) lock).isLocked()) {
+            purge.run();
+            return;
+        }
+
+        Batch batch = batches.get(owner);
+        if (batch == null) {
+            Batch newBatch = new Batch(purge);
+            batch = batches.putIfAbsent(owner, newBatch);
+            if (batch == null) {
+                batch = newBatch;
+                batch.scheduled = executor.schedule(
+                        () -> flush(owner, newBatch), maxLatencyMillis,
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+        if (batch.size.incrementAndGet() >= maxBatchSize) {
+            flush(owner, batch);
+        }
+    }
+
+    private void flush(Object owner, Batch batch) {
+        if (!batches.remove(owner, batch)) {
+            // Already flushed
+            return;
+        }
+        ScheduledFuture<?> scheduled = batch.scheduled;
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+
+        long start = System.nanoTime();
+        int queueDepth = batch.size.get();
+        try {
+            batch.purge.run();
+        } catch (RuntimeException e) {
+            getLogger().error("Failed to run batched access tasks", e);
+        }
+        long end = System.nanoTime();
+
+        service.getAccessQueueMetrics().ifPresent(metrics -> metrics
+                .batchFlushed(queueDepth, start - batch.started, end - start));
+    }
+
+    /**
+     * Flushes all pending batches and stops the threads used for delayed
+     * flushing.
+     */
+    public void destroy() {
+        executor.shutdownNow();
+        batches.forEach(this::flush);
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(AccessBatcher.class.getName());
+    }
+
+    private static class BatcherThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable,
+                    "vaadin-access-batcher-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
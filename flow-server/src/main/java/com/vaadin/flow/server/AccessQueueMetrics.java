@@ -0,0 +1,52 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+
+/**
+ * Receives statistics about each batch of access tasks flushed by
+ * {@link AccessBatcher}.
+ * <p>
+ * An instance can be installed using
+ * {@link VaadinService#setAccessQueueMetrics(AccessQueueMetrics)}, e.g. from a
+ * {@link VaadinServiceInitListener}. The method is invoked concurrently for
+ * different sessions and UIs, so implementations must be thread safe.
+ *
+ * @see InMemoryAccessQueueMetrics
+ * @since
+ */
+@FunctionalInterface
+public interface AccessQueueMetrics extends Serializable {
+
+    /**
+     * Records the statistics of a flushed batch of access tasks.
+     *
+     * @param queueDepth
+     *            the number of access tasks added to the batch before it was
+     *            flushed
+     * @param latencyNanos
+     *            the time in nanoseconds from adding the first task of the
+     *            batch until the batch was flushed
+     * @param flushNanos
+     *            the time in nanoseconds it took to purge the queue, i.e. to
+     *            run the tasks and push the resulting changes. If another
+     *            thread held the lock when the batch was flushed, the tasks
+     *            are left to that thread and this is only the time of the
+     *            purge attempt.
+     */
+    void batchFlushed(int queueDepth, long latencyNanos, long flushNanos);
+}
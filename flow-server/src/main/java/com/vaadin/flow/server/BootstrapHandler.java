@@ -119,6 +119,13 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
     private static final String MESSAGE = "message";
     private static final String URL = "url";
 
+    /*
+     * Request attribute holding the UI that has been created and locked for
+     * the request when using per UI locking
+     */
+    private static final String LOCKED_UI_ATTRIBUTE = BootstrapHandler.class
+            .getName() + ".lockedUI";
+
     static Supplier<String> clientEngineFile = () -> LazyClientEngineInit.CLIENT_ENGINE_FILE;
 
     private final PageBuilder pageBuilder;
@@ -423,6 +430,20 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
 
     }
 
+    @Override
+    public boolean handleRequest(VaadinSession session, VaadinRequest request,
+            VaadinResponse response) throws IOException {
+        try {
+            return super.handleRequest(session, request, response);
+        } finally {
+            Object lockedUI = request.getAttribute(LOCKED_UI_ATTRIBUTE);
+            if (lockedUI instanceof UI) {
+                request.removeAttribute(LOCKED_UI_ATTRIBUTE);
+                ((UI) lockedUI).getInternals().unlock();
+            }
+        }
+    }
+
     @Override
     public boolean synchronizedHandleRequest(VaadinSession session,
             VaadinRequest request, VaadinResponse response) throws IOException {
@@ -638,7 +659,10 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
          * @return a JSON object with the initial UIDL message
          */
         private JsonObject getInitialUidl(UI ui) {
-            JsonObject json = new UidlWriter().createUidl(ui, false);
+            UidlWriter uidlWriter = new UidlWriter();
+            JsonObject json = uidlWriter.createUidl(ui, false);
+            // The initial UIDL is embedded in the page instead of sent as such
+            uidlWriter.responseWritten(-1);
 
             VaadinSession session = ui.getSession();
             if (session.getConfiguration().isXsrfProtectionEnabled()) {
@@ -1128,6 +1152,10 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
                 appConfig.put("requestTiming", true);
             }
 
+            if (deploymentConfiguration.isBinaryUidl()) {
+                appConfig.put(ApplicationConstants.BINARY_UIDL, true);
+            }
+
             appConfig.put("heartbeatInterval",
                     deploymentConfiguration.getHeartbeatInterval());
 
@@ -1183,6 +1211,16 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
             VaadinSession session) {
 
         UI ui = ReflectTools.createInstance(uiClass);
+        if (session.isPerUILocking()) {
+            /*
+             * The new UI is only visible to other threads once it has been
+             * added to the session, so it can be locked while holding the
+             * session lock without waiting. It is unlocked when the request
+             * has been handled.
+             */
+            ui.getInternals().lock();
+            request.setAttribute(LOCKED_UI_ATTRIBUTE, ui);
+        }
         ui.getInternals().setContextRoot(
                 request.getService().getContextRootRelativePath(request));
 
@@ -1346,7 +1384,10 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
      * @return a JSON object with the initial UIDL message
      */
     protected static JsonObject getInitialUidl(UI ui) {
-        JsonObject json = new UidlWriter().createUidl(ui, false);
+        UidlWriter uidlWriter = new UidlWriter();
+        JsonObject json = uidlWriter.createUidl(ui, false);
+        // The initial UIDL is embedded in the page instead of sent as such
+        uidlWriter.responseWritten(-1);
 
         VaadinSession session = ui.getSession();
         if (session.getConfiguration().isXsrfProtectionEnabled()) {
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import com.vaadin.flow.server.communication.InMemoryUidlResponseMetrics.Histogram;
+
+/**
+ * An {@link AccessQueueMetrics} implementation which keeps histograms of the
+ * flushed access task batches in memory.
+ * <p>
+ * The histograms use power of two buckets, so percentiles are approximations
+ * which are at most a factor of two larger than the actual value.
+ *
+ * @since
+ */
+public class InMemoryAccessQueueMetrics implements AccessQueueMetrics {
+
+    private volatile Histogram queueDepth = new Histogram();
+    private volatile Histogram latencyNanos = new Histogram();
+    private volatile Histogram flushNanos = new Histogram();
+
+    @Override
+    public void batchFlushed(int queueDepth, long latencyNanos,
+            long flushNanos) {
+        this.queueDepth.record(queueDepth);
+        this.latencyNanos.record(latencyNanos);
+        this.flushNanos.record(flushNanos);
+    }
+
+    /**
+     * Gets the histogram of the number of pending access tasks in each flushed
+     * batch.
+     *
+     * @return the queue depth histogram
+     */
+    public Histogram getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Gets the histogram of the time in nanoseconds that batches were held
+     * back before being flushed.
+     *
+     * @return the batch latency histogram
+     */
+    public Histogram getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    /**
+     * Gets the histogram of the time in nanoseconds it took to run the tasks of
+     * each batch and push the changes.
+     *
+     * @return the flush duration histogram
+     */
+    public Histogram getFlushNanos() {
+        return flushNanos;
+    }
+
+    /**
+     * Removes all collected statistics.
+     */
+    public void reset() {
+        queueDepth = new Histogram();
+        latencyNanos = new Histogram();
+        flushNanos = new Histogram();
+    }
+}
@@ -64,6 +64,60 @@ public class InitParameters implements Serializable {
     public static final String SERVLET_PARAMETER_JSBUNDLE = "module.bundle";
     public static final String SERVLET_PARAMETER_POLYFILLS = "module.polyfills";
 
+    /**
+     * Configuration name for the parameter that determines whether UIDL
+     * responses may be sent in a compact binary (CBOR) encoding to clients
+     * supporting it, instead of JSON.
+     *
+     * @since
+     */
+    public static final String SERVLET_PARAMETER_BINARY_UIDL = "binaryUidl";
+
+    /**
+     * Configuration name for the parameter that determines whether UI level
+     * operations lock only the UI instead of the whole session.
+     *
+     * @since
+     */
+    public static final String SERVLET_PARAMETER_PER_UI_LOCKING = "perUiLocking";
+
+    /**
+     * Configuration name for the parameter that sets the maximum time in
+     * milliseconds that access tasks enqueued from background threads are
+     * held back so that they can be run and pushed together. Batching is
+     * disabled if the value is not positive.
+     *
+     * @since
+     */
+    public static final String SERVLET_PARAMETER_ACCESS_BATCH_MAX_LATENCY = "accessBatchMaxLatency";
+
+    /**
+     * Configuration name for the parameter that sets the number of batched
+     * access tasks after which the tasks are run without waiting for the
+     * maximum latency to pass.
+     *
+     * @since
+     */
+    public static final String SERVLET_PARAMETER_ACCESS_BATCH_MAX_SIZE = "accessBatchMaxSize";
+
+    /**
+     * Configuration name for the parameter that sets the number of threads
+     * used for running batched access tasks once the maximum latency has
+     * passed.
+     *
+     * @since
+     */
+    public static final String SERVLET_PARAMETER_ACCESS_BATCH_THREADS = "accessBatchThreads";
+
+    /**
+     * Configuration name for the parameter that sets the maximum size in
+     * megabytes of the in-memory cache of static resources served in
+     * production mode. The cache is disabled if the value is not positive.
+     *
+     * @since
+     */
+    public static final String SERVLET_PARAMETER_STATIC_RESOURCE_CACHE_SIZE = "staticResourceCacheSize";
+
     /**
      * Configuration name for the parameter that determines whether Brotli
      * compression should be used for static resources in cases when a
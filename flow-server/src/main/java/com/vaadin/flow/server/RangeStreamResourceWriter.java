@@ -0,0 +1,72 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Output stream consumer which knows the length of its data and can write any
+ * byte range of it. A {@link StreamResource} with such a writer supports HTTP
+ * range requests, which e.g. browsers use for seeking in media and for
+ * resuming downloads.
+ *
+ * @author Vaadin Ltd
+ * @since
+ *
+ * @see StreamResource#StreamResource(String, java.io.File)
+ */
+public interface RangeStreamResourceWriter extends StreamResourceWriter {
+
+    /**
+     * Gets the length of the data in bytes.
+     * <p>
+     * Note that the method is not called under the session lock.
+     *
+     * @param session
+     *            vaadin session
+     * @return the length of the data, or -1 if it is not known
+     * @throws IOException
+     *             if an IO error occurred
+     */
+    long getLength(VaadinSession session) throws IOException;
+
+    /**
+     * Writes {@code count} bytes of the data, starting from {@code start}, to
+     * the {@code stream} using {@code session} as a context.
+     * <p>
+     * Note that the method is not called under the session lock.
+     *
+     * @param stream
+     *            data output stream
+     * @param session
+     *            vaadin session
+     * @param start
+     *            the index of the first byte to write
+     * @param count
+     *            the number of bytes to write
+     * @throws IOException
+     *             if an IO error occurred
+     */
+    void accept(OutputStream stream, VaadinSession session, long start,
+            long count) throws IOException;
+
+    @Override
+    default void accept(OutputStream stream, VaadinSession session)
+            throws IOException {
+        accept(stream, session, 0, Long.MAX_VALUE);
+    }
+}
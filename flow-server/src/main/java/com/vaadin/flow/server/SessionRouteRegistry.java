@@ -75,8 +75,18 @@ public class SessionRouteRegistry extends AbstractRouteRegistry {
         SessionRouteRegistry registry = session
                 .getAttribute(SessionRouteRegistry.class);
         if (registry == null) {
-            registry = new SessionRouteRegistry(session);
-            session.setAttribute(SessionRouteRegistry.class, registry);
+            // Check again holding the session lock, which UI level code
+            // might not hold with per UI locking
+            registry = session.withSessionLock(() -> {
+                SessionRouteRegistry sessionRegistry = session
+                        .getAttribute(SessionRouteRegistry.class);
+                if (sessionRegistry == null) {
+                    sessionRegistry = new SessionRouteRegistry(session);
+                    session.setAttribute(SessionRouteRegistry.class,
+                            sessionRegistry);
+                }
+                return sessionRegistry;
+            });
         }
         if (!registry.session.equals(session)) {
             throw new IllegalStateException(
@@ -18,6 +18,7 @@ package com.vaadin.flow.server;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
@@ -32,6 +33,7 @@ import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.ResponseWriter;
+import com.vaadin.flow.internal.StaticResourceCache;
 
 import static com.vaadin.flow.server.Constants.VAADIN_BUILD_FILES_PATH;
 import static com.vaadin.flow.server.Constants.VAADIN_MAPPING;
@@ -46,6 +48,9 @@ import static com.vaadin.flow.shared.ApplicationConstants.VAADIN_STATIC_FILES_PA
  * production mode site you should consider serving static resources directly
  * from the servlet (using a default servlet if such exists) or through a stand
  * alone static file server.
+ * <p>
+ * In production mode, the served resources are kept in a bounded in-memory
+ * cache, see {@link DeploymentConfiguration#getStaticResourceCacheSize()}.
  *
  * @author Vaadin Ltd
  * @since 1.0
@@ -60,6 +65,7 @@ public class StaticFileServer implements StaticFileHandler {
 
     private final ResponseWriter responseWriter;
     private final VaadinServletService servletService;
+    private final StaticResourceCache resourceCache;
     private DeploymentConfiguration deploymentConfiguration;
 
     /**
@@ -72,6 +78,27 @@ public class StaticFileServer implements StaticFileHandler {
         this.servletService = servletService;
         deploymentConfiguration = servletService.getDeploymentConfiguration();
         responseWriter = new ResponseWriter(deploymentConfiguration);
+
+        int cacheSize = deploymentConfiguration.getStaticResourceCacheSize();
+        if (deploymentConfiguration.isProductionMode() && cacheSize > 0) {
+            resourceCache = new StaticResourceCache(cacheSize * 1024L * 1024L);
+            // Don't keep the resources of an undeployed application
+            servletService.addServiceDestroyListener(
+                    event -> resourceCache.clear());
+        } else {
+            resourceCache = null;
+        }
+    }
+
+    /**
+     * Gets the cache of the served static resources, for instance for
+     * monitoring its hit and miss counts.
+     *
+     * @return the resource cache, or {@code null} if resources are not cached
+     * @since
+     */
+    public StaticResourceCache getResourceCache() {
+        return resourceCache;
     }
 
     @Override
@@ -86,6 +113,10 @@ public class StaticFileServer implements StaticFileHandler {
             return false;
         }
 
+        if (resourceCache != null && resourceCache.contains(requestFilename)) {
+            return true;
+        }
+
         if (requestFilename.startsWith("/" + VAADIN_STATIC_FILES_PATH)
                 || requestFilename.startsWith("/" + VAADIN_BUILD_FILES_PATH)) {
             // The path is reserved for internal resources only
@@ -115,14 +146,20 @@ public class StaticFileServer implements StaticFileHandler {
             return true;
         }
 
-        URL resourceUrl = null;
-        if (isAllowedVAADINBuildUrl(filenameWithPath)) {
-            resourceUrl = servletService.getClassLoader()
-                    .getResource("META-INF" + filenameWithPath);
-        }
-        if (resourceUrl == null) {
-            resourceUrl = servletService.getStaticResource(filenameWithPath);
+        // Range requests are rare and use the stream based writer
+        boolean useCache = resourceCache != null
+                && request.getHeader("Range") == null;
+        if (useCache) {
+            StaticResourceCache.Entry entry = resourceCache
+                    .get(filenameWithPath);
+            if (entry != null) {
+                writeCachedResource(filenameWithPath, entry, request,
+                        response);
+                return true;
+            }
         }
+
+        URL resourceUrl = getResourceUrl(filenameWithPath);
         if (resourceUrl == null && shouldFixIncorrectWebjarPaths()
                 && isIncorrectWebjarPath(filenameWithPath)) {
             // Flow issue #4601
@@ -138,6 +175,16 @@ public class StaticFileServer implements StaticFileHandler {
 
         // There is a resource!
 
+        if (useCache) {
+            StaticResourceCache.Entry entry = createCacheEntry(
+                    filenameWithPath, resourceUrl);
+            if (entry != null && resourceCache.put(filenameWithPath, entry)) {
+                writeCachedResource(filenameWithPath, entry, request,
+                        response);
+                return true;
+            }
+        }
+
         // Intentionally writing cache headers also for 304 responses
         writeCacheHeaders(filenameWithPath, response);
 
@@ -154,6 +201,100 @@ public class StaticFileServer implements StaticFileHandler {
         return true;
     }
 
+    private URL getResourceUrl(String filenameWithPath) {
+        URL resourceUrl = null;
+        if (isAllowedVAADINBuildUrl(filenameWithPath)) {
+            resourceUrl = servletService.getClassLoader()
+                    .getResource("META-INF" + filenameWithPath);
+        }
+        if (resourceUrl == null) {
+            resourceUrl = servletService.getStaticResource(filenameWithPath);
+        }
+        return resourceUrl;
+    }
+
+    private void writeCachedResource(String filenameWithPath,
+            StaticResourceCache.Entry entry, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        // Intentionally writing cache headers also for 304 responses
+        writeCacheHeaders(filenameWithPath, response);
+
+        long timestamp = entry.getLastModified();
+        if (timestamp >= 0) {
+            response.setDateHeader("Last-Modified", timestamp);
+        }
+        // If-None-Match takes precedence over If-Modified-Since
+        if (request.getHeader("If-None-Match") == null
+                && browserHasNewestVersion(request, timestamp)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        responseWriter.writeResponseContents(filenameWithPath, entry, request,
+                response);
+    }
+
+    /**
+     * Reads the given resource and its prebuilt compressed variants into a
+     * cache entry.
+     *
+     * @return the cache entry, or {@code null} if the resource is too large to
+     *         be cached
+     */
+    private StaticResourceCache.Entry createCacheEntry(
+            String filenameWithPath, URL resourceUrl) throws IOException {
+        URLConnection connection = resourceUrl.openConnection();
+        byte[] content = readCacheableContent(connection);
+        if (content == null) {
+            return null;
+        }
+        long lastModified = connection.getLastModified();
+        // Remove milliseconds like writeModificationTimestamp does
+        lastModified = lastModified > 0
+                ? lastModified - lastModified % 1000
+                : -1L;
+
+        byte[] brotliContent = deploymentConfiguration.isBrotli()
+                ? readCompressedVariant(filenameWithPath + ".br")
+                : null;
+        byte[] gzipContent = readCompressedVariant(filenameWithPath + ".gz");
+        return new StaticResourceCache.Entry(content, gzipContent,
+                brotliContent, lastModified);
+    }
+
+    private byte[] readCompressedVariant(String filenameWithPath) {
+        try {
+            URL url = getResourceUrl(filenameWithPath);
+            return url == null ? null
+                    : readCacheableContent(url.openConnection());
+        } catch (IOException e) {
+            getLogger().debug("Unexpected exception reading resource {}",
+                    filenameWithPath, e);
+            return null;
+        }
+    }
+
+    private byte[] readCacheableContent(URLConnection connection)
+            throws IOException {
+        long maxEntrySize = resourceCache.getMaxEntrySize();
+        long contentLength = connection.getContentLengthLong();
+        if (contentLength > maxEntrySize) {
+            return null;
+        }
+        try (InputStream dataStream = connection.getInputStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(
+                    contentLength > 0 ? (int) contentLength : 8192);
+            byte[] buffer = new byte[8192];
+            int bytes;
+            while ((bytes = dataStream.read(buffer)) >= 0) {
+                out.write(buffer, 0, bytes);
+                if (out.size() > maxEntrySize) {
+                    return null;
+                }
+            }
+            return out.toByteArray();
+        }
+    }
+
     // When referring to webjar resources from application stylesheets (loaded
     // using @StyleSheet) using relative paths, the paths will be different in
     // development mode and in production mode. The reason is that in production
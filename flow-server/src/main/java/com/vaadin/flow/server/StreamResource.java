@@ -17,6 +17,7 @@ package com.vaadin.flow.server;
 
 import javax.servlet.ServletContext;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -24,6 +25,7 @@ import java.util.Optional;
 
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.function.ContentTypeResolver;
+import com.vaadin.flow.internal.IOUtil;
 
 /**
  * Represents dynamically generated data.
@@ -48,7 +50,7 @@ public class StreamResource extends AbstractStreamResource {
 
     private final StreamResourceWriter writer;
 
-    private ContentTypeResolver resolver = DEFAULT_RESOLVER;
+    private volatile ContentTypeResolver resolver = DEFAULT_RESOLVER;
 
     private static class DefaultResolver implements ContentTypeResolver {
 
@@ -111,6 +113,26 @@ public class StreamResource extends AbstractStreamResource {
         }
     }
 
+    private static class FileTransfer implements RangeStreamResourceWriter {
+
+        private final File file;
+
+        private FileTransfer(File file) {
+            this.file = file;
+        }
+
+        @Override
+        public long getLength(VaadinSession session) {
+            return file.length();
+        }
+
+        @Override
+        public void accept(OutputStream stream, VaadinSession session,
+                long start, long count) throws IOException {
+            IOUtil.transferFile(file, start, count, stream);
+        }
+    }
+
     /**
      * Creates {@link StreamResource} instance using mandatory parameters
      * {@code name} as a resource file name and output stream {@code writer} as
@@ -158,6 +180,28 @@ public class StreamResource extends AbstractStreamResource {
         assert name != null;
     }
 
+    /**
+     * Creates {@link StreamResource} instance using mandatory parameters
+     * {@code name} as a resource file name and {@code file} as the data.
+     * <p>
+     * The file is sent using a {@link java.nio.channels.FileChannel} without
+     * locking the session, and the resource supports HTTP range requests.
+     * <p>
+     * {@code name} parameter value will be used in URI (generated when resource
+     * is registered) in a way that the {@code name} is the last segment of the
+     * path. So this is synthetic file name (not real one).
+     *
+     * @param name
+     *            resource file name. May not be null.
+     * @param file
+     *            the file to send. May not be null.
+     * @since
+     */
+    public StreamResource(String name, File file) {
+        this(name, new FileTransfer(file));
+        assert file != null;
+    }
+
     /**
      * Returns the stream resource writer.
      * <p>
@@ -175,6 +219,8 @@ public class StreamResource extends AbstractStreamResource {
      * resource.
      * <p>
      * By default a resolver based on servletContext.getMimeType() is used.
+     * <p>
+     * Note that the resolver is not called under the session lock.
      *
      * @param resolver
      *            content type resolver, not <code>null</code>
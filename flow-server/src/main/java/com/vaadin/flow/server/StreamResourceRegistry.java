@@ -18,21 +18,24 @@ package com.vaadin.flow.server;
 import java.io.Serializable;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.vaadin.flow.server.communication.StreamRequestHandler;
 
 /**
  * Registry for {@link StreamResource} instances.
+ * <p>
+ * Resources are looked up without locking the session, so that requests for
+ * resources are neither serialized with each other nor with UIDL requests.
  *
  * @author Vaadin Ltd
  * @since 1.0
  */
 public class StreamResourceRegistry implements Serializable {
 
-    private final Map<URI, AbstractStreamResource> res = new HashMap<>();
+    private final Map<URI, AbstractStreamResource> res = new ConcurrentHashMap<>();
 
     private final VaadinSession session;
 
@@ -55,7 +58,7 @@ public class StreamResourceRegistry implements Serializable {
 
         @Override
         public void unregister() {
-            registry.res.remove(getResourceUri());
+            registry.res.remove(uri);
         }
 
         @Override
@@ -93,8 +96,12 @@ public class StreamResourceRegistry implements Serializable {
      */
     public StreamRegistration registerResource(
             AbstractStreamResource resource) {
-        session.checkHasLock(
-                "Session needs to be locked when registering stream resources.");
+        // With per UI locking, resources are typically registered by code
+        // that only holds the lock of a UI
+        if (!session.isPerUILocking()) {
+            session.checkHasLock(
+                    "Session needs to be locked when registering stream resources.");
+        }
         StreamRegistration registration = new Registration(this,
                 resource.getId(), resource.getName());
         res.put(registration.getResourceUri(), resource);
@@ -151,7 +158,8 @@ public class StreamResourceRegistry implements Serializable {
     /**
      * Get a registered resource for given {@code URI}.
      * <p>
-     * Resource may be a StreamResource or a StreamReceiver
+     * Resource may be a StreamResource or a StreamReceiver. The session
+     * doesn't need to be locked.
      *
      * @param uri
      *            resource URI
@@ -159,12 +167,12 @@ public class StreamResourceRegistry implements Serializable {
      *         been registered with this URI
      */
     public Optional<AbstractStreamResource> getResource(URI uri) {
-        session.checkHasLock();
         return Optional.ofNullable(res.get(uri));
     }
 
     /**
-     * Get a registered resource of given type.
+     * Get a registered resource of given type. The session doesn't need to be
+     * locked.
      *
      * @param type
      *            resource class type
@@ -177,10 +185,9 @@ public class StreamResourceRegistry implements Serializable {
      */
     public <T extends AbstractStreamResource> Optional<T> getResource(
             Class<T> type, URI uri) {
-        session.checkHasLock();
         AbstractStreamResource abstractStreamResource = res.get(uri);
-        if (abstractStreamResource != null
-                && type.isAssignableFrom(abstractStreamResource.getClass())) {
+        if (abstractStreamResource != null && type
+                .isAssignableFrom(abstractStreamResource.getClass())) {
             return Optional.of((T) abstractStreamResource);
         }
         return Optional.empty();
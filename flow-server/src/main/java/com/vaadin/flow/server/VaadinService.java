@@ -52,18 +52,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.di.DefaultInstantiator;
 import com.vaadin.flow.di.Instantiator;
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.i18n.I18NProvider;
 import com.vaadin.flow.internal.CurrentInstance;
 import com.vaadin.flow.internal.LocaleUtil;
+import com.vaadin.flow.internal.SubtreeTemplate;
 import com.vaadin.flow.internal.UsageStatistics;
 import com.vaadin.flow.router.RouteData;
 import com.vaadin.flow.router.Router;
 import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.communication.AtmospherePushConnection;
 import com.vaadin.flow.server.communication.HeartbeatHandler;
+import com.vaadin.flow.server.communication.InMemoryUidlResponseMetrics;
 import com.vaadin.flow.server.communication.IndexHtmlRequestListener;
 import com.vaadin.flow.server.communication.IndexHtmlResponse;
 import com.vaadin.flow.server.communication.JavaScriptBootstrapHandler;
@@ -71,6 +74,7 @@ import com.vaadin.flow.server.communication.PwaHandler;
 import com.vaadin.flow.server.communication.SessionRequestHandler;
 import com.vaadin.flow.server.communication.StreamRequestHandler;
 import com.vaadin.flow.server.communication.UidlRequestHandler;
+import com.vaadin.flow.server.communication.UidlResponseMetrics;
 import com.vaadin.flow.server.communication.WebComponentBootstrapHandler;
 import com.vaadin.flow.server.communication.WebComponentProvider;
 import com.vaadin.flow.server.webcomponent.WebComponentConfigurationRegistry;
@@ -189,6 +193,21 @@ public abstract class VaadinService implements Serializable {
 
     private VaadinContext vaadinContext;
 
+    private UidlResponseMetrics uidlResponseMetrics;
+
+    private AccessQueueMetrics accessQueueMetrics;
+
+    private transient volatile AccessBatcher accessBatcher;
+
+    /*
+     * Whether the access batcher has been created, since it is null also when
+     * access tasks are not batched. Transient so that the batcher and its
+     * threads are re-created after deserialization.
+     */
+    private transient volatile boolean accessBatcherCreated;
+
+    private transient volatile Map<String, SubtreeTemplate> subtreeTemplates;
+
     /**
      * Creates a new vaadin service based on a deployment configuration.
      *
@@ -292,6 +311,8 @@ public abstract class VaadinService implements Serializable {
         }
 
         initialized = true;
+        // Create the access batcher eagerly to start its threads at startup
+        resolveAccessBatcher();
     }
 
     private void addRouterUsageStatistics() {
@@ -520,6 +541,135 @@ public abstract class VaadinService implements Serializable {
         return systemMessagesProvider;
     }
 
+    /**
+     * Sets the metrics instance which receives statistics about each UIDL
+     * response created for UIs of this service.
+     *
+     * @param uidlResponseMetrics
+     *            the metrics to use, or {@code null} to disable collecting
+     *            UIDL response statistics
+     * @see #getUidlResponseMetrics()
+     * @see InMemoryUidlResponseMetrics
+     */
+    public void setUidlResponseMetrics(
+            UidlResponseMetrics uidlResponseMetrics) {
+        this.uidlResponseMetrics = uidlResponseMetrics;
+    }
+
+    /**
+     * Gets the metrics instance which receives statistics about each UIDL
+     * response created for UIs of this service.
+     * <p>
+     * By default, no metrics are used and no statistics are collected.
+     *
+     * @return an optional metrics instance, or an empty optional if collecting
+     *         UIDL response statistics is disabled
+     * @see #setUidlResponseMetrics(UidlResponseMetrics)
+     */
+    public Optional<UidlResponseMetrics> getUidlResponseMetrics() {
+        return Optional.ofNullable(uidlResponseMetrics);
+    }
+
+    /**
+     * Sets the metrics instance which receives statistics about each batch of
+     * access tasks flushed when access batching is enabled.
+     *
+     * @param accessQueueMetrics
+     *            the metrics to use, or {@code null} to disable collecting
+     *            access queue statistics
+     * @see #getAccessQueueMetrics()
+     * @see InMemoryAccessQueueMetrics
+     * @see DeploymentConfiguration#getAccessBatchMaxLatency()
+     */
+    public void setAccessQueueMetrics(AccessQueueMetrics accessQueueMetrics) {
+        this.accessQueueMetrics = accessQueueMetrics;
+    }
+
+    /**
+     * Gets the metrics instance which receives statistics about each batch of
+     * access tasks flushed when access batching is enabled.
+     * <p>
+     * By default, no metrics are used and no statistics are collected.
+     *
+     * @return an optional metrics instance, or an empty optional if collecting
+     *         access queue statistics is disabled
+     * @see #setAccessQueueMetrics(AccessQueueMetrics)
+     */
+    public Optional<AccessQueueMetrics> getAccessQueueMetrics() {
+        return Optional.ofNullable(accessQueueMetrics);
+    }
+
+    /**
+     * Creates the batcher used for coalescing access tasks enqueued from
+     * background threads. The default implementation creates a batcher if
+     * {@link DeploymentConfiguration#getAccessBatchMaxLatency()} is positive.
+     *
+     * @return the access batcher, or <code>null</code> to run access tasks
+     *         without batching
+     */
+    protected AccessBatcher createAccessBatcher() {
+        DeploymentConfiguration configuration = getDeploymentConfiguration();
+        int maxLatency = configuration.getAccessBatchMaxLatency();
+        if (maxLatency <= 0) {
+            return null;
+        }
+        return new AccessBatcher(this, maxLatency,
+                configuration.getAccessBatchMaxSize(),
+                configuration.getAccessBatchThreads());
+    }
+
+    /**
+     * Gets the batcher used for coalescing access tasks enqueued from
+     * background threads. The batcher is created using
+     * {@link #createAccessBatcher()} when the service is initialized, and
+     * again when it is first needed after the service has been deserialized.
+     *
+     * @return an optional access batcher, or an empty optional if access
+     *         tasks are not batched
+     */
+    public Optional<AccessBatcher> getAccessBatcher() {
+        return Optional.ofNullable(resolveAccessBatcher());
+    }
+
+    private AccessBatcher resolveAccessBatcher() {
+        if (!accessBatcherCreated && initialized) {
+            synchronized (this) {
+                if (!accessBatcherCreated) {
+                    accessBatcher = createAccessBatcher();
+                    accessBatcherCreated = true;
+                }
+            }
+        }
+        return accessBatcher;
+    }
+
+    /**
+     * Gets the subtree templates recorded for this service, by template key.
+     * The templates are shared by all sessions of the service.
+     * <p>
+     * For internal use only. May be renamed or removed in a future release.
+     *
+     * @return a thread safe map of the recorded templates, not
+     *         <code>null</code>
+     * @see com.vaadin.flow.component.ComponentUtil#setSubtreeTemplateKey(com.vaadin.flow.component.Component,
+     *      String)
+     * @since
+     */
+    public Map<String, SubtreeTemplate> getSubtreeTemplates() {
+        Map<String, SubtreeTemplate> templates = subtreeTemplates;
+        if (templates == null) {
+            synchronized (this) {
+                templates = subtreeTemplates;
+                if (templates == null) {
+                    // Also re-created after deserialization
+                    templates = new ConcurrentHashMap<>();
+                    subtreeTemplates = templates;
+                }
+            }
+        }
+        return templates;
+    }
+
     /**
      * Gets the system message to use for a specific locale. This method may
      * also be implemented to use information from current instances of various
@@ -624,6 +774,21 @@ public abstract class VaadinService implements Serializable {
                 listener -> listener.modifyIndexHtmlResponse(response));
     }
 
+    /**
+     * Returns whether any {@link IndexHtmlRequestListener} has been registered.
+     * When there are none, the index HTML response of a production mode
+     * application can be served from a precompiled template. Subclasses that
+     * override {@link #modifyIndexHtmlResponse(IndexHtmlResponse)} should also
+     * override this method.
+     *
+     * @return {@code true} if the index HTML response may be modified by
+     *         listeners, {@code false} otherwise
+     * @since
+     */
+    public boolean hasIndexHtmlRequestListeners() {
+        return indexHtmlRequestListeners.iterator().hasNext();
+    }
+
     /**
      * Handles destruction of the given session. Internally ensures proper
      * locking is done.
@@ -633,6 +798,26 @@ public abstract class VaadinService implements Serializable {
      */
     public void fireSessionDestroy(VaadinSession vaadinSession) {
         final VaadinSession session = vaadinSession;
+        if (session.isPerUILocking() && !session.hasLock()) {
+            /*
+             * UIs are always locked before the session, so the UIs are removed
+             * before running the rest of the cleanup with the session locked
+             */
+            List<UI> uis;
+            session.lock();
+            try {
+                if (session.getState() == VaadinSessionState.CLOSED) {
+                    return;
+                }
+                if (session.getState() == VaadinSessionState.OPEN) {
+                    closeSession(session);
+                }
+                uis = new ArrayList<>(session.getUIs());
+            } finally {
+                session.unlock();
+            }
+            uis.forEach(ui -> removeUI(session, ui));
+        }
         session.access(() -> {
             if (session.getState() == VaadinSessionState.CLOSED) {
                 return;
@@ -642,18 +827,13 @@ public abstract class VaadinService implements Serializable {
             }
             List<UI> uis = new ArrayList<>(session.getUIs());
             for (final UI ui : uis) {
-                ui.accessSynchronously(() -> {
-                    /*
-                     * close() called here for consistency so that it is always
-                     * called before a UI is removed. UI.isClosing() is thus
-                     * always true in UI.detach() and associated detach
-                     * listeners.
-                     */
-                    if (!ui.isClosing()) {
-                        ui.close();
-                    }
-                    session.removeUI(ui);
-                });
+                if (session.isPerUILocking()) {
+                    // Cannot wait for the UI lock while holding the session
+                    // lock, so the UI is removed when it is available
+                    ui.access(() -> removeUI(session, ui));
+                } else {
+                    removeUI(session, ui);
+                }
             }
             SessionDestroyEvent event = new SessionDestroyEvent(
                     VaadinService.this, session);
@@ -1272,21 +1452,7 @@ public abstract class VaadinService implements Serializable {
             closeInactiveUIs(session);
             removeClosedUIs(session);
         } else {
-            if (session.getState() == VaadinSessionState.OPEN) {
-                closeSession(session);
-                if (session.getSession() != null) {
-                    getLogger().debug("Closing inactive session {}",
-                            session.getSession().getId());
-                }
-            }
-            if (session.getSession() != null) {
-                /*
-                 * If the VaadinSession has no WrappedSession then it has
-                 * already been removed from the HttpSession and we do not have
-                 * to do it again
-                 */
-                removeSession(session.getSession());
-            }
+            removeInactiveSession(session);
 
             /*
              * The session was destroyed during this request and therefore no
@@ -1296,6 +1462,106 @@ public abstract class VaadinService implements Serializable {
         }
     }
 
+    private void removeInactiveSession(VaadinSession session) {
+        if (session.getState() == VaadinSessionState.OPEN) {
+            closeSession(session);
+            if (session.getSession() != null) {
+                getLogger().debug("Closing inactive session {}",
+                        session.getSession().getId());
+            }
+        }
+        if (session.getSession() != null) {
+            /*
+             * If the VaadinSession has no WrappedSession then it has already
+             * been removed from the HttpSession and we do not have to do it
+             * again
+             */
+            removeSession(session.getSession());
+        }
+    }
+
+    /**
+     * Closes and removes the inactive and closing UIs of the given session
+     * when using {@link VaadinSession#isPerUILocking() per UI locking}. The
+     * session must not be locked by the current thread, since each UI is
+     * locked before the session like in all UI level code.
+     *
+     * @param session
+     *            the session to clean up
+     */
+    private void cleanupSessionPerUI(VaadinSession session) {
+        List<UI> uis = null;
+        String sessionId = null;
+        session.lock();
+        try {
+            if (isSessionActive(session)) {
+                uis = new ArrayList<>(session.getUIs());
+                sessionId = session.getSession().getId();
+            } else {
+                removeInactiveSession(session);
+            }
+        } finally {
+            session.unlock();
+        }
+        if (uis == null) {
+            fireSessionDestroy(session);
+            return;
+        }
+        final String wrappedSessionId = sessionId;
+        for (UI ui : uis) {
+            try {
+                ui.accessSynchronously(() -> {
+                    if (!isUIActive(ui) && !ui.isClosing()) {
+                        getLogger().debug(
+                                "Closing inactive UI #{} in session {}",
+                                ui.getUIId(), wrappedSessionId);
+                        ui.close();
+                    }
+                    if (ui.isClosing()) {
+                        getLogger().debug("Removing closed UI {}",
+                                ui.getUIId());
+                        session.withSessionLock(() -> {
+                            session.removeUI(ui);
+                            return null;
+                        });
+                    }
+                });
+            } catch (UIDetachedException e) {
+                // Already removed from the session
+            }
+        }
+    }
+
+    /**
+     * Closes the given UI unless it is already closing and removes it from its
+     * session. With per UI locking, the UI is locked before the session.
+     *
+     * @param session
+     *            the session of the UI
+     * @param ui
+     *            the UI to remove
+     */
+    private static void removeUI(VaadinSession session, UI ui) {
+        try {
+            ui.accessSynchronously(() -> {
+                /*
+                 * close() called here for consistency so that it is always
+                 * called before a UI is removed. UI.isClosing() is thus always
+                 * true in UI.detach() and associated detach listeners.
+                 */
+                if (!ui.isClosing()) {
+                    ui.close();
+                }
+                session.withSessionLock(() -> {
+                    session.removeUI(ui);
+                    return null;
+                });
+            });
+        } catch (UIDetachedException e) {
+            // Already removed from the session
+        }
+    }
+
     /**
      * Removes those UIs from the given session for which {@link UI#isClosing()
      * isClosing} yields true.
@@ -1390,8 +1656,9 @@ public abstract class VaadinService implements Serializable {
 
         // Check for long running tasks
         Lock lockInstance = ui.getSession().getLockInstance();
-        if (lockInstance instanceof ReentrantLock
-                && ((ReentrantLock) lockInstance).hasQueuedThreads()) {
+        if ((lockInstance instanceof ReentrantLock
+                && ((ReentrantLock) lockInstance).hasQueuedThreads())
+                || ui.getInternals().getLockInstance().hasQueuedThreads()) {
             /*
              * Someone is trying to access the session. Leaving all UIs alive
              * for now. A possible kill decision will be made at a later time
@@ -1468,15 +1735,21 @@ public abstract class VaadinService implements Serializable {
             VaadinSession session) {
         if (session != null) {
             assert VaadinSession.getCurrent() == session;
+            boolean perUILocking = session.isPerUILocking();
             session.lock();
             try {
-                cleanupSession(session);
+                if (!perUILocking) {
+                    cleanupSession(session);
+                }
                 final long duration = (System.nanoTime() - (Long) request
                         .getAttribute(REQUEST_START_TIME_ATTRIBUTE)) / 1000000;
                 session.setLastRequestDuration(duration);
             } finally {
                 session.unlock();
             }
+            if (perUILocking) {
+                cleanupSessionPerUI(session);
+            }
         }
         CurrentInstance.clearAll();
     }
@@ -1951,7 +2224,13 @@ public abstract class VaadinService implements Serializable {
         FutureAccess future = new FutureAccess(session, command);
         session.getPendingAccessQueue().add(future);
 
-        ensureAccessQueuePurged(session);
+        AccessBatcher accessBatcher = resolveAccessBatcher();
+        if (accessBatcher == null) {
+            ensureAccessQueuePurged(session);
+        } else {
+            accessBatcher.taskAdded(session, session.getLockInstance(),
+                    () -> ensureAccessQueuePurged(session));
+        }
 
         return future;
     }
@@ -2065,6 +2344,11 @@ public abstract class VaadinService implements Serializable {
         ServiceDestroyEvent event = new ServiceDestroyEvent(this);
         serviceDestroyListeners
                 .forEach(listener -> listener.serviceDestroy(event));
+        // Not created if it has not been needed after deserialization
+        AccessBatcher batcher = accessBatcher;
+        if (batcher != null) {
+            batcher.destroy();
+        }
     }
 
     /**
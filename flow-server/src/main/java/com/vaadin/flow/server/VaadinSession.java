@@ -44,7 +44,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.UILock;
 import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.function.SerializableSupplier;
 import com.vaadin.flow.i18n.I18NProvider;
 import com.vaadin.flow.internal.CurrentInstance;
 import com.vaadin.flow.shared.communication.PushMode;
@@ -79,18 +81,18 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
     /**
      * Configuration for the session.
      */
-    private DeploymentConfiguration configuration;
+    private volatile DeploymentConfiguration configuration;
 
     /**
      * Default locale of the session.
      */
-    private Locale locale = Locale.getDefault();
+    private volatile Locale locale = Locale.getDefault();
 
     /**
      * Session wide error handler which is used by default if an error is left
      * unhandled.
      */
-    private ErrorHandler errorHandler = new DefaultErrorHandler();
+    private volatile ErrorHandler errorHandler = new DefaultErrorHandler();
     private LinkedList<RequestHandler> requestHandlers = new LinkedList<>();
 
     private int nextUIId = 0;
@@ -98,11 +100,11 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
 
     protected WebBrowser browser = new WebBrowser();
 
-    private long cumulativeRequestDuration = 0;
+    private volatile long cumulativeRequestDuration = 0;
 
-    private long lastRequestDuration = -1;
+    private volatile long lastRequestDuration = -1;
 
-    private long lastRequestTimestamp = System.currentTimeMillis();
+    private volatile long lastRequestTimestamp = System.currentTimeMillis();
 
     private VaadinSessionState state = VaadinSessionState.OPEN;
 
@@ -203,7 +205,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return the web browser object
      */
     public WebBrowser getBrowser() {
-        checkHasLock();
+        checkHasSessionOrUILock();
         return browser;
     }
 
@@ -212,7 +214,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      *         milliseconds.
      */
     public long getCumulativeRequestDuration() {
-        checkHasLock();
+        checkHasSessionOrUILock();
         return cumulativeRequestDuration;
     }
 
@@ -234,7 +236,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      *         milliseconds.
      */
     public long getLastRequestDuration() {
-        checkHasLock();
+        checkHasSessionOrUILock();
         return lastRequestDuration;
     }
 
@@ -246,7 +248,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      *            since the epoch.
      */
     public void setLastRequestTimestamp(long timestamp) {
-        checkHasLock();
+        checkHasSessionOrUILock();
         lastRequestTimestamp = timestamp;
     }
 
@@ -257,7 +259,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      *         the epoch.
      */
     public long getLastRequestTimestamp() {
-        checkHasLock();
+        checkHasSessionOrUILock();
         return lastRequestTimestamp;
     }
 
@@ -326,7 +328,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return the deployment configuration
      */
     public DeploymentConfiguration getConfiguration() {
-        checkHasLock();
+        checkHasSessionOrUILock();
         return configuration;
     }
 
@@ -350,7 +352,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return the locale of this session.
      */
     public Locale getLocale() {
-        checkHasLock();
+        checkHasSessionOrUILock();
         return locale;
     }
 
@@ -378,7 +380,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return the current error handler
      */
     public ErrorHandler getErrorHandler() {
-        checkHasLock();
+        checkHasSessionOrUILock();
         return errorHandler;
     }
 
@@ -514,6 +516,63 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         return l.isHeldByCurrentThread();
     }
 
+    /**
+     * Checks whether UI level operations in this session lock only the
+     * affected UI instead of the whole session.
+     *
+     * @return <code>true</code> if per UI locking is enabled,
+     *         <code>false</code> otherwise
+     * @see DeploymentConfiguration#isPerUILocking()
+     * @since
+     */
+    public boolean isPerUILocking() {
+        DeploymentConfiguration config = configuration;
+        return config != null && config.isPerUILocking();
+    }
+
+    /*
+     * With per UI locking, state that UI level code reads, and the timestamp
+     * that it updates, may also be accessed while holding the lock of a UI in
+     * this session. Other modifications still require the session lock.
+     */
+    private void checkHasSessionOrUILock() {
+        if (!isPerUILocking() || !UILock.isAnyHeldByCurrentThread(this)) {
+            checkHasLock();
+        }
+    }
+
+    /**
+     * Runs the given action holding the session lock. This is meant for UI
+     * level code that reads or updates session level state, such as session
+     * attributes.
+     * <p>
+     * With {@link #isPerUILocking() per UI locking}, UI level code holds only
+     * the lock of its UI. If the current thread holds a UI lock of this
+     * session but not the session lock, the session lock is acquired for the
+     * duration of the action, always after the UI lock. In all other cases, the
+     * session must already be locked by the current thread.
+     *
+     * @param action
+     *            the action to run, not <code>null</code>
+     * @param <T>
+     *            the type of the action result
+     * @return the result of the action
+     * @since
+     */
+    public <T> T withSessionLock(SerializableSupplier<T> action) {
+        if (isPerUILocking() && !hasLock()
+                && UILock.isAnyHeldByCurrentThread(this)) {
+            lock();
+            try {
+                return action.get();
+            } finally {
+                unlock();
+            }
+        }
+        checkHasLock();
+        return action.get();
+    }
+
     /**
      * Potentially checks whether this session is currently locked by the
      * current thread, and fails with the given message if not.
@@ -649,7 +708,8 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * <p>
      * For UIs in this session that have its push mode set to
      * {@link PushMode#AUTOMATIC automatic}, pending changes will be pushed to
-     * their respective clients.
+     * their respective clients. With {@link #isPerUILocking() per UI locking},
+     * the changes are instead pushed when the lock of each UI is released.
      *
      * @see #lock()
      * @see UI#push()
@@ -666,17 +726,12 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
                 ultimateRelease = true;
                 getService().runPendingAccessTasks(this);
 
-                for (UI ui : getUIs()) {
-                    if (ui.getPushConfiguration()
-                            .getPushMode() == PushMode.AUTOMATIC) {
-                        Map<Class<?>, CurrentInstance> oldCurrent = CurrentInstance
-                                .setCurrent(ui);
-                        try {
-                            ui.push();
-                        } finally {
-                            CurrentInstance.restoreInstances(oldCurrent);
-                        }
-                    }
+                /*
+                 * With per UI locking, changes are pushed when the lock of the
+                 * UI is released
+                 */
+                if (!isPerUILocking()) {
+                    pushAutomaticUIs();
                 }
             }
         } finally {
@@ -696,6 +751,21 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         }
     }
 
+    private void pushAutomaticUIs() {
+        for (UI ui : getUIs()) {
+            if (ui.getPushConfiguration()
+                    .getPushMode() == PushMode.AUTOMATIC) {
+                Map<Class<?>, CurrentInstance> oldCurrent = CurrentInstance
+                        .setCurrent(ui);
+                try {
+                    ui.push();
+                } finally {
+                    CurrentInstance.restoreInstances(oldCurrent);
+                }
+            }
+        }
+    }
+
     /**
      * Stores a value in this service session. This can be used to associate
      * data with the current user so that it can be retrieved at a later point
@@ -711,8 +781,10 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @see #getAttribute(String)
      */
     public void setAttribute(String name, Object value) {
-        checkHasLock();
-        attributes.setAttribute(name, value);
+        withSessionLock(() -> {
+            attributes.setAttribute(name, value);
+            return null;
+        });
     }
 
     /**
@@ -737,8 +809,10 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @see #setAttribute(String, Object)
      */
     public <T> void setAttribute(Class<T> type, T value) {
-        checkHasLock();
-        attributes.setAttribute(type, value);
+        withSessionLock(() -> {
+            attributes.setAttribute(type, value);
+            return null;
+        });
     }
 
     /**
@@ -753,8 +827,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @see #setAttribute(String, Object)
      */
     public Object getAttribute(String name) {
-        checkHasLock();
-        return attributes.getAttribute(name);
+        return withSessionLock(() -> attributes.getAttribute(name));
     }
 
     /**
@@ -778,8 +851,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @see #getAttribute(String)
      */
     public <T> T getAttribute(Class<T> type) {
-        checkHasLock();
-        return attributes.getAttribute(type);
+        return withSessionLock(() -> attributes.getAttribute(type));
     }
 
     /**
@@ -973,7 +1045,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      * @return the push connection identifier string
      */
     public String getPushId() {
-        checkHasLock();
+        checkHasSessionOrUILock();
         return pushId;
     }
 
@@ -191,9 +191,11 @@ public class AtmospherePushConnection implements PushConnection {
             }
         } else {
             try {
-                JsonObject response = new UidlWriter().createUidl(getUI(),
-                        async);
-                sendMessage("for(;;);[" + response.toJson() + "]");
+                UidlWriter uidlWriter = new UidlWriter();
+                JsonObject response = uidlWriter.createUidl(getUI(), async);
+                String message = "for(;;);[" + response.toJson() + "]";
+                sendMessage(message);
+                uidlWriter.responseWritten(UidlWriter.getUtf8Length(message));
             } catch (Exception e) {
                 throw new RuntimeException("Push failed", e);
             }
@@ -50,6 +50,37 @@ public class HeartbeatHandler extends SynchronizedRequestHandler
         return HandlerHelper.isRequestType(request, RequestType.HEARTBEAT);
     }
 
+    @Override
+    public boolean handleRequest(VaadinSession session, VaadinRequest request,
+            VaadinResponse response) throws IOException {
+        if (!session.isPerUILocking() || !canHandleRequest(request)) {
+            return super.handleRequest(session, request, response);
+        }
+
+        /*
+         * With per UI locking, the session is only locked for finding the UI
+         * since heartbeat listeners must be run holding the UI lock
+         */
+        UI ui;
+        session.lock();
+        try {
+            ui = session.getService().findUI(request);
+        } finally {
+            session.unlock();
+        }
+        if (ui == null) {
+            return handleHeartbeat(null, response);
+        }
+        ui.getInternals().lock();
+        try {
+            // The UI may have been closed before the lock was acquired
+            return handleHeartbeat(ui.getSession() == null ? null : ui,
+                    response);
+        } finally {
+            ui.getInternals().unlock();
+        }
+    }
+
     /**
      * Handles a heartbeat request for the given session. Reads the GET
      * parameter named {@link ApplicationConstants#UI_ID_PARAMETER} to identify
@@ -61,7 +92,11 @@ public class HeartbeatHandler extends SynchronizedRequestHandler
     @Override
     public boolean synchronizedHandleRequest(VaadinSession session,
             VaadinRequest request, VaadinResponse response) throws IOException {
-        UI ui = session.getService().findUI(request);
+        return handleHeartbeat(session.getService().findUI(request), response);
+    }
+
+    private boolean handleHeartbeat(UI ui, VaadinResponse response)
+            throws IOException {
         if (ui != null) {
             ui.getInternals()
                     .setLastHeartbeatTimestamp(System.currentTimeMillis());
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.vaadin.flow.internal.change.NodeChange;
+
+/**
+ * A {@link UidlResponseMetrics} implementation which keeps histograms of the
+ * UIDL response statistics in memory, grouped by the location of the active
+ * view.
+ * <p>
+ * The histograms use power of two buckets, so percentiles are approximations
+ * which are at most a factor of two larger than the actual value.
+ * <p>
+ * To protect against an unbounded number of locations, e.g. when locations
+ * contain route parameters, statistics for locations exceeding the configured
+ * limit are grouped under {@link #OTHER_LOCATIONS}.
+ *
+ * @since
+ */
+public class InMemoryUidlResponseMetrics implements UidlResponseMetrics {
+
+    /**
+     * The key used for the statistics of all locations which exceed the
+     * maximum number of tracked locations.
+     */
+    public static final String OTHER_LOCATIONS = "*";
+
+    private static final int DEFAULT_MAX_LOCATIONS = 1000;
+
+    private final int maxLocations;
+
+    private final Map<String, LocationMetrics> locations = new ConcurrentHashMap<>();
+
+    /**
+     * A histogram of non-negative long values with power of two buckets.
+     */
+    public static class Histogram implements Serializable {
+        private static final int BUCKETS = Long.SIZE + 1;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        /**
+         * Records a value in the histogram. Negative values are recorded as
+         * zero.
+         *
+         * @param value
+         *            the value to record
+         */
+        public void record(long value) {
+            long recorded = Math.max(0, value);
+            buckets.incrementAndGet(
+                    Long.SIZE - Long.numberOfLeadingZeros(recorded));
+            count.increment();
+            sum.add(recorded);
+            max.accumulateAndGet(recorded, Math::max);
+        }
+
+        /**
+         * Gets the number of recorded values.
+         *
+         * @return the number of recorded values
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Gets the sum of all recorded values.
+         *
+         * @return the sum of the recorded values
+         */
+        public long getSum() {
+            return sum.sum();
+        }
+
+        /**
+         * Gets the largest recorded value.
+         *
+         * @return the largest value, or 0 if no values have been recorded
+         */
+        public long getMax() {
+            return max.get();
+        }
+
+        /**
+         * Gets the mean of the recorded values.
+         *
+         * @return the mean value, or 0 if no values have been recorded
+         */
+        public double getMean() {
+            long n = getCount();
+            return n == 0 ? 0 : (double) getSum() / n;
+        }
+
+        /**
+         * Gets an upper bound estimate for the given percentile of the
+         * recorded values.
+         *
+         * @param percentile
+         *            the percentile, between 0 and 100
+         * @return the upper bound of the bucket containing the percentile, or
+         *         0 if no values have been recorded
+         */
+        public long getPercentile(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException(
+                        "Percentile must be between 0 and 100");
+            }
+            long total = getCount();
+            if (total == 0) {
+                return 0;
+            }
+            long threshold = (long) Math.ceil(total * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= threshold && seen > 0) {
+                    return Math.min(getBucketUpperBound(i), getMax());
+                }
+            }
+            return getMax();
+        }
+
+        private static long getBucketUpperBound(int bucket) {
+            if (bucket == 0) {
+                return 0;
+            }
+            if (bucket >= Long.SIZE - 1) {
+                return Long.MAX_VALUE;
+            }
+            return (1L << bucket) - 1;
+        }
+    }
+
+    /**
+     * The collected statistics of UIDL responses for a single location.
+     */
+    public static class LocationMetrics implements Serializable {
+        private final Histogram responseSize = new Histogram();
+        private final Histogram dirtyNodes = new Histogram();
+        private final Histogram changes = new Histogram();
+        private final Histogram beforeClientResponseNanos = new Histogram();
+        private final Histogram encodeNanos = new Histogram();
+        private final Map<Class<? extends NodeChange>, LongAdder> changesByType = new ConcurrentHashMap<>();
+
+        private void record(UidlResponseStatistics statistics) {
+            if (statistics.getResponseSize() >= 0) {
+                responseSize.record(statistics.getResponseSize());
+            }
+            dirtyNodes.record(statistics.getDirtyNodeCount());
+            changes.record(statistics.getTotalChangeCount());
+            beforeClientResponseNanos
+                    .record(statistics.getBeforeClientResponseNanos());
+            encodeNanos.record(statistics.getEncodeNanos());
+            statistics.getChangeCounts()
+                    .forEach((type, count) -> changesByType
+                            .computeIfAbsent(type, key -> new LongAdder())
+                            .add(count));
+        }
+
+        /**
+         * Gets the histogram of response sizes in bytes. Responses of
+         * unknown size are not included.
+         *
+         * @return the response size histogram
+         */
+        public Histogram getResponseSize() {
+            return responseSize;
+        }
+
+        /**
+         * Gets the histogram of dirty node counts per response.
+         *
+         * @return the dirty node count histogram
+         */
+        public Histogram getDirtyNodes() {
+            return dirtyNodes;
+        }
+
+        /**
+         * Gets the histogram of the total number of changes per response.
+         *
+         * @return the change count histogram
+         */
+        public Histogram getChanges() {
+            return changes;
+        }
+
+        /**
+         * Gets the histogram of time spent running before client response
+         * executions, in nanoseconds.
+         *
+         * @return the before client response time histogram
+         */
+        public Histogram getBeforeClientResponseNanos() {
+            return beforeClientResponseNanos;
+        }
+
+        /**
+         * Gets the histogram of time spent collecting and encoding changes, in
+         * nanoseconds.
+         *
+         * @return the encode time histogram
+         */
+        public Histogram getEncodeNanos() {
+            return encodeNanos;
+        }
+
+        /**
+         * Gets the total number of changes sent, grouped by the change type.
+         *
+         * @return a map of change counts by change type
+         */
+        public Map<Class<? extends NodeChange>, Long> getChangesByType() {
+            Map<Class<? extends NodeChange>, Long> result = new HashMap<>();
+            changesByType.forEach((type, count) -> result.put(type,
+                    count.sum()));
+            return result;
+        }
+    }
+
+    /**
+     * Creates a new instance which tracks at most 1000 separate locations.
+     */
+    public InMemoryUidlResponseMetrics() {
+        this(DEFAULT_MAX_LOCATIONS);
+    }
+
+    /**
+     * Creates a new instance which tracks at most the given number of separate
+     * locations.
+     *
+     * @param maxLocations
+     *            the maximum number of tracked locations, must be positive
+     */
+    public InMemoryUidlResponseMetrics(int maxLocations) {
+        if (maxLocations <= 0) {
+            throw new IllegalArgumentException(
+                    "The maximum number of locations must be positive");
+        }
+        this.maxLocations = maxLocations;
+    }
+
+    @Override
+    public void responseCreated(UidlResponseStatistics statistics) {
+        String location = statistics.getLocation();
+        LocationMetrics metrics = locations.get(location);
+        if (metrics == null) {
+            if (locations.size() >= maxLocations) {
+                location = OTHER_LOCATIONS;
+            }
+            metrics = locations.computeIfAbsent(location,
+                    key -> new LocationMetrics());
+        }
+        metrics.record(statistics);
+    }
+
+    /**
+     * Gets the collected statistics for all tracked locations.
+     *
+     * @return an unmodifiable map of metrics by location
+     */
+    public Map<String, LocationMetrics> getLocations() {
+        return Collections.unmodifiableMap(locations);
+    }
+
+    /**
+     * Gets the locations ordered by the given histogram metric, largest first.
+     * This can be used for finding e.g. the views producing the largest
+     * responses, by passing
+     * {@code metrics -> metrics.getResponseSize().getMax()}.
+     *
+     * @param metric
+     *            the metric to order the locations by, not {@code null}
+     * @param limit
+     *            the maximum number of locations to return
+     * @return the locations ordered by the metric
+     */
+    public List<String> getTopLocations(Function<LocationMetrics, Long> metric,
+            int limit) {
+        return locations.entrySet().stream()
+                .sorted(Comparator.comparing(
+                        (Map.Entry<String, LocationMetrics> entry) -> metric
+                                .apply(entry.getValue()))
+                        .reversed())
+                .limit(limit).map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Removes all collected statistics.
+     */
+    public void reset() {
+        locations.clear();
+    }
+}
@@ -17,10 +17,14 @@ package com.vaadin.flow.server.communication;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.jsoup.Jsoup;
+import org.jsoup.nodes.Attribute;
 import org.jsoup.nodes.DataNode;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -29,12 +33,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.page.AppShellConfigurator;
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.BootstrapHandlerHelper;
 import com.vaadin.flow.internal.BrowserLiveReload;
 import com.vaadin.flow.internal.BrowserLiveReloadAccess;
 import com.vaadin.flow.internal.UsageStatisticsExporter;
 import com.vaadin.flow.server.AppShellRegistry;
+import com.vaadin.flow.server.AppShellSettings;
 import com.vaadin.flow.server.Constants;
 import com.vaadin.flow.server.VaadinContext;
 import com.vaadin.flow.server.VaadinRequest;
@@ -56,6 +62,11 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  * This class is responsible for serving the <code>index.html</code> according
  * to the template provided in the frontend folder. The handler will calculate and
  * inject baseHref as well as the bundle scripts into the template.
+ * <p>
+ * In production mode, when there are no {@link IndexHtmlRequestListener}s and
+ * the page configuration of the app shell does not depend on the request, the
+ * page is compiled once into static chunks, and only the base href and the
+ * initial data are inserted into it for each request.
  */
 public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
 
@@ -66,6 +77,16 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
             VaadinRequest request, VaadinResponse response) throws IOException {
         DeploymentConfiguration config = session.getConfiguration();
 
+        if (config.isProductionMode()
+                && !request.getService().hasIndexHtmlRequestListeners()) {
+            CompiledIndexHtml compiledIndexHtml = getCompiledIndexHtml(
+                    request);
+            if (compiledIndexHtml != null) {
+                return writeCompiledIndexHtml(compiledIndexHtml, session,
+                        request, response);
+            }
+        }
+
         Document indexDocument = config.isProductionMode()
                 ? getCachedIndexHtmlDocument(request.getService())
                 : getIndexHtmlDocument(request.getService());
@@ -129,16 +150,62 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
         return true;
     }
 
+    private boolean writeCompiledIndexHtml(CompiledIndexHtml compiledIndexHtml,
+            VaadinSession session, VaadinRequest request,
+            VaadinResponse response) {
+        JsonObject initialJson = Json.createObject();
+
+        // There is no document to modify, since there are no listeners
+        if (request.getService().getBootstrapInitialPredicate()
+                .includeInitialUidl(request)) {
+            includeInitialUidl(initialJson, session, request, response);
+
+            indexHtmlResponse = new IndexHtmlResponse(request, response, null,
+                    UI.getCurrent());
+
+            // App might be using classic server-routing, which is true
+            // unless we detect a call to JavaScriptBootstrapUI.connectClient
+            session.setAttribute(SERVER_ROUTING, Boolean.TRUE);
+        } else {
+            indexHtmlResponse = new IndexHtmlResponse(request, response, null);
+        }
+
+        addCsrfToken(initialJson, session);
+
+        response.setContentType(CONTENT_TYPE_TEXT_HTML_UTF_8);
+
+        if (UI.getCurrent() != null && compiledIndexHtml.title != null) {
+            UI.getCurrent().getInternals()
+                    .setAppShellTitle(compiledIndexHtml.title);
+        }
+
+        try {
+            compiledIndexHtml.write(response.getOutputStream(),
+                    getServiceUrl(request), JsonUtil.stringify(initialJson));
+        } catch (IOException e) {
+            getLogger().error("Error writing 'index.html' to response", e);
+            return false;
+        }
+        return true;
+    }
+
     private void storeAppShellTitleToUI(Document indexDocument) {
         if (UI.getCurrent() != null) {
-            Element elm = indexDocument.head().selectFirst("title");
-            if (elm != null) {
-                String appShellTitle = elm.text().isEmpty() ? elm.data() : elm.text();
+            String appShellTitle = getTitle(indexDocument);
+            if (appShellTitle != null) {
                 UI.getCurrent().getInternals().setAppShellTitle(appShellTitle);
             }
         }
     }
 
+    private static String getTitle(Document indexDocument) {
+        Element elm = indexDocument.head().selectFirst("title");
+        if (elm == null) {
+            return null;
+        }
+        return elm.text().isEmpty() ? elm.data() : elm.text();
+    }
+
     private void addDevmodeGizmo(Document indexDocument, VaadinSession session,
             VaadinRequest request) {
         VaadinService service = session.getService();
@@ -164,15 +231,24 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
 
     private void addInitialFlow(JsonObject initialJson, Document indexDocument,
                                 VaadinSession session) {
+        addCsrfToken(initialJson, session);
+        addInitialFlow(JsonUtil.stringify(initialJson), indexDocument);
+    }
+
+    private static void addCsrfToken(JsonObject initialJson,
+            VaadinSession session) {
         String csrfToken = session.getCsrfToken();
         if (csrfToken != null) {
             initialJson.put(CSRF_TOKEN, csrfToken);
         }
+    }
 
+    private static void addInitialFlow(String initialJson,
+            Document indexDocument) {
         Element elm = new Element("script");
         elm.attr("initial", "");
         elm.appendChild(new DataNode(
-                "window.Vaadin = {TypeScript: " + JsonUtil.stringify(initialJson) + "};"
+                "window.Vaadin = {TypeScript: " + initialJson + "};"
         ));
         indexDocument.head().insertChildren(0, elm);
     }
@@ -198,7 +274,7 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
         }
     }
 
-    private void configureErrorDialogStyles(Document document) {
+    private static void configureErrorDialogStyles(Document document) {
         Element styles = document.createElement("style");
         document.head().appendChild(styles);
         setupErrorDialogs(styles);
@@ -206,8 +282,12 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
 
     private static void prependBaseHref(VaadinRequest request,
             Document indexDocument) {
+        prependBaseHref(getServiceUrl(request), indexDocument);
+    }
+
+    private static void prependBaseHref(String baseHref,
+            Document indexDocument) {
         Elements base = indexDocument.head().getElementsByTag("base");
-        String baseHref = getServiceUrl(request);
         if (base.isEmpty()) {
             indexDocument.head().prependElement("base").attr("href", baseHref);
         } else {
@@ -267,6 +347,123 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
         }
     }
 
+    /**
+     * Gets the compiled index.html, compiling it if needed, or {@code null} if
+     * the page has to be built for each request.
+     */
+    private static CompiledIndexHtml getCompiledIndexHtml(
+            VaadinRequest request) {
+        VaadinService service = request.getService();
+        return service.getContext()
+                .getAttribute(CompiledIndexHtmlHolder.class,
+                        () -> new CompiledIndexHtmlHolder(
+                                isIndexHtmlStatic(service)
+                                        ? new CompiledIndexHtml(request)
+                                        : null)).compiledIndexHtml;
+    }
+
+    /**
+     * Checks whether the index.html is the same for all requests without
+     * listeners, apart from the base href and the initial data.
+     */
+    private static boolean isIndexHtmlStatic(VaadinService service) {
+        Class<? extends AppShellConfigurator> shell = AppShellRegistry
+                .getInstance(service.getContext()).getShell();
+        if (shell == null) {
+            return true;
+        }
+        try {
+            // The settings of the default implementation are static
+            return shell.getMethod("configurePage", AppShellSettings.class)
+                    .getDeclaringClass() == AppShellConfigurator.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    // Holds the compiled index.html, or null if the page has to be built for
+    // each request. Stored as a VaadinContext attribute like IndexHtmlHolder.
+    private static final class CompiledIndexHtmlHolder
+            implements Serializable {
+        private final CompiledIndexHtml compiledIndexHtml;
+
+        private CompiledIndexHtmlHolder(CompiledIndexHtml compiledIndexHtml) {
+            this.compiledIndexHtml = compiledIndexHtml;
+        }
+    }
+
+    /**
+     * The index.html of a production mode application with all modifications
+     * that don't depend on the request applied, as UTF-8 encoded chunks
+     * between the insertion points of the base href and the initial data.
+     */
+    private static final class CompiledIndexHtml implements Serializable {
+        private static final String BASE_HREF_MARKER = "vaadin-compiled-base-href";
+        private static final String INITIAL_JSON_MARKER = "vaadin-compiled-initial-json";
+
+        // byte[] for static chunks, the marker strings for insertion points
+        private final List<Object> parts = new ArrayList<>();
+        private final String title;
+
+        private CompiledIndexHtml(VaadinRequest request) {
+            VaadinService service = request.getService();
+            Document indexDocument = getCachedIndexHtmlDocument(service);
+
+            // The same modifications as for each request in the order they
+            // are done for each request
+            prependBaseHref(BASE_HREF_MARKER, indexDocument);
+            addInitialFlow(INITIAL_JSON_MARKER, indexDocument);
+            configureErrorDialogStyles(indexDocument);
+            setupPwa(indexDocument, service);
+            AppShellRegistry.getInstance(service.getContext())
+                    .modifyIndexHtml(indexDocument, request);
+            title = getTitle(indexDocument);
+
+            String html = indexDocument.html();
+            String baseHref = new Attribute("href", BASE_HREF_MARKER).html();
+            int start = 0;
+            while (start < html.length()) {
+                int baseHrefIndex = html.indexOf(baseHref, start);
+                int initialJsonIndex = html.indexOf(INITIAL_JSON_MARKER,
+                        start);
+                int end;
+                String marker;
+                if (baseHrefIndex >= 0 && (initialJsonIndex < 0
+                        || baseHrefIndex < initialJsonIndex)) {
+                    end = baseHrefIndex;
+                    marker = BASE_HREF_MARKER;
+                } else if (initialJsonIndex >= 0) {
+                    end = initialJsonIndex;
+                    marker = INITIAL_JSON_MARKER;
+                } else {
+                    end = html.length();
+                    marker = null;
+                }
+                parts.add(html.substring(start, end).getBytes(UTF_8));
+                if (marker == null) {
+                    break;
+                }
+                parts.add(marker);
+                start = end + (BASE_HREF_MARKER.equals(marker) ? baseHref.length()
+                        : marker.length());
+            }
+        }
+
+        private void write(OutputStream out, String baseHref,
+                String initialJson) throws IOException {
+            for (Object part : parts) {
+                if (BASE_HREF_MARKER.equals(part)) {
+                    out.write(new Attribute("href", baseHref).html()
+                            .getBytes(UTF_8));
+                } else if (INITIAL_JSON_MARKER.equals(part)) {
+                    out.write(initialJson.getBytes(UTF_8));
+                } else {
+                    out.write((byte[]) part);
+                }
+            }
+        }
+    }
+
     private static Logger getLogger() {
         return LoggerFactory.getLogger(IndexHtmlRequestHandler.class);
     }
@@ -204,11 +204,29 @@ public class PushHandler {
             }
 
             UI ui = null;
+            UI lockedUI = null;
+            boolean sessionLocked = true;
             session.lock();
             try {
                 ui = service.findUI(vaadinRequest);
                 assert UI.getCurrent() == ui;
 
+                if (ui != null && session.isPerUILocking()) {
+                    /*
+                     * Only the UI is kept locked while running the callback so
+                     * that messages for other UIs in the same session can be
+                     * handled concurrently
+                     */
+                    session.unlock();
+                    sessionLocked = false;
+                    ui.getInternals().lock();
+                    lockedUI = ui;
+                    if (ui.getSession() == null) {
+                        // The UI was closed before the lock was acquired
+                        ui = null;
+                    }
+                }
+
                 if (ui == null) {
                     sendNotificationAndDisconnect(resource,
                             VaadinService.createUINotFoundJSON(true));
@@ -241,7 +259,12 @@ public class PushHandler {
                 callErrorHandler(session, e);
             } finally {
                 try {
-                    session.unlock();
+                    if (lockedUI != null) {
+                        lockedUI.getInternals().unlock();
+                    }
+                    if (sessionLocked) {
+                        session.unlock();
+                    }
                 } catch (Exception e) {
                     getLogger().warn("Error while unlocking session", e);
                     // can't call ErrorHandler, we (hopefully) don't have a lock
@@ -342,6 +365,8 @@ public class PushHandler {
         }
 
         UI ui;
+        UI lockedUI = null;
+        boolean sessionLocked = true;
         session.lock();
         try {
             VaadinSession.setCurrent(session);
@@ -373,6 +398,13 @@ public class PushHandler {
                 }
             }
 
+            if (session.isPerUILocking()) {
+                session.unlock();
+                sessionLocked = false;
+                ui.getInternals().lock();
+                lockedUI = ui;
+            }
+
             PushMode pushMode = ui.getPushConfiguration().getPushMode();
             AtmospherePushConnection pushConnection = getConnectionForUI(ui);
 
@@ -406,7 +438,12 @@ public class PushHandler {
             callErrorHandler(session, e);
         } finally {
             try {
-                session.unlock();
+                if (lockedUI != null) {
+                    lockedUI.getInternals().unlock();
+                }
+                if (sessionLocked) {
+                    session.unlock();
+                }
             } catch (Exception e) {
                 getLogger().warn("Error while unlocking session", e);
                 // can't call ErrorHandler, we (hopefully) don't have a lock
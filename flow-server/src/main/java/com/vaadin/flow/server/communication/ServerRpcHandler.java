@@ -333,6 +333,10 @@ public class ServerRpcHandler implements Serializable {
             // been accepted by the client
             ui.getInternals().getDependencyList().clearPendingSendToClient();
 
+            // The same goes for constants and string table entries, which are
+            // referenced by id in the changes of the full re-build
+            ui.getInternals().getConstantPool().reset();
+
             // Signal by exception instead of return value to keep the method
             // signature for source and binary compatibility
             throw new ResynchronizationRequiredException();
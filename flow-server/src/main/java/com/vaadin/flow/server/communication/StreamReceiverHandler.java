@@ -183,11 +183,11 @@ public class StreamReceiverHandler implements Serializable {
                         request, streamReceiver, owner);
             }
         } catch (Exception exception) {
-            session.lock();
+            lock(session);
             try {
                 session.getErrorHandler().error(new ErrorEvent(exception));
             } finally {
-                session.unlock();
+                unlock(session);
             }
         }
         sendUploadResponse(response, success);
@@ -352,7 +352,7 @@ public class StreamReceiverHandler implements Serializable {
             InputStream inputStream, StreamReceiver streamReceiver,
             String filename, String mimeType, long contentLength,
             StateNode node) throws UploadException {
-        session.lock();
+        lock(session);
         try {
             if (node == null) {
                 throw new UploadException(
@@ -363,7 +363,7 @@ public class StreamReceiverHandler implements Serializable {
                         + node.getId() + " because the component was disabled");
             }
         } finally {
-            session.unlock();
+            unlock(session);
         }
         try {
             // Store ui reference so we can do cleanup even if node is
@@ -376,11 +376,11 @@ public class StreamReceiverHandler implements Serializable {
             }
             return result.getSecond() == UploadStatus.OK;
         } catch (Exception e) {
-            session.lock();
+            lock(session);
             try {
                 session.getErrorHandler().error(new ErrorEvent(e));
             } finally {
-                session.unlock();
+                unlock(session);
             }
         }
         return false;
@@ -440,11 +440,11 @@ public class StreamReceiverHandler implements Serializable {
 
     private void cleanStreamVariable(VaadinSession session,
             StreamReceiver streamReceiver) {
-        session.lock();
+        lock(session);
         try {
             session.getResourceRegistry().unregisterResource(streamReceiver);
         } finally {
-            session.unlock();
+            unlock(session);
         }
     }
 
@@ -465,13 +465,13 @@ public class StreamReceiverHandler implements Serializable {
         boolean success = false;
         try {
             boolean listenProgress;
-            session.lock();
+            lock(session);
             try {
                 streamVariable.streamingStarted(startedEvent);
                 out = streamVariable.getOutputStream();
                 listenProgress = streamVariable.listenProgress();
             } finally {
-                session.unlock();
+                unlock(session);
             }
 
             // Gets the output target stream
@@ -510,11 +510,11 @@ public class StreamReceiverHandler implements Serializable {
             out.close();
             StreamVariable.StreamingEndEvent event = new StreamingEndEventImpl(
                     filename, type, totalBytes);
-            session.lock();
+            lock(session);
             try {
                 streamVariable.streamingFinished(event);
             } finally {
-                session.unlock();
+                unlock(session);
             }
             success = true;
         } catch (UploadInterruptedException e) {
@@ -522,17 +522,17 @@ public class StreamReceiverHandler implements Serializable {
             tryToCloseStream(out);
             StreamVariable.StreamingErrorEvent event = new StreamingErrorEventImpl(
                     filename, type, contentLength, totalBytes, e);
-            session.lock();
+            lock(session);
             try {
                 streamVariable.streamingFailed(event);
             } finally {
-                session.unlock();
+                unlock(session);
             }
             // Note, we are not throwing interrupted exception forward as it is
             // not a terminal level error like all other exception.
         } catch (final Exception e) {
             tryToCloseStream(out);
-            session.lock();
+            lock(session);
             try {
                 StreamVariable.StreamingErrorEvent event = new StreamingErrorEventImpl(
                         filename, type, contentLength, totalBytes, e);
@@ -541,13 +541,35 @@ public class StreamReceiverHandler implements Serializable {
                 // terminalErrorHandler)
                 throw new UploadException(e);
             } finally {
-                session.unlock();
+                unlock(session);
             }
         }
         return new Pair<>(startedEvent.isDisposed(),
                 success ? UploadStatus.OK : UploadStatus.ERROR);
     }
 
+    /*
+     * With per UI locking, the stream variable listeners may access the UI, so
+     * they are run holding the lock of the UI instead of the session lock.
+     */
+    private static void lock(VaadinSession session) {
+        UI ui = UI.getCurrent();
+        if (ui != null && session.isPerUILocking()) {
+            ui.getInternals().lock();
+        } else {
+            session.lock();
+        }
+    }
+
+    private static void unlock(VaadinSession session) {
+        UI ui = UI.getCurrent();
+        if (ui != null && session.isPerUILocking()) {
+            ui.getInternals().unlock();
+        } else {
+            session.unlock();
+        }
+    }
+
     private long updateProgress(VaadinSession session,
             StreamVariable streamVariable,
             StreamingProgressEventImpl progressEvent, long lastStreamingEvent,
@@ -557,11 +579,11 @@ public class StreamReceiverHandler implements Serializable {
         // events are sent in intervals, or at the end of the file.
         if (lastStreamingEvent + getProgressEventInterval() <= now
                 || bytesReadToBuffer <= 0) {
-            session.lock();
+            lock(session);
             try {
                 streamVariable.onProgress(progressEvent);
             } finally {
-                session.unlock();
+                unlock(session);
             }
         }
         return now;
@@ -84,18 +84,14 @@ public class StreamRequestHandler implements RequestHandler {
             return false;
         }
 
-        Optional<AbstractStreamResource> abstractStreamResource;
-        session.lock();
-        try {
-            abstractStreamResource = StreamRequestHandler.getPathUri(pathInfo)
-                    .flatMap(session.getResourceRegistry()::getResource);
-            if (!abstractStreamResource.isPresent()) {
-                response.sendError(HttpServletResponse.SC_NOT_FOUND,
-                        "Resource is not found for path=" + pathInfo);
-                return true;
-            }
-        } finally {
-            session.unlock();
+        // The registry is looked up without locking the session
+        Optional<AbstractStreamResource> abstractStreamResource = StreamRequestHandler
+                .getPathUri(pathInfo)
+                .flatMap(session.getResourceRegistry()::getResource);
+        if (!abstractStreamResource.isPresent()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND,
+                    "Resource is not found for path=" + pathInfo);
+            return true;
         }
 
         if (abstractStreamResource.isPresent()) {
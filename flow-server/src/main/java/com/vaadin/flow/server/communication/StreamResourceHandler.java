@@ -21,7 +21,11 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import com.vaadin.flow.internal.Pair;
+import com.vaadin.flow.server.RangeStreamResourceWriter;
 import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.server.StreamResourceWriter;
 import com.vaadin.flow.server.VaadinRequest;
@@ -31,6 +35,10 @@ import com.vaadin.flow.server.VaadinSession;
 
 /**
  * Handles {@link StreamResource} instances registered in {@link VaadinSession}.
+ * <p>
+ * Single byte ranges are supported for resources with a
+ * {@link RangeStreamResourceWriter}. Other range requests are answered with
+ * the whole content.
  *
  * @author Vaadin Ltd
  * @since 1.0
@@ -38,6 +46,9 @@ import com.vaadin.flow.server.VaadinSession;
  */
 public class StreamResourceHandler implements Serializable {
 
+    private static final Pattern RANGE_HEADER_PATTERN = Pattern
+            .compile("^bytes=\\s*([0-9]*)-([0-9]*)\\s*$");
+
     /**
      * Handle sending for a stream resource request.
      *
@@ -57,8 +68,9 @@ public class StreamResourceHandler implements Serializable {
             VaadinResponse response, StreamResource streamResource)
             throws IOException {
 
+        // The headers are resolved without locking the session. Writers lock
+        // the session themselves if they need access to application data.
         StreamResourceWriter writer;
-        session.lock();
         try {
             ServletContext context = ((VaadinServletRequest) request)
                     .getServletContext();
@@ -73,9 +85,6 @@ public class StreamResourceHandler implements Serializable {
         } catch (Exception exception) {
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             throw exception;
-
-        } finally {
-            session.unlock();
         }
         // don't use here "try resource" syntax sugar because in case there is
         // an exception the {@code outputStream} will be closed before "catch"
@@ -83,8 +92,13 @@ public class StreamResourceHandler implements Serializable {
         // effect being called after closing the stream (see #8740).
         OutputStream outputStream = null;
         try {
-            outputStream = response.getOutputStream();
-            writer.accept(outputStream, session);
+            if (writer instanceof RangeStreamResourceWriter) {
+                outputStream = writeRange((RangeStreamResourceWriter) writer,
+                        session, request, response);
+            } else {
+                outputStream = response.getOutputStream();
+                writer.accept(outputStream, session);
+            }
         } catch (Exception exception) {
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             throw exception;
@@ -95,4 +109,71 @@ public class StreamResourceHandler implements Serializable {
         }
     }
 
+    private OutputStream writeRange(RangeStreamResourceWriter writer,
+            VaadinSession session, VaadinRequest request,
+            VaadinResponse response) throws IOException {
+        long length = writer.getLength(session);
+        long start = 0;
+        long count = length;
+        if (length >= 0) {
+            response.setHeader("Accept-Ranges", "bytes");
+            String rangeHeader = request.getHeader("Range");
+            Pair<Long, Long> range = rangeHeader == null ? null
+                    : parseRange(rangeHeader, length);
+            if (range != null && range.getFirst() >= length) {
+                response.setStatus(416); // Range Not Satisfiable
+                response.setHeader("Content-Range", "bytes */" + length);
+                return null;
+            } else if (range != null) {
+                start = range.getFirst();
+                count = range.getSecond() - start + 1;
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader("Content-Range", String.format(
+                        "bytes %d-%d/%d", start, range.getSecond(), length));
+            }
+            // VaadinResponse.setContentLength doesn't support long values
+            response.setHeader("Content-Length", Long.toString(count));
+        } else {
+            count = Long.MAX_VALUE;
+        }
+        OutputStream outputStream = response.getOutputStream();
+        writer.accept(outputStream, session, start, count);
+        return outputStream;
+    }
+
+    /**
+     * Parses a single byte range of a "Range" header.
+     *
+     * @return the first and last index of the range, with a first index not
+     *         smaller than {@code length} if the range can't be satisfied, or
+     *         {@code null} if the header should be ignored
+     */
+    private static Pair<Long, Long> parseRange(String rangeHeader,
+            long length) {
+        Matcher matcher = RANGE_HEADER_PATTERN.matcher(rangeHeader);
+        // Multiple ranges are not supported, the whole content is sent instead
+        if (!matcher.matches() || matcher.group(1).isEmpty()
+                && matcher.group(2).isEmpty()) {
+            return null;
+        }
+        try {
+            if (matcher.group(1).isEmpty()) {
+                // Suffix range with the number of bytes at the end
+                long suffixLength = Long.parseLong(matcher.group(2));
+                return suffixLength == 0 ? new Pair<>(length, length)
+                        : new Pair<>(Math.max(0, length - suffixLength),
+                                length - 1);
+            }
+            long first = Long.parseLong(matcher.group(1));
+            long last = matcher.group(2).isEmpty() ? length - 1
+                    : Math.min(Long.parseLong(matcher.group(2)), length - 1);
+            if (first < length && last < first) {
+                return null;
+            }
+            return new Pair<>(first, last);
+        } catch (NumberFormatException e) {
+            // Too large numbers
+            return null;
+        }
+    }
 }
@@ -16,18 +16,22 @@
 
 package com.vaadin.flow.server.communication;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.StringWriter;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.apache.commons.io.output.CountingOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.internal.JavaScriptBootstrapUI;
+import com.vaadin.flow.internal.CborEncoder;
+import com.vaadin.flow.internal.JsonUtils;
 import com.vaadin.flow.server.HandlerHelper;
 import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.SessionExpiredHandler;
@@ -38,6 +42,7 @@ import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.ServerRpcHandler.InvalidUIDLSecurityKeyException;
 import com.vaadin.flow.server.communication.ServerRpcHandler.ResynchronizationRequiredException;
+import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
@@ -67,7 +72,7 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         implements SessionExpiredHandler {
 
 
-    private ServerRpcHandler rpcHandler;
+    private volatile ServerRpcHandler rpcHandler;
 
     public static final Pattern HASH_PATTERN = Pattern.compile("window.location.hash ?= ?'(.*?)'");
     public static final Pattern URL_PATTERN = Pattern.compile("^(.*)#(.+)$");
@@ -96,23 +101,66 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         return new ServerRpcHandler();
     }
 
+    @Override
+    public boolean handleRequest(VaadinSession session, VaadinRequest request,
+            VaadinResponse response) throws IOException {
+        if (!session.isPerUILocking() || !canHandleRequest(request)) {
+            return super.handleRequest(session, request, response);
+        }
+
+        /*
+         * With per UI locking, the session is only locked for finding the UI
+         * so that requests for other UIs in the same session can be handled
+         * concurrently
+         */
+        UI uI;
+        session.lock();
+        try {
+            uI = session.getService().findUI(request);
+        } finally {
+            session.unlock();
+        }
+        if (uI == null) {
+            return writeUINotFound(response);
+        }
+
+        uI.getInternals().lock();
+        try {
+            if (uI.getSession() == null) {
+                // The UI was closed before the lock was acquired
+                return writeUINotFound(response);
+            }
+            return handleUidl(session, uI, request, response);
+        } finally {
+            uI.getInternals().unlock();
+        }
+    }
+
     @Override
     public boolean synchronizedHandleRequest(VaadinSession session,
             VaadinRequest request, VaadinResponse response) throws IOException {
         UI uI = session.getService().findUI(request);
         if (uI == null) {
-            // This should not happen but it will if the UI has been closed. We
-            // really don't want to see it in the server logs though
-            commitJsonResponse(response,
-                    VaadinService.createUINotFoundJSON(false));
-            return true;
+            return writeUINotFound(response);
         }
+        return handleUidl(session, uI, request, response);
+    }
 
-        StringWriter stringWriter = new StringWriter();
+    private boolean writeUINotFound(VaadinResponse response)
+            throws IOException {
+        // This should not happen but it will if the UI has been closed. We
+        // really don't want to see it in the server logs though
+        commitJsonResponse(response, VaadinService.createUINotFoundJSON(false));
+        return true;
+    }
 
+    private boolean handleUidl(VaadinSession session, UI uI,
+            VaadinRequest request, VaadinResponse response) throws IOException {
+        UidlWriter uidlWriter = new UidlWriter();
+        JsonObject uidl;
         try {
             getRpcHandler(session).handleRpc(uI, request.getReader(), request);
-            writeUidl(uI, stringWriter, false);
+            uidl = prepareUidl(uI, false, uidlWriter);
         } catch (JsonException e) {
             getLogger().error("Error writing JSON to response", e);
             // Refresh on client side
@@ -126,12 +174,16 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
             return true;
         } catch (ResynchronizationRequiredException e) { // NOSONAR
             // Resync on the client side
-            writeUidl(uI, stringWriter, true);
-        } finally {
-            stringWriter.close();
+            uidl = prepareUidl(uI, true, uidlWriter);
         }
 
-        commitJsonResponse(response, stringWriter.toString());
+        long responseSize;
+        if (isBinaryUidlAccepted(session, request)) {
+            responseSize = commitBinaryUidlResponse(response, uidl);
+        } else {
+            responseSize = commitUidlResponse(response, uidl);
+        }
+        uidlWriter.responseWritten(responseSize);
         return true;
     }
 
@@ -143,19 +195,29 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
 
     void writeUidl(UI ui, Writer writer, boolean resync)
             throws IOException {
-        JsonObject uidl = createUidl(ui, resync);
+        writeUidl(prepareUidl(ui, resync, new UidlWriter()), writer);
+    }
+
+    private JsonObject prepareUidl(UI ui, boolean resync,
+            UidlWriter uidlWriter) {
+        JsonObject uidl = createUidl(ui, resync, uidlWriter);
 
         if (ui instanceof JavaScriptBootstrapUI) {
             removeOffendingMprHashFragment(uidl);
         }
+        return uidl;
+    }
 
+    private static void writeUidl(JsonObject uidl, Writer writer)
+            throws IOException {
         // some dirt to prevent cross site scripting
-        String responseString = "for(;;);[" + uidl.toJson() + "]";
-        writer.write(responseString);
+        writer.write("for(;;);[");
+        JsonUtils.writeJson(uidl, writer);
+        writer.write(']');
     }
 
-    JsonObject createUidl(UI ui, boolean resync) {
-        return new UidlWriter().createUidl(ui, false, resync);
+    JsonObject createUidl(UI ui, boolean resync, UidlWriter uidlWriter) {
+        return uidlWriter.createUidl(ui, false, resync);
     }
 
     private static final Logger getLogger() {
@@ -184,7 +246,9 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
     }
 
     private ServerRpcHandler getRpcHandler(VaadinSession session) {
-        session.checkHasLock();
+        if (!session.isPerUILocking()) {
+            session.checkHasLock();
+        }
         if (rpcHandler == null) {
             rpcHandler = createRpcHandler();
         }
@@ -220,6 +284,78 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         outputStream.flush();
     }
 
+    /**
+     * Commit the UIDL response by streaming it to the response as UTF-8.
+     * <p>
+     * The UIDL object has already been fully created at this point, so nothing
+     * that could require writing a critical notification instead of the
+     * response can happen anymore. The response is encoded straight into the
+     * output stream without creating an intermediate string or byte array of
+     * the whole response.
+     *
+     * @param response
+     *            The response to write to
+     * @param uidl
+     *            The UIDL to write
+     * @return the number of bytes written
+     * @throws IOException
+     *             If there was an exception while writing to the output
+     */
+    static long commitUidlResponse(VaadinResponse response, JsonObject uidl)
+            throws IOException {
+        response.setContentType(JsonConstants.JSON_CONTENT_TYPE);
+
+        // Ensure that the browser does not cache UIDL responses.
+        // iOS 6 Safari requires this (#9732)
+        response.setHeader("Cache-Control", "no-cache");
+
+        CountingOutputStream outputStream = new CountingOutputStream(
+                response.getOutputStream());
+        Writer writer = new OutputStreamWriter(outputStream, UTF_8);
+        writeUidl(uidl, writer);
+        // NOTE GateIn requires the buffers to be flushed to work
+        writer.flush();
+        return outputStream.getByteCount();
+    }
+
+    /**
+     * Commit the UIDL response encoded as CBOR instead of JSON.
+     *
+     * @param response
+     *            The response to write to
+     * @param uidl
+     *            The UIDL to write
+     * @return the number of bytes written
+     * @throws IOException
+     *             If there was an exception while writing to the output
+     */
+    static long commitBinaryUidlResponse(VaadinResponse response,
+            JsonObject uidl) throws IOException {
+        response.setContentType(ApplicationConstants.UIDL_BINARY_CONTENT_TYPE);
+
+        // Ensure that the browser does not cache UIDL responses.
+        // iOS 6 Safari requires this (#9732)
+        response.setHeader("Cache-Control", "no-cache");
+
+        CountingOutputStream counter = new CountingOutputStream(
+                response.getOutputStream());
+        OutputStream outputStream = new BufferedOutputStream(counter);
+        CborEncoder.encode(uidl, outputStream);
+        outputStream.flush();
+        return counter.getByteCount();
+    }
+
+    private static boolean isBinaryUidlAccepted(VaadinSession session,
+            VaadinRequest request) {
+        if (!session.getService().getDeploymentConfiguration()
+                .isBinaryUidl()) {
+            return false;
+        }
+        String accept = request.getHeader("Accept");
+        return accept != null && accept
+                .contains(ApplicationConstants.UIDL_BINARY_CONTENT_TYPE);
+    }
+
     private void removeOffendingMprHashFragment(JsonObject uidl) {
         if (!uidl.hasKey(EXECUTE)) {
             return;
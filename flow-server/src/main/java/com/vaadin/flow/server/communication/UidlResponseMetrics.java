@@ -0,0 +1,48 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.Serializable;
+
+import com.vaadin.flow.server.VaadinService;
+
+/**
+ * Receives statistics about each UIDL response created by {@link UidlWriter}.
+ * <p>
+ * An instance can be installed using
+ * {@link VaadinService#setUidlResponseMetrics(UidlResponseMetrics)}, e.g. from
+ * a {@link com.vaadin.flow.server.VaadinServiceInitListener}. No statistics
+ * are collected unless an instance has been installed.
+ * <p>
+ * The method is invoked while holding the session lock of the UI that the
+ * response belongs to, or only the UI lock if per UI locking is enabled, but
+ * responses for different sessions and UIs are created concurrently, so
+ * implementations must be thread safe.
+ *
+ * @see InMemoryUidlResponseMetrics
+ * @since
+ */
+@FunctionalInterface
+public interface UidlResponseMetrics extends Serializable {
+
+    /**
+     * Records the statistics of a created UIDL response.
+     *
+     * @param statistics
+     *            the statistics of the response, not {@code null}
+     */
+    void responseCreated(UidlResponseStatistics statistics);
+}
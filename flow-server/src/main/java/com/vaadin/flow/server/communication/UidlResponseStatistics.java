@@ -0,0 +1,170 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.vaadin.flow.internal.StateTree;
+import com.vaadin.flow.internal.change.NodeChange;
+
+/**
+ * Statistics about a single UIDL response, passed to
+ * {@link UidlResponseMetrics}.
+ *
+ * @since
+ */
+public class UidlResponseStatistics implements Serializable {
+
+    private final String location;
+    private final int uiId;
+    private final int dirtyNodeCount;
+    private final Map<Class<? extends NodeChange>, Integer> changeCounts;
+    private final long beforeClientResponseNanos;
+    private final long encodeNanos;
+    private final long responseSize;
+
+    /**
+     * Creates a new statistics instance.
+     *
+     * @param location
+     *            the path of the active view of the UI, not {@code null}
+     * @param uiId
+     *            the id of the UI
+     * @param dirtyNodeCount
+     *            the number of state nodes that had changes to send
+     * @param changeCounts
+     *            the number of changes by change type, not {@code null}
+     * @param beforeClientResponseNanos
+     *            the time spent running before client response executions,
+     *            in nanoseconds
+     * @param encodeNanos
+     *            the time spent collecting and encoding changes, in
+     *            nanoseconds
+     * @param responseSize
+     *            the number of bytes written to the client for the response,
+     *            or -1 if it is not known
+     */
+    public UidlResponseStatistics(String location, int uiId,
+            int dirtyNodeCount,
+            Map<Class<? extends NodeChange>, Integer> changeCounts,
+            long beforeClientResponseNanos, long encodeNanos,
+            long responseSize) {
+        this.location = Objects.requireNonNull(location);
+        this.uiId = uiId;
+        this.dirtyNodeCount = dirtyNodeCount;
+        this.changeCounts = Collections
+                .unmodifiableMap(new HashMap<>(changeCounts));
+        this.beforeClientResponseNanos = beforeClientResponseNanos;
+        this.encodeNanos = encodeNanos;
+        this.responseSize = responseSize;
+    }
+
+    /**
+     * Gets the path of the view that was active in the UI when the response
+     * was created.
+     *
+     * @return the location path, not {@code null}
+     */
+    public String getLocation() {
+        return location;
+    }
+
+    /**
+     * Gets the id of the UI that the response was created for.
+     *
+     * @return the UI id
+     */
+    public int getUIId() {
+        return uiId;
+    }
+
+    /**
+     * Gets the number of state nodes that had changes included in the
+     * response.
+     *
+     * @return the number of dirty nodes
+     */
+    public int getDirtyNodeCount() {
+        return dirtyNodeCount;
+    }
+
+    /**
+     * Gets the number of changes in the response grouped by the type of the
+     * change.
+     *
+     * @return an unmodifiable map of change counts, not {@code null}
+     */
+    public Map<Class<? extends NodeChange>, Integer> getChangeCounts() {
+        return changeCounts;
+    }
+
+    /**
+     * Gets the number of changes of the given type in the response.
+     *
+     * @param changeType
+     *            the change type, not {@code null}
+     * @return the number of changes of the given type
+     */
+    public int getChangeCount(Class<? extends NodeChange> changeType) {
+        return changeCounts.getOrDefault(changeType, 0);
+    }
+
+    /**
+     * Gets the total number of changes in the response.
+     *
+     * @return the total number of changes
+     */
+    public int getTotalChangeCount() {
+        return changeCounts.values().stream().mapToInt(Integer::intValue)
+                .sum();
+    }
+
+    /**
+     * Gets the time spent in
+     * {@link StateTree#runExecutionsBeforeClientResponse()}.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getBeforeClientResponseNanos() {
+        return beforeClientResponseNanos;
+    }
+
+    /**
+     * Gets the time spent collecting the state tree changes and encoding them
+     * to JSON.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getEncodeNanos() {
+        return encodeNanos;
+    }
+
+    /**
+     * Gets the number of bytes written to the client for the response, in the
+     * format that was actually used, e.g. JSON encoded as UTF-8 or CBOR. The
+     * size is not known for the initial response embedded in the bootstrap
+     * page.
+     *
+     * @return the response size in bytes, or -1 if it is not known
+     */
+    public long getResponseSize() {
+        return responseSize;
+    }
+}
@@ -25,6 +25,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +50,7 @@ import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.internal.change.NodeAttachChange;
 import com.vaadin.flow.internal.change.NodeChange;
+import com.vaadin.flow.internal.change.SubtreeTemplateChange;
 import com.vaadin.flow.internal.nodefeature.ComponentMapping;
 import com.vaadin.flow.internal.nodefeature.ReturnChannelMap;
 import com.vaadin.flow.internal.nodefeature.ReturnChannelRegistration;
@@ -118,8 +120,43 @@ public class UidlWriter implements Serializable {
 
     }
 
+    /**
+     * Collects the statistics of a single response for
+     * {@link UidlResponseMetrics}.
+     */
+    private static class StatisticsCollector implements Serializable {
+        private final Map<Class<? extends NodeChange>, Integer> changeCounts = new HashMap<>();
+        private StateNode previousNode;
+        private int dirtyNodeCount;
+        private long beforeClientResponseNanos;
+        private long encodeNanos;
+        private UidlResponseMetrics metrics;
+        private String location;
+        private int uiId;
+
+        private void addChange(NodeChange change) {
+            // Changes are collected node by node
+            if (change.getNode() != previousNode) {
+                previousNode = change.getNode();
+                dirtyNodeCount++;
+            }
+            changeCounts.merge(change.getClass(), 1, Integer::sum);
+        }
+
+        private UidlResponseStatistics build(long responseSize) {
+            return new UidlResponseStatistics(location, uiId, dirtyNodeCount,
+                    changeCounts, beforeClientResponseNanos, encodeNanos,
+                    responseSize);
+        }
+    }
+
+    private StatisticsCollector statistics;
+
     /**
      * Creates a JSON object containing all pending changes to the given UI.
+     * <p>
+     * If {@link UidlResponseMetrics} are installed, the statistics of the
+     * response are reported when {@link #responseWritten(long)} is called.
      *
      * @param ui
      *            The {@link UI} whose changes to write
@@ -169,7 +206,11 @@ public class UidlWriter implements Serializable {
 
         JsonArray stateChanges = Json.createArray();
 
-        encodeChanges(ui, stateChanges);
+        UidlResponseMetrics metrics = service.getUidlResponseMetrics()
+                .orElse(null);
+        statistics = metrics == null ? null : new StatisticsCollector();
+
+        encodeChanges(ui, stateChanges, statistics);
 
         populateDependencies(response, uiInternals.getDependencyList(),
                 new ResolveContext(service, session.getBrowser()));
@@ -193,9 +234,61 @@ public class UidlWriter implements Serializable {
             response.put("timings", createPerformanceData(ui));
         }
         uiInternals.incrementServerId();
+
+        if (statistics != null) {
+            statistics.metrics = metrics;
+            statistics.location = uiInternals.getActiveViewLocation()
+                    .getPath();
+            statistics.uiId = ui.getUIId();
+        }
         return response;
     }
 
+    /**
+     * Reports the statistics of the response created by the latest
+     * {@link #createUidl(UI, boolean, boolean)} call to the installed
+     * {@link UidlResponseMetrics}, if any. Does nothing if the statistics have
+     * already been reported.
+     *
+     * @param responseSize
+     *            the number of bytes written to the client for the response,
+     *            or -1 if it is not known
+     * @since
+     */
+    public void responseWritten(long responseSize) {
+        if (statistics != null) {
+            StatisticsCollector collected = statistics;
+            statistics = null;
+            collected.metrics.responseCreated(collected.build(responseSize));
+        }
+    }
+
+    /**
+     * Gets the number of bytes the given string takes when encoded as UTF-8,
+     * without encoding it.
+     *
+     * @param string
+     *            the string to measure, not {@code null}
+     * @return the UTF-8 length of the string in bytes
+     */
+    static long getUtf8Length(String string) {
+        long length = 0;
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                // A surrogate pair is encoded as four bytes
+                length += 4;
+            } else if (!Character.isLowSurrogate(c)) {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
     /**
      * Creates a JSON object containing all pending changes to the given UI.
      *
@@ -380,20 +473,44 @@ public class UidlWriter implements Serializable {
      *            the UI
      * @param stateChanges
      *            a JSON array to put state changes into
+     * @param statistics
+     *            the collector for response statistics, or {@code null} if
+     *            statistics are not collected
      * @see StateTree#runExecutionsBeforeClientResponse()
      */
-    private void encodeChanges(UI ui, JsonArray stateChanges) {
+    private void encodeChanges(UI ui, JsonArray stateChanges,
+            StatisticsCollector statistics) {
         UIInternals uiInternals = ui.getInternals();
         StateTree stateTree = uiInternals.getStateTree();
 
+        long start = statistics == null ? 0 : System.nanoTime();
+
         stateTree.runExecutionsBeforeClientResponse();
 
+        if (statistics != null) {
+            long now = System.nanoTime();
+            statistics.beforeClientResponseNanos = now - start;
+            start = now;
+        }
+
         Set<Class<? extends Component>> componentsWithDependencies = new LinkedHashSet<>();
         stateTree.collectChanges(change -> {
+            if (statistics != null) {
+                statistics.addChange(change);
+            }
+
             if (attachesComponent(change)) {
                 ComponentMapping.getComponent(change.getNode())
                         .ifPresent(component -> addComponentHierarchy(ui,
                                 componentsWithDependencies, component));
+            } else if (change instanceof SubtreeTemplateChange) {
+                ((SubtreeTemplateChange) change).getNodes().stream()
+                        .filter(node -> node
+                                .hasFeature(ComponentMapping.class))
+                        .forEach(node -> ComponentMapping.getComponent(node)
+                                .ifPresent(component -> addComponentHierarchy(
+                                        ui, componentsWithDependencies,
+                                        component)));
             }
 
             // Encode the actual change
@@ -401,6 +518,10 @@ public class UidlWriter implements Serializable {
                     change.toJson(uiInternals.getConstantPool()));
         });
 
+        if (statistics != null) {
+            statistics.encodeNanos = System.nanoTime() - start;
+        }
+
         componentsWithDependencies
                 .forEach(uiInternals::addComponentDependencies);
     }
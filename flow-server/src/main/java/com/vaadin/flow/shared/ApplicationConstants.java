@@ -65,6 +65,19 @@ public class ApplicationConstants implements Serializable {
      */
     public static final String CLIENT_ROUTING = "clientRouting";
 
+    /**
+     * Configuration parameter telling the client that the server can send UIDL
+     * responses in the binary {@link #UIDL_BINARY_CONTENT_TYPE} format when
+     * the client asks for it through the <code>Accept</code> header.
+     */
+    public static final String BINARY_UIDL = "binaryUidl";
+
+    /**
+     * The content type of UIDL responses which are encoded as CBOR instead of
+     * JSON.
+     */
+    public static final String UIDL_BINARY_CONTENT_TYPE = "application/cbor";
+
     /**
      * Configuration parameter giving the (in some cases relative) URL to the
      * web application context root.
@@ -79,6 +79,11 @@ public class JsonConstants implements Serializable {
      */
     public static final String CHANGE_TYPE_CLEAR = "clear";
 
+    /**
+     * Change type for instantiating a subtree template.
+     */
+    public static final String CHANGE_TYPE_TEMPLATE = "template";
+
     /**
      * Key holding the feature of a change.
      */
@@ -90,7 +95,8 @@ public class JsonConstants implements Serializable {
     public static final String CHANGE_FEATURE_TYPE = "featType";
 
     /**
-     * Key holding the map key of the change.
+     * Key holding the map key of the change. The key is either a string or a
+     * number referring to a string in the constant pool string table.
      */
     public static final String CHANGE_MAP_KEY = "key";
 
@@ -104,6 +110,13 @@ public class JsonConstants implements Serializable {
      */
     public static final String CHANGE_SPLICE_ADD = "add";
 
+    /**
+     * Key holding string values to add for a splice. Each value is either a
+     * string or a number referring to a string in the constant pool string
+     * table.
+     */
+    public static final String CHANGE_SPLICE_ADD_STRINGS = "addStrings";
+
     /**
      * Key holding the number of items to remove for a splice.
      */
@@ -119,11 +132,34 @@ public class JsonConstants implements Serializable {
      */
     public static final String CHANGE_PUT_VALUE = "value";
 
+    /**
+     * Key holding a reference to a string in the constant pool string table
+     * used as the value of a put change.
+     */
+    public static final String CHANGE_PUT_VALUE_REFERENCE = "valueRef";
+
     /**
      * Key holder the node value of a put change.
      */
     public static final String CHANGE_PUT_NODE_VALUE = "nodeValue";
 
+    /**
+     * Key holding the constant pool id of the changes of a subtree template.
+     */
+    public static final String CHANGE_TEMPLATE_CHANGES = "changes";
+
+    /**
+     * Key holding the ids of the nodes of a subtree template instance. Node
+     * references in the template changes are indices to this array.
+     */
+    public static final String CHANGE_TEMPLATE_NODES = "nodes";
+
+    /**
+     * Key holding the values of a subtree template instance. Values in the
+     * template changes are indices to this array.
+     */
+    public static final String CHANGE_TEMPLATE_VALUES = "values";
+
     /**
      * Key holding the type in of messages sent from the client.
      */
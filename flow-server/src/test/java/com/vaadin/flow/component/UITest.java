@@ -7,8 +7,11 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.vaadin.flow.component.internal.PendingJavaScriptInvocation;
 import com.vaadin.flow.component.page.History;
@@ -51,11 +54,14 @@ import com.vaadin.flow.server.InvalidRouteConfigurationException;
 import com.vaadin.flow.server.MockServletConfig;
 import com.vaadin.flow.server.MockVaadinServletService;
 import com.vaadin.flow.server.MockVaadinSession;
+import com.vaadin.flow.server.SessionRouteRegistry;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinServlet;
 import com.vaadin.flow.server.VaadinServletRequest;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.WrappedSession;
 import com.vaadin.tests.util.AlwaysLockedVaadinSession;
 import com.vaadin.tests.util.MockUI;
 import org.hamcrest.CoreMatchers;
@@ -182,6 +188,21 @@ public class UITest {
                 new MockVaadinSession(new MockVaadinServletService()));
     }
 
+    private static MockUI createPerUILockingTestUI() {
+        MockVaadinSession session = new MockVaadinSession(
+                new MockVaadinServletService());
+        DeploymentConfiguration config = Mockito
+                .mock(DeploymentConfiguration.class);
+        Mockito.when(config.isPerUILocking()).thenReturn(true);
+        session.lock();
+        try {
+            session.setConfiguration(config);
+        } finally {
+            session.unlock();
+        }
+        return new MockUI(session);
+    }
+
     private static void initUI(UI ui, String initialLocation,
                                ArgumentCaptor<Integer> statusCodeCaptor)
             throws InvalidRouteConfigurationException {
@@ -1013,4 +1034,286 @@ public class UITest {
         }
     }
 
+    @Test
+    public void accessSynchronously_perUILocking_onlyUILocked()
+            throws Exception {
+        UI ui = createPerUILockingTestUI();
+        VaadinSession session = ui.getSession();
+        AtomicReference<Boolean> sessionLockAvailable = new AtomicReference<>();
+
+        ui.accessSynchronously(() -> {
+            assertTrue(ui.getInternals().getLockInstance()
+                    .isHeldByCurrentThread());
+            Assert.assertFalse(session.hasLock());
+            assertTrue(ui.getInternals().hasLock());
+
+            // Other threads can still lock the session
+            Thread thread = new Thread(() -> {
+                boolean locked = session.getLockInstance().tryLock();
+                if (locked) {
+                    session.getLockInstance().unlock();
+                }
+                sessionLockAvailable.set(locked);
+            });
+            thread.start();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        });
+
+        assertTrue(sessionLockAvailable.get());
+        Assert.assertFalse(
+                ui.getInternals().getLockInstance().isHeldByCurrentThread());
+    }
+
+    @Test
+    public void access_perUILocking_taskRunWhenUIUnlocked() {
+        UI ui = createPerUILockingTestUI();
+        AtomicInteger runCount = new AtomicInteger();
+
+        ui.getInternals().lock();
+        try {
+            ui.access(runCount::incrementAndGet);
+            assertEquals("Task should not run while the UI is locked", 0,
+                    runCount.get());
+        } finally {
+            ui.getInternals().unlock();
+        }
+
+        assertEquals("Task should run when the UI is unlocked", 1,
+                runCount.get());
+        assertTrue(ui.getInternals().getPendingAccessQueue().isEmpty());
+    }
+
+    @Test
+    public void access_perUILocking_sessionLockedByOtherThread_taskRun()
+            throws Exception {
+        UI ui = createPerUILockingTestUI();
+        VaadinSession session = ui.getSession();
+        AtomicInteger runCount = new AtomicInteger();
+
+        CountDownLatch sessionLocked = new CountDownLatch(1);
+        CountDownLatch taskRun = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            session.getLockInstance().lock();
+            try {
+                sessionLocked.countDown();
+                taskRun.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                session.getLockInstance().unlock();
+            }
+        });
+        thread.start();
+        sessionLocked.await();
+
+        Future<Void> future = ui.access(runCount::incrementAndGet);
+        taskRun.countDown();
+        thread.join();
+
+        assertTrue(future.isDone());
+        assertEquals(1, runCount.get());
+    }
+
+    @Test
+    public void accessSynchronously_perUILocking_uiOwnerWaitsForSessionLock_throws()
+            throws Exception {
+        UI ui = createPerUILockingTestUI();
+        VaadinSession session = ui.getSession();
+        ReentrantLock sessionLock = (ReentrantLock) session.getLockInstance();
+
+        CountDownLatch uiLocked = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            ui.getInternals().lock();
+            try {
+                uiLocked.countDown();
+                // Blocks until the main thread has released the session lock
+                sessionLock.lock();
+                sessionLock.unlock();
+            } finally {
+                ui.getInternals().unlock();
+            }
+        });
+
+        sessionLock.lock();
+        try {
+            thread.start();
+            uiLocked.await();
+            while (!sessionLock.hasQueuedThread(thread)) {
+                Thread.sleep(10);
+            }
+
+            ui.accessSynchronously(() -> Assert.fail(
+                    "Command should not be run when a deadlock is detected"));
+            Assert.fail("Deadlock should have been detected");
+        } catch (IllegalStateException expected) {
+            assertTrue(expected.getMessage().contains("session lock"));
+        } finally {
+            sessionLock.unlock();
+        }
+        thread.join();
+    }
+
+    @Test
+    public void checkHasLock_perUILocking_onlySessionLocked_throws() {
+        UI ui = createPerUILockingTestUI();
+        VaadinSession session = ui.getSession();
+
+        session.lock();
+        try {
+            Assert.assertFalse(ui.getInternals().hasLock());
+            ui.getInternals().checkHasLock();
+            Assert.fail("The session lock should not be enough");
+        } catch (IllegalStateException expected) {
+            // expected
+        } finally {
+            session.unlock();
+        }
+    }
+
+    @Test
+    public void requestEnd_perUILocking_uiOwnerWaitsForSessionLock_closedUIRemoved()
+            throws Exception {
+        VaadinService service = new MockVaadinServletService();
+        WrappedSession wrappedSession = Mockito.mock(WrappedSession.class);
+        Mockito.when(wrappedSession.getId()).thenReturn("session");
+        MockVaadinSession session = new MockVaadinSession(service) {
+            @Override
+            public WrappedSession getSession() {
+                return wrappedSession;
+            }
+        };
+        DeploymentConfiguration config = Mockito
+                .mock(DeploymentConfiguration.class);
+        Mockito.when(config.isPerUILocking()).thenReturn(true);
+        VaadinServletRequest request = Mockito
+                .mock(VaadinServletRequest.class);
+        Mockito.when(request.getAttribute(Matchers.anyString()))
+                .thenReturn(System.nanoTime());
+        UI ui = new MockUI(session);
+        session.lock();
+        try {
+            session.setConfiguration(config);
+            ui.doInit(request, session.getNextUIid());
+            session.addUI(ui);
+        } finally {
+            session.unlock();
+        }
+
+        CountDownLatch uiLocked = new CountDownLatch(1);
+        Thread uiOwner = new Thread(() -> {
+            ui.getInternals().lock();
+            try {
+                ui.close();
+                uiLocked.countDown();
+                // Wait for the cleanup to wait for this UI and then lock the
+                // session like UI level code does
+                while (!ui.getInternals().getLockInstance()
+                        .hasQueuedThreads()) {
+                    Thread.sleep(10);
+                }
+                session.lock();
+                session.unlock();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                ui.getInternals().unlock();
+            }
+        });
+        AtomicReference<Throwable> cleanupFailure = new AtomicReference<>();
+        Thread cleanup = new Thread(() -> {
+            VaadinSession.setCurrent(session);
+            try {
+                service.requestEnd(request, null, session);
+            } catch (Throwable t) {
+                cleanupFailure.set(t);
+            }
+        });
+
+        uiOwner.start();
+        uiLocked.await();
+        cleanup.start();
+        cleanup.join(10000);
+        uiOwner.join(10000);
+
+        Assert.assertFalse(cleanup.isAlive());
+        Assert.assertFalse(uiOwner.isAlive());
+        assertNull(cleanupFailure.get());
+        session.lock();
+        try {
+            assertTrue(session.getUIs().isEmpty());
+        } finally {
+            session.unlock();
+        }
+    }
+
+    @Test
+    public void navigate_perUILocking_onlyUILocked_navigationSucceeds()
+            throws Exception {
+        VaadinServletRequest request = Mockito
+                .mock(VaadinServletRequest.class);
+        VaadinResponse response = Mockito.mock(VaadinResponse.class);
+
+        VaadinServlet servlet = new VaadinServlet();
+        servlet.init(new MockServletConfig());
+        VaadinService service = servlet.getService();
+        service.setCurrentInstances(request, response);
+
+        MockVaadinSession session = new MockVaadinSession(service);
+        DeploymentConfiguration config = Mockito
+                .mock(DeploymentConfiguration.class);
+        Mockito.when(config.isProductionMode()).thenReturn(false);
+        Mockito.when(config.isPerUILocking()).thenReturn(true);
+
+        UI ui = new UI();
+        session.lock();
+        try {
+            session.setConfiguration(config);
+            ui.getInternals().setSession(session);
+
+            RouteConfiguration routeConfiguration = RouteConfiguration
+                    .forRegistry(ui.getInternals().getRouter().getRegistry());
+            routeConfiguration.update(() -> {
+                routeConfiguration.getHandledRegistry().clean();
+                Arrays.asList(RootNavigationTarget.class,
+                        FooBarNavigationTarget.class)
+                        .forEach(routeConfiguration::setAnnotatedRoute);
+            });
+            ui.doInit(request, 0);
+        } finally {
+            session.unlock();
+        }
+
+        ui.accessSynchronously(() -> {
+            Assert.assertFalse(session.hasLock());
+
+            ui.getInternals().getRouter().initializeUI(ui, request);
+            ui.navigate(FooBarNavigationTarget.class);
+            assertEquals("foo/bar",
+                    ui.getInternals().getActiveViewLocation().getPath());
+
+            ui.navigate(RootNavigationTarget.class);
+            assertEquals("",
+                    ui.getInternals().getActiveViewLocation().getPath());
+
+            Assert.assertFalse(session.hasLock());
+        });
+
+        session.lock();
+        try {
+            Assert.assertNotNull(
+                    "Session route registry should have been stored",
+                    session.getAttribute(SessionRouteRegistry.class));
+        } finally {
+            session.unlock();
+        }
+        List<HasElement> chain = ui.getInternals()
+                .getActiveRouterTargetsChain();
+        Assert.assertThat(chain.get(0),
+                CoreMatchers.instanceOf(RootNavigationTarget.class));
+    }
+
 }
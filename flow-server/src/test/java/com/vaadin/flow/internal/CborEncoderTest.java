@@ -0,0 +1,100 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import elemental.json.Json;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+
+public class CborEncoderTest {
+
+    @Test
+    public void encodeSmallIntegers() throws IOException {
+        assertEncoded(Json.create(0), 0x00);
+        assertEncoded(Json.create(23), 0x17);
+        assertEncoded(Json.create(24), 0x18, 0x18);
+        assertEncoded(Json.create(1000), 0x19, 0x03, 0xe8);
+        assertEncoded(Json.create(-1), 0x20);
+        assertEncoded(Json.create(-500), 0x39, 0x01, 0xf3);
+    }
+
+    @Test
+    public void encodeLargeInteger() throws IOException {
+        assertEncoded(Json.create(1000000), 0x1a, 0x00, 0x0f, 0x42, 0x40);
+        assertEncoded(Json.create(1000000000000d), 0x1b, 0x00, 0x00, 0x00,
+                0xe8, 0xd4, 0xa5, 0x10, 0x00);
+    }
+
+    @Test
+    public void encodeDecimal() throws IOException {
+        assertEncoded(Json.create(1.1), 0xfb, 0x3f, 0xf1, 0x99, 0x99, 0x99,
+                0x99, 0x99, 0x9a);
+    }
+
+    @Test
+    public void encodeNonFiniteNumbers_encodedAsNullLikeJson()
+            throws IOException {
+        for (double number : new double[] { Double.NaN,
+                Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY }) {
+            Assert.assertEquals("null", Json.create(number).toJson());
+            assertEncoded(Json.create(number), 0xf6);
+        }
+    }
+
+    @Test
+    public void encodeLiterals() throws IOException {
+        assertEncoded(Json.create(false), 0xf4);
+        assertEncoded(Json.create(true), 0xf5);
+        assertEncoded(Json.createNull(), 0xf6);
+    }
+
+    @Test
+    public void encodeStrings() throws IOException {
+        assertEncoded(Json.create(""), 0x60);
+        assertEncoded(Json.create("a"), 0x61, 0x61);
+        assertEncoded(Json.create("ü"), 0x62, 0xc3, 0xbc);
+    }
+
+    @Test
+    public void encodeArrayAndObject() throws IOException {
+        assertEncoded(JsonUtils.createArray(Json.create(1), Json.create(2)),
+                0x82, 0x01, 0x02);
+
+        JsonObject change = Json.createObject();
+        change.put("node", 1);
+        change.put("feat", 2);
+        assertEncoded(change, 0xa2, 0x64, 'n', 'o', 'd', 'e', 0x01, 0x64, 'f',
+                'e', 'a', 't', 0x02);
+    }
+
+    private static void assertEncoded(JsonValue value, int... expected)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CborEncoder.encode(value, out);
+
+        byte[] expectedBytes = new byte[expected.length];
+        for (int i = 0; i < expected.length; i++) {
+            expectedBytes[i] = (byte) expected[i];
+        }
+        Assert.assertArrayEquals(expectedBytes, out.toByteArray());
+    }
+}
@@ -74,4 +74,73 @@ public class ConstantPoolTest {
         Assert.assertNotEquals(constantId, otherId);
         Assert.assertTrue(constantPool.hasNewConstants());
     }
+
+    @Test
+    public void stringSeenOnce_noReference() {
+        Assert.assertEquals(-1, constantPool.getStringReference("my-class"));
+        Assert.assertFalse(constantPool.hasNewConstants());
+    }
+
+    @Test
+    public void stringSeenTwice_referenceRegistered() {
+        constantPool.getStringReference("my-class");
+        int reference = constantPool.getStringReference("my-class");
+
+        Assert.assertEquals(0, reference);
+        Assert.assertTrue(constantPool.hasNewConstants());
+
+        JsonObject dump = constantPool.dumpConstants();
+        Assert.assertEquals(1, dump.keys().length);
+        Assert.assertEquals("my-class", dump.getString("0"));
+
+        Assert.assertEquals(reference,
+                constantPool.getStringReference("my-class"));
+        Assert.assertFalse(constantPool.hasNewConstants());
+
+        constantPool.getStringReference("other-class");
+        Assert.assertEquals(1,
+                constantPool.getStringReference("other-class"));
+    }
+
+    @Test
+    public void reset_constantsAndStringsSentAgain() {
+        ConstantPoolKey reference = new ConstantPoolKey(Json.createObject());
+        String constantId = constantPool.getConstantId(reference);
+        constantPool.getStringReference("my-class");
+        constantPool.getStringReference("my-class");
+        constantPool.getStringReference("other-class");
+        constantPool.dumpConstants();
+
+        constantPool.reset();
+        Assert.assertFalse(constantPool.hasNewConstants());
+
+        Assert.assertEquals(constantId, constantPool.getConstantId(reference));
+        Assert.assertEquals(-1, constantPool.getStringReference("other-class"));
+        Assert.assertEquals(-1, constantPool.getStringReference("my-class"));
+        Assert.assertEquals(0, constantPool.getStringReference("my-class"));
+
+        JsonObject dump = constantPool.dumpConstants();
+        Assert.assertEquals("{}", dump.get(constantId).toJson());
+        Assert.assertEquals("my-class", dump.getString("0"));
+    }
+
+    @Test
+    public void shortString_noReference() {
+        constantPool.getStringReference("div");
+
+        Assert.assertEquals(-1, constantPool.getStringReference("div"));
+        Assert.assertFalse(constantPool.hasNewConstants());
+    }
+
+    @Test
+    public void stringTableFull_noReference() {
+        for (int i = 0; i < ConstantPool.MAX_STRING_COUNT; i++) {
+            constantPool.getStringReference("value" + i);
+            constantPool.getStringReference("value" + i);
+        }
+        constantPool.getStringReference("my-class");
+
+        Assert.assertEquals(-1, constantPool.getStringReference("my-class"));
+        Assert.assertEquals(0, constantPool.getStringReference("value0"));
+    }
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class IOUtilTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private byte[] content;
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        content = new byte[100000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        file = temporaryFolder.newFile();
+        Files.write(file.toPath(), content);
+    }
+
+    @Test
+    public void transferFile_range_rangeWritten() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Assert.assertEquals(1000, IOUtil.transferFile(file, 500, 1000, out));
+        Assert.assertArrayEquals(Arrays.copyOfRange(content, 500, 1500),
+                out.toByteArray());
+    }
+
+    @Test
+    public void transferFile_countBeyondEnd_restOfFileWritten()
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Assert.assertEquals(100,
+                IOUtil.transferFile(file, content.length - 100, 1000, out));
+        Assert.assertArrayEquals(
+                Arrays.copyOfRange(content, content.length - 100,
+                        content.length),
+                out.toByteArray());
+    }
+
+    @Test
+    public void transferFile_countOverflows_restOfFileWritten()
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Assert.assertEquals(content.length - 10,
+                IOUtil.transferFile(file, 10, Long.MAX_VALUE, out));
+        Assert.assertArrayEquals(
+                Arrays.copyOfRange(content, 10, content.length),
+                out.toByteArray());
+    }
+
+    @Test
+    public void transferFile_startBeyondEnd_nothingWritten()
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Assert.assertEquals(0,
+                IOUtil.transferFile(file, content.length + 1, 10, out));
+        Assert.assertEquals(0, out.size());
+    }
+
+    @Test
+    public void transferFile_shortTransfers_wholeRangeWritten()
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+        // Accepts only a few bytes per write, which ends each transfer early
+        WritableByteChannel slowTarget = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) throws IOException {
+                ByteBuffer slice = src.slice();
+                slice.limit(Math.min(slice.limit(), 7));
+                int written = target.write(slice);
+                src.position(src.position() + written);
+                return written;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+                // NOP
+            }
+        };
+
+        Assert.assertEquals(content.length - 3,
+                IOUtil.transferFile(file, 3, content.length, slowTarget));
+        Assert.assertArrayEquals(
+                Arrays.copyOfRange(content, 3, content.length),
+                out.toByteArray());
+    }
+}
@@ -15,6 +15,8 @@
  */
 package com.vaadin.flow.internal;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -320,6 +322,29 @@ public class JsonUtilsTest {
         }
     }
 
+    @Test
+    public void writeJson_sameOutputAsToJson() throws IOException {
+        JsonObject object = Json.createObject();
+        object.put("string", "a \"quoted\"\\ value\n\t\u2028\u0001");
+        object.put("integer", 42);
+        object.put("decimal", 4.56);
+        object.put("negative", -1);
+        object.put("nan", Double.NaN);
+        object.put("bool", true);
+        object.put("null", Json.createNull());
+        object.put("2", "numeric key");
+        object.put("10", "another numeric key");
+
+        JsonArray array = JsonUtils.createArray(Json.create("item"),
+                Json.create(1), Json.createObject(), Json.createArray());
+        object.put("array", array);
+
+        StringWriter writer = new StringWriter();
+        JsonUtils.writeJson(object, writer);
+
+        Assert.assertEquals(object.toJson(), writer.toString());
+    }
+
     @Test
     public void simpleBeanToJson() {
         JsonObject json = JsonUtils.beanToJson(new SimpleBean());
@@ -18,6 +18,7 @@ package com.vaadin.flow.internal;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
@@ -25,6 +26,7 @@ import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLStreamHandler;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -45,7 +47,9 @@ import org.apache.commons.fileupload.MultipartStream;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Matchers;
 import org.mockito.Mockito;
 
@@ -91,6 +95,9 @@ public class ResponseWriterTest {
                 createFileURLWithDataAndLength(FAULTY_CLASS_PATH_GZ, fileJsGzippedContents));
     }
 
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private ServletContext servletContext;
     private HttpServletRequest request;
     private HttpServletResponse response;
@@ -450,6 +457,42 @@ public class ResponseWriterTest {
         assertStatus(206);
     }
 
+    @Test
+    public void writeDataFromLocalFile() throws IOException {
+        URL url = createLocalFile();
+
+        CapturingServletOutputStream out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        responseWriter.writeResponseContents(PATH_JS, url, request, response);
+
+        Assert.assertArrayEquals(fileJsContents, out.getOutput());
+        Assert.assertEquals(fileJsContents.length,
+                responseContentLength.get());
+    }
+
+    @Test
+    public void writeByteRangeFromLocalFile() throws IOException {
+        URL url = createLocalFile();
+        mockRequestHeaders(new Pair<>("Range", "bytes=5-10"));
+
+        CapturingServletOutputStream out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        responseWriter.writeResponseContents(PATH_JS, url, request, response);
+
+        Assert.assertArrayEquals(Arrays.copyOfRange(fileJsContents, 5, 11),
+                out.getOutput());
+        Assert.assertEquals(6L, responseContentLength.get());
+        assertStatus(206);
+    }
+
+    private URL createLocalFile() throws IOException {
+        File file = temporaryFolder.newFile("file.js");
+        Files.write(file.toPath(), fileJsContents);
+        URL url = file.toURI().toURL();
+        Mockito.when(servletContext.getResource(PATH_JS)).thenReturn(url);
+        return url;
+    }
+
     private void assertResponse(byte[] expectedResponse) throws IOException {
         assertResponse(PATH_JS, expectedResponse);
     }
@@ -130,6 +130,23 @@ public class StateNodeTest {
         node.getFeature(ElementPropertyMap.class);
     }
 
+    @Test
+    public void collectChanges_unmappedFeatureChangeTrackerDiscarded() {
+        StateNode node = new StateNode(ElementData.class);
+        ElementPropertyMap unmapped = new ElementPropertyMap(node);
+
+        ArrayList<String> tracker = node.getChangeTracker(unmapped,
+                ArrayList::new);
+        Assert.assertSame(tracker,
+                node.getChangeTracker(unmapped, ArrayList::new));
+
+        node.collectChanges(change -> {
+        });
+
+        Assert.assertNotSame(tracker,
+                node.getChangeTracker(unmapped, ArrayList::new));
+    }
+
     @Test
     public void attachDetachChangeCollection() {
         StateNode node = createEmptyNode();
@@ -231,6 +231,33 @@ public class StateTreeTest {
                 tree.collectDirtyNodes().toArray());
     }
 
+    @Test
+    public void markAsDirty_sameNodeMultipleTimes_collectedOnce() {
+        StateNode node = StateNodeTest.createEmptyNode("node");
+        StateNodeTest.setParent(node, tree.getRootNode());
+
+        tree.collectChanges(change -> {
+        });
+
+        node.markAsDirty();
+        node.markAsDirty();
+        tree.getRootNode().markAsDirty();
+        node.markAsDirty();
+
+        Assert.assertArrayEquals(
+                new Object[] { node, tree.getRootNode() },
+                tree.collectDirtyNodes().toArray());
+
+        tree.collectChanges(change -> {
+        });
+        Assert.assertFalse(tree.hasDirtyNodes());
+
+        // Node can be marked again after the changes have been collected
+        node.markAsDirty();
+        Assert.assertArrayEquals(new Object[] { node },
+                tree.collectDirtyNodes().toArray());
+    }
+
     @Test
     public void testDetachInChanges() {
         StateNode node1 = tree.getRootNode();
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.internal.StaticResourceCache.Entry;
+
+public class StaticResourceCacheTest {
+
+    private final StaticResourceCache cache = new StaticResourceCache(400);
+
+    @Test
+    public void put_cacheFull_leastRecentlyUsedEvicted() {
+        Assert.assertTrue(cache.put("/a", entry(100)));
+        Assert.assertTrue(cache.put("/b", entry(100)));
+        Assert.assertTrue(cache.put("/c", entry(100)));
+        Assert.assertNotNull(cache.get("/a"));
+
+        Assert.assertTrue(cache.put("/d", entry(100)));
+        Assert.assertTrue(cache.put("/e", entry(100)));
+
+        Assert.assertTrue(cache.contains("/a"));
+        Assert.assertFalse(cache.contains("/b"));
+        Assert.assertTrue(cache.contains("/c"));
+        Assert.assertEquals(400, cache.getSize());
+    }
+
+    @Test
+    public void put_entryTooLarge_notCached() {
+        Assert.assertFalse(cache.put("/a", entry(101)));
+
+        Assert.assertFalse(cache.contains("/a"));
+        Assert.assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void put_replaced_sizeUpdated() {
+        cache.put("/a", entry(100));
+        cache.put("/a", entry(50));
+
+        Assert.assertEquals(50, cache.getSize());
+    }
+
+    @Test
+    public void get_hitsAndMissesCounted() {
+        cache.put("/a", entry(10));
+
+        cache.get("/a");
+        cache.get("/a");
+        cache.get("/b");
+        cache.contains("/b");
+
+        Assert.assertEquals(2, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void getETag_sameContent_sameTagForEachEncoding() {
+        Entry entry = entry(10);
+        String eTag = entry.getETag(null);
+
+        Assert.assertEquals(eTag, entry(10).getETag(null));
+        Assert.assertNotEquals(eTag, entry(11).getETag(null));
+        Assert.assertNotEquals(eTag, entry.getETag("gzip"));
+        Assert.assertTrue(eTag.startsWith("\""));
+        Assert.assertTrue(entry.getETag("gzip").endsWith("-gzip\""));
+    }
+
+    @Test
+    public void getGzipContent_smallContent_notCompressed() {
+        Entry entry = entry(10);
+
+        Assert.assertFalse(entry.mayBeCompressed());
+        Assert.assertNull(entry.getGzipContent());
+    }
+
+    private static Entry entry(int length) {
+        return new Entry(new byte[length], null, null, -1);
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.change.NodeAttachChange;
+import com.vaadin.flow.internal.change.NodeChange;
+import com.vaadin.flow.internal.change.SubtreeTemplateChange;
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.shared.JsonConstants;
+import com.vaadin.tests.util.AlwaysLockedVaadinSession;
+import com.vaadin.tests.util.MockUI;
+
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
+public class SubtreeTemplateTest {
+
+    private final String key = "card-" + UUID.randomUUID();
+
+    private final VaadinService service = createService();
+
+    @Tag("div")
+    private static class Card extends Component {
+        private Card(String templateKey) {
+            this(templateKey, "card", "Title");
+        }
+
+        private Card(String templateKey, String className, String text) {
+            getElement().setAttribute("class", className);
+            Element title = new Element("span");
+            title.setText(text);
+            getElement().appendChild(title);
+
+            ComponentUtil.setSubtreeTemplateKey(this, templateKey);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        CurrentInstance.clearAll();
+    }
+
+    @Test
+    public void setSubtreeTemplateKey_keyAvailable() {
+        Card card = new Card(key);
+
+        Assert.assertEquals(key,
+                ComponentUtil.getSubtreeTemplateKey(card).get());
+
+        ComponentUtil.setSubtreeTemplateKey(card, null);
+        Assert.assertFalse(
+                ComponentUtil.getSubtreeTemplateKey(card).isPresent());
+    }
+
+    @Test
+    public void sameKey_subtreeSentAsTemplate() {
+        Card first = new Card(key);
+        List<NodeChange> firstChanges = attachAndCollect(createUI(), first);
+        SubtreeTemplateChange firstTemplate = getTemplateChange(firstChanges);
+
+        Assert.assertSame(first.getElement().getNode(),
+                firstTemplate.getNode());
+        // The div, the span and the text node
+        Assert.assertEquals(3, firstTemplate.getNodes().size());
+        Assert.assertFalse("Subtree nodes should have no other changes",
+                firstChanges.stream()
+                        .anyMatch(change -> change != firstTemplate
+                                && firstTemplate.getNodes()
+                                        .contains(change.getNode())));
+
+        Card second = new Card(key);
+        List<NodeChange> secondChanges = attachAndCollect(createUI(), second);
+        SubtreeTemplateChange secondTemplate = getTemplateChange(
+                secondChanges);
+
+        Assert.assertSame(firstTemplate.getTemplate(),
+                secondTemplate.getTemplate());
+        Assert.assertSame(second.getElement().getNode(),
+                secondTemplate.getNode());
+    }
+
+    @Test
+    public void differentValues_templateUsed_valuesTakenFromInstance() {
+        Card first = new Card(key, "card", "First title");
+        SubtreeTemplateChange firstChange = getTemplateChange(
+                attachAndCollect(createUI(), first));
+
+        Card second = new Card(key, "other", "Second title");
+        SubtreeTemplateChange secondChange = getTemplateChange(
+                attachAndCollect(createUI(), second));
+
+        Assert.assertSame(firstChange.getTemplate(),
+                secondChange.getTemplate());
+
+        String firstValues = firstChange.getValues().toJson();
+        String secondValues = secondChange.getValues().toJson();
+        Assert.assertTrue(firstValues.contains("First title"));
+        Assert.assertTrue(firstValues.contains("\"card\""));
+        Assert.assertTrue(secondValues.contains("Second title"));
+        Assert.assertTrue(secondValues.contains("\"other\""));
+        Assert.assertFalse(secondValues.contains("First title"));
+
+        // The shared template only contains the structure
+        ConstantPool constantPool = new ConstantPool();
+        String templateId = secondChange.toJson(constantPool)
+                .getString(JsonConstants.CHANGE_TEMPLATE_CHANGES);
+        String template = constantPool.dumpConstants().get(templateId)
+                .toJson();
+        Assert.assertFalse(template.contains("title"));
+        Assert.assertFalse(template.contains("card"));
+        Assert.assertFalse(template.contains("other"));
+    }
+
+    @Test
+    public void differentServices_templatesNotShared() {
+        SubtreeTemplateChange first = getTemplateChange(
+                attachAndCollect(createUI(), new Card(key)));
+        SubtreeTemplateChange second = getTemplateChange(attachAndCollect(
+                createUI(createService()), new Card(key)));
+
+        Assert.assertNotSame(first.getTemplate(), second.getTemplate());
+        Assert.assertSame(first.getTemplate(),
+                service.getSubtreeTemplates().get(key));
+    }
+
+    @Test
+    public void noSession_changesSentNormally() {
+        List<NodeChange> changes = attachAndCollect(new UI(), new Card(key));
+
+        Assert.assertTrue(changes.stream()
+                .noneMatch(change -> change instanceof SubtreeTemplateChange));
+    }
+
+    @Test
+    public void subtreeChangedAfterAttach_changesSentNormally() {
+        Card card = new Card(key);
+        UI ui = createUI();
+        attachAndCollect(ui, card);
+
+        card.getElement().setAttribute("title", "foo");
+        List<NodeChange> changes = new ArrayList<>();
+        ui.getInternals().getStateTree().collectChanges(changes::add);
+
+        Assert.assertEquals(1, changes.size());
+        Assert.assertFalse(changes.get(0) instanceof SubtreeTemplateChange);
+    }
+
+    @Test
+    public void additionalAttribute_changesSentNormally() {
+        attachAndCollect(createUI(), new Card(key));
+
+        Card different = new Card(key);
+        different.getElement().setAttribute("title", "foo");
+        List<NodeChange> changes = attachAndCollect(createUI(), different);
+
+        Assert.assertTrue(changes.stream()
+                .noneMatch(change -> change instanceof SubtreeTemplateChange));
+        Assert.assertTrue(changes.stream()
+                .anyMatch(change -> change instanceof NodeAttachChange
+                        && change.getNode() == different.getElement()
+                                .getNode()));
+    }
+
+    @Test
+    public void additionalChild_changesSentNormally() {
+        attachAndCollect(createUI(), new Card(key));
+
+        Card different = new Card(key);
+        different.getElement().appendChild(new Element("span"));
+        List<NodeChange> changes = attachAndCollect(createUI(), different);
+
+        Assert.assertTrue(changes.stream()
+                .noneMatch(change -> change instanceof SubtreeTemplateChange));
+    }
+
+    @Test
+    public void missingChild_changesSentNormally() {
+        attachAndCollect(createUI(), new Card(key));
+
+        Card different = new Card(key);
+        different.getElement().removeAllChildren();
+        List<NodeChange> changes = attachAndCollect(createUI(), different);
+
+        Assert.assertTrue(changes.stream()
+                .noneMatch(change -> change instanceof SubtreeTemplateChange));
+    }
+
+    @Test
+    public void nestedTemplates_outermostUsed() {
+        Card outer = new Card(key);
+        Card inner = new Card(key + "-inner");
+        outer.getElement().appendChild(inner.getElement());
+
+        List<NodeChange> changes = attachAndCollect(createUI(), outer);
+
+        List<SubtreeTemplateChange> templateChanges = changes.stream()
+                .filter(change -> change instanceof SubtreeTemplateChange)
+                .map(SubtreeTemplateChange.class::cast)
+                .collect(Collectors.toList());
+        Assert.assertEquals(1, templateChanges.size());
+        Assert.assertSame(outer.getElement().getNode(),
+                templateChanges.get(0).getNode());
+        Assert.assertTrue(templateChanges.get(0).getNodes()
+                .contains(inner.getElement().getNode()));
+    }
+
+    @Test
+    public void templateChange_toJson_nodeIdsAndTemplateConstant() {
+        Card card = new Card(key);
+        SubtreeTemplateChange change = getTemplateChange(
+                attachAndCollect(createUI(), card));
+
+        ConstantPool constantPool = new ConstantPool();
+        JsonObject json = change.toJson(constantPool);
+
+        Assert.assertEquals(JsonConstants.CHANGE_TYPE_TEMPLATE,
+                json.getString(JsonConstants.CHANGE_TYPE));
+        Assert.assertEquals(card.getElement().getNode().getId(),
+                (int) json.getNumber(JsonConstants.CHANGE_NODE));
+
+        JsonArray nodes = json.getArray(JsonConstants.CHANGE_TEMPLATE_NODES);
+        Assert.assertEquals(change.getNodes().size(), nodes.length());
+        for (int i = 0; i < nodes.length(); i++) {
+            Assert.assertEquals(change.getNodes().get(i).getId(),
+                    (int) nodes.getNumber(i));
+        }
+
+        String templateId = json
+                .getString(JsonConstants.CHANGE_TEMPLATE_CHANGES);
+        JsonObject constants = constantPool.dumpConstants();
+        JsonArray templateChanges = constants.getArray(templateId);
+        Assert.assertNotNull(templateChanges);
+
+        // Node references are indices to the node array and values are
+        // indices to the value array
+        JsonArray values = json.getArray(JsonConstants.CHANGE_TEMPLATE_VALUES);
+        Assert.assertEquals(change.getValues().length(), values.length());
+        for (int i = 0; i < templateChanges.length(); i++) {
+            JsonObject templateChange = templateChanges.getObject(i);
+            int nodeIndex = (int) templateChange
+                    .getNumber(JsonConstants.CHANGE_NODE);
+            Assert.assertTrue(nodeIndex >= 0 && nodeIndex < nodes.length());
+            if (templateChange.hasKey(JsonConstants.CHANGE_PUT_VALUE)) {
+                int valueIndex = (int) templateChange
+                        .getNumber(JsonConstants.CHANGE_PUT_VALUE);
+                Assert.assertTrue(
+                        valueIndex >= 0 && valueIndex < values.length());
+            }
+        }
+    }
+
+    private static List<NodeChange> attachAndCollect(UI ui,
+            Component component) {
+        StateTree tree = ui.getInternals().getStateTree();
+        tree.collectChanges(change -> {
+        });
+
+        ui.add(component);
+
+        List<NodeChange> changes = new ArrayList<>();
+        tree.collectChanges(changes::add);
+        return changes;
+    }
+
+    private static SubtreeTemplateChange getTemplateChange(
+            List<NodeChange> changes) {
+        List<NodeChange> templateChanges = changes.stream()
+                .filter(change -> change instanceof SubtreeTemplateChange)
+                .collect(Collectors.toList());
+        Assert.assertEquals(1, templateChanges.size());
+        return (SubtreeTemplateChange) templateChanges.get(0);
+    }
+
+    private static VaadinService createService() {
+        VaadinService service = Mockito.mock(VaadinService.class);
+        Mockito.when(service.getSubtreeTemplates())
+                .thenReturn(new ConcurrentHashMap<>());
+        return service;
+    }
+
+    private UI createUI() {
+        return createUI(service);
+    }
+
+    private static UI createUI(VaadinService service) {
+        VaadinSession session = new AlwaysLockedVaadinSession(service);
+        session.setConfiguration(
+                Mockito.mock(DeploymentConfiguration.class));
+        return new MockUI(session);
+    }
+}
@@ -21,11 +21,13 @@ import java.util.Arrays;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.StateNodeTest;
 import com.vaadin.flow.internal.change.ListAddChange;
 import com.vaadin.flow.internal.nodefeature.AbstractNodeFeatureTest;
 import com.vaadin.flow.internal.nodefeature.ElementChildrenList;
+import com.vaadin.flow.internal.nodefeature.ElementClassList;
 import com.vaadin.flow.internal.nodefeature.NodeFeatureRegistry;
 import com.vaadin.flow.internal.nodefeature.NodeList;
 import com.vaadin.flow.shared.JsonConstants;
@@ -82,4 +84,26 @@ public class ListChangeTest {
 
         Assert.assertFalse(json.hasKey(JsonConstants.CHANGE_SPLICE_ADD_NODES));
     }
+
+    @Test
+    public void testRepeatedClassNames_stringReferences() {
+        NodeList<String> classList = AbstractNodeFeatureTest
+                .createFeature(ElementClassList.class);
+        ConstantPool constantPool = new ConstantPool();
+
+        new ListAddChange<>(classList, false, 0, Arrays.asList("my-class"))
+                .toJson(constantPool);
+        JsonObject json = new ListAddChange<>(classList, false, 0,
+                Arrays.asList("my-class", "other-class", "foo"))
+                        .toJson(constantPool);
+
+        Assert.assertFalse(json.hasKey(JsonConstants.CHANGE_SPLICE_ADD));
+        JsonArray addStrings = json
+                .getArray(JsonConstants.CHANGE_SPLICE_ADD_STRINGS);
+        Assert.assertEquals(3, addStrings.length());
+        Assert.assertEquals("my-class", constantPool.dumpConstants().getString(
+                String.valueOf((int) addStrings.getNumber(0))));
+        Assert.assertEquals("other-class", addStrings.getString(1));
+        Assert.assertEquals("foo", addStrings.getString(2));
+    }
 }
@@ -19,10 +19,12 @@ package com.vaadin.flow.internal.change;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.StateNodeTest;
 import com.vaadin.flow.internal.change.MapPutChange;
 import com.vaadin.flow.internal.nodefeature.AbstractNodeFeatureTest;
+import com.vaadin.flow.internal.nodefeature.ElementAttributeMap;
 import com.vaadin.flow.internal.nodefeature.ElementPropertyMap;
 import com.vaadin.flow.internal.nodefeature.NodeFeatureRegistry;
 import com.vaadin.flow.internal.nodefeature.NodeMap;
@@ -88,6 +90,45 @@ public class MapPutChangeTest {
         Assert.assertEquals(value.getId(), (int) nodeValue.asNumber());
     }
 
+    @Test
+    public void testRepeatedAttribute_stringReferences() {
+        NodeMap attributes = AbstractNodeFeatureTest
+                .createFeature(ElementAttributeMap.class);
+        ConstantPool constantPool = new ConstantPool();
+
+        JsonObject first = new MapPutChange(attributes, "aria-label",
+                "my-label").toJson(constantPool);
+        Assert.assertEquals("aria-label",
+                first.getString(JsonConstants.CHANGE_MAP_KEY));
+        Assert.assertEquals("my-label",
+                first.getString(JsonConstants.CHANGE_PUT_VALUE));
+
+        JsonObject second = new MapPutChange(attributes, "aria-label",
+                "my-label").toJson(constantPool);
+        Assert.assertFalse(second.hasKey(JsonConstants.CHANGE_PUT_VALUE));
+        JsonObject constants = constantPool.dumpConstants();
+        Assert.assertEquals("aria-label", constants.getString(String.valueOf(
+                (int) second.getNumber(JsonConstants.CHANGE_MAP_KEY))));
+        Assert.assertEquals("my-label", constants.getString(String.valueOf(
+                (int) second.getNumber(
+                        JsonConstants.CHANGE_PUT_VALUE_REFERENCE))));
+    }
+
+    @Test
+    public void testRepeatedProperty_noStringReferences() {
+        ConstantPool constantPool = new ConstantPool();
+
+        new MapPutChange(feature, "property", "my-value").toJson(constantPool);
+        JsonObject json = new MapPutChange(feature, "property", "my-value")
+                .toJson(constantPool);
+
+        Assert.assertEquals("property",
+                json.getString(JsonConstants.CHANGE_MAP_KEY));
+        Assert.assertEquals("my-value",
+                json.getString(JsonConstants.CHANGE_PUT_VALUE));
+        Assert.assertFalse(constantPool.hasNewConstants());
+    }
+
     private JsonValue getValue(Object input) {
         MapPutChange change = new MapPutChange(feature, "myKey", input);
         JsonObject json = change.toJson(null);
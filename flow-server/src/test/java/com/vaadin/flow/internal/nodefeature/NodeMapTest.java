@@ -392,6 +392,82 @@ public class NodeMapTest
         Assert.assertTrue(nodeMap.usesSingleMap());
     }
 
+    @Test
+    public void singleValue_removeOtherKey_valueKept_removeKey_valueRemoved() {
+        nodeMap.put("foo", "bar");
+        Assert.assertTrue(nodeMap.usesSingleMap());
+
+        Assert.assertNull(nodeMap.remove("baz"));
+        Assert.assertTrue(nodeMap.usesSingleMap());
+        Assert.assertEquals("bar", nodeMap.get("foo"));
+
+        Assert.assertEquals("bar", nodeMap.remove("foo"));
+        Assert.assertFalse(nodeMap.contains("foo"));
+        Assert.assertTrue(nodeMap.keySet().isEmpty());
+
+        nodeMap.put("foo", "baz");
+        Assert.assertTrue(nodeMap.usesSingleMap());
+        Assert.assertEquals("baz", nodeMap.get("foo"));
+    }
+
+    @Test
+    public void put_fewKeys_usesSmallMap_manyKeys_usesHashMap() {
+        for (int i = 0; i < 12; i++) {
+            nodeMap.put("key" + i, "value" + i);
+            if (i > 0) {
+                Assert.assertTrue(nodeMap.usesSmallMap());
+            }
+        }
+
+        nodeMap.put("key12", "value12");
+        Assert.assertFalse(nodeMap.usesSmallMap());
+        Assert.assertFalse(nodeMap.usesSingleMap());
+
+        Assert.assertEquals(13, nodeMap.keySet().size());
+        for (int i = 0; i < 13; i++) {
+            Assert.assertEquals("value" + i, nodeMap.get("key" + i));
+        }
+    }
+
+    @Test
+    public void smallMap_removeKeys_remainingKeysFound() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            keys.add("key" + i);
+            nodeMap.put("key" + i, "value" + i);
+        }
+        Assert.assertTrue(nodeMap.usesSmallMap());
+
+        while (!keys.isEmpty()) {
+            String removed = keys.remove(keys.size() / 2);
+            Assert.assertEquals("value" + removed.substring(3),
+                    nodeMap.remove(removed));
+            Assert.assertFalse(nodeMap.contains(removed));
+
+            Assert.assertEquals(keys.size(), nodeMap.keySet().size());
+            for (String key : keys) {
+                Assert.assertTrue(nodeMap.contains(key));
+                Assert.assertEquals("value" + key.substring(3),
+                        nodeMap.get(key));
+            }
+        }
+        Assert.assertTrue(nodeMap.keySet().isEmpty());
+    }
+
+    @Test
+    public void smallMap_serializable() {
+        nodeMap.put("foo", "bar");
+        nodeMap.put("baz", null);
+        Assert.assertTrue(nodeMap.usesSmallMap());
+
+        ElementStylePropertyMap copy = SerializationUtils
+                .deserialize(SerializationUtils.serialize(nodeMap));
+
+        Assert.assertEquals(nodeMap.keySet(), copy.keySet());
+        Assert.assertEquals("bar", copy.get("foo"));
+        Assert.assertTrue(copy.contains("baz"));
+    }
+
     @Test
     public void streamSingleNullValue() {
         nodeMap.put("foo", null);
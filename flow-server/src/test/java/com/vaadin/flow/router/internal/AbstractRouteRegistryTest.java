@@ -713,6 +713,22 @@ public class AbstractRouteRegistryTest {
                 config().getTargetRoutes().isEmpty());
     }
 
+    @Test
+    public void update_navigationResultIsNotCachedAcrossConfigurations() {
+        Assert.assertFalse(registry.getNavigationRouteTarget("path")
+                .hasTarget());
+
+        registry.setRoute("path", Secondary.class, Collections.emptyList());
+
+        Assert.assertEquals(Secondary.class, registry
+                .getNavigationRouteTarget("path").getRouteTarget().getTarget());
+
+        registry.removeRoute("path");
+
+        Assert.assertFalse(registry.getNavigationRouteTarget("path")
+                .hasTarget());
+    }
+
     /* Private stuff */
 
     private void awaitCountDown(CountDownLatch countDownLatch) {
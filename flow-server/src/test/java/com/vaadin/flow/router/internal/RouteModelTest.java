@@ -275,6 +275,41 @@ public class RouteModelTest {
         }
     }
 
+    @Test
+    public void immutable_model_caches_navigation_route_target() {
+        RouteModel immutable = RouteModel.copy(getRouteModel(), false);
+
+        NavigationRouteTarget result = immutable
+                .getNavigationRouteTarget("trunk/branch/12");
+        Assert.assertSame(result,
+                immutable.getNavigationRouteTarget("trunk/branch/12"));
+        assertNavigation(immutable, "trunk/branch/12", Branch.class,
+                parameters("id", "12"));
+        assertNavigation(immutable, "trunk/branch/foo", null, null);
+        assertNavigation(immutable, "trunk/branch/foo", null, null);
+
+        RouteModel mutable = getRouteModel();
+        Assert.assertNotSame(mutable.getNavigationRouteTarget("trunk"),
+                mutable.getNavigationRouteTarget("trunk"));
+    }
+
+    @Test
+    public void navigation_cache_is_bounded() {
+        RouteModel immutable = RouteModel.copy(getRouteModel(), false);
+
+        NavigationRouteTarget first = immutable
+                .getNavigationRouteTarget("trunk/branch/0");
+        for (int i = 1; i <= RouteModel.NAVIGATION_CACHE_SIZE; i++) {
+            immutable.getNavigationRouteTarget("trunk/branch/" + i);
+        }
+
+        NavigationRouteTarget evicted = immutable
+                .getNavigationRouteTarget("trunk/branch/0");
+        Assert.assertNotSame(first, evicted);
+        assertNavigation(immutable, "trunk/branch/0", Branch.class,
+                parameters("id", "0"));
+    }
+
     private void assertUrl(RouteModel root, String expectedUrl,
             String template, RouteParameters parameters) {
         final String modelUrl = root.getUrl(template, parameters);
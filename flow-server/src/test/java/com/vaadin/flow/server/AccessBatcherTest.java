@@ -0,0 +1,129 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AccessBatcherTest {
+
+    private MockVaadinServletService service;
+    private AccessBatcher batcher;
+
+    private final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicInteger purgeCount = new AtomicInteger();
+    private final CountDownLatch purged = new CountDownLatch(1);
+
+    @Before
+    public void setup() {
+        service = new MockVaadinServletService();
+    }
+
+    @After
+    public void tearDown() {
+        if (batcher != null) {
+            batcher.destroy();
+        }
+    }
+
+    @Test
+    public void tasksAddedInQuickSuccession_purgedOnceAfterLatency()
+            throws InterruptedException {
+        batcher = new AccessBatcher(service, 50, 100, 1);
+
+        for (int i = 0; i < 3; i++) {
+            addTask();
+        }
+        Assert.assertEquals("Queue should not be purged right away", 0,
+                purgeCount.get());
+
+        Assert.assertTrue(purged.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(1, purgeCount.get());
+    }
+
+    @Test
+    public void maxBatchSizeReached_purgedRightAway() {
+        batcher = new AccessBatcher(service, 60000, 3, 1);
+
+        addTask();
+        addTask();
+        Assert.assertEquals(0, purgeCount.get());
+
+        addTask();
+        Assert.assertEquals(1, purgeCount.get());
+    }
+
+    @Test
+    public void lockHeld_purgedRightAway() {
+        batcher = new AccessBatcher(service, 60000, 100, 1);
+
+        lock.lock();
+        try {
+            addTask();
+        } finally {
+            lock.unlock();
+        }
+        Assert.assertEquals(1, purgeCount.get());
+    }
+
+    @Test
+    public void batchFlushed_metricsRecorded() {
+        InMemoryAccessQueueMetrics metrics = new InMemoryAccessQueueMetrics();
+        service.setAccessQueueMetrics(metrics);
+        batcher = new AccessBatcher(service, 60000, 2, 1);
+
+        addTask();
+        addTask();
+
+        Assert.assertEquals(1, metrics.getQueueDepth().getCount());
+        Assert.assertEquals(2, metrics.getQueueDepth().getMax());
+        Assert.assertEquals(1, metrics.getLatencyNanos().getCount());
+    }
+
+    @Test
+    public void destroy_pendingBatchFlushed() {
+        batcher = new AccessBatcher(service, 60000, 100, 1);
+
+        addTask();
+        batcher.destroy();
+
+        Assert.assertEquals(1, purgeCount.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noThreads_throws() {
+        batcher = new AccessBatcher(service, 50, 100, 0);
+    }
+
+    private void addTask() {
+        queue.add(new Object());
+        batcher.taskAdded(this, lock, () -> {
+            queue.clear();
+            purgeCount.incrementAndGet();
+            purged.countDown();
+        });
+    }
+}
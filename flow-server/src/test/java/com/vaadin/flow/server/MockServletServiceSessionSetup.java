@@ -115,6 +115,12 @@ public class MockServletServiceSessionSetup {
             super.modifyIndexHtmlResponse(response);
         }
 
+        @Override
+        public boolean hasIndexHtmlRequestListeners() {
+            return !indexHtmlRequestListeners.isEmpty()
+                    || super.hasIndexHtmlRequestListeners();
+        }
+
         @Override
         public VaadinContext getContext() {
             if (context != null) {
@@ -306,6 +312,8 @@ public class MockServletServiceSessionSetup {
             Mockito.when(session.hasLock()).thenReturn(true);
             Mockito.when(session.getPendingAccessQueue())
                     .thenReturn(new LinkedBlockingDeque<>());
+            Mockito.when(session.withSessionLock(Mockito.any()))
+                    .thenCallRealMethod();
             Mockito.when(request.getWrappedSession())
                     .thenReturn(wrappedSession);
             SessionRouteRegistry sessionRegistry = (SessionRouteRegistry) SessionRouteRegistry
@@ -37,6 +37,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -46,6 +47,7 @@ import org.mockito.Matchers;
 import org.mockito.Mockito;
 
 import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.internal.StaticResourceCache;
 
 import static com.vaadin.flow.server.Constants.POLYFILLS_DEFAULT_VALUE;
 import static com.vaadin.flow.server.InitParameters.SERVLET_PARAMETER_STATISTICS_JSON;
@@ -663,6 +665,110 @@ public class StaticFileServerTest implements Serializable {
                         .getBytes(StandardCharsets.UTF_8);
     }
 
+    @Test
+    public void serveStaticResource_resourceCacheDisabled_resolvedForEachRequest()
+            throws IOException {
+        Assert.assertNull(fileServer.getResourceCache());
+
+        byte[] fileData = "function() {eval('foo');};"
+                .getBytes(StandardCharsets.UTF_8);
+        Assert.assertArrayEquals(fileData, serveStaticResourceTwice(fileData));
+
+        Mockito.verify(servletService, Mockito.times(2))
+                .getStaticResource("/some/file.js");
+    }
+
+    @Test
+    public void serveStaticResource_resourceCacheEnabled_servedFromCache()
+            throws IOException {
+        enableResourceCache();
+
+        byte[] fileData = "function() {eval('foo');};"
+                .getBytes(StandardCharsets.UTF_8);
+        Assert.assertArrayEquals(fileData, serveStaticResourceTwice(fileData));
+
+        Mockito.verify(servletService, Mockito.times(1))
+                .getStaticResource("/some/file.js");
+        Assert.assertNotNull(headers.get("ETag"));
+        Assert.assertEquals(1, fileServer.getResourceCache().getHitCount());
+        Assert.assertEquals(1, fileServer.getResourceCache().getMissCount());
+        Assert.assertTrue(fileServer.isStaticResourceRequest(request));
+    }
+
+    @Test
+    public void serveStaticResource_resourceCacheEnabled_browserHasETag_notModified()
+            throws IOException {
+        enableResourceCache();
+
+        byte[] fileData = "function() {eval('foo');};"
+                .getBytes(StandardCharsets.UTF_8);
+        serveStaticResourceTwice(fileData);
+        String eTag = headers.get("ETag");
+
+        Mockito.when(request.getHeader("If-None-Match")).thenReturn(eTag);
+        CapturingServletOutputStream out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertEquals(0, out.getOutput().length);
+        Assert.assertEquals(HttpServletResponse.SC_NOT_MODIFIED,
+                responseCode.get());
+    }
+
+    @Test
+    public void serveStaticResource_resourceCacheEnabled_acceptsGzip_compressedOnTheFly()
+            throws IOException {
+        enableResourceCache();
+        Mockito.when(request.getHeader("Accept-Encoding")).thenReturn("gzip");
+
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            script.append("function f").append(i).append("() {eval('foo');};");
+        }
+        byte[] fileData = script.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] output = serveStaticResourceTwice(fileData);
+
+        Assert.assertEquals("gzip", headers.get("Content-Encoding"));
+        Assert.assertEquals("Accept-Encoding", headers.get("Vary"));
+        Assert.assertTrue(output.length < fileData.length);
+        Assert.assertEquals(output.length, responseContentLength.get());
+
+        ByteArrayOutputStream uncompressed = new ByteArrayOutputStream();
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(output))) {
+            byte[] buffer = new byte[1024];
+            int bytes;
+            while ((bytes = in.read(buffer)) >= 0) {
+                uncompressed.write(buffer, 0, bytes);
+            }
+        }
+        Assert.assertArrayEquals(fileData, uncompressed.toByteArray());
+    }
+
+    private void enableResourceCache() {
+        Mockito.when(configuration.getStaticResourceCacheSize()).thenReturn(1);
+        fileServer = new OverrideableStaticFileServer(servletService);
+    }
+
+    private byte[] serveStaticResourceTwice(byte[] fileData)
+            throws IOException {
+        setupRequestURI("", "/some", "/file.js");
+        Mockito.when(servletService.getStaticResource("/some/file.js"))
+                .thenReturn(createFileURLWithDataAndLength("/some/file.js",
+                        fileData));
+
+        CapturingServletOutputStream out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        byte[] output = out.getOutput();
+
+        out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+        Assert.assertArrayEquals(output, out.getOutput());
+        return output;
+    }
+
     @Test
     public void serveStaticResourceBrowserHasLatest() throws IOException {
         long browserLatest = 123L;
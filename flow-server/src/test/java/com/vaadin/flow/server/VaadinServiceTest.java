@@ -19,9 +19,15 @@ import javax.servlet.ServletConfig;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpSessionBindingEvent;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -324,6 +330,67 @@ public class VaadinServiceTest {
         Assert.assertSame(applicationFilter, filters.get(0));
     }
 
+    private static class SerializableClassLoader extends ClassLoader
+            implements Serializable {
+    }
+
+    private static class UninitializedServlet extends VaadinServlet {
+        private transient ServletConfig servletConfig;
+
+        @Override
+        public void init(ServletConfig servletConfig) {
+            // No service of its own
+            this.servletConfig = servletConfig;
+        }
+
+        @Override
+        public ServletConfig getServletConfig() {
+            return servletConfig;
+        }
+    }
+
+    @Test
+    public void accessBatcher_defaultThreads_availableProcessors() {
+        Assert.assertEquals(Runtime.getRuntime().availableProcessors(),
+                new MockDeploymentConfiguration().getAccessBatchThreads());
+    }
+
+    @Test
+    public void accessBatcher_serviceDeserialized_batcherRecreated()
+            throws Exception {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_ACCESS_BATCH_MAX_LATENCY,
+                "50");
+        // A servlet without its own service and the default class loader
+        // would prevent serializing the service
+        MockVaadinServletService service = new MockVaadinServletService(
+                new UninitializedServlet(), configuration);
+        service.setClassLoader(new SerializableClassLoader());
+        service.init();
+        AccessBatcher batcher = service.getAccessBatcher().get();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(service);
+        }
+        VaadinService deserialized;
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialized = (VaadinService) in.readObject();
+        }
+
+        try {
+            Optional<AccessBatcher> recreated = deserialized
+                    .getAccessBatcher();
+            Assert.assertTrue(recreated.isPresent());
+            Assert.assertNotSame(batcher, recreated.get());
+        } finally {
+            service.destroy();
+            deserialized.destroy();
+        }
+    }
+
     private static VaadinService createService() {
         ServletConfig servletConfig = new MockServletConfig();
         VaadinServlet servlet = new VaadinServlet();
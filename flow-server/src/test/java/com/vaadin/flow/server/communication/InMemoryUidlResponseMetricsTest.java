@@ -0,0 +1,98 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.internal.change.MapPutChange;
+import com.vaadin.flow.server.communication.InMemoryUidlResponseMetrics.Histogram;
+import com.vaadin.flow.server.communication.InMemoryUidlResponseMetrics.LocationMetrics;
+
+public class InMemoryUidlResponseMetricsTest {
+
+    @Test
+    public void histogram_recordValues_statisticsUpdated() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        Assert.assertEquals(100, histogram.getCount());
+        Assert.assertEquals(5050, histogram.getSum());
+        Assert.assertEquals(100, histogram.getMax());
+        Assert.assertEquals(50.5, histogram.getMean(), 0.0);
+
+        // Values 32..63 are in the same bucket as the median
+        Assert.assertEquals(63, histogram.getPercentile(50));
+        Assert.assertEquals(100, histogram.getPercentile(100));
+    }
+
+    @Test
+    public void histogram_empty_zeroValues() {
+        Histogram histogram = new Histogram();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getMean(), 0.0);
+        Assert.assertEquals(0, histogram.getPercentile(99));
+    }
+
+    @Test
+    public void responseCreated_groupedByLocation() {
+        InMemoryUidlResponseMetrics metrics = new InMemoryUidlResponseMetrics();
+
+        metrics.responseCreated(createStatistics("small", 100));
+        metrics.responseCreated(createStatistics("large", 10000));
+        metrics.responseCreated(createStatistics("large", 20000));
+
+        LocationMetrics large = metrics.getLocations().get("large");
+        Assert.assertEquals(2, large.getResponseSize().getCount());
+        Assert.assertEquals(20000, large.getResponseSize().getMax());
+        Assert.assertEquals(Long.valueOf(6),
+                large.getChangesByType().get(MapPutChange.class));
+
+        Assert.assertEquals(Arrays.asList("large", "small"),
+                metrics.getTopLocations(
+                        location -> location.getResponseSize().getMax(), 5));
+    }
+
+    @Test
+    public void responseCreated_tooManyLocations_groupedAsOther() {
+        InMemoryUidlResponseMetrics metrics = new InMemoryUidlResponseMetrics(
+                2);
+
+        metrics.responseCreated(createStatistics("a", 1));
+        metrics.responseCreated(createStatistics("b", 1));
+        metrics.responseCreated(createStatistics("c", 1));
+        metrics.responseCreated(createStatistics("a", 1));
+
+        Assert.assertEquals(3, metrics.getLocations().size());
+        Assert.assertEquals(2, metrics.getLocations().get("a")
+                .getResponseSize().getCount());
+        Assert.assertEquals(1,
+                metrics.getLocations()
+                        .get(InMemoryUidlResponseMetrics.OTHER_LOCATIONS)
+                        .getResponseSize().getCount());
+    }
+
+    private static UidlResponseStatistics createStatistics(String location,
+            long size) {
+        return new UidlResponseStatistics(location, 1, 2,
+                Collections.singletonMap(MapPutChange.class, 3), 10, 20, size);
+    }
+}
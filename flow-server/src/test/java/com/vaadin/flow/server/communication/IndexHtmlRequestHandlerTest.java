@@ -607,6 +607,53 @@ public class IndexHtmlRequestHandlerTest {
         assertEquals(1, bodyInlineElements.size());
     }
 
+    @Test
+    public void serveIndexHtml_productionMode_compiledPageEqualsModifiedDocument()
+            throws IOException {
+        deploymentConfiguration.setProductionMode(true);
+        Mockito.when(session.getCsrfToken()).thenReturn("csrf-token");
+
+        indexHtmlRequestHandler.synchronizedHandleRequest(session,
+                createVaadinRequest("/some/path"), response);
+        String compiledIndexHtml = responseOutput
+                .toString(StandardCharsets.UTF_8.name());
+
+        // A listener requires the document to be modified for each request
+        service.addIndexHtmlRequestListener(evt -> {
+        });
+        responseOutput.reset();
+        indexHtmlRequestHandler.synchronizedHandleRequest(session,
+                createVaadinRequest("/some/path"), response);
+        String modifiedIndexHtml = responseOutput
+                .toString(StandardCharsets.UTF_8.name());
+
+        assertEquals(modifiedIndexHtml, compiledIndexHtml);
+        Assert.assertTrue(compiledIndexHtml.contains("<base href=\"./..\""));
+        Assert.assertTrue(compiledIndexHtml.contains("csrf-token"));
+    }
+
+    @Test
+    public void serveIndexHtml_productionMode_baseHrefAndTitleForEachRequest()
+            throws IOException {
+        deploymentConfiguration.setProductionMode(true);
+        deploymentConfiguration.setEagerServerLoad(true);
+
+        indexHtmlRequestHandler.synchronizedHandleRequest(session,
+                createVaadinRequest("/"), response);
+        Assert.assertTrue(responseOutput.toString(StandardCharsets.UTF_8.name())
+                .contains("<base href=\".\""));
+
+        responseOutput.reset();
+        indexHtmlRequestHandler.synchronizedHandleRequest(session,
+                createVaadinRequest("/some/path"), response);
+        String indexHtml = responseOutput
+                .toString(StandardCharsets.UTF_8.name());
+        Assert.assertTrue(indexHtml.contains("<base href=\"./..\""));
+        Assert.assertTrue(indexHtml.contains("Could not navigate"));
+        assertEquals("Flow Test CCDM",
+                UI.getCurrent().getInternals().getAppShellTitle());
+    }
+
     @Test
     public void should_store_IndexHtmltitleToUI_When_LoadingServerEagerly() 
             throws IOException {
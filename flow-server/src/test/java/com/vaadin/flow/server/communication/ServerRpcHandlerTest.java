@@ -15,6 +15,7 @@ import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.internal.DependencyList;
 import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.MessageDigestUtil;
 import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.server.VaadinRequest;
@@ -30,6 +31,7 @@ public class ServerRpcHandlerTest {
     private UI ui;
     private UIInternals uiInternals;
     private DependencyList dependencyList;
+    private ConstantPool constantPool;
 
     private StateTree uiTree;
     final private String csrfToken = "";
@@ -47,6 +49,7 @@ public class ServerRpcHandlerTest {
         ui = Mockito.mock(UI.class);
         uiInternals = Mockito.mock(UIInternals.class);
         dependencyList = Mockito.mock(DependencyList.class);
+        constantPool = Mockito.spy(new ConstantPool());
 
         Mockito.when(request.getService()).thenReturn(service);
         Mockito.when(session.getService()).thenReturn(service);
@@ -64,6 +67,7 @@ public class ServerRpcHandlerTest {
         Mockito.when(uiInternals.getStateTree()).thenReturn(uiTree);
         Mockito.when(uiInternals.getDependencyList())
                 .thenReturn(dependencyList);
+        Mockito.when(uiInternals.getConstantPool()).thenReturn(constantPool);
 
         serverRpcHandler = new ServerRpcHandler();
     }
@@ -90,6 +94,28 @@ public class ServerRpcHandlerTest {
         Mockito.verify(dependencyList).clearPendingSendToClient();
     }
 
+    @Test
+    public void handleRpc_resynchronize_constantPoolReset()
+            throws IOException,
+            ServerRpcHandler.InvalidUIDLSecurityKeyException {
+        StringReader reader = new StringReader("{\"csrfToken\": \"" + csrfToken
+                + "\", \"rpc\":[], \"resynchronize\": true, \"clientId\":1}");
+        constantPool.getStringReference("my-class");
+        constantPool.getStringReference("my-class");
+        constantPool.dumpConstants();
+
+        try {
+            serverRpcHandler.handleRpc(ui, reader, request);
+            Assert.fail("Resynchronization should be required");
+        } catch (ServerRpcHandler.ResynchronizationRequiredException expected) {
+            // expected
+        }
+
+        // The string table entry is sent again with the full re-build
+        Mockito.verify(constantPool).reset();
+        Assert.assertEquals(-1, constantPool.getStringReference("my-class"));
+    }
+
     @Test
     public void handleRpc_duplicateMessage_doNotThrow()
             throws InvalidUIDLSecurityKeyException, IOException {
@@ -6,6 +6,7 @@ import javax.servlet.ServletException;
 import javax.servlet.ServletOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.jcip.annotations.NotThreadSafe;
 import org.junit.After;
@@ -25,6 +26,7 @@ import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinServlet;
 import com.vaadin.flow.server.VaadinServletRequest;
+import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.tests.util.AlwaysLockedVaadinSession;
 import com.vaadin.tests.util.MockUI;
 
@@ -69,6 +71,40 @@ public class StreamRequestHandlerTest {
         CurrentInstance.clearAll();
     }
 
+    @Test
+    public void streamResourceWriter_resourceIsStreamedWithoutSessionLock()
+            throws IOException {
+        AtomicInteger lockCount = new AtomicInteger();
+        VaadinSession countingSession = new AlwaysLockedVaadinSession(
+                session.getService()) {
+            @Override
+            public void lock() {
+                lockCount.incrementAndGet();
+                super.lock();
+            }
+
+            @Override
+            public StreamResourceRegistry getResourceRegistry() {
+                return streamResourceRegistry;
+            }
+        };
+        lockCount.set(0);
+
+        StreamResource res = new StreamResource("readme.md",
+                (stream, session) -> stream.write(1));
+        streamResourceRegistry.registerResource(res);
+        Mockito.when(response.getOutputStream())
+                .thenReturn(Mockito.mock(ServletOutputStream.class));
+        Mockito.when(request.getPathInfo()).thenReturn(
+                String.format("/%s%s/%s/%s", DYN_RES_PREFIX,
+                        ui.getId().orElse("-1"), res.getId(), res.getName()));
+
+        Assert.assertTrue(
+                handler.handleRequest(countingSession, request, response));
+        Assert.assertEquals(0, lockCount.get());
+        Mockito.verify(response).setContentType("application/octet-stream");
+    }
+
     @Test
     public void streamResourceNameEndsWithPluses_streamFactory_resourceIsStreamed()
             throws IOException {
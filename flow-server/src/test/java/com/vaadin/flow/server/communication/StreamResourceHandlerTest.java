@@ -21,10 +21,17 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletResponse;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
+import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
 
 import com.vaadin.flow.server.InputStreamFactory;
@@ -32,10 +39,10 @@ import com.vaadin.flow.server.MockServletConfig;
 import com.vaadin.flow.server.MockVaadinSession;
 import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.server.StreamResourceWriter;
+import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinServlet;
 import com.vaadin.flow.server.VaadinServletRequest;
-import com.vaadin.flow.server.VaadinServletResponse;
 import com.vaadin.tests.util.AlwaysLockedVaadinSession;
 
 public class StreamResourceHandlerTest {
@@ -43,10 +50,14 @@ public class StreamResourceHandlerTest {
     private StreamResourceHandler handler = new StreamResourceHandler();
     private MockVaadinSession session;
     private VaadinServletRequest request;
-    private VaadinServletResponse response;
+    private VaadinResponse response;
+    private ByteArrayOutputStream responseOutput;
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
 
     @Before
-    public void setUp() throws ServletException {
+    public void setUp() throws ServletException, IOException {
         ServletConfig servletConfig = new MockServletConfig();
         VaadinServlet servlet = new VaadinServlet();
         servlet.init(servletConfig);
@@ -56,7 +67,80 @@ public class StreamResourceHandlerTest {
         request = Mockito.mock(VaadinServletRequest.class);
         ServletContext context = Mockito.mock(ServletContext.class);
         Mockito.when(request.getServletContext()).thenReturn(context);
-        response = Mockito.mock(VaadinServletResponse.class);
+        response = Mockito.mock(VaadinResponse.class);
+        responseOutput = new ByteArrayOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(responseOutput);
+    }
+
+    @Test
+    public void fileResource_noRange_wholeFileWritten() throws IOException {
+        handler.handleRequest(session, request, response, createFileResource());
+
+        Assert.assertEquals("0123456789",
+                responseOutput.toString(StandardCharsets.UTF_8.name()));
+        Mockito.verify(response).setHeader("Accept-Ranges", "bytes");
+        Mockito.verify(response).setHeader("Content-Length", "10");
+        Mockito.verify(response, Mockito.never()).setStatus(Mockito.anyInt());
+    }
+
+    @Test
+    public void fileResource_range_partialContentWritten() throws IOException {
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=2-4");
+
+        handler.handleRequest(session, request, response, createFileResource());
+
+        Assert.assertEquals("234",
+                responseOutput.toString(StandardCharsets.UTF_8.name()));
+        Mockito.verify(response)
+                .setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        Mockito.verify(response).setHeader("Content-Range", "bytes 2-4/10");
+        Mockito.verify(response).setHeader("Content-Length", "3");
+    }
+
+    @Test
+    public void fileResource_openEndedAndSuffixRanges_partialContentWritten()
+            throws IOException {
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=7-");
+        handler.handleRequest(session, request, response, createFileResource());
+        Assert.assertEquals("789",
+                responseOutput.toString(StandardCharsets.UTF_8.name()));
+
+        responseOutput.reset();
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=-2");
+        handler.handleRequest(session, request, response, createFileResource());
+        Assert.assertEquals("89",
+                responseOutput.toString(StandardCharsets.UTF_8.name()));
+        Mockito.verify(response).setHeader("Content-Range", "bytes 8-9/10");
+    }
+
+    @Test
+    public void fileResource_rangeNotSatisfiable_status416() throws IOException {
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=10-20");
+
+        handler.handleRequest(session, request, response, createFileResource());
+
+        Assert.assertEquals(0, responseOutput.size());
+        Mockito.verify(response).setStatus(416);
+        Mockito.verify(response).setHeader("Content-Range", "bytes */10");
+    }
+
+    @Test
+    public void fileResource_multipleRanges_wholeFileWritten()
+            throws IOException {
+        Mockito.when(request.getHeader("Range")).thenReturn("bytes=0-1,4-5");
+
+        handler.handleRequest(session, request, response, createFileResource());
+
+        Assert.assertEquals("0123456789",
+                responseOutput.toString(StandardCharsets.UTF_8.name()));
+        Mockito.verify(response, Mockito.never()).setStatus(Mockito.anyInt());
+    }
+
+    private StreamResource createFileResource() throws IOException {
+        File file = new File(temporaryFolder.getRoot(), "data.txt");
+        Files.write(file.toPath(),
+                "0123456789".getBytes(StandardCharsets.UTF_8));
+        return new StreamResource("data.txt", file);
     }
 
     @Test
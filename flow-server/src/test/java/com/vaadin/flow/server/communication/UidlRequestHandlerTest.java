@@ -17,6 +17,7 @@
 
 package com.vaadin.flow.server.communication;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.StringWriter;
@@ -25,9 +26,14 @@ import java.util.Properties;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.internal.JavaScriptBootstrapUI;
+import com.vaadin.flow.component.internal.UIInternals;
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.internal.CborEncoder;
 import com.vaadin.flow.server.DefaultDeploymentConfiguration;
 import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.VaadinRequest;
@@ -36,6 +42,7 @@ import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinServletService;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.JsonObject;
 import elemental.json.impl.JsonUtil;
@@ -120,7 +127,8 @@ public class UidlRequestHandlerTest {
         StringWriter writer = new StringWriter();
 
         JsonObject uidl = generateUidl(true, true);
-        doReturn(uidl).when(handler).createUidl(ui, false);
+        doReturn(uidl).when(handler).createUidl(Mockito.eq(ui),
+                Mockito.eq(false), Mockito.any());
 
         handler.writeUidl(ui, writer, false);
 
@@ -148,7 +156,8 @@ public class UidlRequestHandlerTest {
         StringWriter writer = new StringWriter();
 
         JsonObject uidl = generateUidl(true, true);
-        doReturn(uidl).when(handler).createUidl(ui, false);
+        doReturn(uidl).when(handler).createUidl(Mockito.eq(ui),
+                Mockito.eq(false), Mockito.any());
 
         handler.writeUidl(ui, writer, false);
 
@@ -169,7 +178,8 @@ public class UidlRequestHandlerTest {
         StringWriter writer = new StringWriter();
 
         JsonObject uidl = generateUidl(true, true);
-        doReturn(uidl).when(handler).createUidl(ui, false);
+        doReturn(uidl).when(handler).createUidl(Mockito.eq(ui),
+                Mockito.eq(false), Mockito.any());
 
         handler.writeUidl(ui, writer, false);
 
@@ -189,7 +199,8 @@ public class UidlRequestHandlerTest {
         StringWriter writer = new StringWriter();
 
         JsonObject uidl = generateUidl(false, true);
-        doReturn(uidl).when(handler).createUidl(ui, false);
+        doReturn(uidl).when(handler).createUidl(Mockito.eq(ui),
+                Mockito.eq(false), Mockito.any());
 
         handler.writeUidl(ui, writer, false);
 
@@ -211,7 +222,8 @@ public class UidlRequestHandlerTest {
         JsonObject uidl = generateUidl(true, true);
         uidl.getArray("execute").getArray(2).remove(1);
 
-        doReturn(uidl).when(handler).createUidl(ui, false);
+        doReturn(uidl).when(handler).createUidl(Mockito.eq(ui),
+                Mockito.eq(false), Mockito.any());
 
         handler.writeUidl(ui, writer, false);
 
@@ -226,6 +238,105 @@ public class UidlRequestHandlerTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void synchronizedHandleRequest_binaryUidlAccepted_cborResponse()
+            throws IOException {
+        VaadinService service = mock(VaadinService.class);
+        VaadinSession session = mock(VaadinSession.class);
+        DeploymentConfiguration configuration = mock(
+                DeploymentConfiguration.class);
+        when(session.getService()).thenReturn(service);
+        when(service.getDeploymentConfiguration()).thenReturn(configuration);
+        when(configuration.isBinaryUidl()).thenReturn(true);
+
+        UI ui = mock(UI.class);
+        when(service.findUI(request)).thenReturn(ui);
+        when(request.getHeader("Accept")).thenReturn(
+                ApplicationConstants.UIDL_BINARY_CONTENT_TYPE + ", "
+                        + JsonConstants.JSON_CONTENT_TYPE);
+
+        ServerRpcHandler rpcHandler = mock(ServerRpcHandler.class);
+        UidlRequestHandler handler = spy(new UidlRequestHandler() {
+            @Override
+            protected ServerRpcHandler createRpcHandler() {
+                return rpcHandler;
+            }
+        });
+        JsonObject uidl = generateUidl(false, false);
+        doReturn(uidl).when(handler).createUidl(Mockito.eq(ui),
+                Mockito.eq(false), Mockito.any());
+
+        ByteArrayOutputStream responseBytes = new ByteArrayOutputStream();
+        when(response.getOutputStream()).thenReturn(responseBytes);
+
+        handler.synchronizedHandleRequest(session, request, response);
+
+        Mockito.verify(response)
+                .setContentType(ApplicationConstants.UIDL_BINARY_CONTENT_TYPE);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        CborEncoder.encode(uidl, expected);
+        Assert.assertArrayEquals(expected.toByteArray(),
+                responseBytes.toByteArray());
+    }
+
+    @Test
+    public void commitUidlResponse_returnsBytesWritten() throws IOException {
+        JsonObject uidl = generateUidl(false, false);
+        uidl.put("text", "\u00e4\u20ac");
+
+        ByteArrayOutputStream responseBytes = new ByteArrayOutputStream();
+        when(response.getOutputStream()).thenReturn(responseBytes);
+        long written = UidlRequestHandler.commitUidlResponse(response, uidl);
+        Assert.assertEquals(responseBytes.size(), written);
+
+        responseBytes.reset();
+        written = UidlRequestHandler.commitBinaryUidlResponse(response, uidl);
+        Assert.assertEquals(responseBytes.size(), written);
+    }
+
+    @Test
+    public void handleRequest_perUILocking_sessionUnlockedBeforeLockingUI()
+            throws Exception {
+        VaadinService service = mock(VaadinService.class);
+        VaadinSession session = mock(VaadinSession.class);
+        when(session.getService()).thenReturn(service);
+        when(session.isPerUILocking()).thenReturn(true);
+        when(service.getDeploymentConfiguration())
+                .thenReturn(mock(DeploymentConfiguration.class));
+        when(request
+                .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER))
+                .thenReturn(RequestType.UIDL.getIdentifier());
+
+        UI ui = mock(UI.class);
+        UIInternals internals = mock(UIInternals.class);
+        when(ui.getInternals()).thenReturn(internals);
+        when(ui.getSession()).thenReturn(session);
+        when(service.findUI(request)).thenReturn(ui);
+
+        ServerRpcHandler rpcHandler = mock(ServerRpcHandler.class);
+        UidlRequestHandler handler = spy(new UidlRequestHandler() {
+            @Override
+            protected ServerRpcHandler createRpcHandler() {
+                return rpcHandler;
+            }
+        });
+        doReturn(generateUidl(false, false)).when(handler)
+                .createUidl(Mockito.eq(ui), Mockito.eq(false), Mockito.any());
+
+        Assert.assertTrue(handler.handleRequest(session, request, response));
+
+        InOrder inOrder = Mockito.inOrder(session, service, internals,
+                rpcHandler);
+        inOrder.verify(session).lock();
+        inOrder.verify(service).findUI(request);
+        inOrder.verify(session).unlock();
+        inOrder.verify(internals).lock();
+        inOrder.verify(rpcHandler).handleRpc(Mockito.eq(ui), Mockito.any(),
+                Mockito.eq(request));
+        inOrder.verify(internals).unlock();
+        Mockito.verify(session, Mockito.times(1)).lock();
+    }
+
     private JsonObject generateUidl(boolean withLocation, boolean withHash) {
         JsonObject uidl = JsonUtil.parse(
             "{" +
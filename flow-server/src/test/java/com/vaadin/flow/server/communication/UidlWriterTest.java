@@ -17,6 +17,7 @@ package com.vaadin.flow.server.communication;
 
 import javax.servlet.http.HttpServletRequest;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -39,6 +40,8 @@ import com.vaadin.flow.component.internal.UIInternals.JavaScriptInvocation;
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.dom.ElementFactory;
 import com.vaadin.flow.internal.JsonUtils;
+import com.vaadin.flow.internal.change.MapPutChange;
+import com.vaadin.flow.internal.change.NodeAttachChange;
 import com.vaadin.flow.router.ParentLayout;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.RouteConfiguration;
@@ -283,6 +286,40 @@ public class UidlWriterTest {
                 response.getBoolean(ApplicationConstants.RESYNCHRONIZE_ID));
     }
 
+    @Test
+    public void uidlResponseMetricsSet_statisticsReported() throws Exception {
+        UI ui = initializeUIForDependenciesTest(new TestUI());
+        List<UidlResponseStatistics> reported = new ArrayList<>();
+        mocks.getService().setUidlResponseMetrics(reported::add);
+
+        ui.add(new ActualComponent());
+        ui.getElement().setAttribute("foo", "bar");
+
+        UidlWriter uidlWriter = new UidlWriter();
+        JsonObject response = uidlWriter.createUidl(ui, false);
+        assertEquals(0, reported.size());
+
+        uidlWriter.responseWritten(1234);
+        uidlWriter.responseWritten(1234);
+
+        assertEquals(1, reported.size());
+        UidlResponseStatistics statistics = reported.get(0);
+        assertEquals(ui.getUIId(), statistics.getUIId());
+        assertEquals(response.getArray("changes").length(),
+                statistics.getTotalChangeCount());
+        assertTrue(statistics.getChangeCount(NodeAttachChange.class) > 0);
+        assertTrue(statistics.getChangeCount(MapPutChange.class) > 0);
+        assertTrue(statistics.getDirtyNodeCount() > 0);
+        assertEquals(1234, statistics.getResponseSize());
+    }
+
+    @Test
+    public void getUtf8Length_matchesEncodedLength() {
+        String string = "a\u00e4\u20ac\ud83d\ude00";
+        assertEquals(string.getBytes(StandardCharsets.UTF_8).length,
+                UidlWriter.getUtf8Length(string));
+    }
+
     private void assertInlineDependencies(List<JsonObject> inlineDependencies) {
         assertThat("Should have an inline dependency", inlineDependencies,
                 hasSize(1));